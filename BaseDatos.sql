@@ -108,15 +108,26 @@ COMMENT ON COLUMN client.state IS 'Estado del cliente (activo/inactivo)';
 -- Descripción: Almacena información de cuentas bancarias
 DROP TABLE IF EXISTS movement CASCADE;
 DROP TABLE IF EXISTS account CASCADE;
+DROP SEQUENCE IF EXISTS movement_seq;
+DROP SEQUENCE IF EXISTS account_seq;
+
+-- Secuencias con incremento 50 (optimizador pooled de Hibernate):
+-- una llamada a la secuencia cubre 50 inserciones y permite el batching JDBC
+CREATE SEQUENCE account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE movement_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE account (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('account_seq'),
     account_number VARCHAR(255) NOT NULL UNIQUE,
     account_type VARCHAR(255) NOT NULL,
-    balance DOUBLE PRECISION NOT NULL CHECK (balance >= 0),
+    balance NUMERIC(19,2) NOT NULL CHECK (balance >= 0),
     state VARCHAR(255) NOT NULL,
     account_key VARCHAR(255),
     client_id VARCHAR(255) NOT NULL,
+    last_movement_number BIGINT NOT NULL DEFAULT 0,
+    withdrawal_day DATE,
+    daily_withdrawn NUMERIC(19,2),
+    rollups_complete BOOLEAN NOT NULL DEFAULT FALSE,
     CONSTRAINT chk_balance_positive CHECK (balance >= 0)
 );
 
@@ -127,24 +138,28 @@ CREATE INDEX idx_account_state ON account(state);
 
 -- Comentarios para account
 COMMENT ON TABLE account IS 'Tabla de cuentas bancarias asociadas a clientes';
-COMMENT ON COLUMN account.id IS 'Identificador único autogenerado';
+COMMENT ON COLUMN account.id IS 'Identificador único autogenerado (secuencia account_seq)';
 COMMENT ON COLUMN account.account_number IS 'Número de cuenta único';
 COMMENT ON COLUMN account.account_type IS 'Tipo de cuenta (Ahorros, Corriente, etc.)';
-COMMENT ON COLUMN account.balance IS 'Saldo actual de la cuenta';
+COMMENT ON COLUMN account.balance IS 'Saldo actual de la cuenta (decimal exacto, 2 decimales)';
 COMMENT ON COLUMN account.state IS 'Estado de la cuenta (activa/inactiva)';
 COMMENT ON COLUMN account.account_key IS 'Clave única de la cuenta';
 COMMENT ON COLUMN account.client_id IS 'Referencia al ID del cliente (sin FK por microservicios)';
+COMMENT ON COLUMN account.last_movement_number IS 'Número del último movimiento registrado (cabecera del libro de la cuenta)';
+COMMENT ON COLUMN account.withdrawal_day IS 'Último día con retiros (contador del cupo diario)';
+COMMENT ON COLUMN account.daily_withdrawn IS 'Total retirado en withdrawal_day (cupo diario)';
+COMMENT ON COLUMN account.rollups_complete IS 'Los totales mensuales cubren todo el histórico (las cuentas nuevas nacen completas; las existentes las completa la aplicación al iniciar)';
 
 -- Tabla: movement
 -- Descripción: Almacena los movimientos/transacciones de las cuentas
 CREATE TABLE movement (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('movement_seq'),
     account_id BIGINT NOT NULL,
     movement_number BIGINT,
     movement_date TIMESTAMP NOT NULL,
     movement_type VARCHAR(255) NOT NULL,
-    amount DOUBLE PRECISION NOT NULL,
-    balance DOUBLE PRECISION NOT NULL,
+    amount NUMERIC(19,2) NOT NULL,
+    balance NUMERIC(19,2) NOT NULL,
     state VARCHAR(255) NOT NULL,
     CONSTRAINT fk_movement_account FOREIGN KEY (account_id) 
         REFERENCES account(id) 
@@ -154,13 +169,15 @@ CREATE TABLE movement (
 
 -- Índices para movement
 CREATE INDEX idx_movement_account_id ON movement(account_id);
+-- Cadena de saldos por cuenta: localiza el primer movimiento afectado y recorre solo el sufijo
+CREATE INDEX idx_movement_account_chain ON movement(account_id, movement_date, movement_number);
 CREATE INDEX idx_movement_date ON movement(movement_date);
 CREATE INDEX idx_movement_type ON movement(movement_type);
 CREATE INDEX idx_movement_state ON movement(state);
 
 -- Comentarios para movement
 COMMENT ON TABLE movement IS 'Tabla de movimientos/transacciones bancarias';
-COMMENT ON COLUMN movement.id IS 'Identificador único autogenerado';
+COMMENT ON COLUMN movement.id IS 'Identificador único autogenerado (secuencia movement_seq)';
 COMMENT ON COLUMN movement.account_id IS 'Referencia a la cuenta asociada';
 COMMENT ON COLUMN movement.movement_number IS 'Número de movimiento';
 COMMENT ON COLUMN movement.movement_date IS 'Fecha y hora del movimiento';
@@ -169,6 +186,48 @@ COMMENT ON COLUMN movement.amount IS 'Monto del movimiento (positivo o negativo)
 COMMENT ON COLUMN movement.balance IS 'Saldo resultante después del movimiento';
 COMMENT ON COLUMN movement.state IS 'Estado del movimiento';
 
+-- Tabla: balance_snapshot
+-- Descripción: Saldo de cierre diario por cuenta (saldo a una fecha y saldo inicial de reportes)
+CREATE TABLE balance_snapshot (
+    account_id BIGINT NOT NULL,
+    snapshot_day DATE NOT NULL,
+    balance NUMERIC(19,2) NOT NULL,
+    CONSTRAINT pk_balance_snapshot PRIMARY KEY (account_id, snapshot_day),
+    CONSTRAINT fk_balance_snapshot_account FOREIGN KEY (account_id) 
+        REFERENCES account(id) 
+        ON DELETE CASCADE 
+        ON UPDATE CASCADE
+);
+
+-- Comentarios para balance_snapshot
+COMMENT ON TABLE balance_snapshot IS 'Saldo de cierre de cada cuenta por día con movimientos (lo completa la aplicación al iniciar)';
+COMMENT ON COLUMN balance_snapshot.account_id IS 'Referencia a la cuenta asociada';
+COMMENT ON COLUMN balance_snapshot.snapshot_day IS 'Día del saldo de cierre';
+COMMENT ON COLUMN balance_snapshot.balance IS 'Saldo después del último movimiento del día';
+
+-- Tabla: movement_monthly_rollup
+-- Descripción: Totales mensuales de movimientos por cuenta (resúmenes de períodos largos)
+CREATE TABLE movement_monthly_rollup (
+    account_id BIGINT NOT NULL,
+    rollup_month DATE NOT NULL,
+    movements BIGINT NOT NULL,
+    deposits NUMERIC(19,2) NOT NULL,
+    withdrawals NUMERIC(19,2) NOT NULL,
+    CONSTRAINT pk_movement_monthly_rollup PRIMARY KEY (account_id, rollup_month),
+    CONSTRAINT fk_movement_monthly_rollup_account FOREIGN KEY (account_id) 
+        REFERENCES account(id) 
+        ON DELETE CASCADE 
+        ON UPDATE CASCADE
+);
+
+-- Comentarios para movement_monthly_rollup
+COMMENT ON TABLE movement_monthly_rollup IS 'Totales de movimientos de cada cuenta por mes (lo completa la aplicación al iniciar)';
+COMMENT ON COLUMN movement_monthly_rollup.account_id IS 'Referencia a la cuenta asociada';
+COMMENT ON COLUMN movement_monthly_rollup.rollup_month IS 'Primer día del mes';
+COMMENT ON COLUMN movement_monthly_rollup.movements IS 'Cantidad de movimientos del mes';
+COMMENT ON COLUMN movement_monthly_rollup.deposits IS 'Suma de los depósitos del mes (positiva)';
+COMMENT ON COLUMN movement_monthly_rollup.withdrawals IS 'Suma de los retiros del mes (negativa)';
+
 -- =====================================================
 -- DATOS DE PRUEBA - MICROSERVICIO ClientApp
 -- =====================================================
@@ -196,11 +255,92 @@ INSERT INTO account (account_number, account_type, balance, state, account_key,
 ('585545', 'Corriente', 1000.00, 'true', 'ACC005', 'CLI001');
 
 -- Insertar movimientos de prueba
-INSERT INTO movement (account_id, movement_number, movement_date, movement_type, amount, balance, state) VALUES
-(1, 1, '2022-10-02 10:00:00', 'Retiro', -575.00, 1425.00, 'true'),
-(2, 1, '2022-10-02 11:00:00', 'Depósito', 600.00, 700.00, 'true'),
-(3, 1, '2022-02-08 09:00:00', 'Depósito', 150.00, 150.00, 'true'),
-(4, 1, '2022-02-08 14:00:00', 'Retiro', -540.00, 0.00, 'true');
+-- (los ids de cuenta avanzan de 50 en 50, se resuelven por número de cuenta)
+INSERT INTO movement (account_id, movement_number, movement_date, movement_type, amount, balance, state)
+SELECT a.id, m.movement_number, m.movement_date::timestamp, m.movement_type, m.amount, m.balance, m.state
+FROM (VALUES
+    ('478758', 1, '2022-10-02 10:00:00', 'Retiro', -575.00, 1425.00, 'true'),
+    ('225487', 1, '2022-10-02 11:00:00', 'Depósito', 600.00, 700.00, 'true'),
+    ('495878', 1, '2022-02-08 09:00:00', 'Depósito', 150.00, 150.00, 'true'),
+    ('496825', 1, '2022-02-08 14:00:00', 'Retiro', -540.00, 0.00, 'true')
+) AS m(account_number, movement_number, movement_date, movement_type, amount, balance, state)
+JOIN account a ON a.account_number = m.account_number;
+
+-- Sincronizar saldo y cabecera del libro de cada cuenta con sus movimientos
+-- (también sirve como migración para bases existentes)
+UPDATE account a
+SET balance = m.balance
+FROM (
+    SELECT DISTINCT ON (account_id) account_id, balance
+    FROM movement
+    ORDER BY account_id, movement_date DESC, id DESC
+) m
+WHERE a.id = m.account_id;
+
+UPDATE account a
+SET last_movement_number = COALESCE((SELECT MAX(m.movement_number) FROM movement m WHERE m.account_id = a.id), 0);
+
+-- =====================================================
+-- MIGRACIÓN PARA BASES EXISTENTES (secuencias pooled y montos NUMERIC)
+-- =====================================================
+-- Ejecutar sobre devsu_transactions_bd en lugar de recrear las tablas:
+--
+-- CREATE SEQUENCE IF NOT EXISTS account_seq START WITH 1 INCREMENT BY 50;
+-- CREATE SEQUENCE IF NOT EXISTS movement_seq START WITH 1 INCREMENT BY 50;
+-- ALTER TABLE account ALTER COLUMN id DROP IDENTITY IF EXISTS;
+-- ALTER TABLE movement ALTER COLUMN id DROP IDENTITY IF EXISTS;
+-- ALTER TABLE account ALTER COLUMN id SET DEFAULT nextval('account_seq');
+-- ALTER TABLE movement ALTER COLUMN id SET DEFAULT nextval('movement_seq');
+-- SELECT setval('account_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM account;
+-- SELECT setval('movement_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM movement;
+-- DROP SEQUENCE IF EXISTS account_id_seq;
+-- DROP SEQUENCE IF EXISTS movement_id_seq;
+--
+-- Montos DOUBLE PRECISION -> NUMERIC(19,2) (decimal exacto):
+--
+-- ALTER TABLE account ALTER COLUMN balance TYPE NUMERIC(19,2) USING ROUND(balance::numeric, 2);
+-- ALTER TABLE movement ALTER COLUMN amount TYPE NUMERIC(19,2) USING ROUND(amount::numeric, 2);
+-- ALTER TABLE movement ALTER COLUMN balance TYPE NUMERIC(19,2) USING ROUND(balance::numeric, 2);
+--
+-- Número del último movimiento en la cuenta (cabecera del libro):
+--
+-- ALTER TABLE account ADD COLUMN IF NOT EXISTS last_movement_number BIGINT NOT NULL DEFAULT 0;
+-- UPDATE account a
+-- SET last_movement_number = COALESCE((SELECT MAX(m.movement_number) FROM movement m WHERE m.account_id = a.id), 0);
+--
+-- Índice de la cadena de saldos:
+--
+-- CREATE INDEX IF NOT EXISTS idx_movement_account_chain ON movement(account_id, movement_date, movement_number);
+--
+-- Contador del cupo diario (se inicializa en el primer retiro de cada cuenta):
+--
+-- ALTER TABLE account ADD COLUMN IF NOT EXISTS withdrawal_day DATE;
+-- ALTER TABLE account ADD COLUMN IF NOT EXISTS daily_withdrawn NUMERIC(19,2);
+--
+-- Saldos de cierre diarios (la aplicación completa el histórico al iniciar):
+--
+-- CREATE TABLE IF NOT EXISTS balance_snapshot (
+--     account_id BIGINT NOT NULL REFERENCES account(id) ON DELETE CASCADE ON UPDATE CASCADE,
+--     snapshot_day DATE NOT NULL,
+--     balance NUMERIC(19,2) NOT NULL,
+--     PRIMARY KEY (account_id, snapshot_day)
+-- );
+--
+-- Totales mensuales de movimientos (la aplicación completa el histórico al iniciar):
+--
+-- CREATE TABLE IF NOT EXISTS movement_monthly_rollup (
+--     account_id BIGINT NOT NULL REFERENCES account(id) ON DELETE CASCADE ON UPDATE CASCADE,
+--     rollup_month DATE NOT NULL,
+--     movements BIGINT NOT NULL,
+--     deposits NUMERIC(19,2) NOT NULL,
+--     withdrawals NUMERIC(19,2) NOT NULL,
+--     PRIMARY KEY (account_id, rollup_month)
+-- );
+--
+-- Marca de totales mensuales completos (las cuentas existentes quedan pendientes y la
+-- aplicación las reconstruye al iniciar, aunque ya reciban movimientos):
+--
+-- ALTER TABLE account ADD COLUMN IF NOT EXISTS rollups_complete BOOLEAN NOT NULL DEFAULT FALSE;
 
 -- =====================================================
 -- VERIFICACIÓN DE DATOS
@@ -11,5 +11,6 @@ public interface ClientService {
     public ClientResponseDTO deleteClient(Long clientId);
     public ClientResponseDTO getClient(Long clientId);
     public ClientResponseDTO getClientByClientId(String clientId);
+    public List<ClientResponseDTO> getClientsByClientIds(List<String> clientIds);
     public List<ClientResponseDTO> getAllClients();
 }
@@ -165,6 +165,30 @@ public class ClientServiceImpl implements ClientService {
         return ClientMapper.toClientResponseDTO(client);
     }
 
+    /**
+     * Obtiene varios clientes por su clientId en una sola consulta
+     * (consultas en lote de otros microservicios)
+     * @param clientIds IDs de negocio de los clientes
+     * @return Lista de ClientResponseDTO de los clientes encontrados, los inexistentes se omiten
+     * @throws BusinessException si la lista está vacía
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClientResponseDTO> getClientsByClientIds(List<String> clientIds){
+        if (clientIds == null || clientIds.isEmpty()) {
+            log.error("No clientIds requested");
+            throw new BusinessException("At least one clientId is required");
+        }
+        log.info("Fetching {} clients by clientId", clientIds.size());
+        
+        List<Client> clients = clientRepository.findByClientIdIn(clientIds);
+        
+        log.info("Found {} of {} clients", clients.size(), clientIds.size());
+        return clients.stream()
+                .map(ClientMapper::toClientResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Obtiene todos los clientes del sistema
      * @return Lista de ClientResponseDTO con todos los clientes
@@ -1,5 +1,7 @@
 package com.devsu.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,6 +19,13 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
      */
     Optional<Client> findByClientId(String clientId);
     
+    /**
+     * Busca los clientes de varios clientId en una sola consulta
+     * @param clientIds IDs de negocio de los clientes
+     * @return clientes encontrados (los clientId inexistentes se omiten)
+     */
+    List<Client> findByClientIdIn(Collection<String> clientIds);
+    
     /**
      * Busca un cliente por su número de identificación
      * @param idNumber Número de identificación de la persona
@@ -109,6 +109,21 @@ public class ClientController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Obtiene varios clientes por su clientId (consultas en lote entre microservicios)
+     * POST /clientes/by-clientIds
+     * 
+     * @param clientIds Lista de clientId a buscar
+     * @return ResponseEntity con los clientes encontrados (los inexistentes se omiten) y status 200 OK
+     */
+    @PostMapping("/by-clientIds")
+    public ResponseEntity<List<ClientResponseDTO>> getClientsByClientIds(
+            @RequestBody List<String> clientIds) {
+        log.info("REST request to get {} clients by clientId", clientIds.size());
+        List<ClientResponseDTO> response = clientService.getClientsByClientIds(clientIds);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Obtiene todos los clientes
      * GET /clientes
@@ -224,6 +224,27 @@ class ClientServiceImplTest {
         verify(clientRepository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("Should get several clients by clientId in one query")
+    void testGetClientsByClientIds_Success() {
+        // Given
+        List<String> clientIds = Arrays.asList("CLI001", "CLI999");
+        when(clientRepository.findByClientIdIn(clientIds)).thenReturn(Arrays.asList(client));
+
+        // When
+        List<ClientResponseDTO> result = clientService.getClientsByClientIds(clientIds);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("José Lema", result.get(0).getName());
+        verify(clientRepository, times(1)).findByClientIdIn(clientIds);
+        verify(clientRepository, never()).findByClientId(any());
+        
+        // An empty request is rejected without a query
+        assertThrows(BusinessException.class, () -> clientService.getClientsByClientIds(Arrays.asList()));
+        verify(clientRepository, times(1)).findByClientIdIn(any());
+    }
+
     @Test
     @DisplayName("Should get all clients successfully")
     void testGetAllClients_Success() {
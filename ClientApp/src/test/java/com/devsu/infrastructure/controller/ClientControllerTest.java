@@ -232,6 +232,37 @@ class ClientControllerTest {
         verify(clientService, times(1)).getClient(999L);
     }
 
+    @Test
+    @DisplayName("POST /clientes/by-clientIds - Should get the clients found")
+    void testGetClientsByClientIds_Success() throws Exception {
+        // Given
+        List<String> clientIds = Arrays.asList("CLI001", "CLI999");
+        when(clientService.getClientsByClientIds(clientIds)).thenReturn(Arrays.asList(clientResponseDTO));
+
+        // When & Then
+        mockMvc.perform(post("/clientes/by-clientIds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(clientIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].clientId").value("CLI001"));
+
+        verify(clientService, times(1)).getClientsByClientIds(clientIds);
+    }
+
+    @Test
+    @DisplayName("POST /clientes/by-clientIds - Should reject an empty list")
+    void testGetClientsByClientIds_Empty() throws Exception {
+        when(clientService.getClientsByClientIds(Arrays.asList()))
+                .thenThrow(new BusinessException("At least one clientId is required"));
+
+        mockMvc.perform(post("/clientes/by-clientIds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At least one clientId is required"));
+    }
+
     @Test
     @DisplayName("GET /clientes - Should get all clients successfully")
     void testGetAllClients_Success() throws Exception {
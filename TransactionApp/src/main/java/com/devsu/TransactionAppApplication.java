@@ -3,8 +3,10 @@ package com.devsu;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(exclude = {RedisReactiveAutoConfiguration.class})
+@EnableScheduling
 public class TransactionAppApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,26 @@
+package com.devsu.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the balance of an account as of a given instant
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountBalanceResponseDTO {
+    
+    private Long accountId;
+    private String accountNumber;
+    private LocalDateTime at;
+    private BigDecimal balance;
+}
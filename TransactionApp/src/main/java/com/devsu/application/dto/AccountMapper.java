@@ -1,6 +1,7 @@
 package com.devsu.application.dto;
 
 import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
 
 /**
  * Mapper class for converting between Account entity and DTOs
@@ -18,7 +19,7 @@ public class AccountMapper {
         Account account = new Account();
         account.setAccountNumber(dto.getAccountNumber());
         account.setAccountType(dto.getAccountType());
-        account.setBalance(dto.getInitialBalance());
+        account.setBalance(Money.of(dto.getInitialBalance()));
         account.setState(dto.getState());
         account.setAccountKey(dto.getAccountKey());
         account.setClientId(dto.getClientId());
@@ -33,7 +34,7 @@ public class AccountMapper {
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
                 .accountType(account.getAccountType())
-                .balance(account.getBalance())
+                .balance(account.getBalance().toBigDecimal())
                 .state(account.getState())
                 .clientId(account.getClientId())
                 .build();
@@ -45,7 +46,7 @@ public class AccountMapper {
     public static void updateEntityFromDTO(Account account, AccountRequestDTO dto) {
         account.setAccountNumber(dto.getAccountNumber());
         account.setAccountType(dto.getAccountType());
-        account.setBalance(dto.getInitialBalance());
+        account.setBalance(Money.of(dto.getInitialBalance()));
         account.setState(dto.getState());
         account.setAccountKey(dto.getAccountKey());
         account.setClientId(dto.getClientId());
@@ -1,5 +1,8 @@
 package com.devsu.application.dto;
 
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -23,7 +26,8 @@ public class AccountRequestDTO {
     
     @NotNull(message = "Initial balance is required")
     @Min(value = 0, message = "Balance cannot be negative")
-    private Double initialBalance;
+    @Digits(integer = 17, fraction = 2, message = "Balance must have at most 2 decimal places")
+    private BigDecimal initialBalance;
     
     @NotBlank(message = "State is required")
     private String state;
@@ -1,5 +1,7 @@
 package com.devsu.application.dto;
 
+import java.math.BigDecimal;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +22,7 @@ public class AccountResponseDTO {
     private Long id;
     private String accountNumber;
     private String accountType;
-    private Double balance;
+    private BigDecimal balance;
     private String state;
     private String clientId;
 }
@@ -0,0 +1,22 @@
+package com.devsu.application.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for batch Movement creation requests
+ * Settlement feeds (ATM, POS) submitted in a single call
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovementBatchRequestDTO {
+    
+    @NotEmpty(message = "Movements are required")
+    private List<@Valid MovementRequestDTO> movements;
+}
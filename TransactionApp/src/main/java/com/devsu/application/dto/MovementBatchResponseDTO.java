@@ -0,0 +1,47 @@
+package com.devsu.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for batch Movement creation responses
+ * Reports the outcome of every submitted item in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovementBatchResponseDTO {
+    
+    public static final String STATUS_CREATED = "CREATED";
+    public static final String STATUS_REJECTED = "REJECTED";
+    
+    private Integer totalItems;
+    private Integer created;
+    private Integer rejected;
+    private List<ItemResult> results;
+    
+    /**
+     * Outcome of a single batch item
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        private Integer index;
+        private Long accountId;
+        private String status;
+        private Long movementNumber;
+        private BigDecimal balance;
+        private String message;
+    }
+}
@@ -1,6 +1,7 @@
 package com.devsu.application.dto;
 
 import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
 import com.devsu.domain.model.Movement;
 
 /**
@@ -21,7 +22,7 @@ public class MovementMapper {
         movement.setAccount(account);
         movement.setMovementDate(dto.getMovementDate());
         movement.setMovementType(dto.getMovementType());
-        movement.setAmount(dto.getAmount());
+        movement.setAmount(Money.of(dto.getAmount()));
         movement.setState(dto.getState());
         // Balance will be calculated by the service
         return movement;
@@ -38,8 +39,8 @@ public class MovementMapper {
                 .movementNumber(movement.getMovementNumber())
                 .movementDate(movement.getMovementDate())
                 .movementType(movement.getMovementType())
-                .amount(movement.getAmount())
-                .balance(movement.getBalance())
+                .amount(movement.getAmount().toBigDecimal())
+                .balance(movement.getBalance().toBigDecimal())
                 .state(movement.getState())
                 .build();
     }
@@ -51,7 +52,7 @@ public class MovementMapper {
     public static void updateEntityFromDTO(Movement movement, MovementRequestDTO dto) {
         movement.setMovementDate(dto.getMovementDate());
         movement.setMovementType(dto.getMovementType());
-        movement.setAmount(dto.getAmount());
+        movement.setAmount(Money.of(dto.getAmount()));
         movement.setState(dto.getState());
     }
 }
@@ -1,7 +1,9 @@
 package com.devsu.application.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -26,7 +28,8 @@ public class MovementRequestDTO {
     private String movementType;
     
     @NotNull(message = "Amount is required")
-    private Double amount;
+    @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
     
     @NotBlank(message = "State is required")
     private String state;
@@ -1,5 +1,6 @@
 package com.devsu.application.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -24,7 +25,7 @@ public class MovementResponseDTO {
     private Long movementNumber;
     private LocalDateTime movementDate;
     private String movementType;
-    private Double amount;
-    private Double balance;
+    private BigDecimal amount;
+    private BigDecimal balance;
     private String state;
 }
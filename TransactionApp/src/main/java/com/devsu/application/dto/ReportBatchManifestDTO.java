@@ -0,0 +1,40 @@
+package com.devsu.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the manifest of a batch statement archive (F4)
+ * Written as the last entry of the archive
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportBatchManifestDTO {
+    
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String format;
+    private Integer requestedClients;
+    private Integer statements;
+    private Integer totalAccounts;
+    private Integer totalMovements;
+    
+    /**
+     * Clients without accounts, no statement is written
+     */
+    private List<String> clientsWithoutAccounts;
+    
+    /**
+     * Clients with accounts that ClientApp does not know, no statement is written
+     */
+    private List<String> clientsNotFound;
+    
+    private Long elapsedMillis;
+}
@@ -0,0 +1,34 @@
+package com.devsu.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for batch account statement requests (F4)
+ * Statements of many clients for the same period, e.g. month-end processing
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportBatchRequestDTO {
+    
+    @NotEmpty(message = "At least one client ID is required")
+    private List<String> clientIds;
+    
+    @NotNull(message = "Start date is required")
+    private LocalDateTime startDate;
+    
+    @NotNull(message = "End date is required")
+    private LocalDateTime endDate;
+    
+    /**
+     * Format of each statement in the archive: ndjson (default) or csv
+     */
+    private String format;
+}
@@ -0,0 +1,32 @@
+package com.devsu.application.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for asynchronous report job requests (F4)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequestDTO {
+    
+    @NotBlank(message = "Client ID is required")
+    private String clientId;
+    
+    @NotNull(message = "Start date is required")
+    private LocalDateTime startDate;
+    
+    @NotNull(message = "End date is required")
+    private LocalDateTime endDate;
+    
+    /**
+     * Artifact format: ndjson (default) or csv
+     */
+    private String format;
+}
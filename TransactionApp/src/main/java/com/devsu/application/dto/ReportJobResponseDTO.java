@@ -0,0 +1,40 @@
+package com.devsu.application.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the status of an asynchronous report job (F4)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJobResponseDTO {
+    
+    private String jobId;
+    private Status status;
+    private String clientId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String format;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt;
+    private Long sizeBytes;
+    private String error;
+    
+    /**
+     * Lifecycle of a report job
+     */
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
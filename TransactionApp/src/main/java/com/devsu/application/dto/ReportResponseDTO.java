@@ -1,5 +1,6 @@
 package com.devsu.application.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -39,19 +40,25 @@ public class ReportResponseDTO {
     
     /**
      * Account information in report
+     * Summary-only reports carry the account totals instead of the movements; paginated
+     * reports carry the first page of movements, the totals of the whole period and the
+     * cursor of the next page (absent on the last page)
      */
     @Data
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class AccountInfo {
         private Long accountId;
         private String accountNumber;
         private String accountType;
         private String clientId;
-        private Double initialBalance;
-        private Double finalBalance;
+        private BigDecimal initialBalance;
+        private BigDecimal finalBalance;
         private List<MovementInfo> movements;
+        private Summary summary;
+        private String nextCursor;
     }
     
     /**
@@ -65,23 +72,25 @@ public class ReportResponseDTO {
         private Long movementId;
         private LocalDateTime movementDate;
         private String movementType;
-        private Double amount;
-        private Double balance;
+        private BigDecimal amount;
+        private BigDecimal balance;
         private String state;
     }
     
     /**
      * Report summary
+     * totalAccounts is only set on the client summary
      */
     @Data
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Summary {
         private Integer totalAccounts;
         private Integer totalMovements;
-        private Double totalDeposits;
-        private Double totalWithdrawals;
-        private Double netChange;
+        private BigDecimal totalDeposits;
+        private BigDecimal totalWithdrawals;
+        private BigDecimal netChange;
     }
 }
@@ -0,0 +1,25 @@
+package com.devsu.application.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a page of account statement movements (F4)
+ * nextCursor is absent on the last page of the period
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatementPageResponseDTO {
+    
+    private Long accountId;
+    private List<ReportResponseDTO.MovementInfo> movements;
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.devsu.application.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for account-to-account transfer requests
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferRequestDTO {
+    
+    @NotNull(message = "Source account ID is required")
+    private Long sourceAccountId;
+    
+    @NotNull(message = "Target account ID is required")
+    private Long targetAccountId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be positive")
+    @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
+    
+    @NotBlank(message = "State is required")
+    private String state;
+}
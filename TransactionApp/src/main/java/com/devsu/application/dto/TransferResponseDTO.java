@@ -0,0 +1,27 @@
+package com.devsu.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for transfer responses
+ * Contains the debit and credit movements written by the transfer
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferResponseDTO {
+    
+    private LocalDateTime transferDate;
+    private BigDecimal amount;
+    private MovementResponseDTO debit;
+    private MovementResponseDTO credit;
+}
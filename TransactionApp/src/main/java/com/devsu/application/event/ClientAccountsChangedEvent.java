@@ -0,0 +1,15 @@
+package com.devsu.application.event;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Accounts of the given clients were created or changed
+ * Published inside the writing transaction, listeners act after it commits
+ */
+public record ClientAccountsChangedEvent(Set<String> clientIds) {
+
+    public static ClientAccountsChangedEvent of(String... clientIds) {
+        return new ClientAccountsChangedEvent(Set.copyOf(List.of(clientIds)));
+    }
+}
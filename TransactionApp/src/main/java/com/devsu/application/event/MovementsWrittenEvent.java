@@ -0,0 +1,14 @@
+package com.devsu.application.event;
+
+import java.util.Set;
+
+/**
+ * Movements of the given accounts were created or changed
+ * Published inside the writing transaction, listeners act after it commits
+ */
+public record MovementsWrittenEvent(Set<Long> accountIds) {
+
+    public static MovementsWrittenEvent of(Long... accountIds) {
+        return new MovementsWrittenEvent(Set.of(accountIds));
+    }
+}
@@ -1,7 +1,9 @@
 package com.devsu.application.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.devsu.application.dto.AccountBalanceResponseDTO;
 import com.devsu.application.dto.AccountRequestDTO;
 import com.devsu.application.dto.AccountResponseDTO;
 
@@ -14,4 +16,5 @@ public interface AccountService {
     public AccountResponseDTO getAccountByAccountNumber(String accountNumber);
     public List<AccountResponseDTO> getAllAccounts();
     public List<AccountResponseDTO> getAccountsByClientId(String clientId);
+    public AccountBalanceResponseDTO getBalanceAt(Long id, LocalDateTime at);
 }
@@ -2,12 +2,14 @@ package com.devsu.application.service;
 
 import java.util.List;
 
+import com.devsu.application.dto.MovementBatchResponseDTO;
 import com.devsu.application.dto.MovementRequestDTO;
 import com.devsu.application.dto.MovementResponseDTO;
 
 public interface MovementService {
     
     public MovementResponseDTO createMovement(MovementRequestDTO movementRequestDTO);
+    public MovementBatchResponseDTO createMovements(List<MovementRequestDTO> movementRequestDTOs);
     public MovementResponseDTO updateMovement(Long id, MovementRequestDTO movementRequestDTO);
     public void deleteMovement(Long id);
     public MovementResponseDTO getMovement(Long id);
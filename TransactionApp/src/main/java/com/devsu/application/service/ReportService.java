@@ -1,8 +1,15 @@
 package com.devsu.application.service;
 
+import com.devsu.application.dto.ReportBatchManifestDTO;
+import com.devsu.application.dto.ReportBatchRequestDTO;
 import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.dto.StatementPageResponseDTO;
+import com.devsu.infrastructure.export.StatementArchiveWriter;
+import com.devsu.infrastructure.export.StatementExportWriter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service interface for Report operations (F4)
@@ -19,4 +26,83 @@ public interface ReportService {
      * @return report with all client accounts, movements and summary
      */
     ReportResponseDTO generateAccountStatement(String clientId, LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Totals of the account statement, without movements
+     * F4: Per-account and client totals aggregated by the database
+     * 
+     * @param clientId the client ID
+     * @param startDate start date of report period
+     * @param endDate end date of report period
+     * @return report with all client accounts and their totals, and the client summary
+     */
+    ReportResponseDTO generateAccountSummary(String clientId, LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Account statement with the first page of movements of every account
+     * F4 for busy accounts: the totals and balances cover the whole period, further
+     * movements are read with the cursor of each account
+     * 
+     * @param clientId the client ID
+     * @param startDate start date of report period
+     * @param endDate end date of report period
+     * @param pageSize movements per account, null for the configured default
+     * @return report with the first page of every account and the client summary
+     */
+    ReportResponseDTO generateAccountStatementPage(String clientId, LocalDateTime startDate, LocalDateTime endDate,
+                                                   Integer pageSize);
+    
+    /**
+     * Next page of the movements of an account statement
+     * 
+     * @param cursor continuation token of the account, from the report or the previous page
+     * @param pageSize movements of the page, null for the configured default
+     * @return movements following the cursor and the cursor of the next page
+     * @throws com.devsu.domain.exception.BusinessException when the cursor or the page size is invalid
+     */
+    StatementPageResponseDTO getStatementMovements(String cursor, Integer pageSize);
+    
+    /**
+     * Client of a statement export, resolved before the export starts streaming
+     * 
+     * @param clientId the client ID
+     * @return client information
+     * @throws com.devsu.domain.exception.ResourceNotFoundException when the client has no accounts
+     */
+    ReportResponseDTO.ClientInfo getStatementClient(String clientId);
+    
+    /**
+     * Stream the account statement of a client to the writer
+     * F4 for large periods: records are written as they are read, the summary last
+     * 
+     * @param client the client, see {@link #getStatementClient(String)}
+     * @param startDate start date of report period
+     * @param endDate end date of report period
+     * @param writer destination of the statement records
+     */
+    void exportAccountStatement(ReportResponseDTO.ClientInfo client, LocalDateTime startDate, LocalDateTime endDate,
+                                StatementExportWriter writer) throws IOException;
+    
+    /**
+     * Client ids of a batch statement request, checked before the archive starts streaming
+     * 
+     * @param request the batch request
+     * @return distinct client ids in the order the statements are written
+     * @throws com.devsu.domain.exception.BusinessException when the period or the client list is invalid
+     */
+    List<String> validateStatementBatch(ReportBatchRequestDTO request);
+    
+    /**
+     * Write the account statements of many clients to an archive
+     * F4 for month-end processing: one statement per client with accounts, read in
+     * batches of clients with one query each, and the manifest last
+     * 
+     * @param clientIds client ids, see {@link #validateStatementBatch(ReportBatchRequestDTO)}
+     * @param startDate start date of report period
+     * @param endDate end date of report period
+     * @param archive destination of the statements
+     * @return the manifest written to the archive
+     */
+    ReportBatchManifestDTO exportAccountStatements(List<String> clientIds, LocalDateTime startDate,
+                                                   LocalDateTime endDate, StatementArchiveWriter archive) throws IOException;
 }
@@ -0,0 +1,9 @@
+package com.devsu.application.service;
+
+import com.devsu.application.dto.TransferRequestDTO;
+import com.devsu.application.dto.TransferResponseDTO;
+
+public interface TransferService {
+    
+    public TransferResponseDTO transfer(TransferRequestDTO transferRequestDTO);
+}
@@ -1,21 +1,30 @@
 package com.devsu.application.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devsu.application.dto.AccountBalanceResponseDTO;
 import com.devsu.application.dto.AccountMapper;
 import com.devsu.application.dto.AccountRequestDTO;
 import com.devsu.application.dto.AccountResponseDTO;
+import com.devsu.application.event.ClientAccountsChangedEvent;
 import com.devsu.application.service.AccountService;
 import com.devsu.domain.exception.BusinessException;
 import com.devsu.domain.exception.ResourceNotFoundException;
 import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
 import com.devsu.domain.repository.AccountRepository;
 import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
 import com.devsu.infrastructure.client.ClientServiceClient;
+import com.devsu.infrastructure.executor.Futures;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +40,8 @@ public class AccountServiceImpl implements AccountService {
     
     private final AccountRepository accountRepository;
     private final ClientServiceClient clientServiceClient;
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Create a new account
@@ -41,9 +52,13 @@ public class AccountServiceImpl implements AccountService {
     public AccountResponseDTO createAccount(AccountRequestDTO accountRequestDTO) {
         log.info("Creating new account with accountNumber: {}", accountRequestDTO.getAccountNumber());
         
-        // Validate that client exists
+        // Client lookup runs while the account number is checked
         String clientId = accountRequestDTO.getClientId();
-        ClientCacheDTO client = clientServiceClient.getClientByClientId(clientId);
+        CompletableFuture<ClientCacheDTO> clientLookup = clientServiceClient.getClientByClientIdAsync(clientId);
+        Optional<Account> existing = accountRepository.findByAccountNumber(accountRequestDTO.getAccountNumber());
+        
+        // Validate that client exists
+        ClientCacheDTO client = Futures.await(clientLookup);
         if (client == null) {
             log.error("Client with clientId {} not found", clientId);
             throw new ResourceNotFoundException("Client with clientId " + clientId + " not found");
@@ -51,15 +66,15 @@ public class AccountServiceImpl implements AccountService {
         log.info("Client {} validated successfully", clientId);
         
         // Validate account number uniqueness
-        accountRepository.findByAccountNumber(accountRequestDTO.getAccountNumber())
-            .ifPresent(account -> {
-                log.error("Account with accountNumber {} already exists", accountRequestDTO.getAccountNumber());
-                throw new BusinessException("Account with accountNumber " + accountRequestDTO.getAccountNumber() + " already exists");
-            });
+        existing.ifPresent(account -> {
+            log.error("Account with accountNumber {} already exists", accountRequestDTO.getAccountNumber());
+            throw new BusinessException("Account with accountNumber " + accountRequestDTO.getAccountNumber() + " already exists");
+        });
         
         // Convert DTO to entity and save
         Account account = AccountMapper.toEntity(accountRequestDTO);
         Account savedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(ClientAccountsChangedEvent.of(savedAccount.getClientId()));
         
         log.info("Account created successfully with id: {}", savedAccount.getId());
         return AccountMapper.toResponseDTO(savedAccount);
@@ -90,9 +105,11 @@ public class AccountServiceImpl implements AccountService {
                 });
         }
         
-        // Update entity from DTO
+        // Update entity from DTO, the account may move to another client
+        String previousClientId = account.getClientId();
         AccountMapper.updateEntityFromDTO(account, accountRequestDTO);
         Account updatedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(ClientAccountsChangedEvent.of(previousClientId, updatedAccount.getClientId()));
         
         log.info("Account updated successfully with id: {}", updatedAccount.getId());
         return AccountMapper.toResponseDTO(updatedAccount);
@@ -173,4 +190,28 @@ public class AccountServiceImpl implements AccountService {
             .map(AccountMapper::toResponseDTO)
             .collect(Collectors.toList());
     }
+
+    /**
+     * Get the balance of an account as of the given instant
+     * Served from the daily snapshots plus the movements of that day
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AccountBalanceResponseDTO getBalanceAt(Long id, LocalDateTime at) {
+        log.info("Fetching balance of account with id: {} at {}", id, at);
+        
+        Account account = accountRepository.findById(id)
+            .orElseThrow(() -> {
+                log.error("Account with id {} not found", id);
+                return new ResourceNotFoundException("Account with id " + id + " not found");
+            });
+        
+        Money balance = balanceSnapshotStore.balanceAt(id, at).orElse(account.getBalance());
+        return AccountBalanceResponseDTO.builder()
+            .accountId(account.getId())
+            .accountNumber(account.getAccountNumber())
+            .at(at)
+            .balance(balance.toBigDecimal())
+            .build();
+    }
 }
@@ -0,0 +1,68 @@
+package com.devsu.application.service.impl;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.devsu.application.dto.MovementBatchResponseDTO;
+import com.devsu.application.dto.MovementRequestDTO;
+import com.devsu.application.dto.MovementResponseDTO;
+import com.devsu.application.service.MovementService;
+import com.devsu.infrastructure.lock.AccountLockManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MovementService with per-account concurrency control
+ * Serializes writes on the same account through the striped account lock
+ * before the transaction of MovementServiceImpl starts, and retries it on
+ * concurrency failures. Reads and batches (which lock per chunk) are delegated directly
+ */
+@Primary
+@Service
+@RequiredArgsConstructor
+public class LockingMovementService implements MovementService {
+
+    private final MovementServiceImpl delegate;
+    private final AccountLockManager accountLockManager;
+
+    @Override
+    public MovementResponseDTO createMovement(MovementRequestDTO movementRequestDTO) {
+        return accountLockManager.executeWithLock(movementRequestDTO.getAccountId(),
+            () -> delegate.createMovement(movementRequestDTO));
+    }
+
+    @Override
+    public MovementBatchResponseDTO createMovements(List<MovementRequestDTO> movementRequestDTOs) {
+        return delegate.createMovements(movementRequestDTOs);
+    }
+
+    @Override
+    public MovementResponseDTO updateMovement(Long id, MovementRequestDTO movementRequestDTO) {
+        // The movement may change account, the chains of both accounts are locked
+        Long previousAccountId = delegate.findMovementAccountId(id);
+        return accountLockManager.executeWithLocks(List.of(previousAccountId, movementRequestDTO.getAccountId()),
+            () -> delegate.updateMovement(id, movementRequestDTO));
+    }
+
+    @Override
+    public void deleteMovement(Long id) {
+        delegate.deleteMovement(id);
+    }
+
+    @Override
+    public MovementResponseDTO getMovement(Long id) {
+        return delegate.getMovement(id);
+    }
+
+    @Override
+    public List<MovementResponseDTO> getAllMovements() {
+        return delegate.getAllMovements();
+    }
+
+    @Override
+    public List<MovementResponseDTO> getMovementsByAccountId(Long accountId) {
+        return delegate.getMovementsByAccountId(accountId);
+    }
+}
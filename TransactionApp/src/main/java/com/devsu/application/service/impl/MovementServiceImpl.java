@@ -1,21 +1,47 @@
 package com.devsu.application.service.impl;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.devsu.application.dto.MovementBatchResponseDTO;
 import com.devsu.application.dto.MovementMapper;
 import com.devsu.application.dto.MovementRequestDTO;
 import com.devsu.application.dto.MovementResponseDTO;
+import com.devsu.application.event.MovementsWrittenEvent;
 import com.devsu.application.service.MovementService;
+import com.devsu.domain.exception.DailyLimitExceededException;
 import com.devsu.domain.exception.InsufficientBalanceException;
 import com.devsu.domain.exception.ResourceNotFoundException;
 import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
 import com.devsu.domain.model.Movement;
 import com.devsu.domain.repository.AccountRepository;
 import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.limit.DailyWithdrawalLimiter;
+import com.devsu.infrastructure.lock.AccountLockManager;
+import com.devsu.infrastructure.persistence.BalanceChainRepairer;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
+import com.devsu.infrastructure.persistence.MovementRollupStore;
+import com.devsu.infrastructure.persistence.MovementWriter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,120 +56,450 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class MovementServiceImpl implements MovementService {
     
+    static final String WRITER_MODE_JDBC = "jdbc";
+    
     private final MovementRepository movementRepository;
     private final AccountRepository accountRepository;
+    private final MovementWriter movementWriter;
+    private final BalanceChainRepairer balanceChainRepairer;
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final MovementRollupStore movementRollupStore;
+    private final DailyWithdrawalLimiter dailyWithdrawalLimiter;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Write path for new movements: jpa (entities) or jdbc (single conditional statement)
+     */
+    @Value("${movement.writer.mode:jpa}")
+    private String writerMode;
+    
+    /**
+     * Maximum number of batch items written per transaction
+     */
+    @Value("${movement.batch.chunk-size:500}")
+    private int batchChunkSize;
     
     /**
      * Create a new movement
      * F2: Updates account balance and registers transaction
      * F3: Validates sufficient balance for withdrawals
+     * Withdrawals are checked against the daily limit of the account type
      */
     @Override
     @Transactional
     public MovementResponseDTO createMovement(MovementRequestDTO movementRequestDTO) {
         log.info("Creating new movement for account: {}", movementRequestDTO.getAccountId());
+        eventPublisher.publishEvent(MovementsWrittenEvent.of(movementRequestDTO.getAccountId()));
         
-        // Find account
-        Account account = accountRepository.findById(movementRequestDTO.getAccountId())
-            .orElseThrow(() -> {
-                log.error("Account with id {} not found", movementRequestDTO.getAccountId());
-                return new ResourceNotFoundException("Account with id " + movementRequestDTO.getAccountId() + " not found");
-            });
-        
-        // Get current balance (from account or last movement)
-        Double currentBalance = account.getBalance();
-        List<Movement> lastMovements = movementRepository.findByAccountOrderByMovementDateDesc(account);
-        if (!lastMovements.isEmpty()) {
-            currentBalance = lastMovements.get(0).getBalance();
+        // The single-statement writer only appends at the head of the chain, a movement
+        // dated before another one of the account goes through the locked path below
+        if (WRITER_MODE_JDBC.equalsIgnoreCase(writerMode)) {
+            Optional<MovementResponseDTO> appended = movementWriter.append(movementRequestDTO);
+            if (appended.isPresent()) {
+                return appended.get();
+            }
         }
         
+        // Find and lock account
+        Account account = findAccountForUpdate(movementRequestDTO.getAccountId());
+        
+        // Generate movement number from the account ledger head
+        Long movementNumber = account.nextMovementNumber(movementRepository::findMaxMovementNumber);
+        
+        // Current balance is kept authoritative on the account row (F2), backdated
+        // movements start from the balance at their position in the chain
+        boolean backdated = isBackdated(movementRequestDTO);
+        Money currentBalance = backdated
+            ? balanceChainRepairer.balanceBefore(account.getId(), movementRequestDTO.getMovementDate(), movementNumber)
+                .orElse(account.getBalance())
+            : account.getBalance();
+        
         // Calculate new balance
-        Double amount = movementRequestDTO.getAmount();
-        Double newBalance = currentBalance + amount;
+        Money amount = Money.of(movementRequestDTO.getAmount());
+        Money newBalance = currentBalance.plus(amount);
         
         // F3: Validate sufficient balance for withdrawals (negative amounts)
-        if (newBalance < 0) {
+        if (newBalance.isNegative()) {
             log.error("Insufficient balance for account {}. Current: {}, Requested: {}", 
                      account.getAccountNumber(), currentBalance, amount);
             throw new InsufficientBalanceException("Saldo no disponible");
         }
         
+        // Daily withdrawal limit, the counter is stored with the account below
+        dailyWithdrawalLimiter.registerWithdrawal(account, movementRequestDTO.getMovementDate().toLocalDate(), amount);
+        
         // Create movement
         Movement movement = MovementMapper.toEntity(movementRequestDTO, account);
         movement.setBalance(newBalance);
-        
-        // Generate movement number (simple sequential)
-        Long movementNumber = movementRepository.findByAccount(account).size() + 1L;
         movement.setMovementNumber(movementNumber);
         
-        // Save movement
-        Movement savedMovement = movementRepository.save(movement);
+        // Save movement, later movements of a backdated one are shifted by its amount
+        Movement savedMovement;
+        Money accountBalance = newBalance;
+        LocalDate day = movement.getMovementDate().toLocalDate();
+        if (backdated) {
+            savedMovement = movementRepository.saveAndFlush(movement);
+            accountBalance = balanceChainRepairer.repairFrom(account.getId(), movement.getMovementDate(),
+                movementNumber, currentBalance, null).getFinalBalance();
+            balanceSnapshotStore.rebuildFrom(account.getId(), day);
+        } else {
+            savedMovement = movementRepository.save(movement);
+            balanceSnapshotStore.record(account.getId(), day, newBalance);
+        }
+        movementRollupStore.add(account.getId(), day, amount);
         
-        // F2: Update account balance
-        account.setBalance(newBalance);
+        // F2: Update account balance and ledger head
+        account.setBalance(accountBalance);
+        account.setLastMovementNumber(movementNumber);
         accountRepository.save(account);
         
-        log.info("Movement created successfully with id: {}. New balance: {}", savedMovement.getId(), newBalance);
+        log.info("Movement created successfully with id: {}. New balance: {}", savedMovement.getId(), accountBalance);
         return MovementMapper.toResponseDTO(savedMovement);
     }
 
+    /**
+     * Create movements in batch (settlement feeds)
+     * Entries are grouped by account and applied in movementDate order against an
+     * in-memory running balance. Each chunk of accounts is locked and written with
+     * JDBC batch inserts in its own transaction
+     * F3: Rejections are reported per item, the rest of the batch continues
+     * (including withdrawals over the daily limit)
+     */
+    @Override
+    public MovementBatchResponseDTO createMovements(List<MovementRequestDTO> movementRequestDTOs) {
+        log.info("Creating batch of {} movements", movementRequestDTOs.size());
+        
+        // Group item indexes by account (ascending id), each group in movementDate order
+        Map<Long, List<Integer>> indexesByAccount = IntStream.range(0, movementRequestDTOs.size())
+            .boxed()
+            .sorted(Comparator.comparing(i -> movementRequestDTOs.get(i).getMovementDate()))
+            .collect(Collectors.groupingBy(i -> movementRequestDTOs.get(i).getAccountId(),
+                TreeMap::new, Collectors.toList()));
+        
+        MovementBatchResponseDTO.ItemResult[] results = new MovementBatchResponseDTO.ItemResult[movementRequestDTOs.size()];
+        Map<Long, List<Integer>> chunk = new TreeMap<>();
+        int chunkItems = 0;
+        for (Map.Entry<Long, List<Integer>> group : indexesByAccount.entrySet()) {
+            chunk.put(group.getKey(), group.getValue());
+            chunkItems += group.getValue().size();
+            if (chunkItems >= batchChunkSize) {
+                processChunk(chunk, movementRequestDTOs, results);
+                chunk = new TreeMap<>();
+                chunkItems = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, movementRequestDTOs, results);
+        }
+        
+        int created = (int) Arrays.stream(results)
+            .filter(r -> MovementBatchResponseDTO.STATUS_CREATED.equals(r.getStatus()))
+            .count();
+        log.info("Batch processed: {} created, {} rejected", created, results.length - created);
+        
+        return MovementBatchResponseDTO.builder()
+            .totalItems(results.length)
+            .created(created)
+            .rejected(results.length - created)
+            .results(Arrays.asList(results))
+            .build();
+    }
+    
+    /**
+     * Write one chunk under the account locks and its own transaction
+     * Results are only published once the chunk has been committed
+     */
+    private void processChunk(Map<Long, List<Integer>> chunk, List<MovementRequestDTO> requests,
+                              MovementBatchResponseDTO.ItemResult[] results) {
+        try {
+            List<MovementBatchResponseDTO.ItemResult> chunkResults = accountLockManager.executeWithLocks(chunk.keySet(),
+                () -> transactionTemplate.execute(status -> applyChunk(chunk, requests)));
+            chunkResults.forEach(result -> results[result.getIndex()] = result);
+        } catch (RuntimeException e) {
+            log.error("Batch chunk for accounts {} could not be written", chunk.keySet(), e);
+            chunk.forEach((accountId, indexes) -> indexes.forEach(i ->
+                results[i] = rejected(i, accountId, "Movement could not be processed, please retry")));
+        }
+    }
+    
+    /**
+     * Apply a chunk against in-memory running balances and write it
+     * Items dated before stored movements of their account take their place in the
+     * chain: the stored suffix is validated (F3) against the accepted amounts before
+     * anything is written, and repaired once after the insert
+     * F2: Account balance and ledger head are updated once per account
+     */
+    private List<MovementBatchResponseDTO.ItemResult> applyChunk(Map<Long, List<Integer>> chunk,
+                                                                 List<MovementRequestDTO> requests) {
+        Map<Long, Account> accounts = accountRepository.findAllByIdInForUpdate(chunk.keySet()).stream()
+            .collect(Collectors.toMap(Account::getId, Function.identity()));
+        
+        List<MovementBatchResponseDTO.ItemResult> chunkResults = new ArrayList<>();
+        List<Movement> movements = new ArrayList<>();
+        // First accepted movement of each account whose stored suffix must be repaired
+        Map<Long, Movement> repairs = new TreeMap<>();
+        
+        for (Map.Entry<Long, List<Integer>> group : chunk.entrySet()) {
+            Long accountId = group.getKey();
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                log.error("Account with id {} not found", accountId);
+                group.getValue().forEach(i ->
+                    chunkResults.add(rejected(i, accountId, "Account with id " + accountId + " not found")));
+                continue;
+            }
+            
+            // The group is in movementDate order, its first item is the earliest position
+            Long movementNumber = account.nextMovementNumber(movementRepository::findMaxMovementNumber) - 1;
+            LocalDateTime earliestDate = requests.get(group.getValue().get(0)).getMovementDate();
+            boolean backdated = movementRepository.existsByAccountIdAndMovementDateAfter(accountId, earliestDate);
+            List<BalanceChainRepairer.ChainBalance> later = backdated
+                ? balanceChainRepairer.balancesAfter(accountId, earliestDate)
+                : List.of();
+            
+            // Lowest stored balance from each later movement to the end of the chain
+            long[] lowestFrom = new long[later.size() + 1];
+            lowestFrom[later.size()] = Long.MAX_VALUE;
+            for (int k = later.size() - 1; k >= 0; k--) {
+                lowestFrom[k] = Math.min(later.get(k).getBalance().getMinorUnits(), lowestFrom[k + 1]);
+            }
+            
+            // Running balances in minor units, no boxing per item: the stored balance right
+            // before the item and the sum of the items accepted so far
+            long stored = backdated
+                ? balanceChainRepairer.balanceBefore(accountId, earliestDate, movementNumber + 1)
+                    .orElse(account.getBalance()).getMinorUnits()
+                : account.getBalance().getMinorUnits();
+            long accepted = 0;
+            int next = 0;
+            // Withdrawals of the group dated before the account's daily counter day
+            Map<LocalDate, Money> pastDayWithdrawals = new HashMap<>();
+            for (Integer i : group.getValue()) {
+                MovementRequestDTO dto = requests.get(i);
+                Money amount = Money.of(dto.getAmount());
+                
+                // Stored movements dated up to the item come before it in the chain
+                while (next < later.size() && !later.get(next).getMovementDate().isAfter(dto.getMovementDate())) {
+                    stored = later.get(next++).getBalance().getMinorUnits();
+                }
+                long newBalance = Math.addExact(Math.addExact(stored, accepted), amount.getMinorUnits());
+                
+                // F3: Reject the item when it or any later stored movement would go below
+                // zero, the running balances are left untouched
+                if (newBalance < 0 || (next < later.size()
+                        && lowestFrom[next] + accepted + amount.getMinorUnits() < 0)) {
+                    chunkResults.add(rejected(i, accountId, "Saldo no disponible"));
+                    continue;
+                }
+                try {
+                    dailyWithdrawalLimiter.registerWithdrawal(account, dto.getMovementDate().toLocalDate(), amount,
+                        pastDayWithdrawals);
+                } catch (DailyLimitExceededException e) {
+                    chunkResults.add(rejected(i, accountId, e.getMessage()));
+                    continue;
+                }
+                
+                accepted = Math.addExact(accepted, amount.getMinorUnits());
+                movementNumber++;
+                
+                Movement movement = MovementMapper.toEntity(dto, account);
+                movement.setBalance(Money.ofMinor(newBalance));
+                movement.setMovementNumber(movementNumber);
+                movements.add(movement);
+                if (next < later.size()) {
+                    repairs.putIfAbsent(accountId, movement);
+                }
+                
+                chunkResults.add(MovementBatchResponseDTO.ItemResult.builder()
+                    .index(i)
+                    .accountId(accountId)
+                    .status(MovementBatchResponseDTO.STATUS_CREATED)
+                    .movementNumber(movementNumber)
+                    .balance(movement.getBalance().toBigDecimal())
+                    .build());
+            }
+            
+            // Every later stored movement is shifted by the accepted amounts
+            if (!later.isEmpty()) {
+                stored = later.get(later.size() - 1).getBalance().getMinorUnits();
+            }
+            account.setBalance(Money.ofMinor(Math.addExact(stored, accepted)));
+            account.setLastMovementNumber(movementNumber);
+        }
+        
+        movementWriter.insertBatch(movements);
+        repairs.forEach((accountId, first) -> balanceChainRepairer.repairFrom(accountId,
+            first.getMovementDate(), first.getMovementNumber(), first.getBalance().minus(first.getAmount()), null));
+        movementRollupStore.addAll(movements);
+        
+        // Snapshots are read from the movement balances, so they are rebuilt once the
+        // chains are repaired, from the earliest day written per account
+        Map<Long, LocalDate> firstDays = new TreeMap<>();
+        movements.forEach(m -> firstDays.merge(m.getAccount().getId(), m.getMovementDate().toLocalDate(),
+            (a, b) -> a.isBefore(b) ? a : b));
+        firstDays.forEach(balanceSnapshotStore::rebuildFrom);
+        if (!firstDays.isEmpty()) {
+            eventPublisher.publishEvent(new MovementsWrittenEvent(Set.copyOf(firstDays.keySet())));
+        }
+        return chunkResults;
+    }
+    
+    private MovementBatchResponseDTO.ItemResult rejected(Integer index, Long accountId, String message) {
+        return MovementBatchResponseDTO.ItemResult.builder()
+            .index(index)
+            .accountId(accountId)
+            .status(MovementBatchResponseDTO.STATUS_REJECTED)
+            .message(message)
+            .build();
+    }
+
     /**
      * Update an existing movement
      * F1 specifies CRU (Create, Read, Update) - no Delete
-     * Note: Updating movements may require recalculating subsequent balances
+     * Changes of amount, date or account repair the balance chain from the first
+     * affected position, F3 is validated across the whole repaired chain.
+     * Corrections are not checked against the daily limit, the daily counters of the
+     * affected days are recomputed instead
      */
     @Override
     @Transactional
     public MovementResponseDTO updateMovement(Long id, MovementRequestDTO movementRequestDTO) {
         log.info("Updating movement with id: {}", id);
         
-        // Find existing movement
+        // Find and lock the accounts involved, then read the movement under the row locks
+        Long previousAccountId = findMovementAccountId(id);
+        Long accountId = movementRequestDTO.getAccountId();
+        Map<Long, Account> accounts = findAccountsForUpdate(previousAccountId, accountId);
         Movement movement = movementRepository.findById(id)
             .orElseThrow(() -> {
                 log.error("Movement with id {} not found", id);
                 return new ResourceNotFoundException("Movement with id " + id + " not found");
             });
         
-        // Find account if changed
-        Account account = movement.getAccount();
-        if (!account.getId().equals(movementRequestDTO.getAccountId())) {
-            account = accountRepository.findById(movementRequestDTO.getAccountId())
-                .orElseThrow(() -> {
-                    log.error("Account with id {} not found", movementRequestDTO.getAccountId());
-                    return new ResourceNotFoundException("Account with id " + movementRequestDTO.getAccountId() + " not found");
-                });
-            movement.setAccount(account);
+        // Moved to another account by an update committed before the locks were taken
+        if (!movement.getAccount().getId().equals(previousAccountId)) {
+            throw new ConcurrencyFailureException("Movement " + id + " was moved to another account, retrying");
         }
+        Account previousAccount = accounts.get(previousAccountId);
+        Account account = accounts.get(accountId);
+        eventPublisher.publishEvent(new MovementsWrittenEvent(accounts.keySet()));
+        
+        Money newAmount = Money.of(movementRequestDTO.getAmount());
+        Money previousAmount = movement.getAmount();
+        LocalDateTime previousDate = movement.getMovementDate();
+        LocalDateTime newDate = movementRequestDTO.getMovementDate();
+        Long previousNumber = movement.getMovementNumber();
         
-        // Recalculate balance if amount changed
-        if (!movement.getAmount().equals(movementRequestDTO.getAmount())) {
-            // Get previous balance (before this movement)
-            Double previousBalance = movement.getBalance() - movement.getAmount();
-            Double newAmount = movementRequestDTO.getAmount();
-            Double newBalance = previousBalance + newAmount;
+        // Only type or state changed, balances are not affected
+        if (previousAccountId.equals(accountId) && movement.getAmount().equals(newAmount)
+                && previousDate.equals(newDate)) {
+            MovementMapper.updateEntityFromDTO(movement, movementRequestDTO);
+            Movement updatedMovement = movementRepository.save(movement);
+            log.info("Movement updated successfully with id: {}", updatedMovement.getId());
+            return MovementMapper.toResponseDTO(updatedMovement);
+        }
+        
+        BalanceChainRepairer.Result repair;
+        if (previousAccountId.equals(accountId)) {
+            // Repair from the earliest of the previous and new positions
+            LocalDateTime from = newDate.isBefore(previousDate) ? newDate : previousDate;
+            Money openingBalance = balanceChainRepairer.balanceBefore(accountId, from, previousNumber)
+                .orElse(account.getBalance());
             
-            // F3: Validate sufficient balance
-            if (newBalance < 0) {
-                log.error("Insufficient balance for movement update. Previous: {}, New amount: {}", 
-                         previousBalance, newAmount);
-                throw new InsufficientBalanceException("Saldo no disponible");
-            }
+            MovementMapper.updateEntityFromDTO(movement, movementRequestDTO);
+            movementRepository.saveAndFlush(movement);
+            repair = balanceChainRepairer.repairFrom(accountId, from, previousNumber, openingBalance, id);
+            balanceSnapshotStore.rebuildFrom(accountId, from.toLocalDate());
+            dailyWithdrawalLimiter.refresh(account, previousDate.toLocalDate(), newDate.toLocalDate());
+        } else {
+            // Remove from the previous account chain and insert at the head of the new account ledger
+            Long movementNumber = account.nextMovementNumber(movementRepository::findMaxMovementNumber);
+            Money previousOpeningBalance = balanceChainRepairer
+                .balanceBefore(previousAccountId, previousDate, previousNumber)
+                .orElse(previousAccount.getBalance());
+            Money openingBalance = balanceChainRepairer.balanceBefore(accountId, newDate, movementNumber)
+                .orElse(account.getBalance());
             
-            movement.setBalance(newBalance);
+            movement.setAccount(account);
+            movement.setMovementNumber(movementNumber);
+            MovementMapper.updateEntityFromDTO(movement, movementRequestDTO);
+            movementRepository.saveAndFlush(movement);
             
-            // Update account balance
-            account.setBalance(newBalance);
-            accountRepository.save(account);
+            previousAccount.setBalance(balanceChainRepairer.repairFrom(previousAccountId, previousDate,
+                previousNumber, previousOpeningBalance, null).getFinalBalance());
+            repair = balanceChainRepairer.repairFrom(accountId, newDate, movementNumber, openingBalance, id);
+            account.setLastMovementNumber(movementNumber);
+            balanceSnapshotStore.rebuildFrom(previousAccountId, previousDate.toLocalDate());
+            balanceSnapshotStore.rebuildFrom(accountId, newDate.toLocalDate());
+            dailyWithdrawalLimiter.refresh(previousAccount, previousDate.toLocalDate());
+            dailyWithdrawalLimiter.refresh(account, newDate.toLocalDate());
         }
         
-        // Update other fields
-        MovementMapper.updateEntityFromDTO(movement, movementRequestDTO);
+        // Monthly totals follow the movement to its new month, account and amount
+        movementRollupStore.remove(previousAccountId, previousDate.toLocalDate(), previousAmount);
+        movementRollupStore.add(accountId, newDate.toLocalDate(), newAmount);
+        
+        // F2: The account keeps the final balance of its chain
+        movement.setBalance(repair.getTrackedBalance());
+        account.setBalance(repair.getFinalBalance());
+        accountRepository.saveAll(accounts.values());
         Movement updatedMovement = movementRepository.save(movement);
         
-        log.info("Movement updated successfully with id: {}", updatedMovement.getId());
+        log.info("Movement updated successfully with id: {}. New account balance: {}", 
+                 updatedMovement.getId(), account.getBalance());
         return MovementMapper.toResponseDTO(updatedMovement);
     }
 
+    /**
+     * Account of an existing movement, read without loading the movement
+     * Lets callers lock the account before the movement itself is read
+     */
+    public Long findMovementAccountId(Long id) {
+        return movementRepository.findAccountIdById(id)
+            .orElseThrow(() -> {
+                log.error("Movement with id {} not found", id);
+                return new ResourceNotFoundException("Movement with id " + id + " not found");
+            });
+    }
+
+    /**
+     * Check whether the movement is dated before the latest movement of its account
+     */
+    private boolean isBackdated(MovementRequestDTO movementRequestDTO) {
+        return movementRepository.existsByAccountIdAndMovementDateAfter(
+            movementRequestDTO.getAccountId(), movementRequestDTO.getMovementDate());
+    }
+
+    /**
+     * Find and lock one or two accounts, rows are locked in id order
+     */
+    private Map<Long, Account> findAccountsForUpdate(Long previousAccountId, Long accountId) {
+        if (previousAccountId.equals(accountId)) {
+            return Map.of(accountId, findAccountForUpdate(accountId));
+        }
+        Map<Long, Account> accounts = accountRepository.findAllByIdInForUpdate(List.of(previousAccountId, accountId))
+            .stream()
+            .collect(Collectors.toMap(Account::getId, Function.identity()));
+        if (!accounts.containsKey(accountId)) {
+            log.error("Account with id {} not found", accountId);
+            throw new ResourceNotFoundException("Account with id " + accountId + " not found");
+        }
+        return accounts;
+    }
+
+    /**
+     * Find account locking its row until the transaction ends
+     */
+    private Account findAccountForUpdate(Long accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+            .orElseThrow(() -> {
+                log.error("Account with id {} not found", accountId);
+                return new ResourceNotFoundException("Account with id " + accountId + " not found");
+            });
+    }
+
     /**
      * Delete movement - NOT IMPLEMENTED per F1 specification
      * F1 only requires CRU (Create, Read, Update) for Movement
@@ -1,21 +1,38 @@
 package com.devsu.application.service.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.devsu.application.dto.ReportBatchManifestDTO;
+import com.devsu.application.dto.ReportBatchRequestDTO;
 import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.dto.StatementPageResponseDTO;
 import com.devsu.application.service.ReportService;
+import com.devsu.domain.exception.BusinessException;
 import com.devsu.domain.exception.ResourceNotFoundException;
-import com.devsu.domain.model.Account;
-import com.devsu.domain.model.Movement;
-import com.devsu.domain.repository.AccountRepository;
-import com.devsu.domain.repository.MovementRepository;
+import com.devsu.domain.model.Money;
 import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+import com.devsu.infrastructure.cache.service.ReportCache;
 import com.devsu.infrastructure.client.ClientServiceClient;
+import com.devsu.infrastructure.executor.Futures;
+import com.devsu.infrastructure.executor.ReportExecutor;
+import com.devsu.infrastructure.export.StatementArchiveWriter;
+import com.devsu.infrastructure.export.StatementExportWriter;
+import com.devsu.infrastructure.persistence.AccountStatementReader;
+import com.devsu.infrastructure.persistence.StatementCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,56 +46,164 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
     
-    private final AccountRepository accountRepository;
-    private final MovementRepository movementRepository;
+    private final AccountStatementReader accountStatementReader;
     private final ClientServiceClient clientServiceClient;
+    private final ReportCache reportCache;
+    private final ReportExecutor reportExecutor;
+    private final PlatformTransactionManager transactionManager;
+    
+    /**
+     * Movements per account page when the request does not set one
+     */
+    @Value("${report.statement.page-size:100}")
+    private int defaultPageSize;
+    
+    /**
+     * Largest page size accepted
+     */
+    @Value("${report.statement.max-page-size:1000}")
+    private int maxPageSize;
+    
+    /**
+     * Largest number of clients of a batch statement request
+     */
+    @Value("${report.batch.max-clients:10000}")
+    private int maxBatchClients;
+    
+    /**
+     * Clients read by one statement query and one client lookup of a batch
+     */
+    @Value("${report.batch.chunk-size:500}")
+    private int batchChunkSize;
     
     /**
      * Generate account statement report for date range by client
      * F4: Returns all client accounts with movements and summary for specified period
+     * Repeated requests are served from the report cache until a movement of one of
+     * the client accounts is written; only a miss opens a (read-only) transaction, so
+     * hits never take a database connection
      */
     @Override
-    @Transactional(readOnly = true)
     public ReportResponseDTO generateAccountStatement(String clientId, LocalDateTime startDate, LocalDateTime endDate) {
+        return reportCache.get(clientId, startDate, endDate, () -> {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            return readOnly.execute(status -> buildAccountStatement(clientId, startDate, endDate));
+        });
+    }
+    
+    private ReportResponseDTO buildAccountStatement(String clientId, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Generating account statement for client {} from {} to {}", clientId, startDate, endDate);
         
-        // Find all accounts for the client
-        List<Account> accounts = accountRepository.findByClientId(clientId);
-        if (accounts.isEmpty()) {
+        // Client information from cache or REST fallback, looked up while the statements are read
+        CompletableFuture<ClientCacheDTO> client = clientServiceClient.getClientByClientIdAsync(clientId);
+        
+        // All client accounts with opening balance and movements in range, one query (one snapshot)
+        List<ReportResponseDTO.AccountInfo> accountInfos = accountStatementReader.readStatements(clientId, startDate, endDate);
+        
+        // Calculate global summary
+        SummaryAccumulator totals = new SummaryAccumulator();
+        accountInfos.forEach(account -> {
+            totals.addAccount();
+            account.getMovements().forEach(totals::addMovement);
+            totals.closeAccount(account);
+        });
+        
+        return buildReport(clientId, client, accountInfos, totals.toSummary());
+    }
+    
+    /**
+     * Generate the totals of the account statement by client
+     * F4: Deposits, withdrawals and movement counts are aggregated by the database, so
+     * the response time does not depend on the number of movements in the period
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReportResponseDTO generateAccountSummary(String clientId, LocalDateTime startDate, LocalDateTime endDate) {
+        log.info("Generating account summary for client {} from {} to {}", clientId, startDate, endDate);
+        
+        CompletableFuture<ClientCacheDTO> client = clientServiceClient.getClientByClientIdAsync(clientId);
+        
+        // Per-account totals in range, one aggregate query
+        List<ReportResponseDTO.AccountInfo> accountInfos = accountStatementReader.readSummaries(clientId, startDate, endDate);
+        
+        SummaryAccumulator totals = new SummaryAccumulator();
+        accountInfos.forEach(totals::addAccountSummary);
+        
+        return buildReport(clientId, client, accountInfos, totals.toSummary());
+    }
+    
+    /**
+     * Generate the account statement with the first page of movements of every account
+     * F4: Balances and totals come from the aggregate query over the whole period, each
+     * page is one index range read; the cursor of an account continues from its last
+     * movement, whose balance already carries the opening balance forward
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReportResponseDTO generateAccountStatementPage(String clientId, LocalDateTime startDate,
+                                                          LocalDateTime endDate, Integer pageSize) {
+        int size = pageSize(pageSize);
+        log.info("Generating account statement for client {} from {} to {}, {} movements per page",
+            clientId, startDate, endDate, size);
+        
+        CompletableFuture<ClientCacheDTO> client = clientServiceClient.getClientByClientIdAsync(clientId);
+        
+        List<ReportResponseDTO.AccountInfo> accountInfos = accountStatementReader.readSummaries(clientId, startDate, endDate);
+        
+        SummaryAccumulator totals = new SummaryAccumulator();
+        accountInfos.forEach(account -> {
+            totals.addAccountSummary(account);
+            AccountStatementReader.MovementPage page = accountStatementReader
+                .readFirstMovements(account.getAccountId(), startDate, endDate, size);
+            account.setMovements(page.movements());
+            account.setNextCursor(page.next() != null ? page.next().encode() : null);
+        });
+        
+        return buildReport(clientId, client, accountInfos, totals.toSummary());
+    }
+    
+    /**
+     * Next page of the movements of an account statement
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StatementPageResponseDTO getStatementMovements(String cursor, Integer pageSize) {
+        StatementCursor position = StatementCursor.decode(cursor);
+        int size = pageSize(pageSize);
+        log.info("Reading {} statement movements of account {} after {}", size, position.accountId(),
+            position.movementDate());
+        
+        AccountStatementReader.MovementPage page = accountStatementReader.readNextMovements(position, size);
+        return StatementPageResponseDTO.builder()
+            .accountId(position.accountId())
+            .movements(page.movements())
+            .nextCursor(page.next() != null ? page.next().encode() : null)
+            .build();
+    }
+    
+    private int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1 || requested > maxPageSize) {
+            throw new BusinessException("Page size must be between 1 and " + maxPageSize);
+        }
+        return requested;
+    }
+    
+    private ReportResponseDTO buildReport(String clientId, CompletableFuture<ClientCacheDTO> client,
+                                          List<ReportResponseDTO.AccountInfo> accountInfos,
+                                          ReportResponseDTO.Summary summary) {
+        if (accountInfos.isEmpty()) {
+            client.cancel(false);
             log.error("No accounts found for client {}", clientId);
             throw new ResourceNotFoundException("No accounts found for client " + clientId);
         }
         
-        log.info("Found {} accounts for client {}", accounts.size(), clientId);
+        log.info("Found {} accounts for client {}", accountInfos.size(), clientId);
         
-        // Process each account
-        List<ReportResponseDTO.AccountInfo> accountInfos = accounts.stream()
-            .map(account -> processAccountReport(account, startDate, endDate))
-            .collect(Collectors.toList());
-        
-        // Calculate global summary
-        int totalMovements = accountInfos.stream()
-            .mapToInt(a -> a.getMovements().size())
-            .sum();
-        
-        double totalDeposits = accountInfos.stream()
-            .flatMap(a -> a.getMovements().stream())
-            .filter(m -> m.getAmount() > 0)
-            .mapToDouble(ReportResponseDTO.MovementInfo::getAmount)
-            .sum();
-        
-        double totalWithdrawals = accountInfos.stream()
-            .flatMap(a -> a.getMovements().stream())
-            .filter(m -> m.getAmount() < 0)
-            .mapToDouble(ReportResponseDTO.MovementInfo::getAmount)
-            .sum();
-        
-        double netChange = accountInfos.stream()
-            .mapToDouble(a -> a.getFinalBalance() - a.getInitialBalance())
-            .sum();
-        
-        // Get client information from cache or REST fallback
-        ClientCacheDTO clientData = clientServiceClient.getClientByClientId(clientId);
+        ClientCacheDTO clientData = Futures.await(client);
         log.info("Retrieved client info for {}: {}", clientId, clientData.getName());
         
         // Build client info
@@ -87,15 +212,6 @@ public class ReportServiceImpl implements ReportService {
             .clientName(clientData.getName())
             .build();
         
-        // Build summary
-        ReportResponseDTO.Summary summary = ReportResponseDTO.Summary.builder()
-            .totalAccounts(accounts.size())
-            .totalMovements(totalMovements)
-            .totalDeposits(totalDeposits)
-            .totalWithdrawals(totalWithdrawals)
-            .netChange(netChange)
-            .build();
-        
         // Build report
         ReportResponseDTO report = ReportResponseDTO.builder()
             .reportDate(LocalDateTime.now())
@@ -104,57 +220,315 @@ public class ReportServiceImpl implements ReportService {
             .summary(summary)
             .build();
         
-        log.info("Report generated successfully for client {} with {} accounts", clientId, accounts.size());
+        log.info("Report generated successfully for client {} with {} accounts", clientId, accountInfos.size());
         return report;
     }
+
+    /**
+     * Client of a statement export
+     * Resolved up front so a missing client fails before the response starts
+     */
+    @Override
+    public ReportResponseDTO.ClientInfo getStatementClient(String clientId) {
+        CompletableFuture<ClientCacheDTO> client = clientServiceClient.getClientByClientIdAsync(clientId);
+        if (!accountStatementReader.hasAccounts(clientId)) {
+            client.cancel(false);
+            log.error("No accounts found for client {}", clientId);
+            throw new ResourceNotFoundException("No accounts found for client " + clientId);
+        }
+        
+        ClientCacheDTO clientData = Futures.await(client);
+        return ReportResponseDTO.ClientInfo.builder()
+            .clientId(clientId)
+            .clientName(clientData.getName())
+            .build();
+    }
     
     /**
-     * Process report for a single account
+     * Stream the account statement of a client
+     * F4: Rows are written while the cursor is read and only running totals are kept,
+     * so memory use is flat whatever the period. The summary is the last record
      */
-    private ReportResponseDTO.AccountInfo processAccountReport(Account account, LocalDateTime startDate, LocalDateTime endDate) {
-        // Get movements in date range
-        List<Movement> movements = movementRepository.findByAccountAndMovementDateBetween(account, startDate, endDate);
-        
-        // Get initial balance (balance before first movement in range)
-        Double initialBalance = account.getBalance();
-        List<Movement> allMovements = movementRepository.findByAccountOrderByMovementDateDesc(account);
-        if (!allMovements.isEmpty() && !movements.isEmpty()) {
-            Movement firstInRange = movements.get(0);
-            for (Movement m : allMovements) {
-                if (m.getMovementDate().isBefore(firstInRange.getMovementDate())) {
-                    initialBalance = m.getBalance();
-                    break;
-                }
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAccountStatement(ReportResponseDTO.ClientInfo client, LocalDateTime startDate,
+                                       LocalDateTime endDate, StatementExportWriter writer) throws IOException {
+        log.info("Exporting account statement for client {} from {} to {}", client.getClientId(), startDate, endDate);
+        
+        writer.writeClient(client);
+        StatementExportHandler handler = new StatementExportHandler(writer);
+        try {
+            accountStatementReader.streamStatements(client.getClientId(), startDate, endDate, handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        ReportResponseDTO.Summary summary = handler.finish();
+        writer.writeSummary(summary);
+        writer.flush();
+        log.info("Statement exported for client {}: {} accounts, {} movements",
+            client.getClientId(), summary.getTotalAccounts(), summary.getTotalMovements());
+    }
+    
+    /**
+     * Client ids of a batch statement request, distinct and in client id order (the
+     * order of the statement query)
+     */
+    @Override
+    public List<String> validateStatementBatch(ReportBatchRequestDTO request) {
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+        List<String> clientIds = request.getClientIds().stream()
+            .filter(clientId -> clientId != null && !clientId.isBlank())
+            .distinct()
+            .sorted()
+            .toList();
+        if (clientIds.isEmpty()) {
+            throw new BusinessException("At least one client ID is required");
+        }
+        if (clientIds.size() > maxBatchClients) {
+            throw new BusinessException("At most " + maxBatchClients + " clients per batch, got " + clientIds.size());
+        }
+        return clientIds;
+    }
+    
+    /**
+     * Write the account statements of many clients to an archive
+     * F4: Clients are read in chunks; each chunk is one statement query streamed in a
+     * single pass (rows in client and account order) and one batched client lookup,
+     * run while the query starts. Statements are written to the archive as they are read
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReportBatchManifestDTO exportAccountStatements(List<String> clientIds, LocalDateTime startDate,
+                                                          LocalDateTime endDate, StatementArchiveWriter archive)
+            throws IOException {
+        log.info("Exporting account statements of {} clients from {} to {}", clientIds.size(), startDate, endDate);
+        long begin = System.nanoTime();
+        
+        BatchExportHandler handler = new BatchExportHandler(archive);
+        try {
+            for (int from = 0; from < clientIds.size(); from += batchChunkSize) {
+                List<String> chunk = clientIds.subList(from, Math.min(from + batchChunkSize, clientIds.size()));
+                handler.startChunk(reportExecutor.supplyAsync(() -> clientServiceClient.getClientsByClientIds(chunk)));
+                accountStatementReader.streamStatements(chunk, startDate, endDate, handler);
+                handler.finishChunk();
             }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         
-        // Get final balance (balance after last movement in range)
-        Double finalBalance = initialBalance;
-        if (!movements.isEmpty()) {
-            finalBalance = movements.get(movements.size() - 1).getBalance();
-        }
-        
-        // Build movement infos
-        List<ReportResponseDTO.MovementInfo> movementInfos = movements.stream()
-            .map(m -> ReportResponseDTO.MovementInfo.builder()
-                .movementId(m.getId())
-                .movementDate(m.getMovementDate())
-                .movementType(m.getMovementType())
-                .amount(m.getAmount())
-                .balance(m.getBalance())
-                .state(m.getState())
-                .build())
-            .collect(Collectors.toList());
-        
-        // Build account info
-        return ReportResponseDTO.AccountInfo.builder()
-            .accountId(account.getId())
-            .accountNumber(account.getAccountNumber())
-            .accountType(account.getAccountType())
-            .clientId(account.getClientId())
-            .initialBalance(initialBalance)
-            .finalBalance(finalBalance)
-            .movements(movementInfos)
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+        ReportBatchManifestDTO manifest = ReportBatchManifestDTO.builder()
+            .startDate(startDate)
+            .endDate(endDate)
+            .format(archive.getFormat().getExtension())
+            .requestedClients(clientIds.size())
+            .statements(handler.statements)
+            .totalAccounts(handler.accounts)
+            .totalMovements(handler.movements)
+            .clientsWithoutAccounts(clientIds.stream().filter(clientId -> !handler.seen.contains(clientId)).toList())
+            .clientsNotFound(handler.notFound)
+            .elapsedMillis(elapsedMillis)
             .build();
+        archive.finish(manifest);
+        log.info("Exported {} statements of {} clients in {} ms ({} statements/s)", handler.statements,
+            clientIds.size(), elapsedMillis, elapsedMillis > 0 ? handler.statements * 1000L / elapsedMillis : handler.statements);
+        return manifest;
+    }
+    
+    /**
+     * Splits the rows of a batch statement query into one archive entry per client
+     * The client lookup of the chunk is awaited when its first account arrives;
+     * clients unknown to ClientApp are skipped
+     */
+    private static final class BatchExportHandler implements AccountStatementReader.StatementHandler {
+        
+        private final StatementArchiveWriter archive;
+        private final Set<String> seen = new HashSet<>();
+        private final List<String> notFound = new ArrayList<>();
+        private CompletableFuture<Map<String, ClientCacheDTO>> lookup;
+        private Map<String, ClientCacheDTO> clients;
+        private String clientId;
+        private StatementExportWriter writer;
+        private StatementExportHandler statement;
+        private int statements;
+        private int accounts;
+        private int movements;
+        
+        BatchExportHandler(StatementArchiveWriter archive) {
+            this.archive = archive;
+        }
+        
+        void startChunk(CompletableFuture<Map<String, ClientCacheDTO>> chunkLookup) {
+            lookup = chunkLookup;
+            clients = null;
+        }
+        
+        @Override
+        public void onAccount(ReportResponseDTO.AccountInfo account) {
+            if (!account.getClientId().equals(clientId)) {
+                finishClient();
+                startClient(account.getClientId());
+            }
+            if (statement != null) {
+                statement.onAccount(account);
+            }
+        }
+        
+        @Override
+        public void onMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement) {
+            if (statement != null) {
+                statement.onMovement(account, movement);
+            }
+        }
+        
+        void finishChunk() {
+            finishClient();
+            if (clients == null) {
+                // No client of the chunk has accounts
+                lookup.cancel(false);
+            }
+        }
+        
+        private void startClient(String nextClientId) {
+            clientId = nextClientId;
+            seen.add(nextClientId);
+            if (clients == null) {
+                clients = Futures.await(lookup);
+            }
+            ClientCacheDTO client = clients.get(nextClientId);
+            if (client == null) {
+                log.warn("Client {} not found, statement skipped", nextClientId);
+                notFound.add(nextClientId);
+                return;
+            }
+            try {
+                writer = archive.startStatement(nextClientId);
+                writer.writeClient(ReportResponseDTO.ClientInfo.builder()
+                    .clientId(nextClientId)
+                    .clientName(client.getName())
+                    .build());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            statement = new StatementExportHandler(writer);
+        }
+        
+        private void finishClient() {
+            if (statement != null) {
+                ReportResponseDTO.Summary summary = statement.finish();
+                try {
+                    writer.writeSummary(summary);
+                    archive.finishStatement();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                statements++;
+                accounts += summary.getTotalAccounts();
+                movements += summary.getTotalMovements();
+            }
+            clientId = null;
+            writer = null;
+            statement = null;
+        }
+    }
+    
+    /**
+     * Writes statement rows as they are read and keeps the running totals
+     */
+    private static final class StatementExportHandler implements AccountStatementReader.StatementHandler {
+        
+        private final StatementExportWriter writer;
+        private final SummaryAccumulator totals = new SummaryAccumulator();
+        private ReportResponseDTO.AccountInfo current;
+        
+        StatementExportHandler(StatementExportWriter writer) {
+            this.writer = writer;
+        }
+        
+        @Override
+        public void onAccount(ReportResponseDTO.AccountInfo account) {
+            if (current != null) {
+                totals.closeAccount(current);
+            }
+            current = account;
+            totals.addAccount();
+            try {
+                writer.writeAccount(account);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public void onMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement) {
+            totals.addMovement(movement);
+            try {
+                writer.writeMovement(account, movement);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        ReportResponseDTO.Summary finish() {
+            if (current != null) {
+                totals.closeAccount(current);
+            }
+            return totals.toSummary();
+        }
+    }
+    
+    /**
+     * Running totals of a statement, exact sums of minor units
+     */
+    private static final class SummaryAccumulator {
+        
+        private int accounts;
+        private int movements;
+        private long deposits;
+        private long withdrawals;
+        private long netChange;
+        
+        void addAccount() {
+            accounts++;
+        }
+        
+        void addMovement(ReportResponseDTO.MovementInfo movement) {
+            movements++;
+            long amount = Money.of(movement.getAmount()).getMinorUnits();
+            if (amount > 0) {
+                deposits += amount;
+            } else {
+                withdrawals += amount;
+            }
+        }
+        
+        void closeAccount(ReportResponseDTO.AccountInfo account) {
+            netChange += Money.of(account.getFinalBalance()).minus(Money.of(account.getInitialBalance())).getMinorUnits();
+        }
+        
+        /**
+         * Account already totalled by the database
+         */
+        void addAccountSummary(ReportResponseDTO.AccountInfo account) {
+            ReportResponseDTO.Summary summary = account.getSummary();
+            accounts++;
+            movements += summary.getTotalMovements();
+            deposits += Money.of(summary.getTotalDeposits()).getMinorUnits();
+            withdrawals += Money.of(summary.getTotalWithdrawals()).getMinorUnits();
+            closeAccount(account);
+        }
+        
+        ReportResponseDTO.Summary toSummary() {
+            return ReportResponseDTO.Summary.builder()
+                .totalAccounts(accounts)
+                .totalMovements(movements)
+                .totalDeposits(Money.ofMinor(deposits).toBigDecimal())
+                .totalWithdrawals(Money.ofMinor(withdrawals).toBigDecimal())
+                .netChange(Money.ofMinor(netChange).toBigDecimal())
+                .build();
+        }
     }
 }
@@ -0,0 +1,202 @@
+package com.devsu.application.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsu.application.dto.MovementMapper;
+import com.devsu.application.dto.TransferRequestDTO;
+import com.devsu.application.dto.TransferResponseDTO;
+import com.devsu.application.event.MovementsWrittenEvent;
+import com.devsu.application.service.TransferService;
+import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.limit.DailyWithdrawalLimiter;
+import com.devsu.infrastructure.lock.AccountLockManager;
+import com.devsu.infrastructure.persistence.BalanceChainRepairer;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
+import com.devsu.infrastructure.persistence.MovementRollupStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of TransferService
+ * Moves money between two accounts in a single transaction: the debit and credit
+ * movements are written together or not at all
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferServiceImpl implements TransferService {
+    
+    private final AccountRepository accountRepository;
+    private final MovementRepository movementRepository;
+    private final AccountLockManager accountLockManager;
+    private final DailyWithdrawalLimiter dailyWithdrawalLimiter;
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final MovementRollupStore movementRollupStore;
+    private final BalanceChainRepairer balanceChainRepairer;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Transfer an amount from the source account to the target account
+     * Both accounts are locked in ascending id order (striped locks and row locks),
+     * so concurrent transfers in opposite directions cannot deadlock
+     * F2: Balances are taken from the account rows, not from movement history, unless
+     * an account has movements dated after the transfer: its leg is then placed in the
+     * chain like a backdated movement and the later balances are repaired
+     * F3: Validates sufficient balance on the source account
+     * The debit counts against the daily withdrawal limit of the source account
+     */
+    @Override
+    public TransferResponseDTO transfer(TransferRequestDTO transferRequestDTO) {
+        Long sourceAccountId = transferRequestDTO.getSourceAccountId();
+        Long targetAccountId = transferRequestDTO.getTargetAccountId();
+        log.info("Transferring {} from account {} to account {}",
+                 transferRequestDTO.getAmount(), sourceAccountId, targetAccountId);
+        
+        if (sourceAccountId.equals(targetAccountId)) {
+            log.error("Transfer rejected, source and target account are the same: {}", sourceAccountId);
+            throw new BusinessException("Source and target account must be different");
+        }
+        
+        return accountLockManager.executeWithLocks(List.of(sourceAccountId, targetAccountId),
+            () -> transactionTemplate.execute(status -> applyTransfer(transferRequestDTO)));
+    }
+    
+    /**
+     * Write the debit and credit movements and update both accounts
+     * Runs inside the transaction, with both account rows locked
+     */
+    private TransferResponseDTO applyTransfer(TransferRequestDTO transferRequestDTO) {
+        Long sourceAccountId = transferRequestDTO.getSourceAccountId();
+        Long targetAccountId = transferRequestDTO.getTargetAccountId();
+        
+        // Row locks are taken in ascending id order by the query
+        Map<Long, Account> accounts = accountRepository
+            .findAllByIdInForUpdate(List.of(sourceAccountId, targetAccountId)).stream()
+            .collect(Collectors.toMap(Account::getId, Function.identity()));
+        Account source = findLocked(accounts, sourceAccountId);
+        Account target = findLocked(accounts, targetAccountId);
+        
+        Money amount = Money.of(transferRequestDTO.getAmount());
+        LocalDateTime transferDate = LocalDateTime.now();
+        
+        // Movements dated after now put the transfer inside the chain instead of at its head
+        boolean sourceBackdated = movementRepository.existsByAccountIdAndMovementDateAfter(source.getId(), transferDate);
+        boolean targetBackdated = movementRepository.existsByAccountIdAndMovementDateAfter(target.getId(), transferDate);
+        Long debitNumber = source.nextMovementNumber(movementRepository::findMaxMovementNumber);
+        Long creditNumber = target.nextMovementNumber(movementRepository::findMaxMovementNumber);
+        Money sourceOpening = openingBalance(source, transferDate, debitNumber, sourceBackdated);
+        Money targetOpening = openingBalance(target, transferDate, creditNumber, targetBackdated);
+        Money sourceBalance = sourceOpening.minus(amount);
+        
+        // F3: Validate sufficient balance on the source account
+        if (sourceBalance.isNegative()) {
+            log.error("Insufficient balance for transfer from account {}. Current: {}, Requested: {}",
+                     source.getAccountNumber(), sourceOpening, amount);
+            throw new InsufficientBalanceException("Saldo no disponible");
+        }
+        Money targetBalance = targetOpening.plus(amount);
+        
+        dailyWithdrawalLimiter.registerWithdrawal(source, transferDate.toLocalDate(), amount.negate());
+        Movement debit = movement(source, debitNumber, transferDate, "Transferencia a " + target.getAccountNumber(),
+            amount.negate(), sourceBalance, transferRequestDTO.getState());
+        Movement credit = movement(target, creditNumber, transferDate, "Transferencia de " + source.getAccountNumber(),
+            amount, targetBalance, transferRequestDTO.getState());
+        if (sourceBackdated || targetBackdated) {
+            movementRepository.saveAllAndFlush(List.of(debit, credit));
+        } else {
+            movementRepository.saveAll(List.of(debit, credit));
+        }
+        
+        // Later movements of a leg inside the chain are shifted by its amount (F3 over the whole suffix)
+        Money sourceFinal = sourceBackdated
+            ? balanceChainRepairer.repairFrom(source.getId(), transferDate, debitNumber, sourceOpening, null).getFinalBalance()
+            : sourceBalance;
+        Money targetFinal = targetBackdated
+            ? balanceChainRepairer.repairFrom(target.getId(), transferDate, creditNumber, targetOpening, null).getFinalBalance()
+            : targetBalance;
+        
+        // F2: Update balances and ledger heads of both accounts
+        source.setBalance(sourceFinal);
+        source.setLastMovementNumber(debitNumber);
+        target.setBalance(targetFinal);
+        target.setLastMovementNumber(creditNumber);
+        accountRepository.saveAll(List.of(source, target));
+        eventPublisher.publishEvent(MovementsWrittenEvent.of(source.getId(), target.getId()));
+        recordSnapshots(source, transferDate, sourceBalance, sourceBackdated);
+        recordSnapshots(target, transferDate, targetBalance, targetBackdated);
+        movementRollupStore.addAll(List.of(debit, credit));
+        
+        log.info("Transfer of {} from account {} to account {} completed", 
+                 amount, source.getAccountNumber(), target.getAccountNumber());
+        return TransferResponseDTO.builder()
+            .transferDate(transferDate)
+            .amount(amount.toBigDecimal())
+            .debit(MovementMapper.toResponseDTO(debit))
+            .credit(MovementMapper.toResponseDTO(credit))
+            .build();
+    }
+    
+    private Account findLocked(Map<Long, Account> accounts, Long accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            log.error("Account with id {} not found", accountId);
+            throw new ResourceNotFoundException("Account with id " + accountId + " not found");
+        }
+        return account;
+    }
+    
+    /**
+     * Balance right before the transfer: the account balance at the head of the chain,
+     * the balance at the transfer's position when later movements exist
+     */
+    private Money openingBalance(Account account, LocalDateTime date, Long movementNumber, boolean backdated) {
+        return backdated
+            ? balanceChainRepairer.balanceBefore(account.getId(), date, movementNumber).orElse(account.getBalance())
+            : account.getBalance();
+    }
+    
+    /**
+     * Store the closing balance of the transfer day, or recompute the snapshots from
+     * that day on when later days were shifted by the repair
+     */
+    private void recordSnapshots(Account account, LocalDateTime date, Money balance, boolean backdated) {
+        if (backdated) {
+            balanceSnapshotStore.rebuildFrom(account.getId(), date.toLocalDate());
+        } else {
+            balanceSnapshotStore.record(account.getId(), date.toLocalDate(), balance);
+        }
+    }
+    
+    /**
+     * Build a transfer movement of the account ledger
+     */
+    private Movement movement(Account account, Long movementNumber, LocalDateTime date, String movementType,
+                              Money amount, Money balance, String state) {
+        Movement movement = new Movement();
+        movement.setAccount(account);
+        movement.setMovementNumber(movementNumber);
+        movement.setMovementDate(date);
+        movement.setMovementType(movementType);
+        movement.setAmount(amount);
+        movement.setBalance(balance);
+        movement.setState(state);
+        return movement;
+    }
+}
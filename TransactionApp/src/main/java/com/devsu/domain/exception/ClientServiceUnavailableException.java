@@ -0,0 +1,19 @@
+package com.devsu.domain.exception;
+
+/**
+ * Exception for client lookups that ClientApp could not answer
+ * Thrown when ClientApp fails, times out or its circuit is open and no cached copy
+ * of the client is available. Unlike ResourceNotFoundException, the client may exist
+ */
+public class ClientServiceUnavailableException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ClientServiceUnavailableException(String message) {
+        super(message);
+    }
+    
+    public ClientServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
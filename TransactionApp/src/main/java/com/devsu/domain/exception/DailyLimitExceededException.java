@@ -0,0 +1,18 @@
+package com.devsu.domain.exception;
+
+/**
+ * Exception for daily withdrawal limit scenarios
+ * Thrown when a withdrawal would exceed the daily limit of the account type
+ */
+public class DailyLimitExceededException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public DailyLimitExceededException(String message) {
+        super(message);
+    }
+    
+    public DailyLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.devsu.domain.exception;
+
+/**
+ * Exception for an Idempotency-Key sent again with a different request
+ * The stored result belongs to another request, so it is neither replayed nor
+ * is the new request executed
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
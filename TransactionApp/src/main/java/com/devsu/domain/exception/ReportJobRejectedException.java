@@ -0,0 +1,18 @@
+package com.devsu.domain.exception;
+
+/**
+ * Exception for report job submissions that cannot be accepted
+ * Thrown when every report worker is busy and the job queue is full
+ */
+public class ReportJobRejectedException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+    
+    public ReportJobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
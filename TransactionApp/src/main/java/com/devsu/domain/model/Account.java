@@ -7,12 +7,14 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
-import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -22,8 +24,13 @@ import lombok.Data;
 @Table(name = "account")
 public class Account implements Serializable {
     
+    /**
+     * Pooled sequence ids (one sequence call per allocationSize inserts)
+     * IDENTITY would disable Hibernate JDBC insert batching
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -34,10 +41,12 @@ public class Account implements Serializable {
     @NotBlank(message = "Account type is required")
     private String accountType;
     
-    @Column(nullable = false)
+    /**
+     * Fixed-point balance, NUMERIC(19,2) through MoneyConverter
+     */
+    @Column(nullable = false, precision = 19, scale = Money.SCALE)
     @NotNull(message = "Balance is required")
-    @Min(value = 0, message = "Balance cannot be negative")
-    private Double balance;
+    private Money balance;
     
     @Column(nullable = false)
     @NotBlank(message = "State is required")
@@ -50,6 +59,31 @@ public class Account implements Serializable {
     @NotBlank(message = "Client ID is required")
     private String clientId;
     
+    /**
+     * Number of the last movement registered on this account (ledger head).
+     * Kept together with balance so new movements never need to read history
+     */
+    @Column
+    private Long lastMovementNumber = 0L;
+    
+    /**
+     * Running withdrawal total of withdrawalDay (last day with a withdrawal).
+     * Maintained on write so the daily limit is checked without reading the day's movements
+     */
+    @Column
+    private LocalDate withdrawalDay;
+    
+    @Column(precision = 19, scale = Money.SCALE)
+    private Money dailyWithdrawn;
+    
+    /**
+     * Whether movement_monthly_rollup covers the whole history of the account.
+     * False (or null) only for accounts with movements written before the rollups existed,
+     * until MovementRollupBackfill rebuilds them
+     */
+    @Column
+    private Boolean rollupsComplete = true;
+    
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Movement> movements = new ArrayList<>();
     
@@ -57,7 +91,7 @@ public class Account implements Serializable {
 
     public Account() { }
 
-    public Account(Long id, String accountNumber, String accountType, double balance, String state, String accountKey, String clientId) { 
+    public Account(Long id, String accountNumber, String accountType, Money balance, String state, String accountKey, String clientId) { 
         this.accountNumber = accountNumber;
         this.accountType = accountType;
         this.balance = balance;
@@ -65,4 +99,14 @@ public class Account implements Serializable {
         this.accountKey = accountKey;
         this.clientId = clientId;
     }
+
+    /**
+     * Number for the next movement of this account (ledger head + 1).
+     * Accounts created before the ledger head existed are initialized once from their
+     * highest movement number, looked up by account id
+     */
+    public Long nextMovementNumber(ToLongFunction<Long> maxMovementNumber) {
+        long last = lastMovementNumber != null ? lastMovementNumber : maxMovementNumber.applyAsLong(id);
+        return last + 1;
+    }
 }
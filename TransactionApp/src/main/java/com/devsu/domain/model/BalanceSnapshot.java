@@ -0,0 +1,56 @@
+package com.devsu.domain.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Closing balance of an account for each day with movements
+ * Written together with the movements (see BalanceSnapshotStore), so the balance
+ * as of any date is one primary-key lookup plus at most one day of movements
+ */
+@Data
+@Entity
+@Table(name = "balance_snapshot")
+@IdClass(BalanceSnapshot.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot implements Serializable {
+    
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+    
+    @Id
+    @Column(name = "snapshot_day")
+    private LocalDate snapshotDay;
+    
+    /**
+     * Balance after the last movement of the day in balance-chain order
+     */
+    @Column(nullable = false, precision = 19, scale = Money.SCALE)
+    private Money balance;
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Composite primary key (account_id, snapshot_day)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate snapshotDay;
+        
+        private static final long serialVersionUID = 1L;
+    }
+}
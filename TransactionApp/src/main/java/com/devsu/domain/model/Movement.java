@@ -6,8 +6,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -18,11 +20,19 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "movement")  
+@Table(name = "movement", indexes = {
+    // Balance chain order: first affected movement and its suffix
+    @Index(name = "idx_movement_account_chain", columnList = "account_id, movement_date, movement_number")
+})
 public class Movement implements Serializable {
     
+    /**
+     * Pooled sequence ids (one sequence call per allocationSize inserts)
+     * IDENTITY would disable Hibernate JDBC insert batching
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movement_seq")
+    @SequenceGenerator(name = "movement_seq", sequenceName = "movement_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,13 +51,13 @@ public class Movement implements Serializable {
     @NotBlank(message = "Movement type is required")
     private String movementType;
     
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = Money.SCALE)
     @NotNull(message = "Amount is required")
-    private Double amount;
+    private Money amount;
     
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = Money.SCALE)
     @NotNull(message = "Balance is required")
-    private Double balance;
+    private Money balance;
     
     @Column(nullable = false)
     @NotBlank(message = "State is required")
@@ -57,7 +67,7 @@ public class Movement implements Serializable {
 
     public Movement() { }
 
-    public Movement(Long id, Account account, Long movementNumber, LocalDateTime movementDate, String movementType, double amount, double balance, String state) { 
+    public Movement(Long id, Account account, Long movementNumber, LocalDateTime movementDate, String movementType, Money amount, Money balance, String state) { 
         this.account = account;
         this.movementNumber = movementNumber;
         this.movementDate = movementDate;
@@ -0,0 +1,69 @@
+package com.devsu.domain.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Movement totals of an account for each month with movements
+ * Written together with the movements (see MovementRollupStore), so the totals of
+ * a long period are read from one row per month plus the movements of the partial
+ * months at its edges
+ */
+@Data
+@Entity
+@Table(name = "movement_monthly_rollup")
+@IdClass(MovementMonthlyRollup.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovementMonthlyRollup implements Serializable {
+    
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+    
+    /**
+     * First day of the month
+     */
+    @Id
+    @Column(name = "rollup_month")
+    private LocalDate rollupMonth;
+    
+    @Column(nullable = false)
+    private Long movements;
+    
+    /**
+     * Sum of the positive amounts
+     */
+    @Column(nullable = false, precision = 19, scale = Money.SCALE)
+    private Money deposits;
+    
+    /**
+     * Sum of the negative amounts
+     */
+    @Column(nullable = false, precision = 19, scale = Money.SCALE)
+    private Money withdrawals;
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Composite primary key (account_id, rollup_month)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate rollupMonth;
+        
+        private static final long serialVersionUID = 1L;
+    }
+}
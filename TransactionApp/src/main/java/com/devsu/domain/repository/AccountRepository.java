@@ -1,13 +1,19 @@
 package com.devsu.domain.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.devsu.domain.model.Account;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * Repository interface for Account entity
  * Provides CRUD operations and custom queries
@@ -28,4 +34,24 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * @return List of accounts for the client
      */
     List<Account> findByClientId(String clientId);
+    
+    /**
+     * Find account by ID locking its row (SELECT ... FOR UPDATE)
+     * Used by write operations so concurrent movements cannot lose balance updates
+     * @param id the account ID
+     * @return Optional containing the locked account if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Find several accounts locking their rows in ascending id order
+     * A fixed lock order keeps multi-account writers from deadlocking each other
+     * @param ids the account IDs
+     * @return locked accounts ordered by id (missing ids are skipped)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
 }
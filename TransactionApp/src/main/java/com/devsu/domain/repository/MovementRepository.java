@@ -1,9 +1,13 @@
 package com.devsu.domain.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.devsu.domain.model.Account;
@@ -45,4 +49,53 @@ public interface MovementRepository extends JpaRepository<Movement, Long> {
      * @return List of movements ordered by date descending
      */
     List<Movement> findByAccountOrderByMovementDateDesc(Account account);
+    
+    /**
+     * Count movements of an account
+     * @param account the account
+     * @return number of movements registered for the account
+     */
+    long countByAccount(Account account);
+    
+    /**
+     * Highest movement number of an account, 0 when it has none
+     * Only used to initialize the ledger head of accounts created before it existed;
+     * a count would reuse numbers once movements have been deleted
+     * @param accountId the account ID
+     * @return the last movement number registered for the account
+     */
+    @Query("SELECT COALESCE(MAX(m.movementNumber), 0) FROM Movement m WHERE m.account.id = :accountId")
+    long findMaxMovementNumber(@Param("accountId") Long accountId);
+    
+    /**
+     * Check whether the account has movements dated after the given date
+     * Used to detect backdated movements, which require a balance-chain repair
+     * @param accountId the account ID
+     * @param movementDate the date of the new movement
+     * @return true if a later movement exists
+     */
+    boolean existsByAccountIdAndMovementDateAfter(Long accountId, LocalDateTime movementDate);
+    
+    /**
+     * Account of a movement, without loading the movement into the persistence context
+     * @param id the movement ID
+     * @return the account ID, empty if the movement does not exist
+     */
+    @Query("SELECT m.account.id FROM Movement m WHERE m.id = :id")
+    Optional<Long> findAccountIdById(@Param("id") Long id);
+    
+    /**
+     * Total withdrawn by an account in a date range, as a positive amount
+     * Only used to initialize or repair the daily withdrawal counter of the account
+     * @param accountId the account ID
+     * @param startDate start of the range (inclusive)
+     * @param endDate end of the range (exclusive)
+     * @return sum of the withdrawals in the range
+     */
+    @Query(value = "SELECT COALESCE(-SUM(amount), 0) FROM movement "
+            + "WHERE account_id = :accountId AND amount < 0 "
+            + "AND movement_date >= :startDate AND movement_date < :endDate", nativeQuery = true)
+    BigDecimal sumWithdrawals(@Param("accountId") Long accountId,
+                              @Param("startDate") LocalDateTime startDate,
+                              @Param("endDate") LocalDateTime endDate);
 }
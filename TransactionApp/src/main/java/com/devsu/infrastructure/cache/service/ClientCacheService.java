@@ -7,10 +7,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Service for managing client cache in Redis
+ * Reads go through the in-process {@link ClientNearCache} first. Every client saved is
+ * also kept in a stale tier for staleWindow seconds past its TTL, the last known copy
+ * served while ClientApp is refreshing it or unavailable
  */
 @Slf4j
 @Service
@@ -18,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 public class ClientCacheService {
     
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ClientNearCache clientNearCache;
     
     @Value("${cache.client.ttl}")
     private long cacheTtl;
@@ -25,18 +33,30 @@ public class ClientCacheService {
     @Value("${cache.client.prefix}")
     private String cachePrefix;
     
+    /**
+     * Seconds a client stays in the stale tier after its TTL, 0 disables the tier
+     */
+    @Value("${cache.client.stale-window-seconds:3600}")
+    private long staleWindow;
+    
     /**
      * Get client from cache
      * Returns null if not found (cache miss)
      */
     public ClientCacheDTO getClient(String clientId) {
+        ClientCacheDTO near = clientNearCache.get(clientId);
+        if (near != null) {
+            return near;
+        }
         String key = cachePrefix + clientId;
         
         try {
+            long version = clientNearCache.version();
             Object cached = redisTemplate.opsForValue().get(key);
             
             if (cached != null) {
                 log.info("Cache HIT for client: {}", clientId);
+                clientNearCache.putIfUnchanged((ClientCacheDTO) cached, version);
                 return (ClientCacheDTO) cached;
             } else {
                 log.warn("Cache MISS for client: {}", clientId);
@@ -48,6 +68,62 @@ public class ClientCacheService {
         }
     }
     
+    /**
+     * Get several clients from cache in one round trip
+     * Returns the clients found by clientId, misses are left out
+     */
+    public Map<String, ClientCacheDTO> getClients(List<String> clientIds) {
+        Map<String, ClientCacheDTO> clients = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String clientId : clientIds) {
+            ClientCacheDTO near = clientNearCache.get(clientId);
+            if (near != null) {
+                clients.put(clientId, near);
+            } else {
+                misses.add(clientId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return clients;
+        }
+        List<String> keys = new ArrayList<>(misses.size());
+        misses.forEach(clientId -> keys.add(cachePrefix + clientId));
+        
+        try {
+            long version = clientNearCache.version();
+            List<Object> cached = redisTemplate.opsForValue().multiGet(keys);
+            if (cached != null) {
+                for (int i = 0; i < misses.size(); i++) {
+                    if (cached.get(i) != null) {
+                        ClientCacheDTO client = (ClientCacheDTO) cached.get(i);
+                        clients.put(misses.get(i), client);
+                        clientNearCache.putIfUnchanged(client, version);
+                    }
+                }
+            }
+            log.info("Cache HIT for {} of {} clients", clients.size(), clientIds.size());
+        } catch (Exception e) {
+            log.error("Error getting {} clients from cache", clientIds.size(), e);
+        }
+        return clients;
+    }
+    
+    /**
+     * Get the last known copy of a client from the stale tier
+     * Returns null if there is none, it may be older than the cache TTL
+     */
+    public ClientCacheDTO getStaleClient(String clientId) {
+        if (staleWindow <= 0) {
+            return null;
+        }
+        try {
+            return (ClientCacheDTO) redisTemplate.opsForValue().get(staleKey(clientId));
+        } catch (Exception e) {
+            log.error("Error getting stale client from cache: {}", clientId, e);
+            return null;
+        }
+    }
+    
     /**
      * Save or update client in cache
      */
@@ -56,6 +132,9 @@ public class ClientCacheService {
         
         try {
             redisTemplate.opsForValue().set(key, client, cacheTtl, TimeUnit.SECONDS);
+            if (staleWindow > 0) {
+                redisTemplate.opsForValue().set(staleKey(client.getClientId()), client, cacheTtl + staleWindow, TimeUnit.SECONDS);
+            }
             log.info("Cache UPDATED for client: {} (TTL: {} seconds)", client.getClientId(), cacheTtl);
         } catch (Exception e) {
             log.error("Error saving client to cache: {}", client.getClientId(), e);
@@ -68,8 +147,9 @@ public class ClientCacheService {
     public void deleteClient(String clientId) {
         String key = cachePrefix + clientId;
         
+        clientNearCache.invalidate(clientId);
         try {
-            redisTemplate.delete(key);
+            redisTemplate.delete(List.of(key, staleKey(clientId)));
             log.info("Cache DELETED for client: {}", clientId);
         } catch (Exception e) {
             log.error("Error deleting client from cache: {}", clientId, e);
@@ -95,4 +175,8 @@ public class ClientCacheService {
             .state("UNKNOWN")
             .build();
     }
+    
+    private String staleKey(String clientId) {
+        return cachePrefix + "stale:" + clientId;
+    }
 }
@@ -0,0 +1,193 @@
+package com.devsu.infrastructure.cache.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process cache of clients in front of Redis
+ * Bounded by size with approximate least recently used eviction and by a TTL. Every
+ * instance receives the client events of ClientApp on its own queue and applies them
+ * here, the TTL bounds staleness if an event is missed. A client read from Redis is
+ * only stored when no event was applied while it was being read, it could be older.
+ * Reads take no lock: they only stamp the entry with its access time. Writes (misses
+ * and events) are serialized, which keeps the version check and the store atomic; a
+ * write beyond the size evicts the least recently read of a few sampled entries
+ */
+@Service
+public class ClientNearCache {
+
+    /**
+     * Entries compared per eviction
+     */
+    private static final int EVICTION_SAMPLE = 8;
+
+    /**
+     * Upper bound of the entries skipped before sampling, so evictions spread over the map
+     */
+    private static final int EVICTION_MAX_SKIP = 64;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private long version;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ClientNearCache(
+            MeterRegistry meterRegistry,
+            @Value("${cache.client.near.enabled:true}") boolean enabled,
+            @Value("${cache.client.near.max-size:10000}") int maxSize,
+            @Value("${cache.client.near.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.hits = Counter.builder("client.cache.near.requests")
+            .tag("result", "hit")
+            .description("Client lookups served from the in-process cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("client.cache.near.requests")
+            .tag("result", "miss")
+            .description("Client lookups that went on to Redis")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("client.cache.near.evictions")
+            .description("Clients evicted to keep the in-process cache within its size")
+            .register(meterRegistry);
+        Gauge.builder("client.cache.near.size", this, ClientNearCache::size)
+            .description("Clients held by the in-process cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cached client, null on a miss or when disabled
+     */
+    public ClientCacheDTO get(String clientId) {
+        if (!enabled) {
+            return null;
+        }
+        ClientCacheDTO client = find(clientId);
+        (client != null ? hits : misses).increment();
+        return client;
+    }
+
+    /**
+     * Version to pass to {@link #putIfUnchanged} for a client about to be read from Redis
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Store a client read from Redis, unless an event was applied since {@code readVersion}
+     */
+    public synchronized void putIfUnchanged(ClientCacheDTO client, long readVersion) {
+        if (enabled && version == readVersion) {
+            store(client);
+        }
+    }
+
+    /**
+     * Apply a client created or updated event
+     */
+    public synchronized void put(ClientCacheDTO client) {
+        version++;
+        if (enabled) {
+            store(client);
+        }
+    }
+
+    /**
+     * Apply a client deleted event
+     */
+    public synchronized void invalidate(String clientId) {
+        version++;
+        entries.remove(clientId);
+    }
+
+    private ClientCacheDTO find(String clientId) {
+        Entry entry = entries.get(clientId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            // Only this entry, an event may have replaced it meanwhile
+            entries.remove(clientId, entry);
+            return null;
+        }
+        entry.lastRead = System.nanoTime();
+        return entry.client;
+    }
+
+    private void store(ClientCacheDTO client) {
+        entries.put(client.getClientId(), new Entry(client, System.currentTimeMillis() + ttlMillis));
+        while (entries.size() > maxSize) {
+            evictOne();
+        }
+    }
+
+    /**
+     * Evict the least recently read of a sample of entries, expired ones first
+     */
+    private void evictOne() {
+        long now = System.currentTimeMillis();
+        int skip = ThreadLocalRandom.current().nextInt(Math.max(Math.min(entries.size(), EVICTION_MAX_SKIP), 1));
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        for (int i = 0; i < skip && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        Map.Entry<String, Entry> victim = null;
+        for (int sampled = 0; sampled < EVICTION_SAMPLE; sampled++) {
+            if (!iterator.hasNext()) {
+                // Wrap around to keep the sample size on small maps
+                iterator = entries.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    return;
+                }
+            }
+            Map.Entry<String, Entry> candidate = iterator.next();
+            if (candidate.getValue().expiresAt < now) {
+                victim = candidate;
+                break;
+            }
+            if (victim == null || candidate.getValue().lastRead < victim.getValue().lastRead) {
+                victim = candidate;
+            }
+        }
+        if (victim != null && entries.remove(victim.getKey(), victim.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Cached client with the time it was last read, stamped without a lock by readers
+     */
+    private static final class Entry {
+        private final ClientCacheDTO client;
+        private final long expiresAt;
+        private volatile long lastRead = System.nanoTime();
+
+        private Entry(ClientCacheDTO client, long expiresAt) {
+            this.client = client;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
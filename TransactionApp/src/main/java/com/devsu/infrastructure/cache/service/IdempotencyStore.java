@@ -0,0 +1,237 @@
+package com.devsu.infrastructure.cache.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.devsu.application.dto.MovementResponseDTO;
+import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency store for movement creation
+ * Completed results are kept in a bounded in-memory LRU (optionally backed by Redis)
+ * and replayed for the same Idempotency-Key. Concurrent duplicates wait for the
+ * request in flight instead of executing again. Failed requests are not stored.
+ * Each key is stored with a hash of its request: the same key with a different
+ * request is rejected instead of replayed
+ */
+@Slf4j
+@Service
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String REQUEST_HASH = "requestHash";
+    private static final String RESPONSE = "response";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final String redisPrefix;
+    private final long ttlMillis;
+    private final long waitTimeoutMs;
+
+    private final Map<String, Running> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Entry> completed;
+
+    public IdempotencyStore(
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+            @Value("${idempotency.redis.enabled:false}") boolean redisEnabled,
+            @Value("${idempotency.redis.prefix:idempotency:movement:}") String redisPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.redisPrefix = redisPrefix;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.waitTimeoutMs = waitTimeoutMs;
+        // Access-ordered map evicting the least recently used entry beyond maxEntries
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Execute the action once per key
+     * Returns the stored result for a replayed key, or waits for the first request
+     * with the same key when it is still in flight
+     * @param request request the action executes, compared with the first one by hash
+     * @throws IdempotencyKeyReusedException when the key was used for a different request
+     */
+    public MovementResponseDTO executeOnce(String key, Object request, Supplier<MovementResponseDTO> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        Entry stored = find(key);
+        if (stored != null) {
+            log.info("Idempotency-Key {} replayed", key);
+            return replay(key, stored, requestHash);
+        }
+
+        Running current = new Running(requestHash, new CompletableFuture<>());
+        Running running = inFlight.putIfAbsent(key, current);
+        if (running != null) {
+            log.info("Idempotency-Key {} in flight, waiting for the first request", key);
+            checkSameRequest(key, running.requestHash(), requestHash);
+            return await(key, running.result());
+        }
+
+        try {
+            // The first request may have completed between the lookup and the registration
+            stored = findLocal(key);
+            MovementResponseDTO response;
+            if (stored == null) {
+                response = action.get();
+                store(key, requestHash, response);
+            } else {
+                response = replay(key, stored, requestHash);
+            }
+            current.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            current.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, current);
+        }
+    }
+
+    private static MovementResponseDTO replay(String key, Entry stored, String requestHash) {
+        checkSameRequest(key, stored.requestHash(), requestHash);
+        return stored.response();
+    }
+
+    /**
+     * Results stored before request hashes were kept have no hash and are replayed
+     */
+    private static void checkSameRequest(String key, String storedHash, String requestHash) {
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            log.error("Idempotency-Key {} reused with a different request", key);
+            throw new IdempotencyKeyReusedException(
+                "Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+
+    /**
+     * SHA-256 of the JSON form of the request
+     */
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request could not be hashed", e);
+        }
+    }
+
+    private MovementResponseDTO await(String key, CompletableFuture<MovementResponseDTO> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Duplicates get the same outcome as the request they waited for
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConcurrencyFailureException("Request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyFailureException("Interrupted while waiting for Idempotency-Key " + key, e);
+        }
+    }
+
+    private Entry find(String key) {
+        Entry stored = findLocal(key);
+        if (stored != null || !redisEnabled) {
+            return stored;
+        }
+
+        try {
+            Object cached = redisTemplate.opsForValue().get(redisPrefix + key);
+            if (cached instanceof Map<?, ?> value && value.containsKey(REQUEST_HASH)) {
+                stored = storeLocal(key, (String) value.get(REQUEST_HASH),
+                    objectMapper.convertValue(value.get(RESPONSE), MovementResponseDTO.class));
+            } else if (cached != null) {
+                stored = storeLocal(key, null, objectMapper.convertValue(cached, MovementResponseDTO.class));
+            }
+        } catch (Exception e) {
+            log.error("Error getting Idempotency-Key {} from Redis", key, e);
+        }
+        return stored;
+    }
+
+    private Entry findLocal(String key) {
+        synchronized (completed) {
+            Entry entry = completed.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                completed.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void store(String key, String requestHash, MovementResponseDTO response) {
+        storeLocal(key, requestHash, response);
+        if (!redisEnabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(redisPrefix + key, Map.of(REQUEST_HASH, requestHash, RESPONSE, response),
+                ttlMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("Error saving Idempotency-Key {} to Redis", key, e);
+        }
+    }
+
+    private Entry storeLocal(String key, String requestHash, MovementResponseDTO response) {
+        Entry entry = new Entry(requestHash, response, System.currentTimeMillis() + ttlMillis);
+        synchronized (completed) {
+            completed.put(key, entry);
+        }
+        return entry;
+    }
+
+    int size() {
+        synchronized (completed) {
+            return completed.size();
+        }
+    }
+
+    private record Entry(String requestHash, MovementResponseDTO response, long expiresAt) { }
+
+    private record Running(String requestHash, CompletableFuture<MovementResponseDTO> result) { }
+}
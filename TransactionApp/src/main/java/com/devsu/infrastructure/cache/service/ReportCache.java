@@ -0,0 +1,323 @@
+package com.devsu.infrastructure.cache.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.event.ClientAccountsChangedEvent;
+import com.devsu.application.event.MovementsWrittenEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory cache of account statements (F4)
+ * Keyed by (clientId, startDate, endDate) and tagged with the ids of the accounts in
+ * the report: a committed movement write on any of them drops the entry, and so does
+ * a committed change of the client's accounts. Reports whose period already ended live
+ * longer than open ones. Memory is bounded by a weight budget (one unit per account
+ * and movement) with least recently used eviction. Every read gets its own copy of
+ * the report, dated at the read. Invalidation is local to the instance, the TTL bounds
+ * staleness across instances
+ */
+@Slf4j
+@Service
+public class ReportCache {
+
+    private final boolean enabled;
+    private final long maxWeight;
+    private final long openTtlMillis;
+    private final long closedTtlMillis;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<Key>> keysByAccount = new HashMap<>();
+    private final Map<String, Set<Key>> keysByClient = new HashMap<>();
+    private final Set<Computation> computations = new HashSet<>();
+    private long weight;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    public ReportCache(
+            MeterRegistry meterRegistry,
+            @Value("${report.cache.enabled:true}") boolean enabled,
+            @Value("${report.cache.max-weight:200000}") long maxWeight,
+            @Value("${report.cache.ttl-seconds:60}") long openTtlSeconds,
+            @Value("${report.cache.closed-ttl-seconds:3600}") long closedTtlSeconds) {
+        this.enabled = enabled;
+        this.maxWeight = maxWeight;
+        this.openTtlMillis = TimeUnit.SECONDS.toMillis(openTtlSeconds);
+        this.closedTtlMillis = TimeUnit.SECONDS.toMillis(closedTtlSeconds);
+        this.hits = Counter.builder("report.cache.requests")
+            .tag("result", "hit")
+            .description("Account statements served from the report cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("report.cache.requests")
+            .tag("result", "miss")
+            .description("Account statements computed on a report cache miss")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("report.cache.evictions")
+            .description("Reports evicted to keep the report cache within its weight budget")
+            .register(meterRegistry);
+        this.invalidations = Counter.builder("report.cache.invalidations")
+            .description("Reports dropped after their accounts or their movements were written")
+            .register(meterRegistry);
+        Gauge.builder("report.cache.hit.ratio", this, ReportCache::hitRatio)
+            .description("Share of report requests served from the cache")
+            .register(meterRegistry);
+        Gauge.builder("report.cache.weight", this, ReportCache::weight)
+            .description("Accounts and movements held by the report cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cached statement for the period, computed and stored on a miss
+     * A report is not stored when one of its accounts was written while it was being
+     * computed, it could miss that write
+     */
+    public ReportResponseDTO get(String clientId, LocalDateTime startDate, LocalDateTime endDate,
+                                 Supplier<ReportResponseDTO> compute) {
+        if (!enabled) {
+            return compute.get();
+        }
+
+        Key key = new Key(clientId, startDate, endDate);
+        ReportResponseDTO cached = find(key);
+        if (cached != null) {
+            hits.increment();
+            return copyOf(cached, LocalDateTime.now());
+        }
+        misses.increment();
+
+        Computation computation = new Computation(clientId);
+        synchronized (this) {
+            computations.add(computation);
+        }
+        try {
+            ReportResponseDTO report = compute.get();
+            store(key, copyOf(report, report.getReportDate()), computation);
+            return report;
+        } finally {
+            synchronized (this) {
+                computations.remove(computation);
+            }
+        }
+    }
+
+    /**
+     * Drop the reports of the written accounts once the write is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovementsWritten(MovementsWrittenEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        int dropped = 0;
+        synchronized (this) {
+            // Reports being computed may have read these accounts before this write
+            computations.forEach(computation -> computation.written.addAll(event.accountIds()));
+            for (Long accountId : event.accountIds()) {
+                Set<Key> keys = keysByAccount.get(accountId);
+                if (keys == null) {
+                    continue;
+                }
+                for (Key key : Set.copyOf(keys)) {
+                    if (remove(key) != null) {
+                        dropped++;
+                    }
+                }
+            }
+        }
+        if (dropped > 0) {
+            invalidations.increment(dropped);
+            log.debug("Dropped {} cached reports of accounts {}", dropped, event.accountIds());
+        }
+    }
+
+    /**
+     * Drop the reports of the clients whose accounts changed once the change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientAccountsChanged(ClientAccountsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        int dropped = 0;
+        synchronized (this) {
+            // Reports being computed may have read the accounts before this change
+            computations.stream()
+                .filter(computation -> event.clientIds().contains(computation.clientId))
+                .forEach(computation -> computation.accountsChanged = true);
+            for (String clientId : event.clientIds()) {
+                Set<Key> keys = keysByClient.get(clientId);
+                if (keys == null) {
+                    continue;
+                }
+                for (Key key : Set.copyOf(keys)) {
+                    if (remove(key) != null) {
+                        dropped++;
+                    }
+                }
+            }
+        }
+        if (dropped > 0) {
+            invalidations.increment(dropped);
+            log.debug("Dropped {} cached reports of clients {}", dropped, event.clientIds());
+        }
+    }
+
+    private synchronized ReportResponseDTO find(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            remove(key);
+            return null;
+        }
+        return entry.report();
+    }
+
+    private synchronized void store(Key key, ReportResponseDTO report, Computation computation) {
+        long reportWeight = weightOf(report);
+        Set<Long> accountIds = report.getAccounts().stream()
+            .map(ReportResponseDTO.AccountInfo::getAccountId)
+            .collect(Collectors.toSet());
+        if (reportWeight > maxWeight || computation.accountsChanged
+                || accountIds.stream().anyMatch(computation.written::contains)) {
+            return;
+        }
+
+        // Periods that already ended only change through backdated writes, which invalidate them
+        boolean closed = key.endDate().isBefore(report.getReportDate());
+        long ttl = closed ? closedTtlMillis : openTtlMillis;
+
+        remove(key);
+        entries.put(key, new Entry(report, accountIds, reportWeight, System.currentTimeMillis() + ttl));
+        accountIds.forEach(accountId -> keysByAccount.computeIfAbsent(accountId, id -> new HashSet<>()).add(key));
+        keysByClient.computeIfAbsent(key.clientId(), id -> new HashSet<>()).add(key);
+        weight += reportWeight;
+
+        // Evict least recently used reports beyond the budget
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            eldest.remove();
+            untag(evicted.getKey(), evicted.getValue());
+            evictions.increment();
+        }
+    }
+
+    private Entry remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            untag(key, entry);
+        }
+        return entry;
+    }
+
+    private void untag(Key key, Entry entry) {
+        weight -= entry.weight();
+        for (Long accountId : entry.accountIds()) {
+            Set<Key> keys = keysByAccount.get(accountId);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByAccount.remove(accountId);
+            }
+        }
+        Set<Key> clientKeys = keysByClient.get(key.clientId());
+        if (clientKeys != null && clientKeys.remove(key) && clientKeys.isEmpty()) {
+            keysByClient.remove(key.clientId());
+        }
+    }
+
+    /**
+     * Deep copy of the report with the given report date
+     * Cached reports are never handed out, callers may change their copy
+     */
+    private static ReportResponseDTO copyOf(ReportResponseDTO report, LocalDateTime reportDate) {
+        return ReportResponseDTO.builder()
+            .reportDate(reportDate)
+            .client(report.getClient() == null ? null : new ReportResponseDTO.ClientInfo(
+                report.getClient().getClientId(), report.getClient().getClientName()))
+            .accounts(report.getAccounts().stream()
+                .map(account -> ReportResponseDTO.AccountInfo.builder()
+                    .accountId(account.getAccountId())
+                    .accountNumber(account.getAccountNumber())
+                    .accountType(account.getAccountType())
+                    .clientId(account.getClientId())
+                    .initialBalance(account.getInitialBalance())
+                    .finalBalance(account.getFinalBalance())
+                    .movements(account.getMovements() == null ? null : account.getMovements().stream()
+                        .map(movement -> new ReportResponseDTO.MovementInfo(movement.getMovementId(),
+                            movement.getMovementDate(), movement.getMovementType(), movement.getAmount(),
+                            movement.getBalance(), movement.getState()))
+                        .collect(Collectors.toList()))
+                    .summary(copyOf(account.getSummary()))
+                    .nextCursor(account.getNextCursor())
+                    .build())
+                .collect(Collectors.toList()))
+            .summary(copyOf(report.getSummary()))
+            .build();
+    }
+
+    private static ReportResponseDTO.Summary copyOf(ReportResponseDTO.Summary summary) {
+        return summary == null ? null : new ReportResponseDTO.Summary(summary.getTotalAccounts(),
+            summary.getTotalMovements(), summary.getTotalDeposits(), summary.getTotalWithdrawals(),
+            summary.getNetChange());
+    }
+
+    private static long weightOf(ReportResponseDTO report) {
+        return report.getAccounts().stream()
+            .mapToLong(account -> 1L + account.getMovements().size())
+            .sum();
+    }
+
+    private double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private record Key(String clientId, LocalDateTime startDate, LocalDateTime endDate) { }
+
+    private record Entry(ReportResponseDTO report, Set<Long> accountIds, long weight, long expiresAt) { }
+
+    /**
+     * A report being computed, with the accounts written meanwhile and whether the
+     * client's accounts changed meanwhile
+     */
+    private static final class Computation {
+        private final String clientId;
+        private final Set<Long> written = new HashSet<>();
+        private boolean accountsChanged;
+
+        private Computation(String clientId) {
+            this.clientId = clientId;
+        }
+    }
+}
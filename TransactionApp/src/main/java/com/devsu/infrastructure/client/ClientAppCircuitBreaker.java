@@ -0,0 +1,108 @@
+package com.devsu.infrastructure.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker around the REST calls to ClientApp
+ * After failureThreshold consecutive failures (timeouts, connection errors, 5xx) the
+ * circuit opens and calls are rejected without reaching ClientApp. Once openMillis
+ * have passed one trial call is let through: its success closes the circuit, its
+ * failure opens it again. A client not found is an answer of ClientApp, not a failure
+ */
+@Slf4j
+@Component
+public class ClientAppCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final Counter rejected;
+
+    public ClientAppCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${clientapp.circuit-breaker.enabled:true}") boolean enabled,
+            @Value("${clientapp.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${clientapp.circuit-breaker.open-ms:30000}") long openMillis) {
+        this.enabled = enabled;
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openMillis = openMillis;
+        this.rejected = Counter.builder("client.circuit.rejected")
+            .description("ClientApp calls not sent because the circuit was open")
+            .register(meterRegistry);
+        for (State gaugeState : State.values()) {
+            Gauge.builder("client.circuit.state", this, breaker -> breaker.state() == gaugeState ? 1 : 0)
+                .tag("state", gaugeState.name().toLowerCase())
+                .description("1 for the current state of the ClientApp circuit breaker")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Whether a call may be sent to ClientApp now. Every permitted call must be followed
+     * by {@link #onSuccess} or {@link #onFailure}
+     */
+    public synchronized boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED || (state == State.HALF_OPEN && !trialInFlight)) {
+            trialInFlight = state == State.HALF_OPEN;
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = System.currentTimeMillis();
+            transition(State.OPEN);
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Milliseconds until an open circuit lets a trial call through, 0 otherwise
+     */
+    public synchronized long remainingOpenMillis() {
+        return state == State.OPEN ? Math.max(openMillis - (System.currentTimeMillis() - openedAt), 0) : 0;
+    }
+
+    private void transition(State next) {
+        log.warn("ClientApp circuit breaker {} -> {} after {} consecutive failures", state, next, consecutiveFailures);
+        state = next;
+    }
+}
@@ -1,92 +1,289 @@
 package com.devsu.infrastructure.client;
 
+import com.devsu.domain.exception.ClientServiceUnavailableException;
+import com.devsu.domain.exception.ResourceNotFoundException;
 import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
 import com.devsu.infrastructure.cache.service.ClientCacheService;
 import com.devsu.infrastructure.client.dto.ClientDTO;
-import lombok.RequiredArgsConstructor;
+import com.devsu.infrastructure.executor.Futures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * REST Client for ClientApp communication
- * Implements REST calls with fallback for cache miss scenarios
+ * Implements REST calls with fallback for cache miss scenarios, behind a circuit breaker
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ClientServiceClient {
     
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient clientAppWebClient;
     private final ClientCacheService clientCacheService;
+    private final ClientAppCircuitBreaker circuitBreaker;
     
-    @Value("${clientapp.url}")
-    private String clientAppUrl;
+    /**
+     * Largest number of clientIds sent in one batch lookup
+     */
+    @Value("${clientapp.batch-size:500}")
+    private int batchSize;
+    
+    private final Map<String, CompletableFuture<ClientCacheDTO>> inFlight = new ConcurrentHashMap<>();
+    private final Counter remoteLookups;
+    private final Counter coalescedLookups;
+    private final Counter staleRefreshing;
+    private final Counter staleCircuitOpen;
+    
+    public ClientServiceClient(WebClient clientAppWebClient, ClientCacheService clientCacheService,
+                               ClientAppCircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.clientAppWebClient = clientAppWebClient;
+        this.clientCacheService = clientCacheService;
+        this.circuitBreaker = circuitBreaker;
+        this.remoteLookups = Counter.builder("client.lookup.remote")
+            .description("Single client lookups sent to ClientApp on a cache miss")
+            .register(meterRegistry);
+        this.coalescedLookups = Counter.builder("client.lookup.coalesced")
+            .description("Client cache misses that waited for a ClientApp call already in flight")
+            .register(meterRegistry);
+        this.staleRefreshing = Counter.builder("client.lookup.stale")
+            .tag("reason", "refreshing")
+            .description("Last known copies of clients served while ClientApp was being called")
+            .register(meterRegistry);
+        this.staleCircuitOpen = Counter.builder("client.lookup.stale")
+            .tag("reason", "circuit_open")
+            .description("Last known copies of clients served while the ClientApp circuit was open")
+            .register(meterRegistry);
+        Gauge.builder("client.lookup.in-flight", inFlight, Map::size)
+            .description("Clients being requested from ClientApp")
+            .register(meterRegistry);
+    }
     
     /**
      * Get client information by clientId from ClientApp
-     * First checks cache, then makes REST call if cache miss
+     * First checks cache, then makes REST call if cache miss. Concurrent misses for the
+     * same clientId share one REST call and one cache write
      */
     public ClientCacheDTO getClientByClientId(String clientId) {
+        return Futures.await(getClientByClientIdAsync(clientId));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getClientByClientId}, for callers that overlap the
+     * lookup with their own work. A cache hit completes right away; on a miss the REST
+     * call runs on the WebClient event loop until the caller awaits it. While the client is being
+     * refreshed, or ClientApp is unavailable, its last known copy from the stale tier is
+     * served instead. Fails with ResourceNotFoundException when ClientApp does not know
+     * the client, and with ClientServiceUnavailableException when ClientApp cannot answer
+     * and there is no copy to serve
+     */
+    public CompletableFuture<ClientCacheDTO> getClientByClientIdAsync(String clientId) {
         log.info("Getting client info for: {}", clientId);
         
         // 1. Try cache first
         ClientCacheDTO cachedClient = clientCacheService.getClient(clientId);
         if (cachedClient != null) {
             log.info("Client found in cache: {}", clientId);
-            return cachedClient;
+            return CompletableFuture.completedFuture(cachedClient);
         }
         
-        // 2. Cache miss - make REST call to ClientApp
-        log.warn("Cache MISS for client: {}, calling ClientApp REST API", clientId);
+        // 2. Cache miss - refresh from ClientApp
+        CompletableFuture<ClientCacheDTO> refresh = refresh(clientId);
+        if (refresh.isDone() && !unavailable(refresh)) {
+            return refresh.copy();
+        }
+        
+        // 3. Serve the last known copy, the refresh goes on in the background
+        ClientCacheDTO staleClient = clientCacheService.getStaleClient(clientId);
+        if (staleClient != null) {
+            boolean open = circuitBreaker.state() == ClientAppCircuitBreaker.State.OPEN;
+            log.warn("Serving last known copy of client {} ({})", clientId, open ? "ClientApp circuit open" : "refreshing");
+            (open ? staleCircuitOpen : staleRefreshing).increment();
+            return CompletableFuture.completedFuture(staleClient);
+        }
+        // Callers get a copy, cancelling it does not cancel the call shared with others
+        return refresh.copy();
+    }
+    
+    /**
+     * Client from ClientApp, saved in cache. Concurrent refreshes of the same clientId
+     * share one REST call
+     */
+    private CompletableFuture<ClientCacheDTO> refresh(String clientId) {
+        // Join the REST call in flight for this client, if any
+        CompletableFuture<ClientCacheDTO> fetch = new CompletableFuture<>();
+        CompletableFuture<ClientCacheDTO> running = inFlight.putIfAbsent(clientId, fetch);
+        if (running != null) {
+            log.info("Client {} already requested from ClientApp, waiting for that call", clientId);
+            coalescedLookups.increment();
+            return running;
+        }
         
         try {
-            WebClient webClient = webClientBuilder.baseUrl(clientAppUrl).build();
-            
-            ClientDTO clientDTO = webClient.get()
-                .uri("/clientes/by-clientId/{clientId}", clientId)
-                .retrieve()
-                .bodyToMono(ClientDTO.class)
-                .timeout(Duration.ofSeconds(5))
-                .block();
-            
-            if (clientDTO != null) {
+            // The call in flight before this one may have cached the client meanwhile
+            ClientCacheDTO client = clientCacheService.getClient(clientId);
+            if (client != null) {
+                settle(clientId, fetch, client, null);
+            } else if (!circuitBreaker.tryAcquire()) {
+                settle(clientId, fetch, null, new ClientServiceUnavailableException(
+                    "ClientApp is unavailable, client " + clientId + " could not be retrieved"));
+            } else {
+                fetchClient(clientId).subscribe(
+                    found -> settle(clientId, fetch, found, null),
+                    e -> settle(clientId, fetch, null, e));
+            }
+        } catch (RuntimeException e) {
+            settle(clientId, fetch, null, e);
+        }
+        return fetch;
+    }
+    
+    /**
+     * Complete a refresh once it is no longer in flight, so no caller it wakes up joins it
+     */
+    private void settle(String clientId, CompletableFuture<ClientCacheDTO> fetch, ClientCacheDTO client, Throwable e) {
+        inFlight.remove(clientId, fetch);
+        if (e == null) {
+            fetch.complete(client);
+        } else {
+            fetch.completeExceptionally(e);
+        }
+    }
+    
+    /**
+     * REST call to ClientApp, the client found is saved in cache
+     */
+    private Mono<ClientCacheDTO> fetchClient(String clientId) {
+        log.warn("Cache MISS for client: {}, calling ClientApp REST API", clientId);
+        remoteLookups.increment();
+        
+        return clientAppWebClient.get()
+            .uri("/clientes/by-clientId/{clientId}", clientId)
+            .retrieve()
+            .bodyToMono(ClientDTO.class)
+            .doOnSuccess(clientDTO -> circuitBreaker.onSuccess())
+            .doOnError(this::recordError)
+            // Saving in cache blocks on Redis, keep it off the event loop
+            .publishOn(Schedulers.boundedElastic())
+            .map(clientDTO -> {
                 log.info("Successfully retrieved client {} from ClientApp", clientId);
                 
-                // Convert to cache DTO and save in cache
-                ClientCacheDTO cacheDTO = ClientCacheDTO.builder()
-                    .id(clientDTO.getId())
-                    .clientId(clientDTO.getClientId())
-                    .name(clientDTO.getName())
-                    .gender(clientDTO.getGender())
-                    .age(clientDTO.getAge())
-                    .idNumber(clientDTO.getIdNumber())
-                    .address(clientDTO.getAddress())
-                    .phone(clientDTO.getPhone())
-                    .state(clientDTO.getState())
-                    .build();
-                
-                // Save in cache for future requests
+                // Convert to cache DTO and save in cache for future requests
+                ClientCacheDTO cacheDTO = toCacheDTO(clientDTO);
                 clientCacheService.saveClient(cacheDTO);
-                
                 return cacheDTO;
-            }
-            
-        } catch (Exception e) {
-            log.error("Unable to retrieve client information for clientId: {}", clientId, e);
-            // No usar fallback - lanzar excepción si cliente no existe
-            throw new com.devsu.domain.exception.ResourceNotFoundException(
-                "Client with clientId " + clientId + " not found"
-            );
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> {
+                log.error("Client with clientId {} does not exist in the system", clientId);
+                throw new ResourceNotFoundException("Client with clientId " + clientId + " not found");
+            }))
+            .onErrorMap(e -> !(e instanceof ResourceNotFoundException), e -> {
+                if (isAnswer(e)) {
+                    log.error("ClientApp rejected the lookup of client {}: {}", clientId, e.getMessage());
+                    return new ResourceNotFoundException("Client with clientId " + clientId + " not found");
+                }
+                // ClientApp failed or timed out, the client may well exist
+                log.error("Unable to retrieve client information for clientId: {}", clientId, e);
+                return new ClientServiceUnavailableException(
+                    "ClientApp is unavailable, client " + clientId + " could not be retrieved", e);
+            });
+    }
+    
+    /**
+     * Get the information of several clients
+     * Cached clients are read in one round trip, the misses are requested from ClientApp
+     * in batches of batchSize clientIds per call. Clients unknown to ClientApp are left
+     * out of the result; failures of ClientApp are propagated as ClientServiceUnavailableException
+     * @return clients found by clientId
+     */
+    public Map<String, ClientCacheDTO> getClientsByClientIds(List<String> clientIds) {
+        Map<String, ClientCacheDTO> clients = clientCacheService.getClients(clientIds);
+        List<String> misses = new ArrayList<>();
+        clientIds.stream().filter(clientId -> !clients.containsKey(clientId)).forEach(misses::add);
+        if (misses.isEmpty()) {
+            return clients;
         }
         
-        // Si llegamos aquí, clientDTO es null
-        log.error("Client with clientId {} does not exist in the system", clientId);
-        throw new com.devsu.domain.exception.ResourceNotFoundException(
-            "Client with clientId " + clientId + " not found"
-        );
+        log.warn("Cache MISS for {} of {} clients, calling ClientApp REST API", misses.size(), clientIds.size());
+        for (int from = 0; from < misses.size(); from += batchSize) {
+            List<String> batch = misses.subList(from, Math.min(from + batchSize, misses.size()));
+            if (!circuitBreaker.tryAcquire()) {
+                throw new ClientServiceUnavailableException(
+                    "ClientApp is unavailable, " + batch.size() + " clients could not be retrieved");
+            }
+            try {
+                List<ClientDTO> found = clientAppWebClient.post()
+                    .uri("/clientes/by-clientIds")
+                    .bodyValue(batch)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<ClientDTO>>() { })
+                    .block();
+                circuitBreaker.onSuccess();
+                if (found != null) {
+                    found.forEach(clientDTO -> {
+                        ClientCacheDTO cacheDTO = toCacheDTO(clientDTO);
+                        clientCacheService.saveClient(cacheDTO);
+                        clients.put(cacheDTO.getClientId(), cacheDTO);
+                    });
+                }
+            } catch (RuntimeException e) {
+                log.error("Unable to retrieve information of {} clients from ClientApp", batch.size(), e);
+                recordError(e);
+                throw isAnswer(e) ? e : new ClientServiceUnavailableException(
+                    "ClientApp is unavailable, " + batch.size() + " clients could not be retrieved", e);
+            }
+        }
+        return clients;
+    }
+    
+    /**
+     * A 4xx from ClientApp is an answer about the client, anything else means ClientApp
+     * could not answer
+     */
+    private static boolean isAnswer(Throwable e) {
+        return e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+    }
+    
+    private void recordError(Throwable e) {
+        if (isAnswer(e)) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+    
+    /**
+     * Whether a completed lookup failed because ClientApp could not answer
+     */
+    private static boolean unavailable(CompletableFuture<ClientCacheDTO> lookup) {
+        return lookup.isCompletedExceptionally()
+            && lookup.handle((client, e) -> e instanceof ClientServiceUnavailableException).join();
+    }
+    
+    private static ClientCacheDTO toCacheDTO(ClientDTO clientDTO) {
+        return ClientCacheDTO.builder()
+            .id(clientDTO.getId())
+            .clientId(clientDTO.getClientId())
+            .name(clientDTO.getName())
+            .gender(clientDTO.getGender())
+            .age(clientDTO.getAge())
+            .idNumber(clientDTO.getIdNumber())
+            .address(clientDTO.getAddress())
+            .phone(clientDTO.getPhone())
+            .state(clientDTO.getState())
+            .build();
     }
 }
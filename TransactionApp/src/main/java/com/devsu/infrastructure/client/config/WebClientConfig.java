@@ -1,17 +1,78 @@
 package com.devsu.infrastructure.client.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * Configuration for WebClient (REST client)
+ * ClientApp is called through one long-lived WebClient on its own connection pool:
+ * connections are kept alive and reused, idle ones are closed in the background, and
+ * callers beyond the pool size wait for a connection up to a timeout. Pool gauges
+ * are published as reactor.netty.connection.provider.* (name=clientapp)
  */
 @Configuration
 public class WebClientConfig {
-    
+
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
+
+    /**
+     * Connection pool for ClientApp
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider clientAppConnectionProvider(
+            @Value("${clientapp.pool.max-connections:50}") int maxConnections,
+            @Value("${clientapp.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${clientapp.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${clientapp.pool.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${clientapp.pool.max-life-time-ms:300000}") long maxLifeTimeMs) {
+        return ConnectionProvider.builder("clientapp")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(pendingAcquireMaxCount)
+            .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+            .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+            .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+            .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+            .metrics(true)
+            .build();
+    }
+
+    /**
+     * WebClient for ClientApp, shared by every call
+     */
+    @Bean
+    public WebClient clientAppWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider clientAppConnectionProvider,
+            @Value("${clientapp.url}") String clientAppUrl,
+            @Value("${clientapp.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${clientapp.response-timeout-ms:5000}") long responseTimeoutMs,
+            @Value("${clientapp.http2.enabled:false}") boolean http2) {
+        HttpClient httpClient = HttpClient.create(clientAppConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .keepAlive(true)
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        if (http2) {
+            // Cleartext ClientApp URLs negotiate HTTP/2 with an HTTP/1.1 upgrade
+            httpClient = httpClient.protocol(
+                clientAppUrl.startsWith("https") ? HttpProtocol.H2 : HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return webClientBuilder.clone()
+            .baseUrl(clientAppUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
 }
@@ -1,7 +1,9 @@
 package com.devsu.infrastructure.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.devsu.application.dto.AccountBalanceResponseDTO;
 import com.devsu.application.dto.AccountRequestDTO;
 import com.devsu.application.dto.AccountResponseDTO;
 import com.devsu.application.service.AccountService;
@@ -70,6 +73,19 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get the balance of an account as of an instant
+     * GET /cuentas/{id}/saldo?at=2026-02-04T10:00:00
+     */
+    @GetMapping("/{id}/saldo")
+    public ResponseEntity<AccountBalanceResponseDTO> getBalanceAt(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        log.info("REST request to get balance of Account with id: {} at {}", id, at);
+        AccountBalanceResponseDTO response = accountService.getBalanceAt(id, at);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get account by account number
      * GET /cuentas/numero/{accountNumber}
@@ -10,13 +10,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.devsu.application.dto.MovementBatchRequestDTO;
+import com.devsu.application.dto.MovementBatchResponseDTO;
 import com.devsu.application.dto.MovementRequestDTO;
 import com.devsu.application.dto.MovementResponseDTO;
 import com.devsu.application.service.MovementService;
+import com.devsu.infrastructure.cache.service.IdempotencyStore;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -36,20 +40,40 @@ import lombok.extern.slf4j.Slf4j;
 public class MovementController {
     
     private final MovementService movementService;
+    private final IdempotencyStore idempotencyStore;
     
     /**
      * Create a new movement
      * POST /movimientos
      * F2: Registers movement and updates account balance
      * F3: Returns "Saldo no disponible" if insufficient balance
+     * Retries with the same Idempotency-Key return the first result without registering again,
+     * the key sent with a different request is rejected (422)
      */
     @PostMapping
-    public ResponseEntity<MovementResponseDTO> createMovement(@Valid @RequestBody MovementRequestDTO movementRequestDTO) {
+    public ResponseEntity<MovementResponseDTO> createMovement(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody MovementRequestDTO movementRequestDTO) {
         log.info("REST request to create Movement for account: {}", movementRequestDTO.getAccountId());
-        MovementResponseDTO response = movementService.createMovement(movementRequestDTO);
+        MovementResponseDTO response = idempotencyKey == null
+            ? movementService.createMovement(movementRequestDTO)
+            : idempotencyStore.executeOnce(idempotencyKey, movementRequestDTO,
+                () -> movementService.createMovement(movementRequestDTO));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Create movements in batch (ATM/POS settlement feeds)
+     * POST /movimientos/batch
+     * F2/F3 are applied per item, rejected items are reported in the response
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<MovementBatchResponseDTO> createMovements(@Valid @RequestBody MovementBatchRequestDTO movementBatchRequestDTO) {
+        log.info("REST request to create batch of {} Movements", movementBatchRequestDTO.getMovements().size());
+        MovementBatchResponseDTO response = movementService.createMovements(movementBatchRequestDTO.getMovements());
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Update an existing movement
      * PUT /movimientos/{id}
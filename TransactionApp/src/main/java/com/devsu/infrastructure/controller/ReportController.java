@@ -1,17 +1,37 @@
 package com.devsu.infrastructure.controller;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsu.application.dto.ReportBatchRequestDTO;
+import com.devsu.application.dto.ReportJobRequestDTO;
+import com.devsu.application.dto.ReportJobResponseDTO;
 import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.dto.StatementPageResponseDTO;
 import com.devsu.application.service.ReportService;
+import com.devsu.infrastructure.export.StatementArchiveWriter;
+import com.devsu.infrastructure.export.StatementExportFormat;
+import com.devsu.infrastructure.job.ReportJobManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,20 +46,142 @@ import lombok.extern.slf4j.Slf4j;
 public class ReportController {
     
     private final ReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final ReportJobManager reportJobManager;
     
     /**
      * Generate account statement report by client
-     * GET /reportes?clientId={id}&startDate={date}&endDate={date}
-     * F4: Returns all client accounts with movements and summary for specified period
+     * GET /reportes?clientId={id}&startDate={date}&endDate={date}[&summaryOnly=true][&pageSize={n}]
+     * F4: Returns all client accounts with movements and summary for specified period;
+     * with summaryOnly, the totals of every account and of the client without movements;
+     * with pageSize, the first movements of every account and the cursor of the next page
      */
     @GetMapping
     public ResponseEntity<ReportResponseDTO> generateAccountStatement(
             @RequestParam String clientId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean summaryOnly,
+            @RequestParam(required = false) Integer pageSize) {
         
-        log.info("REST request to generate report for client {} from {} to {}", clientId, startDate, endDate);
-        ReportResponseDTO report = reportService.generateAccountStatement(clientId, startDate, endDate);
+        log.info("REST request to generate {} for client {} from {} to {}",
+            summaryOnly ? "summary" : "report", clientId, startDate, endDate);
+        ReportResponseDTO report;
+        if (summaryOnly) {
+            report = reportService.generateAccountSummary(clientId, startDate, endDate);
+        } else if (pageSize != null) {
+            report = reportService.generateAccountStatementPage(clientId, startDate, endDate, pageSize);
+        } else {
+            report = reportService.generateAccountStatement(clientId, startDate, endDate);
+        }
         return ResponseEntity.ok(report);
     }
+    
+    /**
+     * Next page of the movements of an account statement
+     * GET /reportes/movimientos?cursor={nextCursor}[&pageSize={n}]
+     * F4: The cursor comes from the paginated report or the previous page
+     */
+    @GetMapping("/movimientos")
+    public ResponseEntity<StatementPageResponseDTO> getStatementMovements(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer pageSize) {
+        
+        log.info("REST request to get statement movements page");
+        return ResponseEntity.ok(reportService.getStatementMovements(cursor, pageSize));
+    }
+    
+    /**
+     * Stream the account statement by client, for large date ranges
+     * GET /reportes/export?clientId={id}&startDate={date}&endDate={date}&format=ndjson|csv
+     * F4: Rows are written to the response while they are read, the summary is the last record
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccountStatement(
+            @RequestParam String clientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        log.info("REST request to export report for client {} from {} to {} as {}", clientId, startDate, endDate, format);
+        StatementExportFormat exportFormat = StatementExportFormat.of(format);
+        ReportResponseDTO.ClientInfo client = reportService.getStatementClient(clientId);
+        
+        StreamingResponseBody body = outputStream -> reportService.exportAccountStatement(client, startDate, endDate,
+            exportFormat.writer(outputStream, objectMapper));
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("estado-cuenta-" + clientId + "." + exportFormat.getExtension())
+                .build()
+                .toString())
+            .body(body);
+    }
+    
+    /**
+     * Stream the account statements of many clients as a ZIP archive
+     * POST /reportes/batch
+     * F4 for month-end processing: one statement per client in the requested format and
+     * a resumen-lote.json manifest as the last entry
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> exportAccountStatements(@Valid @RequestBody ReportBatchRequestDTO request) {
+        log.info("REST request to export statements of {} clients from {} to {}",
+            request.getClientIds().size(), request.getStartDate(), request.getEndDate());
+        StatementExportFormat exportFormat = StatementExportFormat.of(
+            request.getFormat() == null ? StatementExportFormat.NDJSON.name() : request.getFormat());
+        List<String> clientIds = reportService.validateStatementBatch(request);
+        
+        StreamingResponseBody body = outputStream -> reportService.exportAccountStatements(clientIds,
+            request.getStartDate(), request.getEndDate(), new StatementArchiveWriter(outputStream, exportFormat, objectMapper));
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("estados-cuenta.zip")
+                .build()
+                .toString())
+            .body(body);
+    }
+    
+    /**
+     * Submit an account statement job, for periods too long for a synchronous request
+     * POST /reportes/jobs
+     * F4: Returns 202 with the job id; 503 when the job queue is full
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobResponseDTO> submitReportJob(@Valid @RequestBody ReportJobRequestDTO request) {
+        log.info("REST request to submit report job for client {} from {} to {}",
+            request.getClientId(), request.getStartDate(), request.getEndDate());
+        ReportJobResponseDTO job = reportJobManager.submit(request);
+        return ResponseEntity.accepted()
+            .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").buildAndExpand(job.getJobId()).toUri())
+            .body(job);
+    }
+    
+    /**
+     * Status of a report job
+     * GET /reportes/jobs/{jobId}
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobResponseDTO> getReportJob(@PathVariable String jobId) {
+        log.info("REST request to get report job {}", jobId);
+        return ResponseEntity.ok(reportJobManager.getJob(jobId));
+    }
+    
+    /**
+     * Download the statement of a completed report job
+     * GET /reportes/jobs/{jobId}/download
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReportJob(@PathVariable String jobId) {
+        log.info("REST request to download report job {}", jobId);
+        ReportJobManager.Artifact artifact = reportJobManager.getArtifact(jobId);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(artifact.format().getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(artifact.filename())
+                .build()
+                .toString())
+            .body(new FileSystemResource(artifact.file()));
+    }
 }
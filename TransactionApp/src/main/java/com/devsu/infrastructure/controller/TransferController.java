@@ -0,0 +1,44 @@
+package com.devsu.infrastructure.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsu.application.dto.TransferRequestDTO;
+import com.devsu.application.dto.TransferResponseDTO;
+import com.devsu.application.service.TransferService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for account-to-account transfers
+ * Debit and credit movements are registered atomically
+ */
+@Slf4j
+@RestController
+@RequestMapping("/transferencias")
+@RequiredArgsConstructor
+@Validated
+public class TransferController {
+    
+    private final TransferService transferService;
+    
+    /**
+     * Transfer money between two accounts
+     * POST /transferencias
+     * F3: Returns "Saldo no disponible" if the source account has insufficient balance
+     */
+    @PostMapping
+    public ResponseEntity<TransferResponseDTO> transfer(@Valid @RequestBody TransferRequestDTO transferRequestDTO) {
+        log.info("REST request to transfer from account {} to account {}",
+                 transferRequestDTO.getSourceAccountId(), transferRequestDTO.getTargetAccountId());
+        TransferResponseDTO response = transferService.transfer(transferRequestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -0,0 +1,28 @@
+package com.devsu.infrastructure.executor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Waiting on futures from blocking code
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Result of the future, with the exception it failed with (unwrapped) on failure
+     * Blocks the calling thread until the future completes
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
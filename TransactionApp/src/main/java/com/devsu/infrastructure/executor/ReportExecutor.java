@@ -0,0 +1,95 @@
+package com.devsu.infrastructure.executor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded executor for the blocking steps of report generation
+ * Runs on virtual threads when the JDK provides them (Java 21+), on a cached pool of
+ * daemon platform threads otherwise. At most maxParallelism tasks run at once; beyond
+ * that, and with a cap of 0, tasks run on the calling thread
+ */
+@Slf4j
+@Component
+public class ReportExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final boolean virtualThreads;
+
+    public ReportExecutor(
+            @Value("${report.executor.max-parallelism:16}") int maxParallelism,
+            @Value("${report.executor.virtual-threads:true}") boolean useVirtualThreads) {
+        this.permits = new Semaphore(Math.max(maxParallelism, 0));
+        ExecutorService virtual = useVirtualThreads ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newCachedThreadPool(platformThreads());
+        log.info("Report executor on {} threads, max parallelism {}", virtualThreads ? "virtual" : "platform", maxParallelism);
+    }
+
+    /**
+     * Run the task asynchronously, or on the calling thread when no slot is free
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        if (!permits.tryAcquire()) {
+            return callerRuns(task);
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, executor)
+                .whenComplete((result, error) -> permits.release());
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return callerRuns(task);
+        }
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static <T> CompletableFuture<T> callerRuns(Supplier<T> task) {
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor(), looked up reflectively so the code
+     * still runs on Java 17
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "report-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
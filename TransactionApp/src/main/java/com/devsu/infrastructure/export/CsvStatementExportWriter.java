@@ -0,0 +1,88 @@
+package com.devsu.infrastructure.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import com.devsu.application.dto.ReportResponseDTO;
+
+/**
+ * CSV statement with one row per record
+ * account rows carry the opening balance in the balance column, movement rows the
+ * movement itself; the summary closes the file as name/value rows
+ * (movementType holds the total name, amount its value)
+ */
+public class CsvStatementExportWriter implements StatementExportWriter {
+
+    static final String HEADER =
+        "record,clientId,accountNumber,accountType,movementId,movementDate,movementType,amount,balance,state";
+
+    private final Writer writer;
+
+    public CsvStatementExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeClient(ReportResponseDTO.ClientInfo client) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void writeAccount(ReportResponseDTO.AccountInfo account) throws IOException {
+        row("account", account.getClientId(), account.getAccountNumber(), account.getAccountType(),
+            null, null, null, null, account.getInitialBalance(), null);
+    }
+
+    @Override
+    public void writeMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement)
+            throws IOException {
+        row("movement", account.getClientId(), account.getAccountNumber(), account.getAccountType(),
+            movement.getMovementId(), movement.getMovementDate(), movement.getMovementType(),
+            movement.getAmount(), movement.getBalance(), movement.getState());
+    }
+
+    @Override
+    public void writeSummary(ReportResponseDTO.Summary summary) throws IOException {
+        total("totalAccounts", summary.getTotalAccounts());
+        total("totalMovements", summary.getTotalMovements());
+        total("totalDeposits", summary.getTotalDeposits());
+        total("totalWithdrawals", summary.getTotalWithdrawals());
+        total("netChange", summary.getNetChange());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void total(String name, Object value) throws IOException {
+        row("summary", null, null, null, null, null, name, value, null, null);
+    }
+
+    private void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
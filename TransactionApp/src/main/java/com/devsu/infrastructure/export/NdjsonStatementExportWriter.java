@@ -0,0 +1,77 @@
+package com.devsu.infrastructure.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.devsu.application.dto.ReportResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Newline-delimited JSON statement: one object per line, tagged by "record"
+ * (client, account, movement, summary)
+ */
+public class NdjsonStatementExportWriter implements StatementExportWriter {
+
+    private static final int NEWLINE = '\n';
+
+    private final OutputStream outputStream;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonStatementExportWriter(OutputStream outputStream, ObjectMapper objectMapper) {
+        this.outputStream = new BufferedOutputStream(outputStream);
+        // Amounts keep their scale (2000.00) when converted to tree nodes
+        this.objectMapper = objectMapper.copy().setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+    }
+
+    @Override
+    public void writeClient(ReportResponseDTO.ClientInfo client) throws IOException {
+        write("client", client);
+    }
+
+    @Override
+    public void writeAccount(ReportResponseDTO.AccountInfo account) throws IOException {
+        ObjectNode record = record("account", account);
+        record.remove("movements");
+        record.remove("finalBalance");
+        writeLine(record);
+    }
+
+    @Override
+    public void writeMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement)
+            throws IOException {
+        ObjectNode record = objectMapper.createObjectNode()
+            .put("record", "movement")
+            .put("accountId", account.getAccountId())
+            .put("accountNumber", account.getAccountNumber());
+        record.setAll((ObjectNode) objectMapper.valueToTree(movement));
+        writeLine(record);
+    }
+
+    @Override
+    public void writeSummary(ReportResponseDTO.Summary summary) throws IOException {
+        write("summary", summary);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    private void write(String type, Object value) throws IOException {
+        writeLine(record(type, value));
+    }
+
+    private ObjectNode record(String type, Object value) {
+        ObjectNode record = objectMapper.createObjectNode().put("record", type);
+        record.setAll((ObjectNode) objectMapper.valueToTree(value));
+        return record;
+    }
+
+    private void writeLine(ObjectNode record) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(record));
+        outputStream.write(NEWLINE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.devsu.infrastructure.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ZIP archive of account statements, one entry per client and the manifest last
+ * Entries are written to the underlying stream as they are produced, so the archive
+ * is streamed whatever the number of clients. Each statement is written with the
+ * writer of the archive format
+ */
+public class StatementArchiveWriter {
+
+    static final String MANIFEST_ENTRY = "resumen-lote.json";
+
+    private final ZipOutputStream zip;
+    private final StatementExportFormat format;
+    private final ObjectMapper objectMapper;
+    private StatementExportWriter current;
+
+    public StatementArchiveWriter(OutputStream outputStream, StatementExportFormat format, ObjectMapper objectMapper) {
+        this.zip = new ZipOutputStream(outputStream);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    public StatementExportFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Open the entry of a client statement
+     * @return writer of the statement, valid until {@link #finishStatement()}
+     */
+    public StatementExportWriter startStatement(String clientId) throws IOException {
+        zip.putNextEntry(new ZipEntry(entryName(clientId)));
+        current = format.writer(zip, objectMapper);
+        return current;
+    }
+
+    /**
+     * Close the entry of the current statement
+     */
+    public void finishStatement() throws IOException {
+        current.flush();
+        zip.closeEntry();
+        current = null;
+    }
+
+    /**
+     * Write the manifest and the end of the archive (the stream is not closed)
+     */
+    public void finish(Object manifest) throws IOException {
+        zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+        zip.write(objectMapper.writeValueAsBytes(manifest));
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Statement file name, characters other than letters, digits, dot, dash and
+     * underscore are replaced so a client id cannot escape the archive root
+     */
+    String entryName(String clientId) {
+        return "estado-cuenta-" + clientId.replaceAll("[^A-Za-z0-9._-]", "_") + "." + format.getExtension();
+    }
+}
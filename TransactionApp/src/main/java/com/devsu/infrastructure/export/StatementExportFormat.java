@@ -0,0 +1,41 @@
+package com.devsu.infrastructure.export;
+
+import java.io.OutputStream;
+
+import com.devsu.domain.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Formats of the streamed account statement export
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StatementExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public StatementExportWriter writer(OutputStream outputStream, ObjectMapper objectMapper) {
+        return this == CSV
+            ? new CsvStatementExportWriter(outputStream)
+            : new NdjsonStatementExportWriter(outputStream, objectMapper);
+    }
+
+    /**
+     * Resolve a format by name (case-insensitive)
+     */
+    public static StatementExportFormat of(String name) {
+        for (StatementExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new BusinessException("Unsupported export format: " + name + " (use ndjson or csv)");
+    }
+}
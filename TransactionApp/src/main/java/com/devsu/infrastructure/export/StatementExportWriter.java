@@ -0,0 +1,29 @@
+package com.devsu.infrastructure.export;
+
+import java.io.IOException;
+
+import com.devsu.application.dto.ReportResponseDTO;
+
+/**
+ * Writer of a streamed account statement (F4)
+ * Records arrive in order: client, then each account followed by its movements,
+ * and the summary last. Implementations write each record as it arrives
+ */
+public interface StatementExportWriter {
+
+    void writeClient(ReportResponseDTO.ClientInfo client) throws IOException;
+
+    /**
+     * Account header with its opening balance (movements are written separately)
+     */
+    void writeAccount(ReportResponseDTO.AccountInfo account) throws IOException;
+
+    void writeMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement) throws IOException;
+
+    void writeSummary(ReportResponseDTO.Summary summary) throws IOException;
+
+    /**
+     * Flush buffered records to the underlying stream (the stream is not closed)
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.devsu.infrastructure.health;
+
+import com.devsu.infrastructure.client.ClientAppCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health Indicator for the ClientApp dependency
+ * Reports the state of its circuit breaker. An open circuit does not take TransactionApp
+ * down: cached clients, and their last known copies, are still served meanwhile
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientAppHealthIndicator implements HealthIndicator {
+    
+    private final ClientAppCircuitBreaker circuitBreaker;
+    
+    @Override
+    public Health health() {
+        return Health.up()
+            .withDetail("circuit", circuitBreaker.state())
+            .withDetail("consecutiveFailures", circuitBreaker.consecutiveFailures())
+            .withDetail("retryInMs", circuitBreaker.remainingOpenMillis())
+            .build();
+    }
+}
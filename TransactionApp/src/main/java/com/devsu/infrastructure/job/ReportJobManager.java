@@ -0,0 +1,311 @@
+package com.devsu.infrastructure.job;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.devsu.application.dto.ReportJobRequestDTO;
+import com.devsu.application.dto.ReportJobResponseDTO;
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.service.ReportService;
+import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.ReportJobRejectedException;
+import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.infrastructure.export.StatementExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous account statement jobs (F4)
+ * Jobs run on a fixed pool of workers fed by a bounded queue; a submission beyond the
+ * queue is rejected instead of waiting. Each worker streams the statement through
+ * ReportService into a file on local disk, kept for the retention period after the job
+ * ends. Job state is held in memory: jobs are local to the instance and lost on restart.
+ * The directory may be shared with other instances, so startup only deletes the job
+ * files past their retention
+ */
+@Slf4j
+@Component
+public class ReportJobManager implements DisposableBean {
+
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * Error reported for a failed job; the cause is only logged, as for unexpected request errors
+     */
+    static final String FAILED_MESSAGE = "An unexpected error occurred while generating the report";
+
+    /**
+     * Names of the files a manager writes: the job id with the part suffix or a format extension
+     */
+    private static final Pattern JOB_FILE = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}\\.(part|"
+        + Arrays.stream(StatementExportFormat.values()).map(StatementExportFormat::getExtension)
+            .collect(Collectors.joining("|")) + ")");
+
+    private final ReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long retentionMinutes;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+    private final Timer completedRuns;
+    private final Timer failedRuns;
+
+    public ReportJobManager(
+            ReportService reportService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${report.jobs.directory:${java.io.tmpdir}/report-jobs}") String directory,
+            @Value("${report.jobs.workers:2}") int workers,
+            @Value("${report.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${report.jobs.retention-minutes:60}") long retentionMinutes) throws IOException {
+        this.reportService = reportService;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(Paths.get(directory));
+        this.retentionMinutes = retentionMinutes;
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), workerThreads());
+        deleteLeftovers();
+
+        this.rejected = Counter.builder("report.jobs.rejected")
+            .description("Report jobs rejected because the job queue was full")
+            .register(meterRegistry);
+        this.completedRuns = Timer.builder("report.jobs.duration")
+            .tag("result", "completed")
+            .description("Run time of report jobs")
+            .register(meterRegistry);
+        this.failedRuns = Timer.builder("report.jobs.duration")
+            .tag("result", "failed")
+            .description("Run time of report jobs")
+            .register(meterRegistry);
+        Gauge.builder("report.jobs.queue.depth", this.workers, pool -> pool.getQueue().size())
+            .description("Report jobs waiting for a worker")
+            .register(meterRegistry);
+        Gauge.builder("report.jobs.active", this.workers, ThreadPoolExecutor::getActiveCount)
+            .description("Report jobs running")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue a statement job
+     * The format, the period and the client are checked before the job is queued
+     */
+    public ReportJobResponseDTO submit(ReportJobRequestDTO request) {
+        StatementExportFormat format = StatementExportFormat.of(
+            request.getFormat() == null ? StatementExportFormat.NDJSON.name() : request.getFormat());
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+        ReportResponseDTO.ClientInfo client = reportService.getStatementClient(request.getClientId());
+
+        Job job = new Job(UUID.randomUUID().toString(), request, format, client);
+        ReportJobResponseDTO queued = job.toDTO();
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejected.increment();
+            log.warn("Report job for client {} rejected, queue full", request.getClientId());
+            throw new ReportJobRejectedException("Report job queue is full, please retry later");
+        }
+
+        log.info("Report job {} queued for client {} from {} to {}", job.id, request.getClientId(),
+            request.getStartDate(), request.getEndDate());
+        return queued;
+    }
+
+    /**
+     * Status of a job
+     */
+    public ReportJobResponseDTO getJob(String jobId) {
+        return find(jobId).toDTO();
+    }
+
+    /**
+     * Artifact of a completed job
+     */
+    public Artifact getArtifact(String jobId) {
+        Job job = find(jobId);
+        if (job.status != ReportJobResponseDTO.Status.COMPLETED) {
+            throw new BusinessException("Report job " + jobId + " is " + job.status + ", the file is not available");
+        }
+        return new Artifact(job.file, job.format,
+            "estado-cuenta-" + job.request.getClientId() + "-" + jobId + "." + job.format.getExtension());
+    }
+
+    /**
+     * Drop the jobs past their retention period and their files
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt == null || job.expiresAt.isAfter(now)) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            log.debug("Report job {} expired", job.id);
+            return true;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    private void run(Job job) {
+        synchronized (job) {
+            job.startedAt = LocalDateTime.now();
+            job.status = ReportJobResponseDTO.Status.RUNNING;
+        }
+        long begin = System.nanoTime();
+        Path part = directory.resolve(job.id + PART_SUFFIX);
+        ReportJobResponseDTO.Status outcome;
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                reportService.exportAccountStatement(job.client, job.request.getStartDate(), job.request.getEndDate(),
+                    job.format.writer(out, objectMapper));
+            }
+            Path file = directory.resolve(job.id + "." + job.format.getExtension());
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING);
+            job.file = file;
+            job.sizeBytes = Files.size(file);
+            outcome = ReportJobResponseDTO.Status.COMPLETED;
+            completedRuns.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+            log.info("Report job {} completed, {} bytes", job.id, job.sizeBytes);
+        } catch (Exception e) {
+            deleteQuietly(part);
+            job.error = FAILED_MESSAGE;
+            outcome = ReportJobResponseDTO.Status.FAILED;
+            failedRuns.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+            log.error("Report job {} failed: {}", job.id, e.getMessage(), e);
+        }
+        // Status requests see the outcome together with its times
+        synchronized (job) {
+            job.finishedAt = LocalDateTime.now();
+            job.expiresAt = job.finishedAt.plusMinutes(retentionMinutes);
+            job.status = outcome;
+        }
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Files of a previous run have no job anymore
+     * Only job files untouched for the retention period are deleted: newer ones may
+     * belong to another instance on the same directory, and other files are not ours
+     */
+    private void deleteLeftovers() throws IOException {
+        FileTime retainedSince = FileTime.from(Instant.now().minusSeconds(TimeUnit.MINUTES.toSeconds(retentionMinutes)));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                file -> JOB_FILE.matcher(file.getFileName().toString()).matches()
+                    && Files.getLastModifiedTime(file).compareTo(retainedSince) < 0)) {
+            files.forEach(ReportJobManager::deleteQuietly);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report job file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> new Thread(task, "report-job-" + count.incrementAndGet());
+    }
+
+    /**
+     * Finished statement file of a job
+     */
+    public record Artifact(Path file, StatementExportFormat format, String filename) {
+    }
+
+    /**
+     * Mutable state of a job, written by its worker and read by status requests
+     */
+    private static final class Job {
+
+        private final String id;
+        private final ReportJobRequestDTO request;
+        private final StatementExportFormat format;
+        private final ReportResponseDTO.ClientInfo client;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile ReportJobResponseDTO.Status status = ReportJobResponseDTO.Status.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime expiresAt;
+        private volatile Path file;
+        private volatile Long sizeBytes;
+        private volatile String error;
+
+        Job(String id, ReportJobRequestDTO request, StatementExportFormat format, ReportResponseDTO.ClientInfo client) {
+            this.id = id;
+            this.request = request;
+            this.format = format;
+            this.client = client;
+        }
+
+        synchronized ReportJobResponseDTO toDTO() {
+            return ReportJobResponseDTO.builder()
+                .jobId(id)
+                .status(status)
+                .clientId(request.getClientId())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .format(format.getExtension())
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .expiresAt(expiresAt)
+                .sizeBytes(sizeBytes)
+                .error(error)
+                .build();
+        }
+    }
+}
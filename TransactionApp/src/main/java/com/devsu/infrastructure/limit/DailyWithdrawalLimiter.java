@@ -0,0 +1,156 @@
+package com.devsu.infrastructure.limit;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsu.domain.exception.DailyLimitExceededException;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.repository.MovementRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Daily withdrawal limit per account type
+ * Each account keeps the running withdrawal total of its last withdrawal day, so
+ * the limit is checked in constant time. The day's movements are only read to
+ * initialize the counter or for withdrawals dated before the counter day.
+ * Callers must hold the account row lock
+ */
+@Slf4j
+@Component
+public class DailyWithdrawalLimiter {
+
+    public static final String LIMIT_EXCEEDED_MESSAGE = "Cupo diario Excedido";
+
+    private final MovementRepository movementRepository;
+    private final Money defaultLimit;
+    private final Map<String, Money> limitsByType;
+
+    public DailyWithdrawalLimiter(
+            MovementRepository movementRepository,
+            @Value("${account.daily-withdrawal-limit.default:1000.00}") String defaultLimit,
+            @Value("${account.daily-withdrawal-limit.by-type:}") String limitsByType) {
+        this.movementRepository = movementRepository;
+        this.defaultLimit = Money.of(defaultLimit);
+        this.limitsByType = parseLimits(limitsByType);
+    }
+
+    /**
+     * Register a movement against the daily counter of the account
+     * Deposits are ignored. The counter is only advanced when the withdrawal fits
+     * @param amount signed movement amount, withdrawals are negative
+     * @throws DailyLimitExceededException when the day's withdrawals would exceed the limit
+     */
+    public void registerWithdrawal(Account account, LocalDate day, Money amount) {
+        registerWithdrawal(account, day, amount, new HashMap<>());
+    }
+
+    /**
+     * Register one of several movements of the account written together (batches)
+     * Withdrawals dated before the counter day are not in the account counter: their
+     * day's total is read once into pastDays and accumulated there, so the movements
+     * not written yet are counted as well
+     * @param pastDays running withdrawal totals by day of the account, kept by the caller
+     */
+    public void registerWithdrawal(Account account, LocalDate day, Money amount, Map<LocalDate, Money> pastDays) {
+        if (!amount.isNegative()) {
+            return;
+        }
+
+        LocalDate counterDay = account.getWithdrawalDay();
+        boolean pastDay = counterDay != null && day.isBefore(counterDay);
+        Money withdrawn;
+        if (pastDay) {
+            // The counter tracks a later day
+            withdrawn = pastDays.computeIfAbsent(day, d -> withdrawnOn(account, d));
+        } else if (counterDay == null) {
+            // Counter not initialized yet
+            withdrawn = withdrawnOn(account, day);
+        } else if (day.equals(counterDay) && account.getDailyWithdrawn() != null) {
+            withdrawn = account.getDailyWithdrawn();
+        } else {
+            withdrawn = Money.ZERO;
+        }
+
+        Money total = withdrawn.minus(amount);
+        Money limit = limitFor(account.getAccountType());
+        if (total.compareTo(limit) > 0) {
+            log.error("Daily withdrawal limit exceeded for account {} on {}. Withdrawn: {}, Requested: {}, Limit: {}",
+                account.getAccountNumber(), day, withdrawn, amount.negate(), limit);
+            throw new DailyLimitExceededException(LIMIT_EXCEEDED_MESSAGE);
+        }
+
+        if (pastDay) {
+            pastDays.put(day, total);
+        } else {
+            account.setWithdrawalDay(day);
+            account.setDailyWithdrawn(total);
+        }
+    }
+
+    /**
+     * Recompute the counter after movements of the counter day were edited
+     * Must be called once the changes have been flushed
+     */
+    public void refresh(Account account, LocalDate... days) {
+        LocalDate counterDay = account.getWithdrawalDay();
+        for (LocalDate day : days) {
+            if (day.equals(counterDay)) {
+                account.setDailyWithdrawn(withdrawnOn(account, counterDay));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Daily limit for the account type, types are matched case-insensitively
+     */
+    public Money limitFor(String accountType) {
+        if (accountType == null) {
+            return defaultLimit;
+        }
+        return limitsByType.getOrDefault(accountType.toLowerCase(Locale.ROOT), defaultLimit);
+    }
+
+    public Money getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    /**
+     * Limits by lower-case account type
+     */
+    public Map<String, Money> getLimitsByType() {
+        return limitsByType;
+    }
+
+    private Money withdrawnOn(Account account, LocalDate day) {
+        return Money.of(movementRepository.sumWithdrawals(account.getId(),
+            day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Parse "Ahorros:1000.00,Corriente:2000.00"
+     */
+    private static Map<String, Money> parseLimits(String limits) {
+        Map<String, Money> parsed = new LinkedHashMap<>();
+        for (String entry : limits.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid daily withdrawal limit entry: " + entry);
+            }
+            parsed.put(parts[0].trim().toLowerCase(Locale.ROOT), Money.of(parts[1].trim()));
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+}
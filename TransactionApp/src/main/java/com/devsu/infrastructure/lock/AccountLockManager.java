@@ -0,0 +1,142 @@
+package com.devsu.infrastructure.lock;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-JVM lock striped by account id
+ * Requests on the same account queue locally instead of piling up on database
+ * row locks, while different accounts proceed in parallel. Work executed under
+ * the lock is retried a bounded number of times on concurrency failures
+ * (lock timeouts, deadlocks, optimistic lock conflicts)
+ */
+@Slf4j
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+
+    private final Timer lockWaitTimer;
+    private final Counter retryCounter;
+    private final Counter retryExhaustedCounter;
+
+    public AccountLockManager(
+            MeterRegistry meterRegistry,
+            @Value("${account.lock.stripes:256}") int stripeCount,
+            @Value("${account.lock.timeout-ms:5000}") long lockTimeoutMs,
+            @Value("${account.lock.max-retries:3}") int maxRetries,
+            @Value("${account.lock.retry-backoff-ms:20}") long retryBackoffMs) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+
+        this.lockWaitTimer = Timer.builder("account.lock.wait")
+            .description("Time spent waiting for the in-JVM account lock")
+            .register(meterRegistry);
+        this.retryCounter = Counter.builder("account.lock.retries")
+            .description("Account operations retried after a concurrency failure")
+            .register(meterRegistry);
+        this.retryExhaustedCounter = Counter.builder("account.lock.retries.exhausted")
+            .description("Account operations that failed after all retries")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Execute the action holding the lock of a single account
+     */
+    public <T> T executeWithLock(Long accountId, Supplier<T> action) {
+        return executeWithLocks(Collections.singleton(accountId), action);
+    }
+
+    /**
+     * Execute the action holding the locks of several accounts
+     * Stripes are always acquired in ascending order so callers can never deadlock
+     */
+    public <T> T executeWithLocks(Collection<Long> accountIds, Supplier<T> action) {
+        int[] stripeIndexes = accountIds.stream()
+            .mapToInt(this::stripeIndex)
+            .distinct()
+            .sorted()
+            .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : stripeIndexes) {
+                acquire(stripes[index]);
+                acquired++;
+            }
+            return executeWithRetry(action);
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[stripeIndexes[i]].unlock();
+            }
+        }
+    }
+
+    private void acquire(ReentrantLock lock) {
+        long start = System.nanoTime();
+        try {
+            boolean locked = lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS);
+            if (!locked) {
+                throw new CannotAcquireLockException("Timed out waiting for account lock");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for account lock", e);
+        } finally {
+            lockWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T executeWithRetry(Supplier<T> action) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxRetries) {
+                    retryExhaustedCounter.increment();
+                    log.error("Account operation failed after {} retries", attempt, e);
+                    throw e;
+                }
+                attempt++;
+                retryCounter.increment();
+                log.warn("Concurrency failure on account operation, retry {} of {}: {}", attempt, maxRetries, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while retrying account operation", e);
+        }
+    }
+
+    private int stripeIndex(Long accountId) {
+        return Math.floorMod(Long.hashCode(accountId), stripes.length);
+    }
+}
@@ -1,19 +1,61 @@
 package com.devsu.infrastructure.messaging.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * RabbitMQ Configuration for TransactionApp
- * Configures message converter for consuming events
+ * Configures message converter for consuming events and the queue of this instance
+ * for the client near cache
  */
 @Configuration
 public class RabbitMQConfig {
     
+    @Value("${rabbitmq.exchange.client}")
+    private String clientExchange;
+    
+    @Value("${rabbitmq.routing-key.client-events}")
+    private String clientEventsRoutingKey;
+    
+    /**
+     * Topic Exchange for client events, declared by ClientApp as well
+     */
+    @Bean
+    public TopicExchange clientExchange() {
+        return new TopicExchange(clientExchange);
+    }
+    
+    /**
+     * Queue of this instance for client events (exclusive, deleted on disconnect)
+     * Unlike the shared client events queue, every instance gets every event
+     */
+    @Bean
+    public Queue clientNearCacheQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("client.events.near."));
+    }
+    
+    /**
+     * Binding for every client event
+     */
+    @Bean
+    public Binding clientNearCacheBinding() {
+        return BindingBuilder
+            .bind(clientNearCacheQueue())
+            .to(clientExchange())
+            .with(clientEventsRoutingKey);
+    }
+    
     /**
      * JSON Message Converter for deserialization
      */
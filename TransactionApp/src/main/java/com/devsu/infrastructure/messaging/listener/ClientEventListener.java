@@ -2,6 +2,7 @@ package com.devsu.infrastructure.messaging.listener;
 
 import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
 import com.devsu.infrastructure.cache.service.ClientCacheService;
+import com.devsu.infrastructure.cache.service.ClientNearCache;
 import com.devsu.infrastructure.messaging.event.ClientEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +11,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * Listener for client events from ClientApp
- * Updates Redis cache when events are received
+ * Updates Redis cache when events are received (one instance per event) and the
+ * near cache of every instance
  */
 @Slf4j
 @Component
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Component;
 public class ClientEventListener {
     
     private final ClientCacheService clientCacheService;
+    private final ClientNearCache clientNearCache;
     
     /**
      * Listen to client events from RabbitMQ
@@ -52,6 +55,24 @@ public class ClientEventListener {
         }
     }
     
+    /**
+     * Listen to client events on the queue of this instance
+     * Updates the near cache with the client of the event, removes deleted clients
+     */
+    @RabbitListener(queues = "#{clientNearCacheQueue.name}")
+    public void handleNearCacheEvent(ClientEvent event) {
+        try {
+            switch (event.getEventType()) {
+                case "CLIENT_CREATED", "CLIENT_UPDATED", "CLIENT_DEACTIVATED" -> clientNearCache.put(mapEventToCache(event));
+                case "CLIENT_DELETED" -> clientNearCache.invalidate(event.getData().getClientId());
+                default -> log.warn("Unknown event type: {}", event.getEventType());
+            }
+            log.debug("Near cache {} applied for client: {}", event.getEventType(), event.getData().getClientId());
+        } catch (Exception e) {
+            log.error("Error processing client event for near cache: {}", event.getEventId(), e);
+        }
+    }
+    
     /**
      * Handle client created event
      * Adds new client to cache
@@ -0,0 +1,56 @@
+package com.devsu.infrastructure.persistence;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.infrastructure.lock.AccountLockManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Startup backfill of a per-account store
+ * Pages through the accounts the store reports as not covered in id order (keyset) and
+ * rebuilds each one under its lock in its own transaction, concurrently with regular
+ * traffic. A no-op once every account is covered
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountBackfillRunner {
+
+    private final AccountRepository accountRepository;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Rebuild every account the store reports as not covered
+     * @param label what the store holds, for the log
+     * @return number of accounts backfilled
+     */
+    public int backfill(AccountBackfillStore store, String label, int pageSize) {
+        int accounts = 0;
+        int rows = 0;
+        Long lastId = 0L;
+        List<Long> page = store.findAccountsToBackfill(lastId, pageSize);
+        while (!page.isEmpty()) {
+            for (Long accountId : page) {
+                rows += accountLockManager.executeWithLock(accountId, () -> transactionTemplate.execute(status -> {
+                    accountRepository.findByIdForUpdate(accountId);
+                    return store.rebuild(accountId);
+                }));
+                accounts++;
+                lastId = accountId;
+            }
+            page = store.findAccountsToBackfill(lastId, pageSize);
+        }
+
+        if (accounts > 0) {
+            log.info("Backfilled {} {} for {} accounts", rows, label, accounts);
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,21 @@
+package com.devsu.infrastructure.persistence;
+
+import java.util.List;
+
+/**
+ * Per-account table derived from the movements, which accounts with history written
+ * before the table existed lack until they are backfilled by {@link AccountBackfillRunner}
+ */
+public interface AccountBackfillStore {
+
+    /**
+     * Next accounts to backfill, in id order after the given id
+     */
+    List<Long> findAccountsToBackfill(Long afterId, int limit);
+
+    /**
+     * Recompute every row of the account
+     * @return number of rows written
+     */
+    int rebuild(Long accountId);
+}
@@ -0,0 +1,390 @@
+package com.devsu.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Component;
+
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.domain.model.Money;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JDBC reader for account statements (F4)
+ * Loads every account of a client with its opening balance and the movements of
+ * the period in one query, mapped straight into report DTOs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountStatementReader {
+
+    /**
+     * Opening balance, computed once per account: last movement of the start day before
+     * the period, else the closing balance of the latest snapshot before that day, else
+     * derived from the first movement from the period on, else the account balance
+     * (no movements at all). OFFSET 0 keeps PostgreSQL from inlining the CTE into the
+     * join, which would evaluate the subqueries once per movement row. The client
+     * condition is one client (= ?) or a batch of clients (IN (?, ...))
+     */
+    private static final String ACCOUNTS_CTE_TEMPLATE = """
+        WITH accounts AS (
+            SELECT a.id, a.account_number, a.account_type, a.client_id,
+                   COALESCE(
+                       (SELECT p.balance FROM movement p
+                        WHERE p.account_id = a.id AND p.movement_date >= ? AND p.movement_date < ?
+                        ORDER BY p.movement_date DESC, p.movement_number DESC, p.id DESC
+                        LIMIT 1),
+                       (SELECT s.balance FROM balance_snapshot s
+                        WHERE s.account_id = a.id AND s.snapshot_day < ?
+                        ORDER BY s.snapshot_day DESC
+                        LIMIT 1),
+                       (SELECT n.balance - n.amount FROM movement n
+                        WHERE n.account_id = a.id AND n.movement_date >= ?
+                        ORDER BY n.movement_date, n.movement_number, n.id
+                        LIMIT 1),
+                       a.balance) AS opening_balance
+            FROM account a
+            WHERE a.client_id %s
+            OFFSET 0
+        )
+        """;
+
+    private static final String ACCOUNTS_CTE = ACCOUNTS_CTE_TEMPLATE.formatted("= ?");
+
+    private static final String STATEMENT_TEMPLATE = ACCOUNTS_CTE_TEMPLATE + """
+        SELECT a.id AS account_id, a.account_number, a.account_type, a.client_id, a.opening_balance,
+               m.id AS movement_id, m.movement_date, m.movement_type, m.amount, m.balance, m.state
+        FROM accounts a
+        LEFT JOIN movement m
+            ON m.account_id = a.id AND m.movement_date BETWEEN ? AND ?
+        ORDER BY a.client_id, a.id, m.movement_date, m.movement_number, m.id
+        """;
+
+    private static final String STATEMENT_SQL = STATEMENT_TEMPLATE.formatted("= ?");
+
+    /**
+     * Totals of the period aggregated by the database, one row per account: the months
+     * fully inside the period are read from the monthly rollups and only the movements of
+     * the partial months at its edges are scanned, so a long period reads O(months) rows.
+     * The closing balance is the balance of the last movement of the period (one index probe)
+     */
+    private static final String SUMMARY_SQL = ACCOUNTS_CTE + """
+        SELECT a.id AS account_id, a.account_number, a.account_type, a.client_id, a.opening_balance,
+               COALESCE(
+                   (SELECT l.balance FROM movement l
+                    WHERE l.account_id = a.id AND l.movement_date BETWEEN ? AND ?
+                    ORDER BY l.movement_date DESC, l.movement_number DESC, l.id DESC
+                    LIMIT 1),
+                   a.opening_balance) AS closing_balance,
+               COALESCE(t.movements, 0) AS movements,
+               COALESCE(t.deposits, 0) AS deposits,
+               COALESCE(t.withdrawals, 0) AS withdrawals
+        FROM accounts a
+        LEFT JOIN (
+            SELECT p.account_id,
+                   SUM(p.movements) AS movements,
+                   SUM(p.deposits) AS deposits,
+                   SUM(p.withdrawals) AS withdrawals
+            FROM (
+                SELECT r.account_id, r.movements, r.deposits, r.withdrawals
+                FROM movement_monthly_rollup r
+                JOIN account x ON x.id = r.account_id
+                WHERE x.client_id = ? AND r.rollup_month >= ? AND r.rollup_month < ?
+                UNION ALL
+                SELECT m.account_id,
+                       COUNT(*),
+                       COALESCE(SUM(m.amount) FILTER (WHERE m.amount > 0), 0),
+                       COALESCE(SUM(m.amount) FILTER (WHERE m.amount <= 0), 0)
+                FROM movement m
+                JOIN account x ON x.id = m.account_id
+                WHERE x.client_id = ? AND m.movement_date BETWEEN ? AND ?
+                  AND (m.movement_date < ? OR m.movement_date >= ?)
+                GROUP BY m.account_id
+            ) p
+            GROUP BY p.account_id
+        ) t ON t.account_id = a.id
+        ORDER BY a.id
+        """;
+
+    /**
+     * One page of the movements of an account in balance-chain order, read from the
+     * account chain index. The next page starts after the cursor position
+     */
+    private static final String MOVEMENTS_SQL = """
+        SELECT m.id, m.movement_number, m.movement_date, m.movement_type, m.amount, m.balance, m.state
+        FROM movement m
+        WHERE m.account_id = ? AND m.movement_date >= ? AND m.movement_date <= ?
+        """;
+
+    private static final String PAGE_ORDER_SQL = """
+        ORDER BY m.movement_date, m.movement_number, m.id
+        LIMIT ?
+        """;
+
+    private static final String FIRST_PAGE_SQL = MOVEMENTS_SQL + PAGE_ORDER_SQL;
+
+    private static final String NEXT_PAGE_SQL = MOVEMENTS_SQL + """
+          AND (m.movement_date > ? OR (m.movement_date = ?
+               AND (m.movement_number > ? OR (m.movement_number = ? AND m.id > ?))))
+        """ + PAGE_ORDER_SQL;
+
+    private static final String ACCOUNTS_EXIST_SQL = "SELECT COUNT(*) FROM account WHERE client_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Rows fetched per round trip when statements are streamed
+     */
+    @Value("${report.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Receives the statement rows in account id and balance-chain order
+     */
+    public interface StatementHandler {
+
+        /**
+         * First row of an account, with its opening balance as initial and final balance
+         */
+        void onAccount(ReportResponseDTO.AccountInfo account);
+
+        /**
+         * Movement of the current account, its final balance already advanced
+         */
+        void onMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement);
+    }
+
+    /**
+     * Statement of every account of the client, in account id order
+     * Movements are in balance-chain order and the final balance is the balance after
+     * the last movement of the period (the opening balance when there is none)
+     * @return empty when the client has no accounts
+     */
+    public List<ReportResponseDTO.AccountInfo> readStatements(String clientId, LocalDateTime startDate,
+                                                              LocalDateTime endDate) {
+        List<ReportResponseDTO.AccountInfo> accounts = new ArrayList<>();
+        streamStatements(clientId, startDate, endDate, new StatementHandler() {
+            @Override
+            public void onAccount(ReportResponseDTO.AccountInfo account) {
+                accounts.add(account);
+            }
+
+            @Override
+            public void onMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement) {
+                account.getMovements().add(movement);
+            }
+        });
+
+        log.debug("Read statements of {} accounts for client {}", accounts.size(), clientId);
+        return accounts;
+    }
+
+    /**
+     * Stream the statement rows of every account of the client to the handler
+     * Rows are read through a forward-only cursor, fetchSize rows at a time (PostgreSQL
+     * only uses a cursor inside a transaction), and movements are not kept: memory use
+     * does not depend on the size of the period
+     */
+    public void streamStatements(String clientId, LocalDateTime startDate, LocalDateTime endDate,
+                                 StatementHandler handler) {
+        streamStatements(STATEMENT_SQL, List.of(clientId), startDate, endDate, handler);
+    }
+
+    /**
+     * Stream the statement rows of every account of a batch of clients to the handler
+     * One query and one pass for the whole batch, in client id then account id order:
+     * the rows of a client are contiguous. Clients without accounts produce no rows
+     */
+    public void streamStatements(List<String> clientIds, LocalDateTime startDate, LocalDateTime endDate,
+                                 StatementHandler handler) {
+        String placeholders = String.join(", ", Collections.nCopies(clientIds.size(), "?"));
+        streamStatements(STATEMENT_TEMPLATE.formatted("IN (" + placeholders + ")"), clientIds, startDate, endDate,
+            handler);
+    }
+
+    private void streamStatements(String sql, List<String> clientIds, LocalDateTime startDate, LocalDateTime endDate,
+                                  StatementHandler handler) {
+        Object[] parameters = parameters(clientIds, startDate,
+            Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
+
+        PreparedStatementCreator statement = connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                ps.setObject(i + 1, parameters[i]);
+            }
+            return ps;
+        };
+
+        ReportResponseDTO.AccountInfo[] current = new ReportResponseDTO.AccountInfo[1];
+        jdbcTemplate.query(statement, rs -> {
+            long accountId = rs.getLong("account_id");
+            ReportResponseDTO.AccountInfo account = current[0];
+            if (account == null || account.getAccountId() != accountId) {
+                BigDecimal openingBalance = rs.getBigDecimal("opening_balance");
+                account = ReportResponseDTO.AccountInfo.builder()
+                    .accountId(accountId)
+                    .accountNumber(rs.getString("account_number"))
+                    .accountType(rs.getString("account_type"))
+                    .clientId(rs.getString("client_id"))
+                    .initialBalance(openingBalance)
+                    .finalBalance(openingBalance)
+                    .movements(new ArrayList<>())
+                    .build();
+                current[0] = account;
+                handler.onAccount(account);
+            }
+
+            long movementId = rs.getLong("movement_id");
+            if (!rs.wasNull()) {
+                BigDecimal balance = rs.getBigDecimal("balance");
+                account.setFinalBalance(balance);
+                handler.onMovement(account, ReportResponseDTO.MovementInfo.builder()
+                    .movementId(movementId)
+                    .movementDate(rs.getTimestamp("movement_date").toLocalDateTime())
+                    .movementType(rs.getString("movement_type"))
+                    .amount(rs.getBigDecimal("amount"))
+                    .balance(balance)
+                    .state(rs.getString("state"))
+                    .build());
+            }
+        });
+    }
+
+    /**
+     * Totals of the period of every account of the client, in account id order
+     * Computed by one aggregate query over the monthly rollups and the movements of the
+     * partial months at the edges of the period. Deposits and withdrawals are signed sums,
+     * the initial and final balances are those of the full statement
+     * @return accounts without movements and with their summary, empty when the client has no accounts
+     */
+    public List<ReportResponseDTO.AccountInfo> readSummaries(String clientId, LocalDateTime startDate,
+                                                             LocalDateTime endDate) {
+        // Whole months of the period: from the first month starting in it to the month of its end
+        LocalDate firstMonth = MovementRollupStore.monthOf(startDate.toLocalDate());
+        LocalDate fullStart = startDate.equals(firstMonth.atStartOfDay()) ? firstMonth : firstMonth.plusMonths(1);
+        LocalDate fullEnd = MovementRollupStore.monthOf(endDate.toLocalDate());
+        if (!fullStart.isBefore(fullEnd)) {
+            fullEnd = fullStart;
+        }
+
+        List<ReportResponseDTO.AccountInfo> accounts = jdbcTemplate.query(SUMMARY_SQL, (rs, rowNum) ->
+            ReportResponseDTO.AccountInfo.builder()
+                .accountId(rs.getLong("account_id"))
+                .accountNumber(rs.getString("account_number"))
+                .accountType(rs.getString("account_type"))
+                .clientId(rs.getString("client_id"))
+                .initialBalance(rs.getBigDecimal("opening_balance"))
+                .finalBalance(rs.getBigDecimal("closing_balance"))
+                .summary(ReportResponseDTO.Summary.builder()
+                    .totalMovements(rs.getInt("movements"))
+                    .totalDeposits(Money.of(rs.getBigDecimal("deposits")).toBigDecimal())
+                    .totalWithdrawals(Money.of(rs.getBigDecimal("withdrawals")).toBigDecimal())
+                    .netChange(Money.of(rs.getBigDecimal("closing_balance"))
+                        .minus(Money.of(rs.getBigDecimal("opening_balance"))).toBigDecimal())
+                    .build())
+                .build(),
+            parameters(List.of(clientId), startDate,
+                Timestamp.valueOf(startDate), Timestamp.valueOf(endDate),
+                clientId, Date.valueOf(fullStart), Date.valueOf(fullEnd),
+                clientId, Timestamp.valueOf(startDate), Timestamp.valueOf(endDate),
+                Timestamp.valueOf(fullStart.atStartOfDay()), Timestamp.valueOf(fullEnd.atStartOfDay())));
+
+        log.debug("Read summaries of {} accounts for client {}", accounts.size(), clientId);
+        return accounts;
+    }
+
+    /**
+     * Movements of an account statement page
+     * @param next position after the last movement, null on the last page
+     */
+    public record MovementPage(List<ReportResponseDTO.MovementInfo> movements, StatementCursor next) {
+    }
+
+    /**
+     * First page of the movements of an account in the period
+     */
+    public MovementPage readFirstMovements(Long accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                           int pageSize) {
+        return readMovements(FIRST_PAGE_SQL, accountId, endDate, pageSize,
+            accountId, Timestamp.valueOf(startDate), Timestamp.valueOf(endDate), pageSize + 1);
+    }
+
+    /**
+     * Page of movements following the cursor position, up to the end of its period
+     */
+    public MovementPage readNextMovements(StatementCursor cursor, int pageSize) {
+        Timestamp after = Timestamp.valueOf(cursor.movementDate());
+        return readMovements(NEXT_PAGE_SQL, cursor.accountId(), cursor.endDate(), pageSize,
+            cursor.accountId(), after, Timestamp.valueOf(cursor.endDate()),
+            after, after, cursor.movementNumber(), cursor.movementNumber(), cursor.movementId(), pageSize + 1);
+    }
+
+    /**
+     * One extra row is read to tell whether another page follows
+     */
+    private MovementPage readMovements(String sql, Long accountId, LocalDateTime endDate, int pageSize,
+                                       Object... parameters) {
+        List<ReportResponseDTO.MovementInfo> movements = new ArrayList<>();
+        long[] lastNumber = new long[1];
+        boolean[] more = new boolean[1];
+        jdbcTemplate.query(sql, rs -> {
+            if (movements.size() == pageSize) {
+                more[0] = true;
+                return;
+            }
+            lastNumber[0] = rs.getLong("movement_number");
+            movements.add(ReportResponseDTO.MovementInfo.builder()
+                .movementId(rs.getLong("id"))
+                .movementDate(rs.getTimestamp("movement_date").toLocalDateTime())
+                .movementType(rs.getString("movement_type"))
+                .amount(rs.getBigDecimal("amount"))
+                .balance(rs.getBigDecimal("balance"))
+                .state(rs.getString("state"))
+                .build());
+        }, parameters);
+
+        if (!more[0]) {
+            return new MovementPage(movements, null);
+        }
+        ReportResponseDTO.MovementInfo last = movements.get(movements.size() - 1);
+        return new MovementPage(movements,
+            new StatementCursor(accountId, endDate, last.getMovementDate(), lastNumber[0], last.getMovementId()));
+    }
+
+    /**
+     * Whether the client has at least one account
+     */
+    public boolean hasAccounts(String clientId) {
+        Long accounts = jdbcTemplate.queryForObject(ACCOUNTS_EXIST_SQL, Long.class, clientId);
+        return accounts != null && accounts > 0;
+    }
+
+    /**
+     * Parameters of the accounts CTE followed by those of the query
+     */
+    private static Object[] parameters(List<String> clientIds, LocalDateTime startDate, Object... queryParameters) {
+        Timestamp start = Timestamp.valueOf(startDate);
+        LocalDate startDay = startDate.toLocalDate();
+        List<Object> parameters = new ArrayList<>(List.of(
+            Timestamp.valueOf(startDay.atStartOfDay()), start, Date.valueOf(startDay), start));
+        parameters.addAll(clientIds);
+        parameters.addAll(List.of(queryParameters));
+        return parameters.toArray();
+    }
+}
@@ -0,0 +1,151 @@
+package com.devsu.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.devsu.domain.model.Money;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Balance-chain repair for movements
+ * The chain of an account is ordered by (movement_date, movement_number). When a
+ * movement is inserted in the past or edited, only the suffix starting at the first
+ * affected position is recomputed, with a window-function UPDATE in one statement
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceChainRepairer {
+
+    private static final String BALANCE_BEFORE_SQL = """
+        SELECT COALESCE(
+            (SELECT balance FROM movement
+             WHERE account_id = ? AND (movement_date, movement_number) < (?, ?)
+             ORDER BY movement_date DESC, movement_number DESC, id DESC
+             LIMIT 1),
+            (SELECT balance - amount FROM movement
+             WHERE account_id = ? AND (movement_date, movement_number) >= (?, ?)
+             ORDER BY movement_date, movement_number, id
+             LIMIT 1))
+        """;
+
+    private static final String BALANCES_AFTER_SQL = """
+        SELECT movement_date, balance FROM movement
+        WHERE account_id = ? AND movement_date > ?
+        ORDER BY movement_date, movement_number, id
+        """;
+
+    private static final String REPAIR_SQL = """
+        WITH chain AS (
+            SELECT id,
+                   CAST(? AS NUMERIC) + SUM(amount) OVER (ORDER BY movement_date, movement_number, id
+                       ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) AS balance,
+                   ROW_NUMBER() OVER (ORDER BY movement_date DESC, movement_number DESC, id DESC) AS from_end
+            FROM movement
+            WHERE account_id = ? AND (movement_date, movement_number) >= (?, ?)
+        ), checked AS (
+            SELECT COALESCE(MIN(balance) >= 0, TRUE) AS valid FROM chain
+        ), updated AS (
+            UPDATE movement m
+            SET balance = chain.balance
+            FROM chain, checked
+            WHERE m.id = chain.id AND checked.valid AND m.balance <> chain.balance
+            RETURNING m.id
+        )
+        SELECT checked.valid,
+               (SELECT balance FROM chain WHERE from_end = 1) AS final_balance,
+               (SELECT balance FROM chain WHERE id = ?) AS tracked_balance,
+               (SELECT COUNT(*) FROM updated) AS repaired
+        FROM checked
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Balance of the chain right before the given position
+     * Taken from the previous movement, or derived from the first movement at or after
+     * the position when there is none. Must be read before the chain is modified
+     * @return empty when the account has no movements
+     */
+    public Optional<Money> balanceBefore(Long accountId, LocalDateTime movementDate, Long movementNumber) {
+        Timestamp date = Timestamp.valueOf(movementDate);
+        BigDecimal balance = jdbcTemplate.queryForObject(BALANCE_BEFORE_SQL, BigDecimal.class,
+            accountId, date, movementNumber, accountId, date, movementNumber);
+        return Optional.ofNullable(balance).map(Money::of);
+    }
+
+    /**
+     * Stored balances of the movements dated after the given date, in chain order
+     * Lets a batch validate movements placed before them before anything is written
+     */
+    public List<ChainBalance> balancesAfter(Long accountId, LocalDateTime movementDate) {
+        return jdbcTemplate.query(BALANCES_AFTER_SQL,
+            (rs, rowNum) -> new ChainBalance(rs.getTimestamp("movement_date").toLocalDateTime(),
+                Money.of(rs.getBigDecimal("balance"))),
+            accountId, Timestamp.valueOf(movementDate));
+    }
+
+    /**
+     * Recompute running balances from the given position to the end of the chain
+     * F3: The whole suffix is validated before anything is written
+     * @param openingBalance balance right before the position
+     * @param trackedMovementId movement whose repaired balance is returned, may be null
+     * @return final balance of the chain, to be stored once on the account
+     */
+    public Result repairFrom(Long accountId, LocalDateTime movementDate, Long movementNumber,
+                             Money openingBalance, Long trackedMovementId) {
+        Result result = jdbcTemplate.queryForObject(REPAIR_SQL,
+            (rs, rowNum) -> Result.builder()
+                .valid(rs.getBoolean("valid"))
+                .finalBalance(rs.getBigDecimal("final_balance") == null
+                    ? openingBalance : Money.of(rs.getBigDecimal("final_balance")))
+                .trackedBalance(rs.getBigDecimal("tracked_balance") == null
+                    ? null : Money.of(rs.getBigDecimal("tracked_balance")))
+                .repaired(rs.getInt("repaired"))
+                .build(),
+            openingBalance.toBigDecimal(), accountId, Timestamp.valueOf(movementDate), movementNumber,
+            trackedMovementId);
+
+        if (!result.isValid()) {
+            log.error("Balance chain of account {} would go below zero from {} #{}",
+                accountId, movementDate, movementNumber);
+            throw new InsufficientBalanceException("Saldo no disponible");
+        }
+        log.info("Repaired {} movement balances of account {} from {} #{}. Final balance: {}",
+            result.getRepaired(), accountId, movementDate, movementNumber, result.getFinalBalance());
+        return result;
+    }
+
+    /**
+     * Outcome of a chain repair
+     */
+    @Getter
+    @Builder
+    public static class Result {
+        private final boolean valid;
+        private final Money finalBalance;
+        private final Money trackedBalance;
+        private final int repaired;
+    }
+
+    /**
+     * Stored balance of one movement of the chain
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class ChainBalance {
+        private final LocalDateTime movementDate;
+        private final Money balance;
+    }
+}
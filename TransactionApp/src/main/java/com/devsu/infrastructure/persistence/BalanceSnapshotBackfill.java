@@ -0,0 +1,45 @@
+package com.devsu.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Backfill of balance snapshots for existing data
+ * Runs on startup and only touches accounts whose history starts before their first
+ * snapshot, so it is a no-op once every account is covered
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceSnapshotBackfill implements ApplicationRunner {
+
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final AccountBackfillRunner accountBackfillRunner;
+
+    @Value("${balance-snapshot.backfill.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Accounts read per backfill page
+     */
+    @Value("${balance-snapshot.backfill.page-size:100}")
+    private int pageSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /**
+     * Build the snapshots of every account not covered yet
+     * @return number of accounts backfilled
+     */
+    public int backfill() {
+        return accountBackfillRunner.backfill(balanceSnapshotStore, "balance snapshots", pageSize);
+    }
+}
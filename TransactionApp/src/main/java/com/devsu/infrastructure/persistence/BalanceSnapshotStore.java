@@ -0,0 +1,141 @@
+package com.devsu.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.devsu.domain.model.Money;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Daily balance snapshots (balance_snapshot)
+ * One row per account and day with the closing balance of the day. Appends at the
+ * head of the chain overwrite the row of their day; inserts in the past, edits and
+ * batches rebuild the rows from the first affected day. Writers must hold the
+ * account row lock, movements written through JPA must be flushed before a rebuild
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceSnapshotStore implements AccountBackfillStore {
+
+    /**
+     * Earliest day rebuilt when an account is backfilled
+     */
+    static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+
+    private static final String UPDATE_SQL =
+        "UPDATE balance_snapshot SET balance = ? WHERE account_id = ? AND snapshot_day = ?";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO balance_snapshot (account_id, snapshot_day, balance) VALUES (?, ?, ?)";
+
+    private static final String DELETE_FROM_SQL =
+        "DELETE FROM balance_snapshot WHERE account_id = ? AND snapshot_day >= ?";
+
+    private static final String REBUILD_FROM_SQL = """
+        INSERT INTO balance_snapshot (account_id, snapshot_day, balance)
+        SELECT account_id, snapshot_day, balance
+        FROM (
+            SELECT account_id, CAST(movement_date AS DATE) AS snapshot_day, balance,
+                   ROW_NUMBER() OVER (PARTITION BY CAST(movement_date AS DATE)
+                       ORDER BY movement_date DESC, movement_number DESC, id DESC) AS from_end
+            FROM movement
+            WHERE account_id = ? AND movement_date >= ?
+        ) closing
+        WHERE from_end = 1
+        """;
+
+    /**
+     * Last movement of the day up to the instant, else the closing balance of the
+     * previous snapshot, else the balance before the first movement of the account
+     */
+    private static final String BALANCE_AT_SQL = """
+        SELECT COALESCE(
+            (SELECT m.balance FROM movement m
+             WHERE m.account_id = ? AND m.movement_date >= ? AND m.movement_date <= ?
+             ORDER BY m.movement_date DESC, m.movement_number DESC, m.id DESC
+             LIMIT 1),
+            (SELECT s.balance FROM balance_snapshot s
+             WHERE s.account_id = ? AND s.snapshot_day < ?
+             ORDER BY s.snapshot_day DESC
+             LIMIT 1),
+            (SELECT n.balance - n.amount FROM movement n
+             WHERE n.account_id = ?
+             ORDER BY n.movement_date, n.movement_number, n.id
+             LIMIT 1),
+            (SELECT a.balance FROM account a WHERE a.id = ?))
+        """;
+
+    /**
+     * Accounts whose history starts before their first snapshot (not backfilled yet)
+     */
+    private static final String ACCOUNTS_TO_BACKFILL_SQL = """
+        SELECT a.id FROM account a
+        WHERE a.id > ?
+          AND CAST((SELECT MIN(m.movement_date) FROM movement m WHERE m.account_id = a.id) AS DATE)
+              < COALESCE((SELECT MIN(s.snapshot_day) FROM balance_snapshot s WHERE s.account_id = a.id),
+                         DATE '9999-12-31')
+        ORDER BY a.id
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Store the closing balance of a day after an append at the head of the chain
+     */
+    public void record(Long accountId, LocalDate day, Money balance) {
+        BigDecimal value = balance.toBigDecimal();
+        if (jdbcTemplate.update(UPDATE_SQL, value, accountId, Date.valueOf(day)) == 0) {
+            jdbcTemplate.update(INSERT_SQL, accountId, Date.valueOf(day), value);
+        }
+    }
+
+    /**
+     * Recompute the snapshots of the account from the given day on
+     * @return number of snapshot rows written
+     */
+    public int rebuildFrom(Long accountId, LocalDate day) {
+        jdbcTemplate.update(DELETE_FROM_SQL, accountId, Date.valueOf(day));
+        int written = jdbcTemplate.update(REBUILD_FROM_SQL, accountId, Timestamp.valueOf(day.atStartOfDay()));
+        log.debug("Rebuilt {} balance snapshots of account {} from {}", written, accountId, day);
+        return written;
+    }
+
+    /**
+     * Recompute every snapshot of the account
+     */
+    @Override
+    public int rebuild(Long accountId) {
+        return rebuildFrom(accountId, FIRST_DAY);
+    }
+
+    /**
+     * Balance of the account as of the given instant (movements at that instant included)
+     * @return empty when the account does not exist
+     */
+    public Optional<Money> balanceAt(Long accountId, LocalDateTime at) {
+        Timestamp dayStart = Timestamp.valueOf(at.toLocalDate().atStartOfDay());
+        BigDecimal balance = jdbcTemplate.queryForObject(BALANCE_AT_SQL, BigDecimal.class,
+            accountId, dayStart, Timestamp.valueOf(at),
+            accountId, Date.valueOf(at.toLocalDate()),
+            accountId,
+            accountId);
+        return Optional.ofNullable(balance).map(Money::of);
+    }
+
+    @Override
+    public List<Long> findAccountsToBackfill(Long afterId, int limit) {
+        return jdbcTemplate.queryForList(ACCOUNTS_TO_BACKFILL_SQL, Long.class, afterId, limit);
+    }
+}
@@ -0,0 +1,45 @@
+package com.devsu.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Backfill of monthly movement rollups for existing data
+ * Runs on startup and only touches accounts not marked rollups_complete, so it is a
+ * no-op once every account is covered
+ */
+@Component
+@RequiredArgsConstructor
+public class MovementRollupBackfill implements ApplicationRunner {
+
+    private final MovementRollupStore movementRollupStore;
+    private final AccountBackfillRunner accountBackfillRunner;
+
+    @Value("${movement-rollup.backfill.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Accounts read per backfill page
+     */
+    @Value("${movement-rollup.backfill.page-size:100}")
+    private int pageSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /**
+     * Rebuild the rollups of every account not covered yet
+     * @return number of accounts backfilled
+     */
+    public int backfill() {
+        return accountBackfillRunner.backfill(movementRollupStore, "monthly rollups", pageSize);
+    }
+}
@@ -0,0 +1,142 @@
+package com.devsu.infrastructure.persistence;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Monthly movement totals (movement_monthly_rollup)
+ * One row per account and month with the count and the sums of deposits and
+ * withdrawals. Every movement write adjusts the row of its month by the written
+ * amount, so rows never need to be recomputed from the movements except when an
+ * account is backfilled (account.rollups_complete). Writers must hold the account row lock
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovementRollupStore implements AccountBackfillStore {
+
+    private static final String UPDATE_SQL = """
+        UPDATE movement_monthly_rollup
+        SET movements = movements + ?, deposits = deposits + ?, withdrawals = withdrawals + ?
+        WHERE account_id = ? AND rollup_month = ?
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO movement_monthly_rollup (account_id, rollup_month, movements, deposits, withdrawals)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    private static final String DELETE_SQL = "DELETE FROM movement_monthly_rollup WHERE account_id = ?";
+
+    private static final String COMPLETE_SQL = "UPDATE account SET rollups_complete = TRUE WHERE id = ?";
+
+    private static final String REBUILD_SQL = """
+        INSERT INTO movement_monthly_rollup (account_id, rollup_month, movements, deposits, withdrawals)
+        SELECT account_id, CAST(DATE_TRUNC('MONTH', movement_date) AS DATE), COUNT(*),
+               COALESCE(SUM(amount) FILTER (WHERE amount > 0), 0),
+               COALESCE(SUM(amount) FILTER (WHERE amount <= 0), 0)
+        FROM movement
+        WHERE account_id = ?
+        GROUP BY account_id, CAST(DATE_TRUNC('MONTH', movement_date) AS DATE)
+        """;
+
+    /**
+     * Accounts not marked complete (not backfilled yet)
+     * An explicit flag: writes served before the backfill add rows to any month,
+     * so the rollup rows themselves cannot tell a covered account apart
+     */
+    private static final String ACCOUNTS_TO_BACKFILL_SQL = """
+        SELECT id FROM account
+        WHERE id > ? AND rollups_complete IS NOT TRUE
+        ORDER BY id
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Month of a day, as stored in rollup_month
+     */
+    public static LocalDate monthOf(LocalDate day) {
+        return day.withDayOfMonth(1);
+    }
+
+    /**
+     * Count a written movement in the totals of its month
+     */
+    public void add(Long accountId, LocalDate day, Money amount) {
+        apply(accountId, monthOf(day), 1, amount);
+    }
+
+    /**
+     * Take a movement out of the totals of its month (before it is moved or changed)
+     */
+    public void remove(Long accountId, LocalDate day, Money amount) {
+        apply(accountId, monthOf(day), -1, amount);
+    }
+
+    /**
+     * Count written movements, one statement per account and month
+     */
+    public void addAll(Collection<Movement> movements) {
+        Map<Long, Map<LocalDate, long[]>> totals = new TreeMap<>();
+        for (Movement movement : movements) {
+            long[] month = totals.computeIfAbsent(movement.getAccount().getId(), id -> new TreeMap<>())
+                .computeIfAbsent(monthOf(movement.getMovementDate().toLocalDate()), m -> new long[3]);
+            long amount = movement.getAmount().getMinorUnits();
+            month[0]++;
+            month[amount > 0 ? 1 : 2] += amount;
+        }
+        totals.forEach((accountId, months) -> months.forEach((month, sums) ->
+            apply(accountId, month, sums[0], Money.ofMinor(sums[1]), Money.ofMinor(sums[2]))));
+    }
+
+    /**
+     * Recompute every monthly row of the account and mark it complete
+     * @return number of rows written
+     */
+    @Override
+    public int rebuild(Long accountId) {
+        jdbcTemplate.update(DELETE_SQL, accountId);
+        int written = jdbcTemplate.update(REBUILD_SQL, accountId);
+        jdbcTemplate.update(COMPLETE_SQL, accountId);
+        log.debug("Rebuilt {} monthly rollups of account {}", written, accountId);
+        return written;
+    }
+
+    @Override
+    public List<Long> findAccountsToBackfill(Long afterId, int limit) {
+        return jdbcTemplate.queryForList(ACCOUNTS_TO_BACKFILL_SQL, Long.class, afterId, limit);
+    }
+
+    /**
+     * Add (sign 1) or subtract (sign -1) one movement, classified by its own amount
+     */
+    private void apply(Long accountId, LocalDate month, int sign, Money amount) {
+        Money signed = sign < 0 ? amount.negate() : amount;
+        boolean deposit = amount.getMinorUnits() > 0;
+        apply(accountId, month, sign, deposit ? signed : Money.ZERO, deposit ? Money.ZERO : signed);
+    }
+
+    private void apply(Long accountId, LocalDate month, long movements, Money deposits, Money withdrawals) {
+        Date rollupMonth = Date.valueOf(month);
+        if (jdbcTemplate.update(UPDATE_SQL, movements, deposits.toBigDecimal(), withdrawals.toBigDecimal(),
+                accountId, rollupMonth) == 0) {
+            jdbcTemplate.update(INSERT_SQL, accountId, rollupMonth, movements, deposits.toBigDecimal(),
+                withdrawals.toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.devsu.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.devsu.application.dto.MovementRequestDTO;
+import com.devsu.application.dto.MovementResponseDTO;
+import com.devsu.domain.exception.DailyLimitExceededException;
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.infrastructure.limit.DailyWithdrawalLimiter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JDBC writer for movements
+ * Applies F2 and F3 in a single database statement: a conditional UPDATE of the
+ * account balance chained through a CTE into the movement INSERT, and writes
+ * batches of already validated movements with JDBC batch inserts. The statement only
+ * appends at the head of the chain, the caller places other movements
+ */
+@Slf4j
+@Component
+public class MovementWriter {
+
+    /**
+     * Withdrawals of the account on the movement day, from the daily counter
+     * (initialized from the day's movements when the account has none yet)
+     */
+    private static final String WITHDRAWN_SQL = """
+        CASE WHEN withdrawal_day = ? THEN COALESCE(daily_withdrawn, 0)
+             WHEN withdrawal_day IS NULL THEN (SELECT COALESCE(-SUM(m.amount), 0) FROM movement m
+                 WHERE m.account_id = account.id AND m.amount < 0
+                 AND m.movement_date >= ? AND m.movement_date < ?)
+             ELSE 0 END""";
+
+    private static final String APPEND_SQL = """
+        WITH head AS (
+            UPDATE account
+            SET balance = balance + ?,
+                last_movement_number = COALESCE(last_movement_number,
+                    (SELECT COALESCE(MAX(m.movement_number), 0) FROM movement m WHERE m.account_id = account.id)) + 1,
+                withdrawal_day = CASE WHEN ? > 0 THEN ? ELSE withdrawal_day END,
+                daily_withdrawn = CASE WHEN ? > 0 THEN %1$s + ? ELSE daily_withdrawn END
+            WHERE id = ? AND balance + ? >= 0
+              AND (? = 0 OR %1$s + ? <= %2$s)
+              AND NOT EXISTS (SELECT 1 FROM movement m WHERE m.account_id = account.id AND m.movement_date > ?)
+            RETURNING id, account_number, balance, last_movement_number
+        ), inserted AS (
+            INSERT INTO movement (id, account_id, movement_number, movement_date, movement_type, amount, balance, state)
+            SELECT nextval('movement_seq'), head.id, head.last_movement_number, ?, ?, ?, head.balance, ?
+            FROM head
+            RETURNING id, account_id, movement_number, balance
+        )
+        SELECT inserted.id, inserted.movement_number, inserted.balance, head.account_number
+        FROM inserted
+        JOIN head ON head.id = inserted.account_id
+        """;
+
+    private static final String ACCOUNT_BALANCE_SQL = "SELECT balance FROM account WHERE id = ?";
+
+    private static final String LATER_EXISTS_SQL =
+        "SELECT EXISTS (SELECT 1 FROM movement WHERE account_id = ? AND movement_date > ?)";
+
+    private static final String INSERT_SQL = """
+        INSERT INTO movement (id, account_id, movement_number, movement_date, movement_type, amount, balance, state)
+        VALUES (nextval('movement_seq'), ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DailyWithdrawalLimiter dailyWithdrawalLimiter;
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final MovementRollupStore movementRollupStore;
+    private final String appendSql;
+
+    @Value("${movement.batch.insert-size:100}")
+    private int insertBatchSize;
+
+    public MovementWriter(JdbcTemplate jdbcTemplate, DailyWithdrawalLimiter dailyWithdrawalLimiter,
+                          BalanceSnapshotStore balanceSnapshotStore, MovementRollupStore movementRollupStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyWithdrawalLimiter = dailyWithdrawalLimiter;
+        this.balanceSnapshotStore = balanceSnapshotStore;
+        this.movementRollupStore = movementRollupStore;
+        this.appendSql = APPEND_SQL.formatted(WITHDRAWN_SQL, limitSql(dailyWithdrawalLimiter));
+    }
+
+    /**
+     * Append a movement to the account in one round trip
+     * F2: Updates account balance and registers transaction
+     * F3: The balance condition is evaluated by the UPDATE itself, so concurrent
+     * requests can neither lose updates nor push the account below zero.
+     * The daily withdrawal counter is checked and advanced by the same statement
+     * @return empty when the account has movements dated after this one, nothing is written
+     */
+    public Optional<MovementResponseDTO> append(MovementRequestDTO dto) {
+        Long accountId = dto.getAccountId();
+        BigDecimal amount = Money.of(dto.getAmount()).toBigDecimal();
+
+        BigDecimal withdrawal = amount.signum() < 0 ? amount.negate() : BigDecimal.ZERO;
+        LocalDate day = dto.getMovementDate().toLocalDate();
+        Object[] withdrawn = {
+            Date.valueOf(day), Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay())
+        };
+
+        List<Object> parameters = new ArrayList<>();
+        parameters.addAll(List.of(amount, withdrawal, Date.valueOf(day), withdrawal));
+        parameters.addAll(List.of(withdrawn));
+        parameters.addAll(List.of(withdrawal, accountId, amount, withdrawal));
+        parameters.addAll(List.of(withdrawn));
+        parameters.add(withdrawal);
+        parameters.addAll(limitParameters(dailyWithdrawalLimiter));
+        parameters.add(Timestamp.valueOf(dto.getMovementDate()));
+        parameters.addAll(List.of(Timestamp.valueOf(dto.getMovementDate()), dto.getMovementType(), amount, dto.getState()));
+
+        List<MovementResponseDTO> rows = jdbcTemplate.query(appendSql,
+            (rs, rowNum) -> MovementResponseDTO.builder()
+                .id(rs.getLong("id"))
+                .accountId(accountId)
+                .accountNumber(rs.getString("account_number"))
+                .movementNumber(rs.getLong("movement_number"))
+                .movementDate(dto.getMovementDate())
+                .movementType(dto.getMovementType())
+                .amount(amount)
+                .balance(rs.getBigDecimal("balance"))
+                .state(dto.getState())
+                .build(),
+            parameters.toArray());
+
+        if (rows.isEmpty()) {
+            // Only reached on failure: find out which condition rejected the update
+            List<BigDecimal> balances = jdbcTemplate.queryForList(ACCOUNT_BALANCE_SQL, BigDecimal.class, accountId);
+            if (balances.isEmpty()) {
+                log.error("Account with id {} not found", accountId);
+                throw new ResourceNotFoundException("Account with id " + accountId + " not found");
+            }
+            if (laterExists(accountId, dto)) {
+                log.debug("Account id {} has movements after {}, not appending", accountId, dto.getMovementDate());
+                return Optional.empty();
+            }
+            if (balances.get(0).add(amount).signum() < 0) {
+                log.error("Insufficient balance for account id {}. Requested: {}", accountId, amount);
+                throw new InsufficientBalanceException("Saldo no disponible");
+            }
+            log.error("Daily withdrawal limit exceeded for account id {} on {}. Requested: {}", accountId, day, withdrawal);
+            throw new DailyLimitExceededException(DailyWithdrawalLimiter.LIMIT_EXCEEDED_MESSAGE);
+        }
+
+        // The account row stays locked by the UPDATE until the transaction ends. When the
+        // UPDATE waited for another writer, its condition was rechecked on the new row but
+        // the subquery still read the older snapshot: only a new statement sees a later
+        // movement committed meanwhile, and the transaction is retried to place it
+        if (laterExists(accountId, dto)) {
+            log.warn("Movement dated after {} committed concurrently on account id {}", dto.getMovementDate(), accountId);
+            throw new ConcurrencyFailureException("Account " + accountId + " got a later movement while appending");
+        }
+        MovementResponseDTO response = rows.get(0);
+        balanceSnapshotStore.record(accountId, day, Money.of(response.getBalance()));
+        movementRollupStore.add(accountId, day, Money.of(amount));
+        log.info("Movement created successfully with id: {}. New balance: {}", response.getId(), response.getBalance());
+        return Optional.of(response);
+    }
+
+    /**
+     * Insert movements with JDBC batch statements
+     * Balances and movement numbers must already be computed by the caller
+     */
+    public void insertBatch(List<Movement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, insertBatchSize, (ps, movement) -> {
+            ps.setLong(1, movement.getAccount().getId());
+            ps.setLong(2, movement.getMovementNumber());
+            ps.setTimestamp(3, Timestamp.valueOf(movement.getMovementDate()));
+            ps.setString(4, movement.getMovementType());
+            ps.setBigDecimal(5, movement.getAmount().toBigDecimal());
+            ps.setBigDecimal(6, movement.getBalance().toBigDecimal());
+            ps.setString(7, movement.getState());
+        });
+        log.info("Inserted {} movements in batch", movements.size());
+    }
+
+    private boolean laterExists(Long accountId, MovementRequestDTO dto) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(LATER_EXISTS_SQL, Boolean.class,
+            accountId, Timestamp.valueOf(dto.getMovementDate())));
+    }
+
+    /**
+     * Daily limit of the updated row by account type
+     */
+    private static String limitSql(DailyWithdrawalLimiter limiter) {
+        if (limiter.getLimitsByType().isEmpty()) {
+            return "?";
+        }
+        return "CASE LOWER(account_type)"
+            + " WHEN ? THEN ?".repeat(limiter.getLimitsByType().size())
+            + " ELSE ? END";
+    }
+
+    private static List<Object> limitParameters(DailyWithdrawalLimiter limiter) {
+        List<Object> parameters = new ArrayList<>();
+        limiter.getLimitsByType().forEach((accountType, limit) -> {
+            parameters.add(accountType);
+            parameters.add(limit.toBigDecimal());
+        });
+        parameters.add(limiter.getDefaultLimit().toBigDecimal());
+        return parameters;
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsu.infrastructure.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.devsu.domain.exception.BusinessException;
+
+/**
+ * Position after the last movement returned of an account statement page
+ * Keyset on the balance-chain order (movement date, movement number, id), with the
+ * end of the statement period, so the next page is one index range read and needs
+ * neither the opening balance nor an offset. Encoded as an opaque URL-safe token
+ */
+public record StatementCursor(Long accountId, LocalDateTime endDate, LocalDateTime movementDate,
+                              Long movementNumber, Long movementId) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Opaque continuation token
+     */
+    public String encode() {
+        String value = String.join(SEPARATOR, accountId.toString(), endDate.toString(), movementDate.toString(),
+            movementNumber.toString(), movementId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a continuation token
+     * @throws BusinessException when the token was not produced by {@link #encode()}
+     */
+    public static StatementCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                .split("\\" + SEPARATOR);
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("Unexpected cursor fields: " + parts.length);
+            }
+            return new StatementCursor(Long.valueOf(parts[0]), LocalDateTime.parse(parts[1]),
+                LocalDateTime.parse(parts[2]), Long.valueOf(parts[3]), Long.valueOf(parts[4]));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid movements cursor", e);
+        }
+    }
+}
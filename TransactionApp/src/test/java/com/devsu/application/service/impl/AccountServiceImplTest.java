@@ -4,9 +4,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,15 +17,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.devsu.application.dto.AccountBalanceResponseDTO;
 import com.devsu.application.dto.AccountRequestDTO;
 import com.devsu.application.dto.AccountResponseDTO;
+import com.devsu.application.event.ClientAccountsChangedEvent;
 import com.devsu.domain.exception.BusinessException;
 import com.devsu.domain.exception.ResourceNotFoundException;
 import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
 import com.devsu.domain.repository.AccountRepository;
 import com.devsu.infrastructure.client.ClientServiceClient;
 import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
 
 /**
  * Unit tests for AccountServiceImpl
@@ -36,6 +44,12 @@ class AccountServiceImplTest {
     @Mock
     private ClientServiceClient clientServiceClient;
     
+    @Mock
+    private BalanceSnapshotStore balanceSnapshotStore;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private AccountServiceImpl accountService;
     
@@ -48,7 +62,7 @@ class AccountServiceImplTest {
         account.setId(1L);
         account.setAccountNumber("123456");
         account.setAccountType("AHORROS");
-        account.setBalance(1000.0);
+        account.setBalance(Money.of("1000.00"));
         account.setState("ACTIVA");
         account.setAccountKey("key123");
         account.setClientId("client-1");
@@ -56,7 +70,7 @@ class AccountServiceImplTest {
         accountRequestDTO = new AccountRequestDTO();
         accountRequestDTO.setAccountNumber("123456");
         accountRequestDTO.setAccountType("AHORROS");
-        accountRequestDTO.setInitialBalance(1000.0);
+        accountRequestDTO.setInitialBalance(new BigDecimal("1000.00"));
         accountRequestDTO.setState("ACTIVA");
         accountRequestDTO.setAccountKey("key123");
         accountRequestDTO.setClientId("client-1");
@@ -69,7 +83,7 @@ class AccountServiceImplTest {
             .name("Test Client")
             .build();
         
-        when(clientServiceClient.getClientByClientId("client-1")).thenReturn(clientCache);
+        when(clientServiceClient.getClientByClientIdAsync("client-1")).thenReturn(CompletableFuture.completedFuture(clientCache));
         when(accountRepository.findByAccountNumber(accountRequestDTO.getAccountNumber()))
             .thenReturn(Optional.empty());
         when(accountRepository.save(any(Account.class))).thenReturn(account);
@@ -80,26 +94,39 @@ class AccountServiceImplTest {
         assertEquals(account.getId(), response.getId());
         assertEquals(account.getAccountNumber(), response.getAccountNumber());
         assertEquals(account.getAccountType(), response.getAccountType());
-        assertEquals(account.getBalance(), response.getBalance());
+        assertEquals(account.getBalance().toBigDecimal(), response.getBalance());
         assertEquals(account.getState(), response.getState());
         assertEquals(account.getClientId(), response.getClientId());
         
-        verify(clientServiceClient).getClientByClientId("client-1");
+        verify(clientServiceClient).getClientByClientIdAsync("client-1");
         verify(accountRepository).findByAccountNumber(accountRequestDTO.getAccountNumber());
         verify(accountRepository).save(any(Account.class));
+        verify(eventPublisher).publishEvent(ClientAccountsChangedEvent.of("client-1"));
     }
     
     @Test
     void testCreateAccount_ClientNotFound() {
-        when(clientServiceClient.getClientByClientId("client-1")).thenReturn(null);
+        when(clientServiceClient.getClientByClientIdAsync("client-1")).thenReturn(CompletableFuture.completedFuture(null));
         
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             accountService.createAccount(accountRequestDTO);
         });
         
         assertTrue(exception.getMessage().contains("not found"));
-        verify(clientServiceClient).getClientByClientId("client-1");
-        verify(accountRepository, never()).findByAccountNumber(any());
+        verify(clientServiceClient).getClientByClientIdAsync("client-1");
+        verify(accountRepository, never()).save(any(Account.class));
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void testCreateAccount_ClientNotFoundBeforeDuplicate() {
+        when(clientServiceClient.getClientByClientIdAsync("client-1"))
+            .thenReturn(CompletableFuture.failedFuture(new ResourceNotFoundException("Client with clientId client-1 not found")));
+        when(accountRepository.findByAccountNumber(accountRequestDTO.getAccountNumber()))
+            .thenReturn(Optional.of(account));
+        
+        // The account number is checked while the client is looked up, a missing client still wins
+        assertThrows(ResourceNotFoundException.class, () -> accountService.createAccount(accountRequestDTO));
         verify(accountRepository, never()).save(any(Account.class));
     }
     
@@ -110,7 +137,7 @@ class AccountServiceImplTest {
             .name("Test Client")
             .build();
         
-        when(clientServiceClient.getClientByClientId("client-1")).thenReturn(clientCache);
+        when(clientServiceClient.getClientByClientIdAsync("client-1")).thenReturn(CompletableFuture.completedFuture(clientCache));
         when(accountRepository.findByAccountNumber(accountRequestDTO.getAccountNumber()))
             .thenReturn(Optional.of(account));
         
@@ -119,7 +146,7 @@ class AccountServiceImplTest {
         });
         
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(clientServiceClient).getClientByClientId("client-1");
+        verify(clientServiceClient).getClientByClientIdAsync("client-1");
         verify(accountRepository).findByAccountNumber(accountRequestDTO.getAccountNumber());
         verify(accountRepository, never()).save(any(Account.class));
     }
@@ -129,10 +156,10 @@ class AccountServiceImplTest {
         AccountRequestDTO updateDTO = new AccountRequestDTO();
         updateDTO.setAccountNumber("123456");
         updateDTO.setAccountType("CORRIENTE");
-        updateDTO.setInitialBalance(2000.0);
+        updateDTO.setInitialBalance(new BigDecimal("2000.00"));
         updateDTO.setState("ACTIVA");
         updateDTO.setAccountKey("key456");
-        updateDTO.setClientId("client-1");
+        updateDTO.setClientId("client-2");
         
         when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
         when(accountRepository.save(any(Account.class))).thenReturn(account);
@@ -142,6 +169,8 @@ class AccountServiceImplTest {
         assertNotNull(response);
         verify(accountRepository).findById(1L);
         verify(accountRepository).save(any(Account.class));
+        // Reports of both the previous and the new client are stale
+        verify(eventPublisher).publishEvent(ClientAccountsChangedEvent.of("client-1", "client-2"));
     }
     
     @Test
@@ -166,7 +195,7 @@ class AccountServiceImplTest {
         AccountRequestDTO updateDTO = new AccountRequestDTO();
         updateDTO.setAccountNumber("654321");
         updateDTO.setAccountType("CORRIENTE");
-        updateDTO.setInitialBalance(2000.0);
+        updateDTO.setInitialBalance(new BigDecimal("2000.00"));
         updateDTO.setState("ACTIVA");
         updateDTO.setClientId("client-1");
         
@@ -223,7 +252,7 @@ class AccountServiceImplTest {
         account2.setId(2L);
         account2.setAccountNumber("654321");
         account2.setAccountType("CORRIENTE");
-        account2.setBalance(500.0);
+        account2.setBalance(Money.of("500.00"));
         account2.setState("ACTIVA");
         account2.setClientId("client-2");
         
@@ -280,7 +309,7 @@ class AccountServiceImplTest {
         account2.setId(2L);
         account2.setAccountNumber("654321");
         account2.setAccountType("CORRIENTE");
-        account2.setBalance(500.0);
+        account2.setBalance(Money.of("500.00"));
         account2.setState("ACTIVA");
         account2.setClientId("client-1");
         
@@ -306,4 +335,27 @@ class AccountServiceImplTest {
         assertTrue(response.isEmpty());
         verify(accountRepository).findByClientId("client-999");
     }
+    
+    @Test
+    void testGetBalanceAt_Success() {
+        LocalDateTime at = LocalDateTime.of(2026, 2, 4, 10, 0);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(balanceSnapshotStore.balanceAt(1L, at)).thenReturn(Optional.of(Money.of("425.00")));
+        
+        AccountBalanceResponseDTO response = accountService.getBalanceAt(1L, at);
+        
+        assertEquals(1L, response.getAccountId());
+        assertEquals("123456", response.getAccountNumber());
+        assertEquals(at, response.getAt());
+        assertEquals(new BigDecimal("425.00"), response.getBalance());
+    }
+    
+    @Test
+    void testGetBalanceAt_NotFound() {
+        when(accountRepository.findById(999L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class,
+            () -> accountService.getBalanceAt(999L, LocalDateTime.now()));
+        verifyNoInteractions(balanceSnapshotStore);
+    }
 }
@@ -0,0 +1,338 @@
+package com.devsu.application.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.devsu.application.dto.MovementBatchResponseDTO;
+import com.devsu.application.dto.MovementRequestDTO;
+import com.devsu.application.dto.TransferRequestDTO;
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.limit.DailyWithdrawalLimiter;
+import com.devsu.infrastructure.lock.AccountLockManager;
+import com.devsu.infrastructure.persistence.BalanceChainRepairer;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
+import com.devsu.infrastructure.persistence.MovementRollupStore;
+import com.devsu.infrastructure.persistence.MovementWriter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Balance chain tests for MovementServiceImpl and TransferServiceImpl against PostgreSQL
+ * The chain repair is a PostgreSQL statement, so these tests need a database they
+ * may drop and recreate the schema of. The postgres-tests profile runs them against the
+ * transactiondb container of docker-compose (see README, Pruebas).
+ * Run with: mvn test -Ppostgres-tests, or -Dtest.postgres.url=... for another database
+ */
+@EnabledIfSystemProperty(named = "test.postgres.url", matches = ".+")
+@DataJpaTest(properties = {
+    "spring.datasource.url=${test.postgres.url}",
+    "spring.datasource.username=${test.postgres.username:postgres}",
+    "spring.datasource.password=${test.postgres.password:}",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MovementServiceImpl.class, LockingMovementService.class, TransferServiceImpl.class, MovementWriter.class,
+    BalanceChainRepairer.class, BalanceSnapshotStore.class, MovementRollupStore.class, DailyWithdrawalLimiter.class,
+    AccountLockManager.class, MovementServiceChainTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("MovementService balance chain Tests")
+class MovementServiceChainTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 2, 1, 10, 0);
+    private static final int UPDATE_THREADS = 4;
+    private static final int UPDATES_PER_THREAD = 25;
+
+    @Autowired
+    private MovementServiceImpl movementService;
+
+    @Autowired
+    private LockingMovementService lockingMovementService;
+
+    @Autowired
+    private TransferServiceImpl transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(movementService, "writerMode", "jpa");
+        jdbcTemplate.update("DELETE FROM balance_snapshot");
+        jdbcTemplate.update("DELETE FROM movement_monthly_rollup");
+        movementRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should place backdated batch items in the chain and repair later balances and snapshots")
+    void testCreateMovements_BackdatedItemsRepairChainAndSnapshots() {
+        Long accountId = accountRepository.save(
+            new Account(null, "ACC-1", "AHORROS", Money.ZERO, "ACTIVA", null, "client-1")).getId();
+        movementService.createMovement(request(accountId, 0, "800.00"));
+        movementService.createMovement(request(accountId, 2, "-500.00"));
+        movementService.createMovement(request(accountId, 4, "700.00"));
+
+        // The first item would leave the stored day 3 balance (300.00) below zero
+        MovementBatchResponseDTO response = movementService.createMovements(Arrays.asList(
+            request(accountId, 1, "-400.00"),
+            request(accountId, 1, "100.00"),
+            request(accountId, 3, "-350.00"),
+            request(accountId, 5, "-200.00")));
+
+        assertEquals(3, response.getCreated());
+        assertEquals("Saldo no disponible", response.getResults().get(0).getMessage());
+        assertEquals(new BigDecimal("900.00"), response.getResults().get(1).getBalance());
+        assertEquals(new BigDecimal("50.00"), response.getResults().get(2).getBalance());
+        assertEquals(new BigDecimal("550.00"), response.getResults().get(3).getBalance());
+
+        List<Movement> chain = movementRepository.findByAccountId(accountId).stream()
+            .sorted(Comparator.comparing(Movement::getMovementDate).thenComparing(Movement::getMovementNumber))
+            .toList();
+        assertEquals(List.of("800.00", "900.00", "400.00", "50.00", "750.00", "550.00"),
+            chain.stream().map(m -> m.getBalance().toBigDecimal().toPlainString()).toList());
+
+        // F2: Every balance follows from the previous one, the account holds the last
+        Money balance = Money.ZERO;
+        for (Movement movement : chain) {
+            balance = balance.plus(movement.getAmount());
+            assertEquals(balance, movement.getBalance());
+        }
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(Money.of("550.00"), account.getBalance());
+        assertEquals(6L, account.getLastMovementNumber());
+
+        // Daily snapshots close at the repaired balances, the month counts every movement
+        assertEquals(List.of("800.00", "900.00", "400.00", "50.00", "750.00", "550.00"), jdbcTemplate.queryForList(
+            "SELECT balance FROM balance_snapshot WHERE account_id = ? ORDER BY snapshot_day", BigDecimal.class, accountId)
+            .stream().map(BigDecimal::toPlainString).toList());
+        assertEquals(Map.of("movements", 6L, "deposits", "1600.00", "withdrawals", "-1050.00"), rollup(accountId));
+    }
+
+    @Test
+    @DisplayName("Should keep both chains consistent while a movement is moved between accounts concurrently")
+    void testUpdateMovement_ConcurrentMovesKeepChains() throws InterruptedException {
+        Long first = accountRepository.save(
+            new Account(null, "ACC-1", "AHORROS", Money.ZERO, "ACTIVA", null, "client-1")).getId();
+        Long second = accountRepository.save(
+            new Account(null, "ACC-2", "AHORROS", Money.ZERO, "ACTIVA", null, "client-1")).getId();
+        movementService.createMovement(request(first, 0, "1000.00"));
+        movementService.createMovement(request(second, 0, "1000.00"));
+        Long movementId = movementService.createMovement(request(first, 1, "100.00")).getId();
+
+        List<Throwable> failures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(UPDATE_THREADS + 2);
+        for (int t = 0; t < UPDATE_THREADS; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    Long accountId = random.nextBoolean() ? first : second;
+                    String amount = BigDecimal.valueOf(random.nextLong(1, 20_000), Money.SCALE).toPlainString();
+                    run(failures, () -> lockingMovementService.updateMovement(movementId,
+                        request(accountId, random.nextInt(1, 4), amount)));
+                }
+            });
+        }
+        for (Long accountId : List.of(first, second)) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    run(failures, () -> lockingMovementService.createMovement(
+                        request(accountId, random.nextInt(1, 6), "10.00")));
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS), "Updates did not finish");
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures);
+
+        // F2: Each chain follows from its amounts and ends at the account balance
+        Movement moved = movementRepository.findById(movementId).orElseThrow();
+        for (Long accountId : List.of(first, second)) {
+            List<Movement> chain = movementRepository.findByAccountId(accountId).stream()
+                .sorted(Comparator.comparing(Movement::getMovementDate).thenComparing(Movement::getMovementNumber)
+                    .thenComparing(Movement::getId))
+                .toList();
+            Money balance = Money.ZERO;
+            for (Movement movement : chain) {
+                balance = balance.plus(movement.getAmount());
+                assertEquals(balance, movement.getBalance());
+            }
+            assertEquals(balance, accountRepository.findById(accountId).orElseThrow().getBalance());
+            assertEquals(accountId.equals(moved.getAccount().getId()) ? 2 + UPDATES_PER_THREAD : 1 + UPDATES_PER_THREAD,
+                chain.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should place a transfer before later-dated movements and repair their balances")
+    void testTransfer_BeforeLaterMovementsRepairsChain() {
+        Long source = accountRepository.save(
+            new Account(null, "ACC-1", "AHORROS", Money.ZERO, "ACTIVA", null, "client-1")).getId();
+        Long target = accountRepository.save(
+            new Account(null, "ACC-2", "AHORROS", Money.ZERO, "ACTIVA", null, "client-1")).getId();
+        movementService.createMovement(request(source, 0, "1000.00"));
+        movementService.createMovement(request(target, 0, "100.00"));
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+        movementService.createMovement(new MovementRequestDTO(source, tomorrow, "RETIRO", new BigDecimal("-700.00"), "ACTIVO"));
+
+        // 600.00 now, but -100.00 after tomorrow's withdrawal
+        assertThrows(InsufficientBalanceException.class,
+            () -> transferService.transfer(new TransferRequestDTO(source, target, new BigDecimal("400.00"), "ACTIVO")));
+        assertEquals(2, movementRepository.findByAccountId(source).size());
+
+        transferService.transfer(new TransferRequestDTO(source, target, new BigDecimal("200.00"), "ACTIVO"));
+
+        List<Movement> chain = movementRepository.findByAccountId(source).stream()
+            .sorted(Comparator.comparing(Movement::getMovementDate).thenComparing(Movement::getMovementNumber))
+            .toList();
+        assertEquals(List.of("1000.00", "800.00", "100.00"),
+            chain.stream().map(m -> m.getBalance().toBigDecimal().toPlainString()).toList());
+        assertEquals(Money.of("100.00"), accountRepository.findById(source).orElseThrow().getBalance());
+        assertEquals(Money.of("300.00"), accountRepository.findById(target).orElseThrow().getBalance());
+        assertEquals(List.of("800.00", "100.00"), jdbcTemplate.queryForList(
+            "SELECT balance FROM balance_snapshot WHERE account_id = ? AND snapshot_day > ? ORDER BY snapshot_day",
+            BigDecimal.class, source, BASE.toLocalDate()).stream().map(BigDecimal::toPlainString).toList());
+    }
+
+    @Test
+    @DisplayName("Should let the single-statement writer hand movements dated before the head to the repair path")
+    void testCreateMovement_JdbcWriterPlacesBackdatedMovement() {
+        ReflectionTestUtils.setField(movementService, "writerMode", MovementServiceImpl.WRITER_MODE_JDBC);
+        Long accountId = accountRepository.save(
+            new Account(null, "ACC-1", "AHORROS", Money.ZERO, "ACTIVA", null, "client-1")).getId();
+        movementService.createMovement(request(accountId, 0, "800.00"));
+        movementService.createMovement(request(accountId, 2, "-500.00"));
+
+        movementService.createMovement(request(accountId, 1, "100.00"));
+
+        assertChain(accountId, "800.00", "900.00", "400.00");
+    }
+
+    @Test
+    @DisplayName("Should retry an append that waited for a writer that committed a later movement")
+    void testCreateMovement_JdbcWriterRetriesAfterConcurrentLaterMovement() throws Exception {
+        ReflectionTestUtils.setField(movementService, "writerMode", MovementServiceImpl.WRITER_MODE_JDBC);
+        Long accountId = accountRepository.save(
+            new Account(null, "ACC-1", "AHORROS", Money.ZERO, "ACTIVA", null, "client-1")).getId();
+        movementService.createMovement(request(accountId, 0, "800.00"));
+
+        // Another instance: holds the account row with a later movement, without the in-process lock
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> other = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                movementService.createMovement(request(accountId, 2, "-500.00"));
+                written.countDown();
+                await(commit);
+            }));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            Future<?> append = executor.submit(() -> lockingMovementService.createMovement(request(accountId, 1, "100.00")));
+            // Let the append block on the row lock before the later movement commits
+            Thread.sleep(500);
+            commit.countDown();
+            other.get(10, TimeUnit.SECONDS);
+            append.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertChain(accountId, "800.00", "900.00", "400.00");
+    }
+
+    private void assertChain(Long accountId, String... balances) {
+        List<Movement> chain = movementRepository.findByAccountId(accountId).stream()
+            .sorted(Comparator.comparing(Movement::getMovementDate).thenComparing(Movement::getMovementNumber))
+            .toList();
+        assertEquals(List.of(balances), chain.stream().map(m -> m.getBalance().toBigDecimal().toPlainString()).toList());
+        assertEquals(Money.of(balances[balances.length - 1]),
+            accountRepository.findById(accountId).orElseThrow().getBalance());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void run(List<Throwable> failures, Runnable action) {
+        try {
+            action.run();
+        } catch (Throwable e) {
+            synchronized (failures) {
+                failures.add(e);
+            }
+        }
+    }
+
+    private Map<String, Object> rollup(Long accountId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT movements, deposits, withdrawals FROM movement_monthly_rollup WHERE account_id = ?",
+            (rs, rowNum) -> Map.of("movements", rs.getLong("movements"),
+                "deposits", rs.getBigDecimal("deposits").toPlainString(),
+                "withdrawals", rs.getBigDecimal("withdrawals").toPlainString()),
+            accountId);
+    }
+
+    private static MovementRequestDTO request(Long accountId, int day, String amount) {
+        BigDecimal value = new BigDecimal(amount);
+        return new MovementRequestDTO(accountId, BASE.plusDays(day), value.signum() < 0 ? "RETIRO" : "DEPOSITO",
+            value, "ACTIVO");
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -2,28 +2,53 @@ package com.devsu.application.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.devsu.application.dto.MovementBatchResponseDTO;
 import com.devsu.application.dto.MovementRequestDTO;
 import com.devsu.application.dto.MovementResponseDTO;
+import com.devsu.application.event.MovementsWrittenEvent;
+import com.devsu.domain.exception.DailyLimitExceededException;
 import com.devsu.domain.exception.InsufficientBalanceException;
 import com.devsu.domain.exception.ResourceNotFoundException;
 import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
 import com.devsu.domain.model.Movement;
 import com.devsu.domain.repository.AccountRepository;
 import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.limit.DailyWithdrawalLimiter;
+import com.devsu.infrastructure.lock.AccountLockManager;
+import com.devsu.infrastructure.persistence.BalanceChainRepairer;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
+import com.devsu.infrastructure.persistence.MovementRollupStore;
+import com.devsu.infrastructure.persistence.MovementWriter;
 
 /**
  * Unit tests for MovementServiceImpl
@@ -38,6 +63,30 @@ class MovementServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
     
+    @Mock
+    private MovementWriter movementWriter;
+    
+    @Mock
+    private AccountLockManager accountLockManager;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Mock
+    private BalanceChainRepairer balanceChainRepairer;
+    
+    @Mock
+    private DailyWithdrawalLimiter dailyWithdrawalLimiter;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private BalanceSnapshotStore balanceSnapshotStore;
+    
+    @Mock
+    private MovementRollupStore movementRollupStore;
+    
     @InjectMocks
     private MovementServiceImpl movementService;
     
@@ -51,7 +100,7 @@ class MovementServiceImplTest {
         account.setId(1L);
         account.setAccountNumber("123456");
         account.setAccountType("AHORROS");
-        account.setBalance(1000.0);
+        account.setBalance(Money.of("1000.00"));
         account.setState("ACTIVA");
         account.setClientId("client-1");
         
@@ -61,24 +110,21 @@ class MovementServiceImplTest {
         movement.setMovementNumber(1L);
         movement.setMovementDate(LocalDateTime.now());
         movement.setMovementType("DEPOSITO");
-        movement.setAmount(500.0);
-        movement.setBalance(1500.0);
+        movement.setAmount(Money.of("500.00"));
+        movement.setBalance(Money.of("1500.00"));
         movement.setState("ACTIVO");
         
         movementRequestDTO = new MovementRequestDTO();
         movementRequestDTO.setAccountId(1L);
         movementRequestDTO.setMovementDate(LocalDateTime.now());
         movementRequestDTO.setMovementType("DEPOSITO");
-        movementRequestDTO.setAmount(500.0);
+        movementRequestDTO.setAmount(new BigDecimal("500.00"));
         movementRequestDTO.setState("ACTIVO");
     }
     
     @Test
     void testCreateMovement_Deposit_Success() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account))
-            .thenReturn(Arrays.asList());
-        when(movementRepository.findByAccount(account)).thenReturn(Arrays.asList());
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
         when(movementRepository.save(any(Movement.class))).thenReturn(movement);
         when(accountRepository.save(any(Account.class))).thenReturn(account);
         
@@ -86,36 +132,36 @@ class MovementServiceImplTest {
         
         assertNotNull(response);
         assertEquals(movement.getId(), response.getId());
-        assertEquals(movement.getAmount(), response.getAmount());
-        assertEquals(1500.0, response.getBalance());
+        assertEquals(movement.getAmount().toBigDecimal(), response.getAmount());
+        assertEquals(new BigDecimal("1500.00"), response.getBalance());
         
-        verify(accountRepository).findById(1L);
+        verify(accountRepository).findByIdForUpdate(1L);
         verify(movementRepository).save(any(Movement.class));
         verify(accountRepository).save(any(Account.class));
+        verify(balanceSnapshotStore).record(1L, movementRequestDTO.getMovementDate().toLocalDate(), Money.of("1500.00"));
+        verify(movementRollupStore).add(1L, movementRequestDTO.getMovementDate().toLocalDate(), Money.of("500.00"));
+        verify(eventPublisher).publishEvent(MovementsWrittenEvent.of(1L));
     }
     
     @Test
     void testCreateMovement_Withdrawal_Success() {
         movementRequestDTO.setMovementType("RETIRO");
-        movementRequestDTO.setAmount(-300.0);
+        movementRequestDTO.setAmount(new BigDecimal("-300.00"));
         
-        movement.setAmount(-300.0);
-        movement.setBalance(700.0);
+        movement.setAmount(Money.of("-300.00"));
+        movement.setBalance(Money.of("700.00"));
         
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account))
-            .thenReturn(Arrays.asList());
-        when(movementRepository.findByAccount(account)).thenReturn(Arrays.asList());
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
         when(movementRepository.save(any(Movement.class))).thenReturn(movement);
         when(accountRepository.save(any(Account.class))).thenReturn(account);
         
         MovementResponseDTO response = movementService.createMovement(movementRequestDTO);
         
         assertNotNull(response);
-        assertEquals(-300.0, response.getAmount());
-        assertEquals(700.0, response.getBalance());
+        assertEquals(new BigDecimal("-300.00"), response.getAmount());
+        assertEquals(new BigDecimal("700.00"), response.getBalance());
         
-        verify(accountRepository).findById(1L);
+        verify(accountRepository).findByIdForUpdate(1L);
         verify(movementRepository).save(any(Movement.class));
         verify(accountRepository).save(any(Account.class));
     }
@@ -123,11 +169,9 @@ class MovementServiceImplTest {
     @Test
     void testCreateMovement_InsufficientBalance_F3() {
         movementRequestDTO.setMovementType("RETIRO");
-        movementRequestDTO.setAmount(-1500.0);
+        movementRequestDTO.setAmount(new BigDecimal("-1500.00"));
         
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account))
-            .thenReturn(Arrays.asList());
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
         
         InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class, () -> {
             movementService.createMovement(movementRequestDTO);
@@ -135,14 +179,33 @@ class MovementServiceImplTest {
         
         assertEquals("Saldo no disponible", exception.getMessage());
         
-        verify(accountRepository).findById(1L);
+        verify(accountRepository).findByIdForUpdate(1L);
+        verify(movementRepository, never()).save(any(Movement.class));
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+    
+    @Test
+    void testCreateMovement_DailyLimitExceeded() {
+        movementRequestDTO.setMovementType("RETIRO");
+        movementRequestDTO.setAmount(new BigDecimal("-600.00"));
+        
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        doThrow(new DailyLimitExceededException("Cupo diario Excedido")).when(dailyWithdrawalLimiter)
+            .registerWithdrawal(account, movementRequestDTO.getMovementDate().toLocalDate(), Money.of("-600.00"));
+        
+        DailyLimitExceededException exception = assertThrows(DailyLimitExceededException.class, () -> {
+            movementService.createMovement(movementRequestDTO);
+        });
+        
+        assertEquals("Cupo diario Excedido", exception.getMessage());
+        assertEquals(Money.of("1000.00"), account.getBalance());
         verify(movementRepository, never()).save(any(Movement.class));
         verify(accountRepository, never()).save(any(Account.class));
     }
     
     @Test
     void testCreateMovement_AccountNotFound() {
-        when(accountRepository.findById(999L)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
         
         movementRequestDTO.setAccountId(999L);
         
@@ -151,59 +214,396 @@ class MovementServiceImplTest {
         });
         
         assertTrue(exception.getMessage().contains("not found"));
-        verify(accountRepository).findById(999L);
+        verify(accountRepository).findByIdForUpdate(999L);
         verify(movementRepository, never()).save(any(Movement.class));
     }
     
     @Test
-    void testCreateMovement_WithPreviousMovements() {
-        Movement previousMovement = new Movement();
-        previousMovement.setBalance(1200.0);
-        
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account))
-            .thenReturn(Arrays.asList(previousMovement));
-        when(movementRepository.findByAccount(account)).thenReturn(Arrays.asList(previousMovement));
-        when(movementRepository.save(any(Movement.class))).thenReturn(movement);
+    void testCreateMovement_UsesAccountLedgerHead() {
+        account.setBalance(Money.of("1200.00"));
+        account.setLastMovementNumber(7L);
+        
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(movementRepository.save(any(Movement.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(accountRepository.save(any(Account.class))).thenReturn(account);
         
         MovementResponseDTO response = movementService.createMovement(movementRequestDTO);
         
         assertNotNull(response);
-        verify(accountRepository).findById(1L);
-        verify(movementRepository).findByAccountOrderByMovementDateDesc(account);
+        assertEquals(8L, response.getMovementNumber());
+        assertEquals(new BigDecimal("1700.00"), response.getBalance());
+        assertEquals(Money.of("1700.00"), account.getBalance());
+        assertEquals(8L, account.getLastMovementNumber());
+        verify(movementRepository, never()).findByAccountOrderByMovementDateDesc(any(Account.class));
+        verify(movementRepository, never()).findByAccount(any(Account.class));
+        verify(movementRepository, never()).findMaxMovementNumber(anyLong());
+    }
+    
+    @Test
+    void testCreateMovement_InitializesLegacyLedgerHead() {
+        account.setLastMovementNumber(null);
+        
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(movementRepository.findMaxMovementNumber(1L)).thenReturn(5L);
+        when(movementRepository.save(any(Movement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        
+        MovementResponseDTO response = movementService.createMovement(movementRequestDTO);
+        
+        assertEquals(6L, response.getMovementNumber());
+        assertEquals(6L, account.getLastMovementNumber());
+        verify(movementRepository).findMaxMovementNumber(1L);
+    }
+    
+    @Test
+    void testCreateMovement_Backdated_RepairsChain() {
+        account.setLastMovementNumber(3L);
+        LocalDateTime date = movementRequestDTO.getMovementDate();
+        
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(movementRepository.existsByAccountIdAndMovementDateAfter(1L, date)).thenReturn(true);
+        when(balanceChainRepairer.balanceBefore(1L, date, 4L)).thenReturn(Optional.of(Money.of("800.00")));
+        when(movementRepository.saveAndFlush(any(Movement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(balanceChainRepairer.repairFrom(1L, date, 4L, Money.of("800.00"), null))
+            .thenReturn(repair("1500.00", null));
+        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        
+        MovementResponseDTO response = movementService.createMovement(movementRequestDTO);
+        
+        // The movement takes the balance at its position, the account the end of the chain
+        assertEquals(new BigDecimal("1300.00"), response.getBalance());
+        assertEquals(4L, response.getMovementNumber());
+        assertEquals(Money.of("1500.00"), account.getBalance());
+        verify(movementRepository, never()).save(any(Movement.class));
+        verify(balanceSnapshotStore).rebuildFrom(1L, date.toLocalDate());
+        verify(balanceSnapshotStore, never()).record(any(), any(), any());
+    }
+    
+    @Test
+    void testCreateMovement_Backdated_JdbcWriterModeUsesRepair() {
+        ReflectionTestUtils.setField(movementService, "writerMode", MovementServiceImpl.WRITER_MODE_JDBC);
+        LocalDateTime date = movementRequestDTO.getMovementDate();
+        
+        // The head statement finds a later movement and writes nothing
+        when(movementWriter.append(movementRequestDTO)).thenReturn(Optional.empty());
+        when(movementRepository.existsByAccountIdAndMovementDateAfter(1L, date)).thenReturn(true);
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(balanceChainRepairer.balanceBefore(eq(1L), eq(date), any())).thenReturn(Optional.of(Money.of("800.00")));
+        when(movementRepository.saveAndFlush(any(Movement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(balanceChainRepairer.repairFrom(eq(1L), eq(date), any(), eq(Money.of("800.00")), isNull()))
+            .thenReturn(repair("1500.00", null));
+        
+        movementService.createMovement(movementRequestDTO);
+        
+        // The later movement is checked again once the account row is locked
+        InOrder inOrder = inOrder(movementWriter, accountRepository, movementRepository);
+        inOrder.verify(movementWriter).append(movementRequestDTO);
+        inOrder.verify(accountRepository).findByIdForUpdate(1L);
+        inOrder.verify(movementRepository).existsByAccountIdAndMovementDateAfter(1L, date);
+        assertEquals(Money.of("1500.00"), account.getBalance());
+    }
+    
+    @Test
+    void testCreateMovement_JdbcWriterMode() {
+        ReflectionTestUtils.setField(movementService, "writerMode", "jdbc");
+        MovementResponseDTO written = MovementResponseDTO.builder()
+            .id(10L)
+            .accountId(1L)
+            .movementNumber(1L)
+            .amount(new BigDecimal("500.00"))
+            .balance(new BigDecimal("1500.00"))
+            .build();
+        when(movementWriter.append(movementRequestDTO)).thenReturn(Optional.of(written));
+        
+        MovementResponseDTO response = movementService.createMovement(movementRequestDTO);
+        
+        assertSame(written, response);
+        verify(movementWriter).append(movementRequestDTO);
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(movementRepository, never()).save(any(Movement.class));
+        verify(movementRepository, never()).existsByAccountIdAndMovementDateAfter(any(), any());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateMovements_AppliesInDateOrderAndRejectsPerItem() {
+        ReflectionTestUtils.setField(movementService, "batchChunkSize", 500);
+        LocalDateTime base = LocalDateTime.of(2026, 2, 1, 10, 0);
+        List<MovementRequestDTO> requests = Arrays.asList(
+            new MovementRequestDTO(1L, base.plusHours(2), "DEPOSITO", new BigDecimal("100.00"), "ACTIVO"),
+            new MovementRequestDTO(1L, base.plusHours(1), "RETIRO", new BigDecimal("-1200.00"), "ACTIVO"),
+            new MovementRequestDTO(999L, base, "DEPOSITO", new BigDecimal("50.00"), "ACTIVO"),
+            new MovementRequestDTO(1L, base.plusHours(3), "RETIRO", new BigDecimal("-500.00"), "ACTIVO"));
+        
+        when(accountLockManager.executeWithLocks(anyCollection(), any()))
+            .thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(accountRepository.findAllByIdInForUpdate(anyCollection())).thenReturn(Arrays.asList(account));
+        
+        MovementBatchResponseDTO response = movementService.createMovements(requests);
+        
+        assertEquals(4, response.getTotalItems());
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getRejected());
+        
+        List<MovementBatchResponseDTO.ItemResult> results = response.getResults();
+        assertEquals(MovementBatchResponseDTO.STATUS_CREATED, results.get(0).getStatus());
+        assertEquals(new BigDecimal("1100.00"), results.get(0).getBalance());
+        assertEquals(1L, results.get(0).getMovementNumber());
+        assertEquals(MovementBatchResponseDTO.STATUS_REJECTED, results.get(1).getStatus());
+        assertEquals("Saldo no disponible", results.get(1).getMessage());
+        assertEquals(MovementBatchResponseDTO.STATUS_REJECTED, results.get(2).getStatus());
+        assertTrue(results.get(2).getMessage().contains("not found"));
+        assertEquals(MovementBatchResponseDTO.STATUS_CREATED, results.get(3).getStatus());
+        assertEquals(new BigDecimal("600.00"), results.get(3).getBalance());
+        assertEquals(2L, results.get(3).getMovementNumber());
+        
+        ArgumentCaptor<List<Movement>> captor = ArgumentCaptor.forClass(List.class);
+        verify(movementWriter).insertBatch(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(Money.of("600.00"), account.getBalance());
+        assertEquals(2L, account.getLastMovementNumber());
+        verify(balanceSnapshotStore).rebuildFrom(1L, base.toLocalDate());
+        verify(movementRollupStore).addAll(captor.getValue());
+        verify(eventPublisher).publishEvent(MovementsWrittenEvent.of(1L));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateMovements_RejectsItemsOverDailyLimit() {
+        ReflectionTestUtils.setField(movementService, "batchChunkSize", 500);
+        LocalDateTime base = LocalDateTime.of(2026, 2, 1, 10, 0);
+        List<MovementRequestDTO> requests = Arrays.asList(
+            new MovementRequestDTO(1L, base, "RETIRO", new BigDecimal("-100.00"), "ACTIVO"),
+            new MovementRequestDTO(1L, base.plusHours(1), "RETIRO", new BigDecimal("-200.00"), "ACTIVO"));
+        
+        when(accountLockManager.executeWithLocks(anyCollection(), any()))
+            .thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(accountRepository.findAllByIdInForUpdate(anyCollection())).thenReturn(Arrays.asList(account));
+        lenient().doThrow(new DailyLimitExceededException("Cupo diario Excedido")).when(dailyWithdrawalLimiter)
+            .registerWithdrawal(any(Account.class), eq(base.toLocalDate()), eq(Money.of("-200.00")), anyMap());
+        
+        MovementBatchResponseDTO response = movementService.createMovements(requests);
+        
+        assertEquals(1, response.getCreated());
+        assertEquals(MovementBatchResponseDTO.STATUS_REJECTED, response.getResults().get(1).getStatus());
+        assertEquals("Cupo diario Excedido", response.getResults().get(1).getMessage());
+        assertEquals(Money.of("900.00"), account.getBalance());
+        assertEquals(1L, account.getLastMovementNumber());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateMovements_CountsPastDayWithdrawalsOfTheBatch() {
+        ReflectionTestUtils.setField(movementService, "batchChunkSize", 500);
+        ReflectionTestUtils.setField(movementService, "dailyWithdrawalLimiter",
+            new DailyWithdrawalLimiter(movementRepository, "1000.00", ""));
+        LocalDateTime base = LocalDateTime.of(2026, 2, 1, 10, 0);
+        // The daily counter tracks a later day, 600.00 were already withdrawn on the batch day
+        account.setWithdrawalDay(base.toLocalDate().plusDays(1));
+        account.setDailyWithdrawn(Money.of("100.00"));
+        List<MovementRequestDTO> requests = Arrays.asList(
+            new MovementRequestDTO(1L, base, "RETIRO", new BigDecimal("-300.00"), "ACTIVO"),
+            new MovementRequestDTO(1L, base.plusHours(1), "RETIRO", new BigDecimal("-300.00"), "ACTIVO"));
+        
+        when(accountLockManager.executeWithLocks(anyCollection(), any()))
+            .thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(accountRepository.findAllByIdInForUpdate(anyCollection())).thenReturn(Arrays.asList(account));
+        when(movementRepository.sumWithdrawals(eq(1L), any(), any())).thenReturn(new BigDecimal("600.00"));
+        
+        MovementBatchResponseDTO response = movementService.createMovements(requests);
+        
+        // The second withdrawal would take the day to 1200.00
+        assertEquals(1, response.getCreated());
+        assertEquals(MovementBatchResponseDTO.STATUS_CREATED, response.getResults().get(0).getStatus());
+        assertEquals("Cupo diario Excedido", response.getResults().get(1).getMessage());
+        assertEquals(Money.of("700.00"), account.getBalance());
+        assertEquals(Money.of("100.00"), account.getDailyWithdrawn());
+        verify(movementRepository, times(1)).sumWithdrawals(eq(1L), any(), any());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateMovements_PlacesBackdatedItemsAndRepairsChain() {
+        ReflectionTestUtils.setField(movementService, "batchChunkSize", 500);
+        LocalDateTime base = LocalDateTime.of(2026, 2, 1, 10, 0);
+        account.setLastMovementNumber(3L);
+        // Stored chain: day 0 800.00, day 2 300.00, day 4 1000.00 (account balance)
+        List<MovementRequestDTO> requests = Arrays.asList(
+            new MovementRequestDTO(1L, base.plusDays(1), "RETIRO", new BigDecimal("-400.00"), "ACTIVO"),
+            new MovementRequestDTO(1L, base.plusDays(1), "DEPOSITO", new BigDecimal("100.00"), "ACTIVO"),
+            new MovementRequestDTO(1L, base.plusDays(3), "RETIRO", new BigDecimal("-350.00"), "ACTIVO"),
+            new MovementRequestDTO(1L, base.plusDays(5), "RETIRO", new BigDecimal("-200.00"), "ACTIVO"));
+        
+        when(accountLockManager.executeWithLocks(anyCollection(), any()))
+            .thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(accountRepository.findAllByIdInForUpdate(anyCollection())).thenReturn(Arrays.asList(account));
+        when(movementRepository.existsByAccountIdAndMovementDateAfter(1L, base.plusDays(1))).thenReturn(true);
+        when(balanceChainRepairer.balanceBefore(1L, base.plusDays(1), 4L)).thenReturn(Optional.of(Money.of("800.00")));
+        when(balanceChainRepairer.balancesAfter(1L, base.plusDays(1))).thenReturn(Arrays.asList(
+            new BalanceChainRepairer.ChainBalance(base.plusDays(2), Money.of("300.00")),
+            new BalanceChainRepairer.ChainBalance(base.plusDays(4), Money.of("1000.00"))));
+        
+        MovementBatchResponseDTO response = movementService.createMovements(requests);
+        
+        // F3: The first withdrawal would leave the stored day 2 balance below zero
+        assertEquals(3, response.getCreated());
+        List<MovementBatchResponseDTO.ItemResult> results = response.getResults();
+        assertEquals("Saldo no disponible", results.get(0).getMessage());
+        assertEquals(new BigDecimal("900.00"), results.get(1).getBalance());
+        assertEquals(4L, results.get(1).getMovementNumber());
+        assertEquals(new BigDecimal("50.00"), results.get(2).getBalance());
+        assertEquals(new BigDecimal("550.00"), results.get(3).getBalance());
+        assertEquals(6L, results.get(3).getMovementNumber());
+        
+        // Snapshots are rebuilt from the repaired chain
+        InOrder writes = inOrder(movementWriter, balanceChainRepairer, balanceSnapshotStore);
+        writes.verify(movementWriter).insertBatch(anyList());
+        writes.verify(balanceChainRepairer).repairFrom(1L, base.plusDays(1), 4L, Money.of("800.00"), null);
+        writes.verify(balanceSnapshotStore).rebuildFrom(1L, base.plusDays(1).toLocalDate());
+        assertEquals(Money.of("550.00"), account.getBalance());
+        assertEquals(6L, account.getLastMovementNumber());
     }
     
     @Test
     void testUpdateMovement_Success() {
         MovementRequestDTO updateDTO = new MovementRequestDTO();
         updateDTO.setAccountId(1L);
-        updateDTO.setMovementDate(LocalDateTime.now());
+        updateDTO.setMovementDate(movement.getMovementDate());
         updateDTO.setMovementType("DEPOSITO");
-        updateDTO.setAmount(600.0);
+        updateDTO.setAmount(new BigDecimal("600.00"));
         updateDTO.setState("ACTIVO");
         
+        when(movementRepository.findAccountIdById(1L)).thenReturn(Optional.of(1L));
         when(movementRepository.findById(1L)).thenReturn(Optional.of(movement));
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(balanceChainRepairer.balanceBefore(1L, movement.getMovementDate(), 1L))
+            .thenReturn(Optional.of(Money.of("1000.00")));
+        when(balanceChainRepairer.repairFrom(1L, movement.getMovementDate(), 1L, Money.of("1000.00"), 1L))
+            .thenReturn(repair("1700.00", "1600.00"));
         when(movementRepository.save(any(Movement.class))).thenReturn(movement);
         
         MovementResponseDTO response = movementService.updateMovement(1L, updateDTO);
         
         assertNotNull(response);
+        assertEquals(new BigDecimal("1600.00"), response.getBalance());
+        assertEquals(Money.of("1700.00"), account.getBalance());
         verify(movementRepository).findById(1L);
+        verify(movementRepository).saveAndFlush(movement);
         verify(movementRepository).save(any(Movement.class));
     }
     
+    @Test
+    void testUpdateMovement_EarlierDate_RepairsFromNewPosition() {
+        LocalDateTime previousDate = movement.getMovementDate();
+        LocalDateTime newDate = previousDate.minusDays(3);
+        MovementRequestDTO updateDTO = new MovementRequestDTO(1L, newDate, "DEPOSITO", new BigDecimal("500.00"), "ACTIVO");
+        
+        when(movementRepository.findAccountIdById(1L)).thenReturn(Optional.of(1L));
+        when(movementRepository.findById(1L)).thenReturn(Optional.of(movement));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(balanceChainRepairer.balanceBefore(1L, newDate, 1L)).thenReturn(Optional.of(Money.of("200.00")));
+        when(balanceChainRepairer.repairFrom(1L, newDate, 1L, Money.of("200.00"), 1L))
+            .thenReturn(repair("1000.00", "700.00"));
+        when(movementRepository.save(any(Movement.class))).thenReturn(movement);
+        
+        MovementResponseDTO response = movementService.updateMovement(1L, updateDTO);
+        
+        assertEquals(new BigDecimal("700.00"), response.getBalance());
+        assertEquals(newDate, movement.getMovementDate());
+        assertEquals(Money.of("1000.00"), account.getBalance());
+    }
+    
+    @Test
+    void testUpdateMovement_OtherAccount_RepairsBothChains() {
+        Account target = new Account();
+        target.setId(2L);
+        target.setAccountNumber("654321");
+        target.setBalance(Money.of("50.00"));
+        target.setLastMovementNumber(4L);
+        MovementRequestDTO updateDTO = new MovementRequestDTO(2L, movement.getMovementDate(), "DEPOSITO",
+            new BigDecimal("500.00"), "ACTIVO");
+        
+        when(movementRepository.findAccountIdById(1L)).thenReturn(Optional.of(1L));
+        when(movementRepository.findById(1L)).thenReturn(Optional.of(movement));
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(account, target));
+        when(balanceChainRepairer.balanceBefore(1L, movement.getMovementDate(), 1L))
+            .thenReturn(Optional.of(Money.of("1000.00")));
+        when(balanceChainRepairer.balanceBefore(2L, movement.getMovementDate(), 5L)).thenReturn(Optional.empty());
+        when(balanceChainRepairer.repairFrom(1L, movement.getMovementDate(), 1L, Money.of("1000.00"), null))
+            .thenReturn(repair("1000.00", null));
+        when(balanceChainRepairer.repairFrom(2L, movement.getMovementDate(), 5L, Money.of("50.00"), 1L))
+            .thenReturn(repair("550.00", "550.00"));
+        when(movementRepository.save(any(Movement.class))).thenReturn(movement);
+        
+        MovementResponseDTO response = movementService.updateMovement(1L, updateDTO);
+        
+        assertEquals(2L, response.getAccountId());
+        assertEquals(5L, response.getMovementNumber());
+        assertEquals(Money.of("1000.00"), account.getBalance());
+        assertEquals(Money.of("550.00"), target.getBalance());
+        assertEquals(5L, target.getLastMovementNumber());
+        verify(balanceSnapshotStore).rebuildFrom(1L, movement.getMovementDate().toLocalDate());
+        verify(balanceSnapshotStore).rebuildFrom(2L, movement.getMovementDate().toLocalDate());
+        verify(movementRollupStore).remove(1L, movement.getMovementDate().toLocalDate(), Money.of("500.00"));
+        verify(movementRollupStore).add(2L, movement.getMovementDate().toLocalDate(), Money.of("500.00"));
+        verify(eventPublisher).publishEvent(MovementsWrittenEvent.of(1L, 2L));
+    }
+    
+    @Test
+    void testUpdateMovement_StateOnly_SkipsRepair() {
+        MovementRequestDTO updateDTO = new MovementRequestDTO(1L, movement.getMovementDate(), "DEPOSITO",
+            new BigDecimal("500.00"), "INACTIVO");
+        
+        when(movementRepository.findAccountIdById(1L)).thenReturn(Optional.of(1L));
+        when(movementRepository.findById(1L)).thenReturn(Optional.of(movement));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(movementRepository.save(any(Movement.class))).thenReturn(movement);
+        
+        MovementResponseDTO response = movementService.updateMovement(1L, updateDTO);
+        
+        assertEquals("INACTIVO", response.getState());
+        verifyNoInteractions(balanceChainRepairer, movementRollupStore);
+    }
+    
     @Test
     void testUpdateMovement_NotFound() {
-        when(movementRepository.findById(999L)).thenReturn(Optional.empty());
+        when(movementRepository.findAccountIdById(999L)).thenReturn(Optional.empty());
         
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             movementService.updateMovement(999L, movementRequestDTO);
         });
         
         assertTrue(exception.getMessage().contains("not found"));
-        verify(movementRepository).findById(999L);
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(movementRepository, never()).save(any(Movement.class));
+    }
+    
+    @Test
+    void testUpdateMovement_MovedBeforeLocks_Retries() {
+        Movement moved = new Movement();
+        moved.setId(1L);
+        moved.setAccount(new Account());
+        moved.getAccount().setId(2L);
+        
+        // Another update moved the movement to account 2 before account 1 was locked
+        when(movementRepository.findAccountIdById(1L)).thenReturn(Optional.of(1L));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(movementRepository.findById(1L)).thenReturn(Optional.of(moved));
+        
+        assertThrows(ConcurrencyFailureException.class, () -> movementService.updateMovement(1L, movementRequestDTO));
+        
+        InOrder reads = inOrder(accountRepository, movementRepository);
+        reads.verify(accountRepository).findByIdForUpdate(1L);
+        reads.verify(movementRepository).findById(1L);
+        verifyNoInteractions(balanceChainRepairer);
         verify(movementRepository, never()).save(any(Movement.class));
     }
     
@@ -211,12 +611,19 @@ class MovementServiceImplTest {
     void testUpdateMovement_InsufficientBalance() {
         MovementRequestDTO updateDTO = new MovementRequestDTO();
         updateDTO.setAccountId(1L);
-        updateDTO.setMovementDate(LocalDateTime.now());
+        updateDTO.setMovementDate(movement.getMovementDate());
         updateDTO.setMovementType("RETIRO");
-        updateDTO.setAmount(-2000.0);
+        updateDTO.setAmount(new BigDecimal("-2000.00"));
         updateDTO.setState("ACTIVO");
         
+        when(movementRepository.findAccountIdById(1L)).thenReturn(Optional.of(1L));
         when(movementRepository.findById(1L)).thenReturn(Optional.of(movement));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(balanceChainRepairer.balanceBefore(1L, movement.getMovementDate(), 1L))
+            .thenReturn(Optional.of(Money.of("1000.00")));
+        // F3: a later movement of the chain would go below zero
+        when(balanceChainRepairer.repairFrom(eq(1L), any(), eq(1L), any(), eq(1L)))
+            .thenThrow(new InsufficientBalanceException("Saldo no disponible"));
         
         InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class, () -> {
             movementService.updateMovement(1L, updateDTO);
@@ -225,6 +632,7 @@ class MovementServiceImplTest {
         assertEquals("Saldo no disponible", exception.getMessage());
         verify(movementRepository).findById(1L);
         verify(movementRepository, never()).save(any(Movement.class));
+        verify(accountRepository, never()).saveAll(any());
     }
     
     @Test
@@ -244,7 +652,7 @@ class MovementServiceImplTest {
         
         assertNotNull(response);
         assertEquals(movement.getId(), response.getId());
-        assertEquals(movement.getAmount(), response.getAmount());
+        assertEquals(movement.getAmount().toBigDecimal(), response.getAmount());
         verify(movementRepository).findById(1L);
     }
     
@@ -268,8 +676,8 @@ class MovementServiceImplTest {
         movement2.setMovementNumber(2L);
         movement2.setMovementDate(LocalDateTime.now());
         movement2.setMovementType("RETIRO");
-        movement2.setAmount(-200.0);
-        movement2.setBalance(1300.0);
+        movement2.setAmount(Money.of("-200.00"));
+        movement2.setBalance(Money.of("1300.00"));
         movement2.setState("ACTIVO");
         
         List<Movement> movements = Arrays.asList(movement, movement2);
@@ -301,8 +709,8 @@ class MovementServiceImplTest {
         movement2.setMovementNumber(2L);
         movement2.setMovementDate(LocalDateTime.now());
         movement2.setMovementType("RETIRO");
-        movement2.setAmount(-200.0);
-        movement2.setBalance(1300.0);
+        movement2.setAmount(Money.of("-200.00"));
+        movement2.setBalance(Money.of("1300.00"));
         movement2.setState("ACTIVO");
         
         List<Movement> movements = Arrays.asList(movement, movement2);
@@ -327,4 +735,13 @@ class MovementServiceImplTest {
         assertTrue(response.isEmpty());
         verify(movementRepository).findByAccountId(999L);
     }
+    
+    private BalanceChainRepairer.Result repair(String finalBalance, String trackedBalance) {
+        return BalanceChainRepairer.Result.builder()
+            .valid(true)
+            .finalBalance(Money.of(finalBalance))
+            .trackedBalance(trackedBalance == null ? null : Money.of(trackedBalance))
+            .repaired(1)
+            .build();
+    }
 }
@@ -0,0 +1,137 @@
+package com.devsu.application.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+import com.devsu.infrastructure.cache.service.ReportCache;
+import com.devsu.infrastructure.client.ClientServiceClient;
+import com.devsu.infrastructure.executor.ReportExecutor;
+import com.devsu.infrastructure.persistence.AccountStatementReader;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency benchmark of account statement generation (F4)
+ * p50/p99 by number of accounts, with the client lookup run sequentially and
+ * concurrently with the statement query. The lookup is simulated with a fixed delay.
+ * Run with: mvn test -Dtest=ReportLatencyBenchmark -Dreport.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "report.benchmark", matches = "true")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({AccountStatementReader.class, BalanceSnapshotStore.class})
+@DisplayName("Report latency benchmark")
+class ReportLatencyBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 2, 28, 23, 59);
+    private static final int[] ACCOUNT_COUNTS = {1, 10, 50, 200};
+    private static final int MOVEMENTS_PER_ACCOUNT = 20;
+    private static final long CLIENT_LOOKUP_MILLIS = Long.getLong("report.benchmark.lookup-ms", 20);
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private AccountStatementReader accountStatementReader;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should report p50/p99 latency by account count")
+    void benchmark() throws Exception {
+        // Blocking lookup for the sequential run, overlapped one for the concurrent run
+        ClientServiceClient blockingClient = mock(ClientServiceClient.class);
+        when(blockingClient.getClientByClientIdAsync(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(CLIENT_LOOKUP_MILLIS);
+            return CompletableFuture.completedFuture(client(invocation.getArgument(0)));
+        });
+        ClientServiceClient asyncClient = mock(ClientServiceClient.class);
+        when(asyncClient.getClientByClientIdAsync(anyString())).thenAnswer(invocation -> CompletableFuture.supplyAsync(
+            () -> client(invocation.getArgument(0)), CompletableFuture.delayedExecutor(CLIENT_LOOKUP_MILLIS, TimeUnit.MILLISECONDS)));
+        ReportCache noCache = new ReportCache(new SimpleMeterRegistry(), false, 0, 0, 0);
+        ReportExecutor sequential = new ReportExecutor(0, false);
+        ReportExecutor concurrent = new ReportExecutor(16, true);
+
+        System.out.printf("%nClient lookup %d ms, %d movements per account, %d iterations (%s threads)%n",
+            CLIENT_LOOKUP_MILLIS, MOVEMENTS_PER_ACCOUNT, ITERATIONS, concurrent.usesVirtualThreads() ? "virtual" : "platform");
+        System.out.printf("%8s | %12s %12s | %12s %12s%n", "accounts", "seq p50 ms", "seq p99 ms", "conc p50 ms", "conc p99 ms");
+        try {
+            for (int accounts : ACCOUNT_COUNTS) {
+                String clientId = "bench-" + accounts;
+                createClient(clientId, accounts);
+                double[] seq = measure(new ReportServiceImpl(accountStatementReader, blockingClient, noCache, sequential, transactionManager), clientId, accounts);
+                double[] conc = measure(new ReportServiceImpl(accountStatementReader, asyncClient, noCache, concurrent, transactionManager), clientId, accounts);
+                System.out.printf("%8d | %12.2f %12.2f | %12.2f %12.2f%n", accounts, seq[0], seq[1], conc[0], conc[1]);
+            }
+        } finally {
+            concurrent.destroy();
+        }
+    }
+
+    /**
+     * p50 and p99 of generateAccountStatement in milliseconds
+     */
+    private double[] measure(ReportServiceImpl service, String clientId, int accounts) {
+        for (int i = 0; i < WARMUP; i++) {
+            service.generateAccountStatement(clientId, START, END);
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            assertEquals(accounts, service.generateAccountStatement(clientId, START, END).getAccounts().size());
+            samples[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(samples);
+        return new double[] {
+            samples[(int) Math.ceil(ITERATIONS * 0.50) - 1] / 1e6,
+            samples[(int) Math.ceil(ITERATIONS * 0.99) - 1] / 1e6
+        };
+    }
+
+    private static ClientCacheDTO client(String clientId) {
+        return ClientCacheDTO.builder().clientId(clientId).name("Cliente").build();
+    }
+
+    private void createClient(String clientId, int accounts) {
+        List<Movement> movements = new ArrayList<>();
+        for (int a = 0; a < accounts; a++) {
+            Account account = accountRepository.save(new Account(null, clientId + "-" + a, "Ahorros",
+                Money.of(MOVEMENTS_PER_ACCOUNT * 10 + ".00"), "true", null, clientId));
+            for (int m = 1; m <= MOVEMENTS_PER_ACCOUNT; m++) {
+                movements.add(new Movement(null, account, (long) m, START.plusDays(1).plusMinutes(m), "Deposito",
+                    Money.of("10.00"), Money.of(m * 10 + ".00"), "true"));
+            }
+        }
+        movementRepository.saveAll(movements);
+        movementRepository.flush();
+    }
+}
@@ -2,28 +2,57 @@ package com.devsu.application.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import com.devsu.application.dto.ReportBatchManifestDTO;
+import com.devsu.application.dto.ReportBatchRequestDTO;
 import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.dto.StatementPageResponseDTO;
+import com.devsu.domain.exception.BusinessException;
 import com.devsu.domain.exception.ResourceNotFoundException;
-import com.devsu.domain.model.Account;
-import com.devsu.domain.model.Movement;
-import com.devsu.domain.repository.AccountRepository;
-import com.devsu.domain.repository.MovementRepository;
 import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+import com.devsu.infrastructure.cache.service.ReportCache;
 import com.devsu.infrastructure.client.ClientServiceClient;
+import com.devsu.infrastructure.executor.ReportExecutor;
+import com.devsu.infrastructure.export.StatementArchiveWriter;
+import com.devsu.infrastructure.export.StatementExportFormat;
+import com.devsu.infrastructure.export.StatementExportWriter;
+import com.devsu.infrastructure.persistence.AccountStatementReader;
+import com.devsu.infrastructure.persistence.StatementCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Unit tests for ReportServiceImpl
@@ -34,22 +63,26 @@ import com.devsu.infrastructure.client.ClientServiceClient;
 class ReportServiceImplTest {
     
     @Mock
-    private AccountRepository accountRepository;
+    private AccountStatementReader accountStatementReader;
     
     @Mock
-    private MovementRepository movementRepository;
+    private ClientServiceClient clientServiceClient;
+    
+    @Spy
+    private ReportCache reportCache = new ReportCache(new SimpleMeterRegistry(), false, 0, 0, 0);
+    
+    @Spy
+    private ReportExecutor reportExecutor = new ReportExecutor(0, false);
     
     @Mock
-    private ClientServiceClient clientServiceClient;
+    private PlatformTransactionManager transactionManager;
     
     @InjectMocks
     private ReportServiceImpl reportService;
     
-    private Account account1;
-    private Account account2;
-    private Movement movement1;
-    private Movement movement2;
-    private Movement movement3;
+    private ReportResponseDTO.MovementInfo movement1;
+    private ReportResponseDTO.MovementInfo movement2;
+    private ReportResponseDTO.MovementInfo movement3;
     private ClientCacheDTO clientCache;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
@@ -58,54 +91,15 @@ class ReportServiceImplTest {
     void setUp() {
         startDate = LocalDateTime.of(2026, 2, 1, 0, 0);
         endDate = LocalDateTime.of(2026, 2, 28, 23, 59);
-        
-        // Setup accounts
-        account1 = new Account();
-        account1.setId(1L);
-        account1.setAccountNumber("123456");
-        account1.setAccountType("AHORROS");
-        account1.setBalance(1500.0);
-        account1.setState("ACTIVA");
-        account1.setClientId("JLEMA001");
-        
-        account2 = new Account();
-        account2.setId(2L);
-        account2.setAccountNumber("654321");
-        account2.setAccountType("CORRIENTE");
-        account2.setBalance(700.0);
-        account2.setState("ACTIVA");
-        account2.setClientId("JLEMA001");
+        ReflectionTestUtils.setField(reportService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(reportService, "maxPageSize", 10);
+        ReflectionTestUtils.setField(reportService, "maxBatchClients", 4);
+        ReflectionTestUtils.setField(reportService, "batchChunkSize", 2);
         
         // Setup movements
-        movement1 = new Movement();
-        movement1.setId(1L);
-        movement1.setAccount(account1);
-        movement1.setMovementNumber(1L);
-        movement1.setMovementDate(LocalDateTime.of(2026, 2, 4, 10, 0));
-        movement1.setMovementType("Retiro de 575");
-        movement1.setAmount(-575.0);
-        movement1.setBalance(1425.0);
-        movement1.setState("ACTIVO");
-        
-        movement2 = new Movement();
-        movement2.setId(2L);
-        movement2.setAccount(account1);
-        movement2.setMovementNumber(2L);
-        movement2.setMovementDate(LocalDateTime.of(2026, 2, 5, 11, 0));
-        movement2.setMovementType("Deposito de 100");
-        movement2.setAmount(100.0);
-        movement2.setBalance(1525.0);
-        movement2.setState("ACTIVO");
-        
-        movement3 = new Movement();
-        movement3.setId(3L);
-        movement3.setAccount(account2);
-        movement3.setMovementNumber(1L);
-        movement3.setMovementDate(LocalDateTime.of(2026, 2, 6, 12, 0));
-        movement3.setMovementType("Deposito de 600");
-        movement3.setAmount(600.0);
-        movement3.setBalance(700.0);
-        movement3.setState("ACTIVO");
+        movement1 = movement(1L, LocalDateTime.of(2026, 2, 4, 10, 0), "Retiro de 575", "-575.00", "1425.00");
+        movement2 = movement(2L, LocalDateTime.of(2026, 2, 5, 11, 0), "Deposito de 100", "100.00", "1525.00");
+        movement3 = movement(3L, LocalDateTime.of(2026, 2, 6, 12, 0), "Deposito de 600", "600.00", "700.00");
         
         // Setup client cache
         clientCache = ClientCacheDTO.builder()
@@ -125,20 +119,9 @@ class ReportServiceImplTest {
     @DisplayName("Should generate account statement successfully")
     void testGenerateAccountStatement_Success() {
         // Given
-        List<Account> accounts = Arrays.asList(account1, account2);
-        List<Movement> movements1 = Arrays.asList(movement1, movement2);
-        List<Movement> movements2 = Arrays.asList(movement3);
-        
-        when(accountRepository.findByClientId("JLEMA001")).thenReturn(accounts);
-        when(movementRepository.findByAccountAndMovementDateBetween(eq(account1), any(), any()))
-            .thenReturn(movements1);
-        when(movementRepository.findByAccountAndMovementDateBetween(eq(account2), any(), any()))
-            .thenReturn(movements2);
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account1))
-            .thenReturn(Arrays.asList(movement2, movement1));
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account2))
-            .thenReturn(Arrays.asList(movement3));
-        when(clientServiceClient.getClientByClientId("JLEMA001")).thenReturn(clientCache);
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate)).thenReturn(Arrays.asList(
+            account1("2000.00", movement1, movement2), account2("100.00", movement3)));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
         
         // When
         ReportResponseDTO report = reportService.generateAccountStatement("JLEMA001", startDate, endDate);
@@ -151,18 +134,43 @@ class ReportServiceImplTest {
         assertEquals(2, report.getAccounts().size());
         assertEquals(2, report.getSummary().getTotalAccounts());
         assertEquals(3, report.getSummary().getTotalMovements());
-        assertTrue(report.getSummary().getTotalDeposits() > 0);
-        assertTrue(report.getSummary().getTotalWithdrawals() < 0);
+        assertTrue(report.getSummary().getTotalDeposits().signum() > 0);
+        assertTrue(report.getSummary().getTotalWithdrawals().signum() < 0);
         
-        verify(accountRepository).findByClientId("JLEMA001");
-        verify(clientServiceClient).getClientByClientId("JLEMA001");
+        verify(accountStatementReader).readStatements("JLEMA001", startDate, endDate);
+        verify(clientServiceClient).getClientByClientIdAsync("JLEMA001");
+        verify(reportCache).get(eq("JLEMA001"), eq(startDate), eq(endDate), any());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+    
+    @Test
+    @DisplayName("Should serve a cached account statement without opening a transaction")
+    void testGenerateAccountStatement_CacheHitWithoutTransaction() {
+        // Given
+        ReportServiceImpl cached = new ReportServiceImpl(accountStatementReader, clientServiceClient,
+            new ReportCache(new SimpleMeterRegistry(), true, 200_000, 60, 3600), reportExecutor, transactionManager);
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate)).thenReturn(Arrays.asList(
+            account1("2000.00", movement1, movement2), account2("100.00", movement3)));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
+        ReportResponseDTO first = cached.generateAccountStatement("JLEMA001", startDate, endDate);
+        clearInvocations(transactionManager, accountStatementReader);
+    
+        // When
+        ReportResponseDTO second = cached.generateAccountStatement("JLEMA001", startDate, endDate);
+    
+        // Then
+        assertEquals(first.getAccounts(), second.getAccounts());
+        assertEquals(first.getSummary(), second.getSummary());
+        verifyNoInteractions(transactionManager, accountStatementReader);
     }
     
     @Test
     @DisplayName("Should throw exception when no accounts found for client")
     void testGenerateAccountStatement_NoAccountsFound() {
         // Given
-        when(accountRepository.findByClientId("NOCLIENT")).thenReturn(Arrays.asList());
+        // The client lookup is still running when the missing accounts are reported
+        when(clientServiceClient.getClientByClientIdAsync("NOCLIENT")).thenReturn(new CompletableFuture<>());
+        when(accountStatementReader.readStatements("NOCLIENT", startDate, endDate)).thenReturn(Arrays.asList());
         
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -170,22 +178,33 @@ class ReportServiceImplTest {
         });
         
         assertTrue(exception.getMessage().contains("No accounts found"));
-        verify(accountRepository).findByClientId("NOCLIENT");
-        verify(clientServiceClient, never()).getClientByClientId(any());
+        verify(accountStatementReader).readStatements("NOCLIENT", startDate, endDate);
+    }
+    
+    @Test
+    @DisplayName("Should propagate a client lookup failure after reading the statements")
+    void testGenerateAccountStatement_ClientNotFound() {
+        // Given
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001"))
+            .thenReturn(CompletableFuture.failedFuture(new ResourceNotFoundException("Client not found with clientId: JLEMA001")));
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate))
+            .thenReturn(Arrays.asList(account1("1000.00", movement1)));
+        
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+            () -> reportService.generateAccountStatement("JLEMA001", startDate, endDate));
+        
+        assertEquals("Client not found with clientId: JLEMA001", exception.getMessage());
+        verify(clientServiceClient).getClientByClientIdAsync("JLEMA001");
     }
     
     @Test
     @DisplayName("Should generate report with empty movements")
     void testGenerateAccountStatement_NoMovementsInRange() {
         // Given
-        List<Account> accounts = Arrays.asList(account1);
-        
-        when(accountRepository.findByClientId("JLEMA001")).thenReturn(accounts);
-        when(movementRepository.findByAccountAndMovementDateBetween(eq(account1), any(), any()))
-            .thenReturn(Arrays.asList());
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account1))
-            .thenReturn(Arrays.asList());
-        when(clientServiceClient.getClientByClientId("JLEMA001")).thenReturn(clientCache);
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate))
+            .thenReturn(Arrays.asList(account1("1500.00")));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
         
         // When
         ReportResponseDTO report = reportService.generateAccountStatement("JLEMA001", startDate, endDate);
@@ -195,25 +214,18 @@ class ReportServiceImplTest {
         assertEquals(1, report.getAccounts().size());
         assertEquals(0, report.getAccounts().get(0).getMovements().size());
         assertEquals(0, report.getSummary().getTotalMovements());
-        assertEquals(0.0, report.getSummary().getTotalDeposits());
-        assertEquals(0.0, report.getSummary().getTotalWithdrawals());
-        
-        verify(accountRepository).findByClientId("JLEMA001");
+        assertEquals(new BigDecimal("0.00"), report.getSummary().getTotalDeposits());
+        assertEquals(new BigDecimal("0.00"), report.getSummary().getTotalWithdrawals());
+        assertEquals(new BigDecimal("0.00"), report.getSummary().getNetChange());
     }
     
     @Test
     @DisplayName("Should calculate summary correctly with deposits and withdrawals")
     void testGenerateAccountStatement_CalculateSummary() {
         // Given
-        List<Account> accounts = Arrays.asList(account1);
-        List<Movement> movements = Arrays.asList(movement1, movement2);
-        
-        when(accountRepository.findByClientId("JLEMA001")).thenReturn(accounts);
-        when(movementRepository.findByAccountAndMovementDateBetween(eq(account1), any(), any()))
-            .thenReturn(movements);
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account1))
-            .thenReturn(Arrays.asList(movement2, movement1));
-        when(clientServiceClient.getClientByClientId("JLEMA001")).thenReturn(clientCache);
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate))
+            .thenReturn(Arrays.asList(account1("2000.00", movement1, movement2)));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
         
         // When
         ReportResponseDTO report = reportService.generateAccountStatement("JLEMA001", startDate, endDate);
@@ -221,32 +233,40 @@ class ReportServiceImplTest {
         // Then
         assertEquals(1, report.getSummary().getTotalAccounts());
         assertEquals(2, report.getSummary().getTotalMovements());
-        assertEquals(100.0, report.getSummary().getTotalDeposits());
-        assertEquals(-575.0, report.getSummary().getTotalWithdrawals());
+        assertEquals(new BigDecimal("100.00"), report.getSummary().getTotalDeposits());
+        assertEquals(new BigDecimal("-575.00"), report.getSummary().getTotalWithdrawals());
         
-        double expectedNetChange = report.getAccounts().get(0).getFinalBalance() 
-                                 - report.getAccounts().get(0).getInitialBalance();
+        BigDecimal expectedNetChange = report.getAccounts().get(0).getFinalBalance()
+                                 .subtract(report.getAccounts().get(0).getInitialBalance());
         assertEquals(expectedNetChange, report.getSummary().getNetChange());
     }
     
+    @Test
+    @DisplayName("Should sum fractional amounts exactly")
+    void testGenerateAccountStatement_ExactSummary() {
+        // Given
+        movement1 = movement(1L, movement1.getMovementDate(), "Deposito", "0.10", "1500.10");
+        movement2 = movement(2L, movement2.getMovementDate(), "Deposito", "0.20", "1500.30");
+        
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate))
+            .thenReturn(Arrays.asList(account1("1500.00", movement1, movement2)));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
+        
+        // When
+        ReportResponseDTO report = reportService.generateAccountStatement("JLEMA001", startDate, endDate);
+        
+        // Then: 0.1 + 0.2 as double would be 0.30000000000000004
+        assertEquals(new BigDecimal("0.30"), report.getSummary().getTotalDeposits());
+        assertEquals(new BigDecimal("1500.30"), report.getAccounts().get(0).getFinalBalance());
+    }
+    
     @Test
     @DisplayName("Should generate report for multiple accounts")
     void testGenerateAccountStatement_MultipleAccounts() {
         // Given
-        List<Account> accounts = Arrays.asList(account1, account2);
-        List<Movement> movements1 = Arrays.asList(movement1);
-        List<Movement> movements2 = Arrays.asList(movement3);
-        
-        when(accountRepository.findByClientId("JLEMA001")).thenReturn(accounts);
-        when(movementRepository.findByAccountAndMovementDateBetween(eq(account1), any(), any()))
-            .thenReturn(movements1);
-        when(movementRepository.findByAccountAndMovementDateBetween(eq(account2), any(), any()))
-            .thenReturn(movements2);
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account1))
-            .thenReturn(Arrays.asList(movement1));
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account2))
-            .thenReturn(Arrays.asList(movement3));
-        when(clientServiceClient.getClientByClientId("JLEMA001")).thenReturn(clientCache);
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate)).thenReturn(Arrays.asList(
+            account1("2000.00", movement1), account2("100.00", movement3)));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
         
         // When
         ReportResponseDTO report = reportService.generateAccountStatement("JLEMA001", startDate, endDate);
@@ -263,15 +283,9 @@ class ReportServiceImplTest {
     @DisplayName("Should include correct movement details in report")
     void testGenerateAccountStatement_MovementDetails() {
         // Given
-        List<Account> accounts = Arrays.asList(account1);
-        List<Movement> movements = Arrays.asList(movement1);
-        
-        when(accountRepository.findByClientId("JLEMA001")).thenReturn(accounts);
-        when(movementRepository.findByAccountAndMovementDateBetween(eq(account1), any(), any()))
-            .thenReturn(movements);
-        when(movementRepository.findByAccountOrderByMovementDateDesc(account1))
-            .thenReturn(Arrays.asList(movement1));
-        when(clientServiceClient.getClientByClientId("JLEMA001")).thenReturn(clientCache);
+        when(accountStatementReader.readStatements("JLEMA001", startDate, endDate))
+            .thenReturn(Arrays.asList(account1("2000.00", movement1)));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
         
         // When
         ReportResponseDTO report = reportService.generateAccountStatement("JLEMA001", startDate, endDate);
@@ -280,9 +294,281 @@ class ReportServiceImplTest {
         ReportResponseDTO.MovementInfo movementInfo = report.getAccounts().get(0).getMovements().get(0);
         assertEquals(1L, movementInfo.getMovementId());
         assertEquals("Retiro de 575", movementInfo.getMovementType());
-        assertEquals(-575.0, movementInfo.getAmount());
-        assertEquals(1425.0, movementInfo.getBalance());
+        assertEquals(new BigDecimal("-575.00"), movementInfo.getAmount());
+        assertEquals(new BigDecimal("1425.00"), movementInfo.getBalance());
         assertEquals("ACTIVO", movementInfo.getState());
         assertNotNull(movementInfo.getMovementDate());
     }
+    
+    @Test
+    @DisplayName("Should stream every record and write the running summary last")
+    void testExportAccountStatement_StreamsRecordsAndSummary() throws IOException {
+        // Given
+        List<ReportResponseDTO.AccountInfo> accounts = Arrays.asList(
+            account1("2000.00", movement1, movement2), account2("100.00", movement3));
+        doAnswer(invocation -> {
+            stream(accounts, invocation.getArgument(3));
+            return null;
+        }).when(accountStatementReader).streamStatements(eq("JLEMA001"), eq(startDate), eq(endDate), any());
+        StatementExportWriter writer = mock(StatementExportWriter.class);
+        ReportResponseDTO.ClientInfo client = new ReportResponseDTO.ClientInfo("JLEMA001", "José Lema");
+        
+        // When
+        reportService.exportAccountStatement(client, startDate, endDate, writer);
+        
+        // Then
+        InOrder inOrder = inOrder(writer);
+        inOrder.verify(writer).writeClient(client);
+        inOrder.verify(writer).writeAccount(argThat(a -> a.getAccountId() == 1L));
+        inOrder.verify(writer).writeMovement(any(), eq(movement1));
+        inOrder.verify(writer).writeMovement(any(), eq(movement2));
+        inOrder.verify(writer).writeAccount(argThat(a -> a.getAccountId() == 2L));
+        inOrder.verify(writer).writeMovement(any(), eq(movement3));
+        ArgumentCaptor<ReportResponseDTO.Summary> summary = ArgumentCaptor.forClass(ReportResponseDTO.Summary.class);
+        inOrder.verify(writer).writeSummary(summary.capture());
+        inOrder.verify(writer).flush();
+        
+        assertEquals(2, summary.getValue().getTotalAccounts());
+        assertEquals(3, summary.getValue().getTotalMovements());
+        assertEquals(new BigDecimal("700.00"), summary.getValue().getTotalDeposits());
+        assertEquals(new BigDecimal("-575.00"), summary.getValue().getTotalWithdrawals());
+        assertEquals(new BigDecimal("125.00"), summary.getValue().getNetChange());
+        verify(accountStatementReader, never()).readStatements(any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Should reject an export for a client without accounts before streaming")
+    void testGetStatementClient_NoAccountsFound() {
+        when(clientServiceClient.getClientByClientIdAsync("NOCLIENT")).thenReturn(new CompletableFuture<>());
+        when(accountStatementReader.hasAccounts("NOCLIENT")).thenReturn(false);
+        
+        assertThrows(ResourceNotFoundException.class, () -> reportService.getStatementClient("NOCLIENT"));
+        verify(accountStatementReader).hasAccounts("NOCLIENT");
+    }
+    
+    @Test
+    @DisplayName("Should total the account summaries aggregated by the database")
+    void testGenerateAccountSummary() {
+        // Given
+        ReportResponseDTO.AccountInfo first = account1("2000.00");
+        first.setMovements(null);
+        first.setFinalBalance(new BigDecimal("1525.00"));
+        first.setSummary(new ReportResponseDTO.Summary(null, 2, new BigDecimal("100.00"), new BigDecimal("-575.00"),
+            new BigDecimal("-475.00")));
+        ReportResponseDTO.AccountInfo second = account2("100.00");
+        second.setMovements(null);
+        second.setFinalBalance(new BigDecimal("700.00"));
+        second.setSummary(new ReportResponseDTO.Summary(null, 1, new BigDecimal("600.00"), new BigDecimal("0.00"),
+            new BigDecimal("600.00")));
+        when(accountStatementReader.readSummaries("JLEMA001", startDate, endDate)).thenReturn(Arrays.asList(first, second));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
+        
+        // When
+        ReportResponseDTO report = reportService.generateAccountSummary("JLEMA001", startDate, endDate);
+        
+        // Then
+        assertEquals("José Lema", report.getClient().getClientName());
+        assertEquals(2, report.getAccounts().size());
+        assertNull(report.getAccounts().get(0).getMovements());
+        assertEquals(2, report.getSummary().getTotalAccounts());
+        assertEquals(3, report.getSummary().getTotalMovements());
+        assertEquals(new BigDecimal("700.00"), report.getSummary().getTotalDeposits());
+        assertEquals(new BigDecimal("-575.00"), report.getSummary().getTotalWithdrawals());
+        assertEquals(new BigDecimal("125.00"), report.getSummary().getNetChange());
+        verify(accountStatementReader, never()).readStatements(any(), any(), any());
+        verifyNoInteractions(reportCache);
+    }
+    
+    @Test
+    @DisplayName("Should throw exception when no accounts found for a summary")
+    void testGenerateAccountSummary_NoAccountsFound() {
+        when(clientServiceClient.getClientByClientIdAsync("NOCLIENT")).thenReturn(new CompletableFuture<>());
+        when(accountStatementReader.readSummaries("NOCLIENT", startDate, endDate)).thenReturn(Arrays.asList());
+        
+        assertThrows(ResourceNotFoundException.class,
+            () -> reportService.generateAccountSummary("NOCLIENT", startDate, endDate));
+    }
+    
+    @Test
+    @DisplayName("Should return the first page of every account with the totals of the whole period")
+    void testGenerateAccountStatementPage() {
+        // Given
+        ReportResponseDTO.AccountInfo first = account1("2000.00");
+        first.setMovements(null);
+        first.setFinalBalance(new BigDecimal("2125.00"));
+        first.setSummary(new ReportResponseDTO.Summary(null, 3, new BigDecimal("700.00"), new BigDecimal("-575.00"),
+            new BigDecimal("125.00")));
+        ReportResponseDTO.AccountInfo second = account2("100.00");
+        second.setMovements(null);
+        second.setSummary(new ReportResponseDTO.Summary(null, 0, new BigDecimal("0.00"), new BigDecimal("0.00"),
+            new BigDecimal("0.00")));
+        StatementCursor next = new StatementCursor(1L, endDate, movement2.getMovementDate(), 2L, 2L);
+        when(accountStatementReader.readSummaries("JLEMA001", startDate, endDate)).thenReturn(Arrays.asList(first, second));
+        when(accountStatementReader.readFirstMovements(1L, startDate, endDate, 2))
+            .thenReturn(new AccountStatementReader.MovementPage(List.of(movement1, movement2), next));
+        when(accountStatementReader.readFirstMovements(2L, startDate, endDate, 2))
+            .thenReturn(new AccountStatementReader.MovementPage(List.of(), null));
+        when(clientServiceClient.getClientByClientIdAsync("JLEMA001")).thenReturn(CompletableFuture.completedFuture(clientCache));
+        
+        // When
+        ReportResponseDTO report = reportService.generateAccountStatementPage("JLEMA001", startDate, endDate, 2);
+        
+        // Then
+        assertEquals(2, report.getAccounts().get(0).getMovements().size());
+        assertEquals(next, StatementCursor.decode(report.getAccounts().get(0).getNextCursor()));
+        assertNull(report.getAccounts().get(1).getNextCursor());
+        assertEquals(3, report.getSummary().getTotalMovements());
+        assertEquals(new BigDecimal("125.00"), report.getSummary().getNetChange());
+        verify(accountStatementReader, never()).readStatements(any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Should continue an account statement from its cursor")
+    void testGetStatementMovements() {
+        StatementCursor cursor = new StatementCursor(1L, endDate, movement2.getMovementDate(), 2L, 2L);
+        when(accountStatementReader.readNextMovements(cursor, 2))
+            .thenReturn(new AccountStatementReader.MovementPage(List.of(movement3), null));
+        
+        StatementPageResponseDTO page = reportService.getStatementMovements(cursor.encode(), null);
+        
+        assertEquals(1L, page.getAccountId());
+        assertEquals(List.of(movement3), page.getMovements());
+        assertNull(page.getNextCursor());
+        verifyNoInteractions(clientServiceClient);
+    }
+    
+    @Test
+    @DisplayName("Should reject invalid cursors and page sizes")
+    void testGetStatementMovements_Invalid() {
+        String cursor = new StatementCursor(1L, endDate, movement2.getMovementDate(), 2L, 2L).encode();
+        
+        assertThrows(BusinessException.class, () -> reportService.getStatementMovements("not-a-cursor", null));
+        assertThrows(BusinessException.class, () -> reportService.getStatementMovements(cursor, 0));
+        assertThrows(BusinessException.class, () -> reportService.getStatementMovements(cursor, 11));
+        verifyNoInteractions(accountStatementReader);
+    }
+    
+    @Test
+    @DisplayName("Should write one archive entry per client found with accounts and the manifest last")
+    void testExportAccountStatements() throws IOException {
+        // Given: chunks [JLEMA001, MMONT002] and [NOACC003, XGONE004]
+        ReportResponseDTO.AccountInfo other = account(3L, "585545", "CORRIENTE", "1000.00");
+        other.setClientId("MMONT002");
+        ReportResponseDTO.AccountInfo unknown = account(4L, "999999", "AHORROS", "5.00");
+        unknown.setClientId("XGONE004");
+        doAnswer(invocation -> {
+            stream(List.of(account1("2000.00", movement1, movement2), account2("100.00", movement3), other),
+                invocation.getArgument(3));
+            return null;
+        }).when(accountStatementReader).streamStatements(eq(List.of("JLEMA001", "MMONT002")), eq(startDate), eq(endDate), any());
+        doAnswer(invocation -> {
+            stream(List.of(unknown), invocation.getArgument(3));
+            return null;
+        }).when(accountStatementReader).streamStatements(eq(List.of("NOACC003", "XGONE004")), eq(startDate), eq(endDate), any());
+        ClientCacheDTO otherClient = ClientCacheDTO.builder().clientId("MMONT002").name("Marianela Montalvo").build();
+        when(clientServiceClient.getClientsByClientIds(List.of("JLEMA001", "MMONT002")))
+            .thenReturn(Map.of("JLEMA001", clientCache, "MMONT002", otherClient));
+        when(clientServiceClient.getClientsByClientIds(List.of("NOACC003", "XGONE004"))).thenReturn(Map.of());
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // When
+        ReportBatchManifestDTO manifest = reportService.exportAccountStatements(
+            List.of("JLEMA001", "MMONT002", "NOACC003", "XGONE004"), startDate, endDate,
+            new StatementArchiveWriter(output, StatementExportFormat.NDJSON, objectMapper));
+        
+        // Then
+        assertEquals(4, manifest.getRequestedClients());
+        assertEquals(2, manifest.getStatements());
+        assertEquals(3, manifest.getTotalAccounts());
+        assertEquals(3, manifest.getTotalMovements());
+        assertEquals(List.of("NOACC003"), manifest.getClientsWithoutAccounts());
+        assertEquals(List.of("XGONE004"), manifest.getClientsNotFound());
+        
+        Map<String, String> entries = unzip(output.toByteArray());
+        assertEquals(List.of("estado-cuenta-JLEMA001.ndjson", "estado-cuenta-MMONT002.ndjson", "resumen-lote.json"),
+            List.copyOf(entries.keySet()));
+        String[] records = entries.get("estado-cuenta-JLEMA001.ndjson").split("\n");
+        assertEquals(7, records.length);
+        assertTrue(records[0].contains("José Lema"));
+        assertTrue(records[6].contains("\"totalMovements\":3"));
+        assertTrue(entries.get("estado-cuenta-MMONT002.ndjson").contains("585545"));
+        assertEquals(List.of("XGONE004"), objectMapper.readValue(entries.get("resumen-lote.json"),
+            ReportBatchManifestDTO.class).getClientsNotFound());
+    }
+    
+    @Test
+    @DisplayName("Should dedupe and sort batch client ids and reject invalid batches")
+    void testValidateStatementBatch() {
+        assertEquals(List.of("JLEMA001", "MMONT002"), reportService.validateStatementBatch(
+            new ReportBatchRequestDTO(Arrays.asList("MMONT002", " ", "JLEMA001", null, "MMONT002"), startDate, endDate, null)));
+        
+        assertThrows(BusinessException.class, () -> reportService.validateStatementBatch(
+            new ReportBatchRequestDTO(List.of("JLEMA001"), endDate, startDate, null)));
+        assertThrows(BusinessException.class, () -> reportService.validateStatementBatch(
+            new ReportBatchRequestDTO(List.of(" "), startDate, endDate, null)));
+        assertThrows(BusinessException.class, () -> reportService.validateStatementBatch(
+            new ReportBatchRequestDTO(List.of("A", "B", "C", "D", "E"), startDate, endDate, null)));
+    }
+    
+    private Map<String, String> unzip(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+    
+    /**
+     * Feed the handler like the reader does: final balance advanced before each movement
+     */
+    private void stream(List<ReportResponseDTO.AccountInfo> accounts, AccountStatementReader.StatementHandler handler) {
+        for (ReportResponseDTO.AccountInfo account : accounts) {
+            ReportResponseDTO.AccountInfo streamed = account(account.getAccountId(), account.getAccountNumber(),
+                account.getAccountType(), account.getInitialBalance().toPlainString());
+            streamed.setClientId(account.getClientId());
+            handler.onAccount(streamed);
+            for (ReportResponseDTO.MovementInfo movement : account.getMovements()) {
+                streamed.setFinalBalance(movement.getBalance());
+                handler.onMovement(streamed, movement);
+            }
+        }
+    }
+    
+    private ReportResponseDTO.AccountInfo account1(String initialBalance, ReportResponseDTO.MovementInfo... movements) {
+        return account(1L, "123456", "AHORROS", initialBalance, movements);
+    }
+    
+    private ReportResponseDTO.AccountInfo account2(String initialBalance, ReportResponseDTO.MovementInfo... movements) {
+        return account(2L, "654321", "CORRIENTE", initialBalance, movements);
+    }
+    
+    private ReportResponseDTO.AccountInfo account(Long id, String accountNumber, String accountType,
+                                                  String initialBalance, ReportResponseDTO.MovementInfo... movements) {
+        BigDecimal finalBalance = movements.length == 0
+            ? new BigDecimal(initialBalance) : movements[movements.length - 1].getBalance();
+        return ReportResponseDTO.AccountInfo.builder()
+            .accountId(id)
+            .accountNumber(accountNumber)
+            .accountType(accountType)
+            .clientId("JLEMA001")
+            .initialBalance(new BigDecimal(initialBalance))
+            .finalBalance(finalBalance)
+            .movements(new ArrayList<>(Arrays.asList(movements)))
+            .build();
+    }
+    
+    private ReportResponseDTO.MovementInfo movement(Long id, LocalDateTime date, String movementType,
+                                                    String amount, String balance) {
+        return ReportResponseDTO.MovementInfo.builder()
+            .movementId(id)
+            .movementDate(date)
+            .movementType(movementType)
+            .amount(new BigDecimal(amount))
+            .balance(new BigDecimal(balance))
+            .state("ACTIVO")
+            .build();
+    }
 }
@@ -0,0 +1,144 @@
+package com.devsu.application.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.devsu.application.dto.ReportBatchManifestDTO;
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+import com.devsu.infrastructure.cache.service.ReportCache;
+import com.devsu.infrastructure.client.ClientServiceClient;
+import com.devsu.infrastructure.executor.ReportExecutor;
+import com.devsu.infrastructure.export.StatementArchiveWriter;
+import com.devsu.infrastructure.export.StatementExportFormat;
+import com.devsu.infrastructure.persistence.AccountStatementReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Throughput benchmark of month-end statement generation (F4)
+ * Statements per second for the same clients exported one request at a time and as
+ * one batch archive. Each ClientApp call, single or batched, is simulated with a fixed delay.
+ * Run with: mvn test -Dtest=StatementBatchBenchmark -Dreport.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "report.benchmark", matches = "true")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(AccountStatementReader.class)
+@DisplayName("Statement batch benchmark")
+class StatementBatchBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 2, 28, 23, 59);
+    private static final int CLIENTS = Integer.getInteger("report.benchmark.clients", 2000);
+    private static final int ACCOUNTS_PER_CLIENT = 2;
+    private static final int MOVEMENTS_PER_ACCOUNT = 10;
+    private static final long CLIENT_LOOKUP_MILLIS = Long.getLong("report.benchmark.lookup-ms", 5);
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private AccountStatementReader accountStatementReader;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should report statements per second one by one and in batch")
+    void benchmark() throws Exception {
+        List<String> clientIds = createClients();
+        ClientServiceClient clientServiceClient = mock(ClientServiceClient.class);
+        when(clientServiceClient.getClientByClientIdAsync(anyString())).thenAnswer(invocation -> CompletableFuture.supplyAsync(
+            () -> client(invocation.getArgument(0)), CompletableFuture.delayedExecutor(CLIENT_LOOKUP_MILLIS, TimeUnit.MILLISECONDS)));
+        when(clientServiceClient.getClientsByClientIds(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(CLIENT_LOOKUP_MILLIS);
+            List<String> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(Function.identity(), StatementBatchBenchmark::client));
+        });
+        ReportExecutor executor = new ReportExecutor(16, true);
+        ReportServiceImpl service = new ReportServiceImpl(accountStatementReader, clientServiceClient,
+            new ReportCache(new SimpleMeterRegistry(), false, 0, 0, 0), executor, transactionManager);
+        ReflectionTestUtils.setField(service, "maxBatchClients", CLIENTS);
+        ReflectionTestUtils.setField(service, "batchChunkSize", 500);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        System.out.printf("%n%d clients, %d accounts and %d movements per client, client lookup %d ms per call%n",
+            CLIENTS, ACCOUNTS_PER_CLIENT, ACCOUNTS_PER_CLIENT * MOVEMENTS_PER_ACCOUNT, CLIENT_LOOKUP_MILLIS);
+        System.out.printf("%5s | %18s | %18s%n", "round", "one by one stmt/s", "batch stmt/s");
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                long begin = System.nanoTime();
+                for (String clientId : clientIds) {
+                    ReportResponseDTO.ClientInfo client = service.getStatementClient(clientId);
+                    service.exportAccountStatement(client, START, END,
+                        StatementExportFormat.NDJSON.writer(OutputStream.nullOutputStream(), objectMapper));
+                }
+                double single = CLIENTS / ((System.nanoTime() - begin) / 1e9);
+
+                begin = System.nanoTime();
+                ReportBatchManifestDTO manifest = service.exportAccountStatements(clientIds, START, END,
+                    new StatementArchiveWriter(OutputStream.nullOutputStream(), StatementExportFormat.NDJSON, objectMapper));
+                double batch = CLIENTS / ((System.nanoTime() - begin) / 1e9);
+                assertEquals(CLIENTS, manifest.getStatements());
+
+                System.out.printf("%5d | %18.0f | %18.0f%n", round, single, batch);
+            }
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    private static ClientCacheDTO client(String clientId) {
+        return ClientCacheDTO.builder().clientId(clientId).name("Cliente " + clientId).build();
+    }
+
+    private List<String> createClients() {
+        List<String> clientIds = new ArrayList<>();
+        List<Movement> movements = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            String clientId = String.format("batch-%05d", c);
+            clientIds.add(clientId);
+            for (int a = 0; a < ACCOUNTS_PER_CLIENT; a++) {
+                Account account = accountRepository.save(new Account(null, clientId + "-" + a, "Ahorros",
+                    Money.of(MOVEMENTS_PER_ACCOUNT * 10 + ".00"), "true", null, clientId));
+                for (int m = 1; m <= MOVEMENTS_PER_ACCOUNT; m++) {
+                    movements.add(new Movement(null, account, (long) m, START.plusDays(1).plusMinutes(m), "Deposito",
+                        Money.of("10.00"), Money.of(m * 10 + ".00"), "true"));
+                }
+            }
+        }
+        movementRepository.saveAll(movements);
+        movementRepository.flush();
+        return clientIds;
+    }
+}
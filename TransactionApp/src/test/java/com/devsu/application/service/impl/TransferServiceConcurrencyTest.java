@@ -0,0 +1,165 @@
+package com.devsu.application.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsu.application.dto.TransferRequestDTO;
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.limit.DailyWithdrawalLimiter;
+import com.devsu.infrastructure.lock.AccountLockManager;
+import com.devsu.infrastructure.persistence.BalanceChainRepairer;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
+import com.devsu.infrastructure.persistence.MovementRollupStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Stress test for TransferServiceImpl
+ * Random concurrent transfers among a few hot accounts, with real row locks:
+ * money is conserved, no balance goes negative and no transfer deadlocks
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "account.daily-withdrawal-limit.default=1000000.00",
+    "account.daily-withdrawal-limit.by-type="
+})
+@Import({TransferServiceImpl.class, AccountLockManager.class, DailyWithdrawalLimiter.class,
+    BalanceChainRepairer.class, BalanceSnapshotStore.class, MovementRollupStore.class,
+    TransferServiceConcurrencyTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TransferService concurrency Tests")
+class TransferServiceConcurrencyTest {
+    
+    private static final int ACCOUNTS = 5;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 150;
+    private static final Money INITIAL_BALANCE = Money.of("1000.00");
+    
+    @Autowired
+    private TransferServiceImpl transferService;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private MovementRepository movementRepository;
+    
+    @Autowired
+    private BalanceSnapshotStore balanceSnapshotStore;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM balance_snapshot");
+        jdbcTemplate.update("DELETE FROM movement_monthly_rollup");
+        movementRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+    
+    @Test
+    @DisplayName("Should conserve the total balance under concurrent random transfers")
+    void testConcurrentTransfers_ConserveTotal() throws InterruptedException {
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account(null, "ACC-" + i, "AHORROS", INITIAL_BALANCE, "ACTIVA", null, "client-1");
+            accountIds.add(accountRepository.save(account).getId());
+        }
+        
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> failures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    Long source = accountIds.get(random.nextInt(ACCOUNTS));
+                    Long target = accountIds.get(random.nextInt(ACCOUNTS));
+                    if (source.equals(target)) {
+                        continue;
+                    }
+                    BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 40_000), Money.SCALE);
+                    try {
+                        transferService.transfer(new TransferRequestDTO(source, target, amount, "ACTIVO"));
+                        completed.incrementAndGet();
+                    } catch (InsufficientBalanceException e) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        
+        // A deadlock would keep the pool from terminating
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS), "Transfers did not finish");
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures);
+        assertTrue(completed.get() > 0);
+        
+        List<Account> accounts = accountRepository.findAllById(accountIds);
+        long total = accounts.stream().mapToLong(a -> a.getBalance().getMinorUnits()).sum();
+        assertEquals(INITIAL_BALANCE.getMinorUnits() * ACCOUNTS, total);
+        
+        List<Movement> movements = movementRepository.findAll();
+        assertEquals(completed.get() * 2, movements.size());
+        assertEquals(movements.size(),
+            jdbcTemplate.queryForObject("SELECT SUM(movements) FROM movement_monthly_rollup", Long.class));
+        for (Account account : accounts) {
+            assertFalse(account.getBalance().isNegative());
+            List<Movement> ledger = movements.stream()
+                .filter(m -> m.getAccount().getId().equals(account.getId()))
+                .toList();
+            long sum = ledger.stream().mapToLong(m -> m.getAmount().getMinorUnits()).sum();
+            
+            // F2: The account balance matches its ledger, and movement numbers have no gaps
+            assertEquals(account.getBalance().getMinorUnits(), INITIAL_BALANCE.getMinorUnits() + sum);
+            assertEquals(ledger.size(), account.getLastMovementNumber());
+            assertEquals(ledger.size(), ledger.stream().map(Movement::getMovementNumber).distinct().count());
+            
+            // The daily snapshot of the day closes at the account balance
+            assertEquals(account.getBalance(),
+                balanceSnapshotStore.balanceAt(account.getId(), LocalDateTime.now().plusDays(1)).orElseThrow());
+        }
+    }
+    
+    @TestConfiguration
+    static class MetricsConfig {
+        
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.devsu.application.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsu.application.dto.TransferRequestDTO;
+import com.devsu.application.dto.TransferResponseDTO;
+import com.devsu.application.event.MovementsWrittenEvent;
+import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.DailyLimitExceededException;
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+import com.devsu.infrastructure.limit.DailyWithdrawalLimiter;
+import com.devsu.infrastructure.lock.AccountLockManager;
+import com.devsu.infrastructure.persistence.BalanceChainRepairer;
+import com.devsu.infrastructure.persistence.BalanceSnapshotStore;
+import com.devsu.infrastructure.persistence.MovementRollupStore;
+
+/**
+ * Unit tests for TransferServiceImpl
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferServiceImplTest {
+    
+    @Mock
+    private AccountRepository accountRepository;
+    
+    @Mock
+    private MovementRepository movementRepository;
+    
+    @Mock
+    private AccountLockManager accountLockManager;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Mock
+    private DailyWithdrawalLimiter dailyWithdrawalLimiter;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private BalanceSnapshotStore balanceSnapshotStore;
+    
+    @Mock
+    private MovementRollupStore movementRollupStore;
+    
+    @Mock
+    private BalanceChainRepairer balanceChainRepairer;
+    
+    @InjectMocks
+    private TransferServiceImpl transferService;
+    
+    private Account source;
+    private Account target;
+    
+    @BeforeEach
+    void setUp() {
+        source = account(1L, "478758", "1000.00", 4L);
+        target = account(2L, "225487", "100.00", 0L);
+    }
+    
+    @Test
+    void testTransfer_Success() {
+        stubLocking();
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(source, target));
+        
+        TransferResponseDTO response = transferService.transfer(
+            new TransferRequestDTO(1L, 2L, new BigDecimal("150.00"), "ACTIVO"));
+        
+        assertEquals(new BigDecimal("150.00"), response.getAmount());
+        assertEquals(new BigDecimal("-150.00"), response.getDebit().getAmount());
+        assertEquals(new BigDecimal("850.00"), response.getDebit().getBalance());
+        assertEquals(5L, response.getDebit().getMovementNumber());
+        assertEquals(new BigDecimal("250.00"), response.getCredit().getBalance());
+        assertEquals(1L, response.getCredit().getMovementNumber());
+        assertEquals(Money.of("850.00"), source.getBalance());
+        assertEquals(Money.of("250.00"), target.getBalance());
+        assertEquals(5L, source.getLastMovementNumber());
+        assertEquals(1L, target.getLastMovementNumber());
+        
+        // Both movements are written together, no history is read
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Movement>> captor = ArgumentCaptor.forClass(List.class);
+        verify(movementRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(movementRepository, never()).findByAccountOrderByMovementDateDesc(any(Account.class));
+        verify(accountLockManager).executeWithLocks(eq(List.of(1L, 2L)), any());
+        verify(balanceSnapshotStore).record(1L, response.getTransferDate().toLocalDate(), Money.of("850.00"));
+        verify(balanceSnapshotStore).record(2L, response.getTransferDate().toLocalDate(), Money.of("250.00"));
+        verify(movementRollupStore).addAll(captor.getValue());
+        verify(eventPublisher).publishEvent(MovementsWrittenEvent.of(1L, 2L));
+    }
+    
+    @Test
+    void testTransfer_InitializesLegacyLedgerHead() {
+        source.setLastMovementNumber(null);
+        stubLocking();
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(source, target));
+        when(movementRepository.findMaxMovementNumber(1L)).thenReturn(7L);
+    
+        TransferResponseDTO response = transferService.transfer(
+            new TransferRequestDTO(1L, 2L, new BigDecimal("150.00"), "ACTIVO"));
+    
+        assertEquals(8L, response.getDebit().getMovementNumber());
+        assertEquals(8L, source.getLastMovementNumber());
+        verify(movementRepository, never()).findMaxMovementNumber(2L);
+    }
+    
+    @Test
+    void testTransfer_SourceHasLaterMovements_RepairsChain() {
+        stubLocking();
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(source, target));
+        // The source has a movement dated tomorrow: 400.00 now, 1000.00 after it
+        when(movementRepository.existsByAccountIdAndMovementDateAfter(eq(1L), any(LocalDateTime.class))).thenReturn(true);
+        when(balanceChainRepairer.balanceBefore(eq(1L), any(LocalDateTime.class), eq(5L)))
+            .thenReturn(Optional.of(Money.of("400.00")));
+        when(balanceChainRepairer.repairFrom(eq(1L), any(LocalDateTime.class), eq(5L), eq(Money.of("400.00")), isNull()))
+            .thenReturn(BalanceChainRepairer.Result.builder().valid(true).finalBalance(Money.of("850.00")).build());
+        
+        TransferResponseDTO response = transferService.transfer(
+            new TransferRequestDTO(1L, 2L, new BigDecimal("150.00"), "ACTIVO"));
+        
+        // The debit is placed before the later movement, which is shifted by it
+        assertEquals(new BigDecimal("250.00"), response.getDebit().getBalance());
+        assertEquals(new BigDecimal("250.00"), response.getCredit().getBalance());
+        assertEquals(Money.of("850.00"), source.getBalance());
+        assertEquals(Money.of("250.00"), target.getBalance());
+        InOrder inOrder = inOrder(movementRepository, balanceChainRepairer, balanceSnapshotStore);
+        inOrder.verify(movementRepository).saveAllAndFlush(any());
+        inOrder.verify(balanceChainRepairer).repairFrom(eq(1L), eq(response.getTransferDate()), eq(5L),
+            eq(Money.of("400.00")), isNull());
+        inOrder.verify(balanceSnapshotStore).rebuildFrom(1L, response.getTransferDate().toLocalDate());
+        verify(balanceSnapshotStore).record(2L, response.getTransferDate().toLocalDate(), Money.of("250.00"));
+        verify(balanceChainRepairer, never()).repairFrom(eq(2L), any(), any(), any(), any());
+    }
+    
+    @Test
+    void testTransfer_SourceHasLaterMovements_InsufficientBalanceNow() {
+        stubLocking();
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(source, target));
+        when(movementRepository.existsByAccountIdAndMovementDateAfter(eq(1L), any(LocalDateTime.class))).thenReturn(true);
+        when(balanceChainRepairer.balanceBefore(eq(1L), any(LocalDateTime.class), eq(5L)))
+            .thenReturn(Optional.of(Money.of("100.00")));
+        
+        // The account balance covers it, the balance at the transfer's position does not
+        assertThrows(InsufficientBalanceException.class, () ->
+            transferService.transfer(new TransferRequestDTO(1L, 2L, new BigDecimal("150.00"), "ACTIVO")));
+        verify(movementRepository, never()).saveAllAndFlush(any());
+    }
+    
+    @Test
+    void testTransfer_InsufficientBalance_F3() {
+        stubLocking();
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(source, target));
+        
+        InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class, () ->
+            transferService.transfer(new TransferRequestDTO(1L, 2L, new BigDecimal("1000.01"), "ACTIVO")));
+        
+        assertEquals("Saldo no disponible", exception.getMessage());
+        assertEquals(Money.of("1000.00"), source.getBalance());
+        assertEquals(Money.of("100.00"), target.getBalance());
+        verify(movementRepository, never()).saveAll(any());
+    }
+    
+    @Test
+    void testTransfer_DailyLimitExceeded() {
+        stubLocking();
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(source, target));
+        doThrow(new DailyLimitExceededException("Cupo diario Excedido")).when(dailyWithdrawalLimiter)
+            .registerWithdrawal(eq(source), any(), eq(Money.of("-900.00")));
+        
+        assertThrows(DailyLimitExceededException.class, () ->
+            transferService.transfer(new TransferRequestDTO(1L, 2L, new BigDecimal("900.00"), "ACTIVO")));
+        
+        assertEquals(Money.of("1000.00"), source.getBalance());
+        verify(movementRepository, never()).saveAll(any());
+    }
+    
+    @Test
+    void testTransfer_TargetNotFound() {
+        stubLocking();
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 99L))).thenReturn(List.of(source));
+        
+        assertThrows(ResourceNotFoundException.class, () ->
+            transferService.transfer(new TransferRequestDTO(1L, 99L, new BigDecimal("10.00"), "ACTIVO")));
+        verify(movementRepository, never()).saveAll(any());
+    }
+    
+    @Test
+    void testTransfer_SameAccount() {
+        assertThrows(BusinessException.class, () ->
+            transferService.transfer(new TransferRequestDTO(1L, 1L, new BigDecimal("10.00"), "ACTIVO")));
+        verifyNoInteractions(accountLockManager, accountRepository, movementRepository);
+    }
+    
+    private void stubLocking() {
+        when(accountLockManager.executeWithLocks(anyCollection(), any()))
+            .thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+    
+    private Account account(Long id, String accountNumber, String balance, Long lastMovementNumber) {
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountNumber(accountNumber);
+        account.setAccountType("AHORROS");
+        account.setBalance(Money.of(balance));
+        account.setState("ACTIVA");
+        account.setClientId("client-1");
+        account.setLastMovementNumber(lastMovementNumber);
+        return account;
+    }
+}
@@ -0,0 +1,52 @@
+package com.devsu.domain.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.devsu.domain.exception.BusinessException;
+
+/**
+ * Unit tests for Money
+ */
+@DisplayName("Money Unit Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should keep amounts as exact minor units")
+    void testOf_MinorUnits() {
+        assertEquals(150075L, Money.of("1500.75").getMinorUnits());
+        assertEquals(-57500L, Money.of(new BigDecimal("-575")).getMinorUnits());
+        assertEquals(new BigDecimal("1500.75"), Money.ofMinor(150075L).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should add without floating point drift")
+    void testPlus_Exact() {
+        Money balance = Money.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            balance = balance.plus(Money.of("0.10"));
+        }
+
+        assertEquals(Money.of("100.00"), balance);
+        assertEquals(Money.of("0.30"), Money.of("0.10").plus(Money.of("0.20")));
+        assertTrue(Money.of("10.00").minus(Money.of("10.01")).isNegative());
+    }
+
+    @Test
+    @DisplayName("Should reject amounts with more than two decimal places")
+    void testOf_InvalidScale() {
+        assertThrows(BusinessException.class, () -> Money.of("10.005"));
+    }
+
+    @Test
+    @DisplayName("Should compare by value regardless of scale")
+    void testEquals_IgnoresScale() {
+        assertEquals(Money.of("10"), Money.of("10.00"));
+        assertEquals(Money.of("10").hashCode(), Money.of("10.0").hashCode());
+        assertEquals("10.00", Money.of("10").toString());
+    }
+}
@@ -0,0 +1,177 @@
+package com.devsu.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Persistence tests for Movement batching
+ * Counts the JDBC round trips issued when persisting N movements: with pooled
+ * sequence ids Hibernate groups the INSERTs into JDBC batches
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("MovementRepository JDBC batching Tests")
+class MovementRepositoryBatchTest {
+
+    private static final int MOVEMENTS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    @DisplayName("Should insert N movements with N / batch_size JDBC batches")
+    void testPersistMovements_UsesJdbcBatches() {
+        Account account = new Account(null, "123456", "AHORROS", Money.of("1000.00"), "ACTIVA", "ACC001", "client-1");
+        accountRepository.saveAndFlush(account);
+
+        List<Movement> movements = new ArrayList<>();
+        LocalDateTime date = LocalDateTime.of(2026, 2, 1, 10, 0);
+        for (int i = 1; i <= MOVEMENTS; i++) {
+            movements.add(new Movement(null, account, (long) i, date.plusMinutes(i), "DEPOSITO", Money.of("1.00"), Money.ofMinor(100_000L + i * 100L), "ACTIVO"));
+        }
+
+        statementCounter.reset();
+        movementRepository.saveAll(movements);
+        entityManager.flush();
+
+        // One batch per BATCH_SIZE inserts, no single-row INSERT round trips
+        assertEquals(MOVEMENTS / BATCH_SIZE, statementCounter.batches.get());
+        assertEquals(MOVEMENTS, statementCounter.batchedRows.get());
+        assertEquals(0, statementCounter.singleUpdates.get());
+        // Pooled optimizer: one sequence call per allocationSize ids (plus the initial one)
+        assertTrue(statementCounter.queries.get() <= MOVEMENTS / BATCH_SIZE + 1,
+            "Sequence calls: " + statementCounter.queries.get());
+        assertEquals(MOVEMENTS, movementRepository.countByAccount(account));
+        assertEquals(MOVEMENTS, movementRepository.findMaxMovementNumber(account.getId()));
+    }
+
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor(@Autowired StatementCounter statementCounter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return statementCounter.wrap(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Counts JDBC executions by wrapping the DataSource in dynamic proxies
+     */
+    static class StatementCounter {
+
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicInteger batchedRows = new AtomicInteger();
+        final AtomicInteger singleUpdates = new AtomicInteger();
+        final AtomicInteger queries = new AtomicInteger();
+
+        void reset() {
+            batches.set(0);
+            batchedRows.set(0);
+            singleUpdates.set(0);
+            queries.set(0);
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrapConnection(connection) : result;
+            });
+        }
+
+        private Connection wrapConnection(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement statement) {
+                    return wrapStatement(PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement) {
+                    return wrapStatement(Statement.class, statement);
+                }
+                return result;
+            });
+        }
+
+        private <S extends Statement> S wrapStatement(Class<S> type, S statement) {
+            return proxy(type, statement, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                switch (method.getName()) {
+                    case "executeBatch" -> {
+                        batches.incrementAndGet();
+                        batchedRows.addAndGet(((int[]) result).length);
+                    }
+                    case "executeUpdate", "executeLargeUpdate" -> singleUpdates.incrementAndGet();
+                    case "executeQuery" -> queries.incrementAndGet();
+                    default -> { }
+                }
+                return result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, TargetHandler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, invocationHandler);
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @FunctionalInterface
+        private interface TargetHandler {
+            Object handle(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable;
+        }
+    }
+}
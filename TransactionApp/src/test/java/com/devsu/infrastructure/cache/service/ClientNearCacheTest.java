@@ -0,0 +1,144 @@
+package com.devsu.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ClientNearCache
+ * Tests hits, event updates, reads racing with events, the size bound, the TTL and concurrent use
+ */
+@DisplayName("ClientNearCache Unit Tests")
+class ClientNearCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClientNearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ClientNearCache(meterRegistry, true, 2, 60);
+    }
+
+    @Test
+    @DisplayName("Should serve clients read from Redis and count hits and misses")
+    void testGet_Hit() {
+        assertNull(cache.get("JLEMA001"));
+        cache.putIfUnchanged(client("JLEMA001", "José Lema"), cache.version());
+
+        assertEquals("José Lema", cache.get("JLEMA001").getName());
+        assertEquals(1.0, meterRegistry.counter("client.cache.near.requests", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("client.cache.near.requests", "result", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Should apply update and delete events")
+    void testEvents() {
+        cache.putIfUnchanged(client("JLEMA001", "José Lema"), cache.version());
+
+        cache.put(client("JLEMA001", "José Lema Pérez"));
+        assertEquals("José Lema Pérez", cache.get("JLEMA001").getName());
+
+        cache.invalidate("JLEMA001");
+        assertNull(cache.get("JLEMA001"));
+    }
+
+    @Test
+    @DisplayName("Should not store a client read before an event was applied")
+    void testPutIfUnchanged_EventDuringRead() {
+        long version = cache.version();
+        cache.invalidate("JLEMA001");
+
+        cache.putIfUnchanged(client("JLEMA001", "José Lema"), version);
+
+        assertNull(cache.get("JLEMA001"));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used client beyond the size")
+    void testEviction() {
+        cache.put(client("A", "A"));
+        cache.put(client("B", "B"));
+        cache.get("A");
+        cache.put(client("C", "C"));
+
+        assertNotNull(cache.get("A"));
+        assertNull(cache.get("B"));
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.counter("client.cache.near.evictions").count());
+    }
+
+    @Test
+    @DisplayName("Should expire clients after the TTL and store nothing when disabled")
+    void testExpiryAndDisabled() {
+        ClientNearCache expiring = new ClientNearCache(new SimpleMeterRegistry(), true, 2, 0);
+        expiring.put(client("A", "A"));
+        sleep();
+        assertNull(expiring.get("A"));
+
+        ClientNearCache disabled = new ClientNearCache(new SimpleMeterRegistry(), false, 2, 60);
+        disabled.put(client("A", "A"));
+        assertNull(disabled.get("A"));
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    @DisplayName("Should stay within its size and keep event updates under concurrent reads and writes")
+    void testConcurrentUse() throws Exception {
+        ClientNearCache shared = new ClientNearCache(new SimpleMeterRegistry(), true, 50, 60);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(threads.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        String clientId = "C" + random.nextInt(200);
+                        if (shared.get(clientId) == null) {
+                            shared.putIfUnchanged(client(clientId, "Redis"), shared.version());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                shared.put(client("C" + i, "Evento"));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        assertTrue(shared.size() <= 50);
+        // Reads from Redis started before the last event never overwrite it
+        shared.put(client("C0", "Final"));
+        assertEquals("Final", shared.get("C0").getName());
+    }
+
+    private static ClientCacheDTO client(String clientId, String name) {
+        return ClientCacheDTO.builder().clientId(clientId).name(name).build();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.devsu.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.devsu.application.dto.MovementRequestDTO;
+import com.devsu.application.dto.MovementResponseDTO;
+import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.IdempotencyKeyReusedException;
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for IdempotencyStore
+ * Tests replay, in-flight coalescing, reused keys, failure handling and the LRU bound
+ */
+@DisplayName("IdempotencyStore Unit Tests")
+class IdempotencyStoreTest {
+
+    private static final MovementRequestDTO REQUEST = new MovementRequestDTO(1L, LocalDateTime.of(2026, 2, 1, 10, 0),
+        "DEPOSITO", new BigDecimal("500.00"), "ACTIVO");
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private IdempotencyStore store;
+    private ExecutorService executor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        store = new IdempotencyStore(redisTemplate, new ObjectMapper().findAndRegisterModules(), 3, 60, 2000, false, "idempotency:movement:");
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored result for a repeated key")
+    void testExecuteOnce_Replay() {
+        AtomicInteger calls = new AtomicInteger();
+
+        MovementResponseDTO first = store.executeOnce("key-1", REQUEST, () -> movement(calls.incrementAndGet()));
+        MovementResponseDTO second = store.executeOnce("key-1", REQUEST, () -> movement(calls.incrementAndGet()));
+
+        assertEquals(1, calls.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates only once")
+    void testExecuteOnce_ConcurrentDuplicates() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<MovementResponseDTO>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> store.executeOnce("key-1", REQUEST, () -> {
+                int call = calls.incrementAndGet();
+                await(release);
+                return movement(call);
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<MovementResponseDTO> future : futures) {
+            assertEquals(1L, future.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a key used again with a different request")
+    void testExecuteOnce_KeyReusedWithDifferentRequest() {
+        MovementRequestDTO other = new MovementRequestDTO(1L, REQUEST.getMovementDate(), "DEPOSITO",
+            new BigDecimal("5000.00"), "ACTIVO");
+        store.executeOnce("key-1", REQUEST, () -> movement(1));
+
+        assertThrows(IdempotencyKeyReusedException.class,
+            () -> store.executeOnce("key-1", other, () -> fail("should not run")));
+        assertEquals(1L, store.executeOnce("key-1", REQUEST, () -> fail("should not run")).getId());
+    }
+
+    @Test
+    @DisplayName("Should reject a different request while the key is in flight")
+    void testExecuteOnce_KeyReusedWhileInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<MovementResponseDTO> first = executor.submit(() -> store.executeOnce("key-1", REQUEST, () -> {
+            started.countDown();
+            await(release);
+            return movement(1);
+        }));
+        await(started);
+
+        MovementRequestDTO other = new MovementRequestDTO(2L, REQUEST.getMovementDate(), "DEPOSITO",
+            REQUEST.getAmount(), "ACTIVO");
+        assertThrows(IdempotencyKeyReusedException.class,
+            () -> store.executeOnce("key-1", other, () -> fail("should not run")));
+        release.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    @DisplayName("Should not store failed requests")
+    void testExecuteOnce_FailureNotStored() {
+        assertThrows(InsufficientBalanceException.class, () -> store.executeOnce("key-1", REQUEST, () -> {
+            throw new InsufficientBalanceException("Saldo no disponible");
+        }));
+
+        MovementResponseDTO retried = store.executeOnce("key-1", REQUEST, () -> movement(2));
+
+        assertEquals(2L, retried.getId());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used key beyond the bound")
+    void testExecuteOnce_Bounded() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            store.executeOnce("key-" + i, REQUEST, () -> movement(calls.incrementAndGet()));
+        }
+
+        assertEquals(3, store.size());
+        store.executeOnce("key-0", REQUEST, () -> movement(calls.incrementAndGet()));
+        assertEquals(11, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should reject keys longer than the limit")
+    void testExecuteOnce_InvalidKey() {
+        String key = "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1);
+
+        assertThrows(BusinessException.class, () -> store.executeOnce(key, REQUEST, () -> movement(1)));
+    }
+
+    @Test
+    @DisplayName("Should replay results stored in Redis by another instance")
+    @SuppressWarnings("unchecked")
+    void testExecuteOnce_RedisTier() {
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("idempotency:movement:key-1"))
+            .thenReturn(Map.of("id", 7, "accountId", 1, "amount", 500.0, "balance", 1500.0));
+        store = new IdempotencyStore(redisTemplate, new ObjectMapper().findAndRegisterModules(), 3, 60, 2000, true, "idempotency:movement:");
+
+        MovementResponseDTO replayed = store.executeOnce("key-1", REQUEST, () -> fail("should not run"));
+        MovementResponseDTO created = store.executeOnce("key-2", REQUEST, () -> movement(8));
+
+        assertEquals(7L, replayed.getId());
+        assertEquals(new BigDecimal("1500.0"), replayed.getBalance());
+        ArgumentCaptor<Object> value = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations).set(eq("idempotency:movement:key-2"), value.capture(), anyLong(), any(TimeUnit.class));
+        assertEquals(created, ((Map<String, Object>) value.getValue()).get("response"));
+        assertNotNull(((Map<String, Object>) value.getValue()).get("requestHash"));
+    }
+
+    private static MovementResponseDTO movement(long id) {
+        return MovementResponseDTO.builder()
+                .id(id)
+                .accountId(1L)
+                .amount(new BigDecimal("500.00"))
+                .balance(new BigDecimal("1500.00"))
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.devsu.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.event.ClientAccountsChangedEvent;
+import com.devsu.application.event.MovementsWrittenEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ReportCache
+ * Tests hits, movement and account driven invalidation, the weight budget and the TTL per period
+ */
+@DisplayName("ReportCache Unit Tests")
+class ReportCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 2, 28, 23, 59);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportCache cache;
+    private AtomicInteger computed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReportCache(meterRegistry, true, 10, 60, 3600);
+        computed = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the cache and count hits")
+    void testGet_Hit() {
+        ReportResponseDTO first = cache.get("JLEMA001", START, END, () -> report(3, 1L));
+        ReportResponseDTO second = cache.get("JLEMA001", START, END, () -> report(3, 1L));
+
+        assertEquals(first.getAccounts(), second.getAccounts());
+        assertEquals(1, computed.get());
+        assertEquals(1.0, meterRegistry.counter("report.cache.requests", "result", "hit").count());
+        assertEquals(0.5, meterRegistry.get("report.cache.hit.ratio").gauge().value());
+
+        // Another period is another entry
+        cache.get("JLEMA001", START, END.plusDays(1), () -> report(3, 1L));
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    @DisplayName("Should hand out a copy dated at each read")
+    void testGet_HitIsCopy() {
+        ReportResponseDTO first = cache.get("JLEMA001", START, END, () -> report(3, 1L));
+        first.getAccounts().get(0).getMovements().clear();
+        first.setReportDate(START);
+
+        ReportResponseDTO second = cache.get("JLEMA001", START, END, () -> report(3, 1L));
+        second.getAccounts().clear();
+        ReportResponseDTO third = cache.get("JLEMA001", START, END, () -> report(3, 1L));
+
+        assertEquals(1, computed.get());
+        assertEquals(3, third.getAccounts().get(0).getMovements().size());
+        assertNotSame(second, third);
+        assertTrue(!third.getReportDate().isBefore(second.getReportDate()));
+        assertTrue(second.getReportDate().isAfter(START));
+    }
+
+    @Test
+    @DisplayName("Should drop the reports of written accounts only")
+    void testOnMovementsWritten_Invalidates() {
+        cache.get("JLEMA001", START, END, () -> report(1, 1L, 2L));
+        cache.get("CLI002", START, END, () -> report(1, 3L));
+
+        cache.onMovementsWritten(MovementsWrittenEvent.of(2L));
+
+        cache.get("JLEMA001", START, END, () -> report(1, 1L, 2L));
+        cache.get("CLI002", START, END, () -> report(1, 3L));
+        assertEquals(3, computed.get());
+        assertEquals(1.0, meterRegistry.counter("report.cache.invalidations").count());
+    }
+
+    @Test
+    @DisplayName("Should drop the reports of clients whose accounts changed")
+    void testOnClientAccountsChanged_Invalidates() {
+        cache.get("JLEMA001", START, END, () -> report(1, 1L));
+        cache.get("JLEMA001", START, END.plusDays(1), () -> report(1, 1L));
+        cache.get("CLI002", START, END, () -> report(1, 3L));
+
+        // A new account of JLEMA001 is in none of its cached reports
+        cache.onClientAccountsChanged(ClientAccountsChangedEvent.of("JLEMA001"));
+
+        assertEquals(1, cache.size());
+        assertEquals(2.0, meterRegistry.counter("report.cache.invalidations").count());
+        cache.get("JLEMA001", START, END, () -> report(1, 1L, 2L));
+        cache.get("CLI002", START, END, () -> report(1, 3L));
+        assertEquals(4, computed.get());
+    }
+
+    @Test
+    @DisplayName("Should not store a report whose client's accounts changed while it was computed")
+    void testGet_AccountChangeDuringComputation() {
+        cache.get("JLEMA001", START, END, () -> {
+            cache.onClientAccountsChanged(ClientAccountsChangedEvent.of("JLEMA001"));
+            return report(1, 1L);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not store a report whose accounts were written while it was computed")
+    void testGet_WriteDuringComputation() {
+        cache.get("JLEMA001", START, END, () -> {
+            cache.onMovementsWritten(MovementsWrittenEvent.of(1L));
+            return report(1, 1L);
+        });
+        cache.get("JLEMA001", START, END, () -> report(1, 1L));
+
+        assertEquals(2, computed.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used reports beyond the weight budget")
+    void testGet_EvictsLeastRecentlyUsed() {
+        // Weight is one per account plus one per movement: 4 each
+        cache.get("A", START, END, () -> report(3, 1L));
+        cache.get("B", START, END, () -> report(3, 2L));
+        cache.get("A", START, END, () -> report(3, 1L));
+        cache.get("C", START, END, () -> report(3, 3L));
+
+        assertEquals(8, cache.weight());
+        assertEquals(1.0, meterRegistry.counter("report.cache.evictions").count());
+        cache.get("A", START, END, () -> report(3, 1L));
+        assertEquals(3, computed.get());
+
+        // Reports over the whole budget are never stored
+        cache.get("D", START, END, () -> report(20, 4L));
+        assertEquals(8, cache.weight());
+    }
+
+    @Test
+    @DisplayName("Should keep closed periods longer than open ones")
+    void testGet_TtlByPeriod() {
+        cache = new ReportCache(meterRegistry, true, 10, 0, 3600);
+        LocalDateTime openEnd = LocalDateTime.now().plusDays(1);
+
+        cache.get("JLEMA001", START, openEnd, () -> report(1, 1L));
+        cache.get("JLEMA001", START, END, () -> report(1, 1L));
+        sleep();
+        cache.get("JLEMA001", START, openEnd, () -> report(1, 1L));
+        cache.get("JLEMA001", START, END, () -> report(1, 1L));
+
+        assertEquals(3, computed.get());
+    }
+
+    private ReportResponseDTO report(int movementsPerAccount, Long... accountIds) {
+        computed.incrementAndGet();
+        List<ReportResponseDTO.AccountInfo> accounts = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            List<ReportResponseDTO.MovementInfo> movements = new ArrayList<>();
+            IntStream.range(0, movementsPerAccount)
+                .forEach(i -> movements.add(ReportResponseDTO.MovementInfo.builder().movementId((long) i).build()));
+            accounts.add(ReportResponseDTO.AccountInfo.builder().accountId(accountId).movements(movements).build());
+        }
+        return ReportResponseDTO.builder()
+            .reportDate(LocalDateTime.now())
+            .accounts(accounts)
+            .build();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
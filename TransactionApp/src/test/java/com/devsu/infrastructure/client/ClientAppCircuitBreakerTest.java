@@ -0,0 +1,79 @@
+package com.devsu.infrastructure.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.devsu.infrastructure.client.ClientAppCircuitBreaker.State;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ClientAppCircuitBreaker
+ * Tests opening after consecutive failures, the single trial call and the state gauges
+ */
+@DisplayName("ClientAppCircuitBreaker Unit Tests")
+class ClientAppCircuitBreakerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive failures and reject calls while open")
+    void testOpensAfterConsecutiveFailures() {
+        ClientAppCircuitBreaker breaker = new ClientAppCircuitBreaker(meterRegistry, true, 3, 60000);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(State.CLOSED, breaker.state());
+        breaker.onFailure();
+
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        assertTrue(breaker.remainingOpenMillis() > 0);
+        assertEquals(1.0, meterRegistry.counter("client.circuit.rejected").count());
+        assertEquals(1.0, meterRegistry.get("client.circuit.state").tag("state", "open").gauge().value());
+        assertEquals(0.0, meterRegistry.get("client.circuit.state").tag("state", "closed").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should let one trial call through once open time is over")
+    void testHalfOpenTrial() {
+        ClientAppCircuitBreaker breaker = new ClientAppCircuitBreaker(meterRegistry, true, 1, 0);
+        breaker.onFailure();
+
+        // Trial fails, the circuit opens again
+        assertTrue(breaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(State.OPEN, breaker.state());
+
+        // Trial succeeds, the circuit closes
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should let every call through when disabled")
+    void testDisabled() {
+        ClientAppCircuitBreaker breaker = new ClientAppCircuitBreaker(meterRegistry, false, 1, 60000);
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(0.0, meterRegistry.counter("client.circuit.rejected").count());
+    }
+}
@@ -0,0 +1,174 @@
+package com.devsu.infrastructure.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+import com.devsu.infrastructure.cache.service.ClientCacheService;
+import com.devsu.infrastructure.client.config.WebClientConfig;
+import com.devsu.infrastructure.executor.Futures;
+import com.devsu.infrastructure.executor.ReportExecutor;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Load benchmark of the client lookup on cache misses
+ * A fixed pool of request threads serves requests that each look up a client and do
+ * their own work (a fixed sleep, as the statement query). ClientApp is a local HTTP
+ * server that answers after a fixed delay. Compares the lookup before the work, on a
+ * ReportExecutor thread, and in flight on the WebClient during the work. The request
+ * thread waits in every mode, so overlapping lowers latency, not the peak thread count.
+ * Run with: mvn test -Dtest=ClientLookupBenchmark -Dreport.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "report.benchmark", matches = "true")
+@DisplayName("Client lookup benchmark")
+class ClientLookupBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("report.benchmark.requests", 1000);
+    private static final int REQUEST_THREADS = Integer.getInteger("report.benchmark.request-threads", 50);
+    private static final long CLIENTAPP_DELAY_MILLIS = Long.getLong("report.benchmark.clientapp-delay-ms", 150);
+    private static final long WORK_MILLIS = Long.getLong("report.benchmark.work-ms", 50);
+
+    private static final String STUB_THREAD_PREFIX = "clientapp-stub-";
+
+    private final AtomicInteger round = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should report requests per second, latency and threads by lookup mode")
+    void benchmark() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        AtomicInteger stubThreads = new AtomicInteger();
+        server.setExecutor(Executors.newCachedThreadPool(
+            task -> new Thread(task, STUB_THREAD_PREFIX + stubThreads.incrementAndGet())));
+        server.createContext("/clientes/by-clientId", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            sleep(CLIENTAPP_DELAY_MILLIS);
+            byte[] body = ("{\"clientId\":\"" + path.substring(path.lastIndexOf('/') + 1) + "\",\"name\":\"Cliente\"}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        WebClientConfig config = new WebClientConfig();
+        ConnectionProvider connectionProvider = config.clientAppConnectionProvider(REQUEST_THREADS * 2, 1000, 10000, 30000, 300000);
+        WebClient webClient = config.clientAppWebClient(WebClient.builder(), connectionProvider,
+            "http://localhost:" + server.getAddress().getPort(), 1000, 10000, false);
+        // Every lookup misses the cache
+        ClientCacheService clientCacheService = mock(ClientCacheService.class);
+        when(clientCacheService.getClient(anyString())).thenReturn(null);
+        ClientServiceClient client = new ClientServiceClient(webClient, clientCacheService,
+            new ClientAppCircuitBreaker(new SimpleMeterRegistry(), true, 5, 30000), new SimpleMeterRegistry());
+        ReportExecutor reportExecutor = new ReportExecutor(16, true);
+
+        System.out.printf("%nClientApp delay %d ms, work %d ms, %d requests on %d request threads%n",
+            CLIENTAPP_DELAY_MILLIS, WORK_MILLIS, REQUESTS, REQUEST_THREADS);
+        System.out.printf("%-10s | %10s %10s %10s | %12s%n", "lookup", "req/s", "p50 ms", "p99 ms", "peak threads");
+        try {
+            // Warm up connections and the JIT
+            run(clientId -> client.getClientByClientId(clientId));
+            print("sequential", run(clientId -> {
+                ClientCacheDTO found = client.getClientByClientId(clientId);
+                sleep(WORK_MILLIS);
+                return found;
+            }));
+            print("overlapped", run(clientId -> {
+                CompletableFuture<ClientCacheDTO> found = client.getClientByClientIdAsync(clientId);
+                sleep(WORK_MILLIS);
+                return Futures.await(found);
+            }));
+            // Last, the report threads it starts outlive the round
+            print("executor", run(clientId -> {
+                CompletableFuture<ClientCacheDTO> found = reportExecutor.supplyAsync(() -> client.getClientByClientId(clientId));
+                sleep(WORK_MILLIS);
+                return Futures.await(found);
+            }));
+        } finally {
+            reportExecutor.destroy();
+            connectionProvider.dispose();
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Requests per second, p50 and p99 in milliseconds and peak live threads of one round,
+     * leaving out the threads of the ClientApp stand-in
+     */
+    private double[] run(Request request) throws Exception {
+        String prefix = "load-" + round.incrementAndGet() + "-";
+        AtomicInteger peakThreads = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakThreads.accumulateAndGet((int) Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> !thread.getName().startsWith(STUB_THREAD_PREFIX)).count(), Math::max), 0, 5, TimeUnit.MILLISECONDS);
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        try {
+            long[] samples = new long[REQUESTS];
+            List<Future<?>> results = new ArrayList<>();
+            long begin = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                String clientId = prefix + i;
+                results.add(requestThreads.submit(() -> {
+                    long start = System.nanoTime();
+                    assertEquals(clientId, request.serve(clientId).getClientId());
+                    samples[index] = System.nanoTime() - start;
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+            Arrays.sort(samples);
+            return new double[] {
+                REQUESTS / (elapsed / 1e9),
+                samples[(int) Math.ceil(REQUESTS * 0.50) - 1] / 1e6,
+                samples[(int) Math.ceil(REQUESTS * 0.99) - 1] / 1e6,
+                peakThreads.get()
+            };
+        } finally {
+            sampler.shutdown();
+            requestThreads.shutdown();
+        }
+    }
+
+    private static void print(String mode, double[] result) {
+        System.out.printf("%-10s | %10.1f %10.2f %10.2f | %12.0f%n", mode, result[0], result[1], result[2], result[3]);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        ClientCacheDTO serve(String clientId);
+    }
+}
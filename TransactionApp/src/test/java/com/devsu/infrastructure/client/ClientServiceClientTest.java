@@ -0,0 +1,203 @@
+package com.devsu.infrastructure.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.devsu.domain.exception.ClientServiceUnavailableException;
+import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.infrastructure.cache.dto.ClientCacheDTO;
+import com.devsu.infrastructure.cache.service.ClientCacheService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Unit tests for ClientServiceClient
+ * Tests coalescing of concurrent cache misses for the same client, the asynchronous
+ * lookup, the stale tier and the circuit breaker. ClientApp is replaced by an exchange
+ * function that holds every call until released
+ */
+@DisplayName("ClientServiceClient Unit Tests")
+class ClientServiceClientTest {
+
+    private static final int CALLERS = 8;
+
+    private ClientCacheService clientCacheService;
+    private SimpleMeterRegistry meterRegistry;
+    private ClientAppCircuitBreaker circuitBreaker;
+    private AtomicInteger calls;
+    private CountDownLatch release;
+    private HttpStatus status;
+
+    @BeforeEach
+    void setUp() {
+        clientCacheService = mock(ClientCacheService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new ClientAppCircuitBreaker(meterRegistry, true, 2, 60000);
+        calls = new AtomicInteger();
+        release = new CountDownLatch(1);
+        status = HttpStatus.OK;
+    }
+
+    @Test
+    @DisplayName("Should send one request and write the cache once for concurrent misses of a client")
+    void testGetClientByClientId_CoalescesMisses() throws Exception {
+        ClientServiceClient client = client();
+
+        List<Future<ClientCacheDTO>> results = lookUpConcurrently(client, "JLEMA001");
+
+        for (Future<ClientCacheDTO> result : results) {
+            assertEquals("José Lema", result.get(30, TimeUnit.SECONDS).getName());
+        }
+        assertEquals(1, calls.get());
+        verify(clientCacheService, times(1)).saveClient(any());
+        assertEquals(1.0, meterRegistry.counter("client.lookup.remote").count());
+        assertEquals(CALLERS - 1, meterRegistry.counter("client.lookup.coalesced").count());
+        assertEquals(0.0, meterRegistry.get("client.lookup.in-flight").gauge().value());
+
+        // Once the call is over, a new miss makes a new call
+        client.getClientByClientId("JLEMA001");
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should give every coalesced caller the failure of the shared request")
+    void testGetClientByClientId_SharesFailure() throws Exception {
+        status = HttpStatus.NOT_FOUND;
+
+        List<Future<ClientCacheDTO>> results = lookUpConcurrently(client(), "NOCLIENT");
+
+        for (Future<ClientCacheDTO> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+        }
+        assertEquals(1, calls.get());
+        verify(clientCacheService, never()).saveClient(any());
+    }
+
+    @Test
+    @DisplayName("Should return the lookup without waiting for ClientApp")
+    void testGetClientByClientIdAsync_DoesNotBlock() throws Exception {
+        ClientServiceClient client = client();
+        
+        CompletableFuture<ClientCacheDTO> first = client.getClientByClientIdAsync("JLEMA001");
+        CompletableFuture<ClientCacheDTO> second = client.getClientByClientIdAsync("JLEMA001");
+        
+        // ClientApp has not answered yet, both callers already have their lookup
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        release.countDown();
+        assertEquals("José Lema", first.get(30, TimeUnit.SECONDS).getName());
+        assertEquals("José Lema", second.get(30, TimeUnit.SECONDS).getName());
+        assertEquals(1, calls.get());
+        verify(clientCacheService, times(1)).saveClient(any());
+    }
+    
+    @Test
+    @DisplayName("Should serve the last known copy of a client while it is refreshed")
+    void testGetClientByClientIdAsync_ServesStaleWhileRefreshing() throws Exception {
+        when(clientCacheService.getStaleClient("JLEMA001"))
+            .thenReturn(ClientCacheDTO.builder().clientId("JLEMA001").name("José Lema (anterior)").build());
+        
+        CompletableFuture<ClientCacheDTO> lookup = client().getClientByClientIdAsync("JLEMA001");
+        
+        // Served before ClientApp answers, the refresh saves the current client afterwards
+        assertEquals("José Lema (anterior)", lookup.get(30, TimeUnit.SECONDS).getName());
+        release.countDown();
+        verify(clientCacheService, timeout(30000)).saveClient(argThat(saved -> "José Lema".equals(saved.getName())));
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("client.lookup.stale", "reason", "refreshing").count());
+    }
+    
+    @Test
+    @DisplayName("Should report ClientApp failures as unavailable and stop calling it once the circuit opens")
+    void testGetClientByClientId_CircuitOpens() {
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+        release.countDown();
+        ClientServiceClient client = client();
+        
+        // Not a 404: the client may exist
+        assertThrows(ClientServiceUnavailableException.class, () -> client.getClientByClientId("JLEMA001"));
+        assertThrows(ClientServiceUnavailableException.class, () -> client.getClientByClientId("JLEMA001"));
+        assertEquals(ClientAppCircuitBreaker.State.OPEN, circuitBreaker.state());
+        
+        assertThrows(ClientServiceUnavailableException.class, () -> client.getClientByClientId("JLEMA001"));
+        when(clientCacheService.getStaleClient("JLEMA001"))
+            .thenReturn(ClientCacheDTO.builder().clientId("JLEMA001").name("José Lema").build());
+        assertEquals("José Lema", client.getClientByClientId("JLEMA001").getName());
+        assertEquals(2, calls.get());
+        assertEquals(2.0, meterRegistry.counter("client.circuit.rejected").count());
+        assertEquals(1.0, meterRegistry.counter("client.lookup.stale", "reason", "circuit_open").count());
+    }
+    
+    @Test
+    @DisplayName("Should not count a client unknown to ClientApp as a failure")
+    void testGetClientByClientId_NotFoundKeepsCircuitClosed() {
+        status = HttpStatus.NOT_FOUND;
+        release.countDown();
+        ClientServiceClient client = client();
+        
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceNotFoundException.class, () -> client.getClientByClientId("NOCLIENT"));
+        }
+        assertEquals(ClientAppCircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertEquals(3, calls.get());
+    }
+    
+    /**
+     * Start CALLERS lookups, wait until they are all waiting on the same call, then release it
+     */
+    private List<Future<ClientCacheDTO>> lookUpConcurrently(ClientServiceClient client, String clientId)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<ClientCacheDTO>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> client.getClientByClientId(clientId)));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (meterRegistry.counter("client.lookup.coalesced").count() < CALLERS - 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private ClientServiceClient client() {
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            release.await(30, TimeUnit.SECONDS);
+            return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(status == HttpStatus.OK ? "{\"id\":1,\"clientId\":\"JLEMA001\",\"name\":\"José Lema\"}" : "")
+                .build();
+        }).subscribeOn(Schedulers.boundedElastic())).build();
+        return new ClientServiceClient(webClient, clientCacheService, circuitBreaker, meterRegistry);
+    }
+}
@@ -0,0 +1,120 @@
+package com.devsu.infrastructure.client.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Unit tests for WebClientConfig
+ * Tests connection reuse, pool gauges and the response timeout of the ClientApp WebClient
+ * against a local HTTP server
+ */
+@DisplayName("WebClientConfig Unit Tests")
+class WebClientConfigTest {
+
+    private final WebClientConfig config = new WebClientConfig();
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Metrics.addRegistry(meterRegistry);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/clientes", exchange -> {
+            connections.add(exchange.getRemoteAddress().getPort());
+            if (exchange.getRequestURI().getPath().endsWith("/slow")) {
+                sleep(1000);
+            }
+            byte[] body = "{\"clientId\":\"JLEMA001\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        connectionProvider = config.clientAppConnectionProvider(4, 10, 1000, 30000, 300000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        server.stop(0);
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should keep connections alive and reuse them across calls")
+    void testClientAppWebClient_ReusesConnections() {
+        WebClient webClient = webClient(5000);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(webClient.get().uri("/clientes/by-clientId/JLEMA001").retrieve().bodyToMono(String.class)
+                .block().contains("JLEMA001"));
+            // A connection goes back to the pool asynchronously, wait for it before the next call
+            awaitReleased();
+        }
+
+        // The pool may still open a second connection while the first one is being released
+        assertTrue(connections.size() <= 2);
+        assertEquals(connections.size(), gauge("total.connections"));
+        assertEquals(0.0, gauge("pending.connections"));
+        assertEquals(4.0, gauge("max.connections"));
+    }
+
+    @Test
+    @DisplayName("Should fail a call once the response timeout elapses")
+    void testClientAppWebClient_ResponseTimeout() {
+        WebClient webClient = webClient(200);
+        webClient.get().uri("/clientes/by-clientId/JLEMA001").retrieve().bodyToMono(String.class).block();
+
+        long begin = System.nanoTime();
+        Exception e = assertThrows(Exception.class, () -> webClient.get().uri("/clientes/slow")
+            .retrieve().bodyToMono(String.class).block());
+
+        assertInstanceOf(ReadTimeoutException.class, e.getCause());
+        assertTrue((System.nanoTime() - begin) / 1_000_000 < 1000);
+    }
+
+    private WebClient webClient(long responseTimeoutMs) {
+        return config.clientAppWebClient(WebClient.builder(), connectionProvider,
+            "http://localhost:" + server.getAddress().getPort(), 1000, responseTimeoutMs, false);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get("reactor.netty.connection.provider." + name).tag("name", "clientapp").gauge().value();
+    }
+
+    private void awaitReleased() {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (gauge("active.connections") > 0 && System.currentTimeMillis() < deadline) {
+            sleep(1);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,10 +20,12 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.devsu.application.dto.AccountBalanceResponseDTO;
 import com.devsu.application.dto.AccountRequestDTO;
 import com.devsu.application.dto.AccountResponseDTO;
 import com.devsu.application.service.AccountService;
 import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.ClientServiceUnavailableException;
 import com.devsu.domain.exception.ResourceNotFoundException;
 import com.devsu.infrastructure.exception.GlobalExceptionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -50,7 +54,7 @@ class AccountControllerTest {
         accountRequestDTO = new AccountRequestDTO();
         accountRequestDTO.setAccountNumber("123456");
         accountRequestDTO.setAccountType("AHORROS");
-        accountRequestDTO.setInitialBalance(1000.0);
+        accountRequestDTO.setInitialBalance(new BigDecimal("1000.00"));
         accountRequestDTO.setState("ACTIVA");
         accountRequestDTO.setAccountKey("key123");
         accountRequestDTO.setClientId("client-1");
@@ -59,7 +63,7 @@ class AccountControllerTest {
                 .id(1L)
                 .accountNumber("123456")
                 .accountType("AHORROS")
-                .balance(1000.0)
+                .balance(new BigDecimal("1000.00"))
                 .state("ACTIVA")
                 .clientId("client-1")
                 .build();
@@ -111,12 +115,25 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.message").value("Account with accountNumber 123456 already exists"));
     }
     
+    @Test
+    void testCreateAccount_ClientServiceUnavailable() throws Exception {
+        when(accountService.createAccount(any(AccountRequestDTO.class)))
+            .thenThrow(new ClientServiceUnavailableException("ClientApp is unavailable, client client-1 could not be retrieved"));
+        
+        mockMvc.perform(post("/cuentas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(accountRequestDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Service Unavailable"))
+                .andExpect(jsonPath("$.message").value("ClientApp is unavailable, client client-1 could not be retrieved"));
+    }
+    
     @Test
     void testUpdateAccount_Success() throws Exception {
         AccountRequestDTO updateDTO = new AccountRequestDTO();
         updateDTO.setAccountNumber("123456");
         updateDTO.setAccountType("CORRIENTE");
-        updateDTO.setInitialBalance(2000.0);
+        updateDTO.setInitialBalance(new BigDecimal("2000.00"));
         updateDTO.setState("ACTIVA");
         updateDTO.setClientId("client-1");
         
@@ -124,7 +141,7 @@ class AccountControllerTest {
                 .id(1L)
                 .accountNumber("123456")
                 .accountType("CORRIENTE")
-                .balance(2000.0)
+                .balance(new BigDecimal("2000.00"))
                 .state("ACTIVA")
                 .clientId("client-1")
                 .build();
@@ -182,7 +199,7 @@ class AccountControllerTest {
                 .id(2L)
                 .accountNumber("654321")
                 .accountType("CORRIENTE")
-                .balance(500.0)
+                .balance(new BigDecimal("500.00"))
                 .state("ACTIVA")
                 .clientId("client-2")
                 .build();
@@ -236,7 +253,7 @@ class AccountControllerTest {
                 .id(2L)
                 .accountNumber("654321")
                 .accountType("CORRIENTE")
-                .balance(500.0)
+                .balance(new BigDecimal("500.00"))
                 .state("ACTIVA")
                 .clientId("client-1")
                 .build();
@@ -276,4 +293,30 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.error").value("Not Found"))
                 .andExpect(jsonPath("$.message").value("Client with clientId CLIENTEINEXISTENTE not found"));
     }
+    
+    @Test
+    void testGetBalanceAt_Success() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2026, 2, 4, 10, 0);
+        when(accountService.getBalanceAt(1L, at)).thenReturn(AccountBalanceResponseDTO.builder()
+            .accountId(1L)
+            .accountNumber("123456")
+            .at(at)
+            .balance(new BigDecimal("425.00"))
+            .build());
+        
+        mockMvc.perform(get("/cuentas/1/saldo").param("at", "2026-02-04T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("123456"))
+                .andExpect(jsonPath("$.balance").value(425.00));
+    }
+    
+    @Test
+    void testGetBalanceAt_NotFound() throws Exception {
+        when(accountService.getBalanceAt(eq(999L), any(LocalDateTime.class)))
+            .thenThrow(new ResourceNotFoundException("Account with id 999 not found"));
+        
+        mockMvc.perform(get("/cuentas/999/saldo").param("at", "2026-02-04T10:00:00"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account with id 999 not found"));
+    }
 }
@@ -1,14 +1,19 @@
 package com.devsu.infrastructure.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,11 +24,15 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.devsu.application.dto.MovementBatchRequestDTO;
+import com.devsu.application.dto.MovementBatchResponseDTO;
 import com.devsu.application.dto.MovementRequestDTO;
 import com.devsu.application.dto.MovementResponseDTO;
 import com.devsu.application.service.MovementService;
+import com.devsu.domain.exception.IdempotencyKeyReusedException;
 import com.devsu.domain.exception.InsufficientBalanceException;
 import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.infrastructure.cache.service.IdempotencyStore;
 import com.devsu.infrastructure.exception.GlobalExceptionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -44,6 +53,9 @@ class MovementControllerTest {
     @MockBean
     private MovementService movementService;
     
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+    
     private MovementRequestDTO movementRequestDTO;
     private MovementResponseDTO movementResponseDTO;
     
@@ -55,7 +67,7 @@ class MovementControllerTest {
         movementRequestDTO.setAccountId(1L);
         movementRequestDTO.setMovementDate(now);
         movementRequestDTO.setMovementType("DEPOSITO");
-        movementRequestDTO.setAmount(500.0);
+        movementRequestDTO.setAmount(new BigDecimal("500.00"));
         movementRequestDTO.setState("ACTIVO");
         
         movementResponseDTO = MovementResponseDTO.builder()
@@ -65,8 +77,8 @@ class MovementControllerTest {
                 .movementNumber(1L)
                 .movementDate(now)
                 .movementType("DEPOSITO")
-                .amount(500.0)
-                .balance(1500.0)
+                .amount(new BigDecimal("500.00"))
+                .balance(new BigDecimal("1500.00"))
                 .state("ACTIVO")
                 .build();
     }
@@ -89,10 +101,42 @@ class MovementControllerTest {
                 .andExpect(jsonPath("$.state").value("ACTIVO"));
     }
     
+    @Test
+    void testCreateMovement_WithIdempotencyKey() throws Exception {
+        when(idempotencyStore.executeOnce(eq("key-1"), any(MovementRequestDTO.class), any()))
+            .thenReturn(movementResponseDTO);
+        
+        mockMvc.perform(post("/movimientos")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movementRequestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.balance").value(1500.0));
+        
+        verify(idempotencyStore).executeOnce(eq("key-1"), eq(movementRequestDTO), any(Supplier.class));
+        verify(movementService, never()).createMovement(any(MovementRequestDTO.class));
+    }
+    
+    @Test
+    void testCreateMovement_IdempotencyKeyReused() throws Exception {
+        when(idempotencyStore.executeOnce(eq("key-1"), any(MovementRequestDTO.class), any()))
+            .thenThrow(new IdempotencyKeyReusedException("Idempotency-Key key-1 was already used for a different request"));
+        
+        mockMvc.perform(post("/movimientos")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movementRequestDTO)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key key-1 was already used for a different request"));
+        
+        verify(movementService, never()).createMovement(any(MovementRequestDTO.class));
+    }
+    
     @Test
     void testCreateMovement_Withdrawal_Success() throws Exception {
         movementRequestDTO.setMovementType("RETIRO");
-        movementRequestDTO.setAmount(-300.0);
+        movementRequestDTO.setAmount(new BigDecimal("-300.00"));
         
         MovementResponseDTO withdrawalResponse = MovementResponseDTO.builder()
                 .id(2L)
@@ -101,8 +145,8 @@ class MovementControllerTest {
                 .movementNumber(2L)
                 .movementDate(LocalDateTime.now())
                 .movementType("RETIRO")
-                .amount(-300.0)
-                .balance(700.0)
+                .amount(new BigDecimal("-300.00"))
+                .balance(new BigDecimal("700.00"))
                 .state("ACTIVO")
                 .build();
         
@@ -121,7 +165,7 @@ class MovementControllerTest {
     @Test
     void testCreateMovement_InsufficientBalance_F3() throws Exception {
         movementRequestDTO.setMovementType("RETIRO");
-        movementRequestDTO.setAmount(-2000.0);
+        movementRequestDTO.setAmount(new BigDecimal("-2000.00"));
         
         when(movementService.createMovement(any(MovementRequestDTO.class)))
             .thenThrow(new InsufficientBalanceException("Saldo no disponible"));
@@ -161,13 +205,54 @@ class MovementControllerTest {
                 .andExpect(jsonPath("$.message").value("Account with id 999 not found"));
     }
     
+    @Test
+    void testCreateMovements_Batch() throws Exception {
+        MovementBatchResponseDTO batchResponse = MovementBatchResponseDTO.builder()
+                .totalItems(2)
+                .created(1)
+                .rejected(1)
+                .results(Arrays.asList(
+                        MovementBatchResponseDTO.ItemResult.builder()
+                                .index(0).accountId(1L).status(MovementBatchResponseDTO.STATUS_CREATED)
+                                .movementNumber(1L).balance(new BigDecimal("1500.00")).build(),
+                        MovementBatchResponseDTO.ItemResult.builder()
+                                .index(1).accountId(1L).status(MovementBatchResponseDTO.STATUS_REJECTED)
+                                .message("Saldo no disponible").build()))
+                .build();
+        
+        when(movementService.createMovements(anyList())).thenReturn(batchResponse);
+        
+        MovementBatchRequestDTO request = new MovementBatchRequestDTO(Arrays.asList(movementRequestDTO, movementRequestDTO));
+        
+        mockMvc.perform(post("/movimientos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].message").value("Saldo no disponible"));
+    }
+    
+    @Test
+    void testCreateMovements_Batch_ValidationError() throws Exception {
+        MovementRequestDTO invalidDTO = new MovementRequestDTO();
+        MovementBatchRequestDTO request = new MovementBatchRequestDTO(Arrays.asList(movementRequestDTO, invalidDTO));
+        
+        mockMvc.perform(post("/movimientos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+    }
+    
     @Test
     void testUpdateMovement_Success() throws Exception {
         MovementRequestDTO updateDTO = new MovementRequestDTO();
         updateDTO.setAccountId(1L);
         updateDTO.setMovementDate(LocalDateTime.now());
         updateDTO.setMovementType("DEPOSITO");
-        updateDTO.setAmount(600.0);
+        updateDTO.setAmount(new BigDecimal("600.00"));
         updateDTO.setState("ACTIVO");
         
         MovementResponseDTO updatedResponse = MovementResponseDTO.builder()
@@ -177,8 +262,8 @@ class MovementControllerTest {
                 .movementNumber(1L)
                 .movementDate(LocalDateTime.now())
                 .movementType("DEPOSITO")
-                .amount(600.0)
-                .balance(1600.0)
+                .amount(new BigDecimal("600.00"))
+                .balance(new BigDecimal("1600.00"))
                 .state("ACTIVO")
                 .build();
         
@@ -239,8 +324,8 @@ class MovementControllerTest {
                 .movementNumber(2L)
                 .movementDate(LocalDateTime.now())
                 .movementType("RETIRO")
-                .amount(-200.0)
-                .balance(1300.0)
+                .amount(new BigDecimal("-200.00"))
+                .balance(new BigDecimal("1300.00"))
                 .state("ACTIVO")
                 .build();
         
@@ -274,8 +359,8 @@ class MovementControllerTest {
                 .movementNumber(2L)
                 .movementDate(LocalDateTime.now())
                 .movementType("RETIRO")
-                .amount(-200.0)
-                .balance(1300.0)
+                .amount(new BigDecimal("-200.00"))
+                .balance(new BigDecimal("1300.00"))
                 .state("ACTIVO")
                 .build();
         
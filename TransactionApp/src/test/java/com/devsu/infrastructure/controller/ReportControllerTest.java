@@ -0,0 +1,295 @@
+package com.devsu.infrastructure.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.devsu.application.dto.ReportBatchManifestDTO;
+import com.devsu.application.dto.ReportBatchRequestDTO;
+import com.devsu.application.dto.ReportJobRequestDTO;
+import com.devsu.application.dto.ReportJobResponseDTO;
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.dto.StatementPageResponseDTO;
+import com.devsu.application.service.ReportService;
+import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.ReportJobRejectedException;
+import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.infrastructure.exception.GlobalExceptionHandler;
+import com.devsu.infrastructure.export.StatementArchiveWriter;
+import com.devsu.infrastructure.export.StatementExportFormat;
+import com.devsu.infrastructure.export.StatementExportWriter;
+import com.devsu.infrastructure.job.ReportJobManager;
+
+/**
+ * Unit tests for ReportController
+ */
+@WebMvcTest(ReportController.class)
+@Import(GlobalExceptionHandler.class)
+class ReportControllerTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 2, 28, 23, 59, 59);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private ReportService reportService;
+    
+    @MockBean
+    private ReportJobManager reportJobManager;
+    
+    @TempDir
+    private Path tempDir;
+    
+    @Test
+    void testGenerateAccountStatement_SummaryOnly() throws Exception {
+        ReportResponseDTO.AccountInfo account = ReportResponseDTO.AccountInfo.builder()
+            .accountId(1L)
+            .accountNumber("478758")
+            .initialBalance(new BigDecimal("2000.00"))
+            .finalBalance(new BigDecimal("1425.00"))
+            .summary(new ReportResponseDTO.Summary(null, 1, new BigDecimal("0.00"), new BigDecimal("-575.00"),
+                new BigDecimal("-575.00")))
+            .build();
+        when(reportService.generateAccountSummary("JLEMA001", START, END)).thenReturn(ReportResponseDTO.builder()
+            .client(new ReportResponseDTO.ClientInfo("JLEMA001", "José Lema"))
+            .accounts(List.of(account))
+            .summary(new ReportResponseDTO.Summary(1, 1, new BigDecimal("0.00"), new BigDecimal("-575.00"),
+                new BigDecimal("-575.00")))
+            .build());
+        
+        mockMvc.perform(get("/reportes")
+                .param("clientId", "JLEMA001")
+                .param("startDate", "2026-02-01T00:00:00")
+                .param("endDate", "2026-02-28T23:59:59")
+                .param("summaryOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].movements").doesNotExist())
+                .andExpect(jsonPath("$.accounts[0].summary.totalMovements").value(1))
+                .andExpect(jsonPath("$.accounts[0].summary.totalAccounts").doesNotExist())
+                .andExpect(jsonPath("$.summary.totalWithdrawals").value(-575.00));
+        
+        verify(reportService, never()).generateAccountStatement(any(), any(), any());
+    }
+    
+    @Test
+    void testGenerateAccountStatement_Paginated() throws Exception {
+        ReportResponseDTO.AccountInfo account = ReportResponseDTO.AccountInfo.builder()
+            .accountId(1L)
+            .accountNumber("478758")
+            .movements(List.of(new ReportResponseDTO.MovementInfo(10L, LocalDateTime.of(2026, 2, 4, 10, 0),
+                "Retiro", new BigDecimal("-575.00"), new BigDecimal("1425.00"), "true")))
+            .nextCursor("MXwy")
+            .build();
+        when(reportService.generateAccountStatementPage("JLEMA001", START, END, 1)).thenReturn(ReportResponseDTO.builder()
+            .accounts(List.of(account))
+            .build());
+        
+        mockMvc.perform(get("/reportes")
+                .param("clientId", "JLEMA001")
+                .param("startDate", "2026-02-01T00:00:00")
+                .param("endDate", "2026-02-28T23:59:59")
+                .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].movements.length()").value(1))
+                .andExpect(jsonPath("$.accounts[0].nextCursor").value("MXwy"));
+        
+        verify(reportService, never()).generateAccountStatement(any(), any(), any());
+    }
+    
+    @Test
+    void testGetStatementMovements() throws Exception {
+        when(reportService.getStatementMovements("MXwy", null)).thenReturn(StatementPageResponseDTO.builder()
+            .accountId(1L)
+            .movements(List.of())
+            .build());
+        
+        mockMvc.perform(get("/reportes/movimientos")
+                .param("cursor", "MXwy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    
+    @Test
+    void testGetStatementMovements_InvalidCursor() throws Exception {
+        when(reportService.getStatementMovements("bad", null)).thenThrow(new BusinessException("Invalid movements cursor"));
+        
+        mockMvc.perform(get("/reportes/movimientos")
+                .param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void testExportAccountStatement_Csv() throws Exception {
+        ReportResponseDTO.ClientInfo client = new ReportResponseDTO.ClientInfo("JLEMA001", "José Lema");
+        when(reportService.getStatementClient("JLEMA001")).thenReturn(client);
+        doAnswer(invocation -> {
+            StatementExportWriter writer = invocation.getArgument(3);
+            writer.writeClient(client);
+            writer.writeSummary(new ReportResponseDTO.Summary(0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+            writer.flush();
+            return null;
+        }).when(reportService).exportAccountStatement(eq(client), eq(START), eq(END), any());
+        
+        MvcResult result = mockMvc.perform(get("/reportes/export")
+                .param("clientId", "JLEMA001")
+                .param("startDate", "2026-02-01T00:00:00")
+                .param("endDate", "2026-02-28T23:59:59")
+                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"estado-cuenta-JLEMA001.csv\""))
+                .andExpect(content().string(startsWith("record,clientId,accountNumber")))
+                .andExpect(content().string(endsWith("summary,,,,,,netChange,0,,\n")));
+    }
+    
+    @Test
+    void testExportAccountStatement_ClientWithoutAccounts() throws Exception {
+        when(reportService.getStatementClient("NOCLIENT"))
+            .thenThrow(new ResourceNotFoundException("No accounts found for client NOCLIENT"));
+        
+        mockMvc.perform(get("/reportes/export")
+                .param("clientId", "NOCLIENT")
+                .param("startDate", "2026-02-01T00:00:00")
+                .param("endDate", "2026-02-28T23:59:59"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No accounts found for client NOCLIENT"));
+        
+        verify(reportService, never()).exportAccountStatement(any(), any(), any(), any());
+    }
+    
+    @Test
+    void testExportAccountStatement_UnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/reportes/export")
+                .param("clientId", "JLEMA001")
+                .param("startDate", "2026-02-01T00:00:00")
+                .param("endDate", "2026-02-28T23:59:59")
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        
+        verifyNoInteractions(reportService);
+    }
+    
+    @Test
+    void testExportAccountStatements_Zip() throws Exception {
+        when(reportService.validateStatementBatch(any(ReportBatchRequestDTO.class))).thenReturn(List.of("JLEMA001"));
+        doAnswer(invocation -> {
+            StatementArchiveWriter archive = invocation.getArgument(3);
+            archive.startStatement("JLEMA001").writeClient(new ReportResponseDTO.ClientInfo("JLEMA001", "José Lema"));
+            archive.finishStatement();
+            archive.finish(ReportBatchManifestDTO.builder().statements(1).build());
+            return null;
+        }).when(reportService).exportAccountStatements(eq(List.of("JLEMA001")), eq(START), eq(END), any());
+        
+        MvcResult result = mockMvc.perform(post("/reportes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientIds\":[\"JLEMA001\"],\"startDate\":\"2026-02-01T00:00:00\",\"endDate\":\"2026-02-28T23:59:59\",\"format\":\"csv\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"estados-cuenta.zip\""))
+                .andExpect(content().string(startsWith("PK")))
+                .andExpect(content().string(containsString("estado-cuenta-JLEMA001.csv")));
+    }
+    
+    @Test
+    void testExportAccountStatements_InvalidBatch() throws Exception {
+        when(reportService.validateStatementBatch(any(ReportBatchRequestDTO.class)))
+            .thenThrow(new BusinessException("Start date must not be after end date"));
+        
+        mockMvc.perform(post("/reportes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientIds\":[\"JLEMA001\"],\"startDate\":\"2026-03-01T00:00:00\",\"endDate\":\"2026-02-28T23:59:59\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Start date must not be after end date"));
+        
+        mockMvc.perform(post("/reportes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientIds\":[],\"startDate\":\"2026-02-01T00:00:00\",\"endDate\":\"2026-02-28T23:59:59\"}"))
+                .andExpect(status().isBadRequest());
+        
+        verify(reportService, never()).exportAccountStatements(any(), any(), any(), any());
+    }
+    
+    @Test
+    void testSubmitReportJob_Accepted() throws Exception {
+        when(reportJobManager.submit(any(ReportJobRequestDTO.class))).thenReturn(ReportJobResponseDTO.builder()
+            .jobId("job-1")
+            .status(ReportJobResponseDTO.Status.QUEUED)
+            .clientId("JLEMA001")
+            .build());
+        
+        mockMvc.perform(post("/reportes/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientId\":\"JLEMA001\",\"startDate\":\"2020-01-01T00:00:00\",\"endDate\":\"2026-02-28T23:59:59\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/reportes/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+    
+    @Test
+    void testSubmitReportJob_QueueFull() throws Exception {
+        when(reportJobManager.submit(any(ReportJobRequestDTO.class)))
+            .thenThrow(new ReportJobRejectedException("Report job queue is full, please retry later"));
+        
+        mockMvc.perform(post("/reportes/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientId\":\"JLEMA001\",\"startDate\":\"2020-01-01T00:00:00\",\"endDate\":\"2026-02-28T23:59:59\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Report job queue is full, please retry later"));
+    }
+    
+    @Test
+    void testSubmitReportJob_MissingDates() throws Exception {
+        mockMvc.perform(post("/reportes/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientId\":\"JLEMA001\"}"))
+                .andExpect(status().isBadRequest());
+        
+        verifyNoInteractions(reportJobManager);
+    }
+    
+    @Test
+    void testDownloadReportJob() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("job-1.ndjson"), "{\"record\":\"client\"}\n");
+        when(reportJobManager.getArtifact("job-1"))
+            .thenReturn(new ReportJobManager.Artifact(file, StatementExportFormat.NDJSON, "estado-cuenta-JLEMA001-job-1.ndjson"));
+        
+        mockMvc.perform(get("/reportes/jobs/job-1/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"estado-cuenta-JLEMA001-job-1.ndjson\""))
+                .andExpect(content().string("{\"record\":\"client\"}\n"));
+    }
+}
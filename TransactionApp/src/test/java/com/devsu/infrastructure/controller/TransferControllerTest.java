@@ -0,0 +1,100 @@
+package com.devsu.infrastructure.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.devsu.application.dto.MovementResponseDTO;
+import com.devsu.application.dto.TransferRequestDTO;
+import com.devsu.application.dto.TransferResponseDTO;
+import com.devsu.application.service.TransferService;
+import com.devsu.domain.exception.InsufficientBalanceException;
+import com.devsu.infrastructure.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for TransferController
+ */
+@WebMvcTest(TransferController.class)
+@Import(GlobalExceptionHandler.class)
+class TransferControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @MockBean
+    private TransferService transferService;
+    
+    private TransferRequestDTO transferRequestDTO;
+    
+    @BeforeEach
+    void setUp() {
+        transferRequestDTO = new TransferRequestDTO(1L, 2L, new BigDecimal("150.00"), "ACTIVO");
+    }
+    
+    @Test
+    void testTransfer_Success() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        TransferResponseDTO response = TransferResponseDTO.builder()
+                .transferDate(now)
+                .amount(new BigDecimal("150.00"))
+                .debit(MovementResponseDTO.builder()
+                        .id(10L).accountId(1L).movementNumber(3L)
+                        .amount(new BigDecimal("-150.00")).balance(new BigDecimal("850.00")).build())
+                .credit(MovementResponseDTO.builder()
+                        .id(11L).accountId(2L).movementNumber(1L)
+                        .amount(new BigDecimal("150.00")).balance(new BigDecimal("250.00")).build())
+                .build();
+        
+        when(transferService.transfer(any(TransferRequestDTO.class))).thenReturn(response);
+        
+        mockMvc.perform(post("/transferencias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transferRequestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.amount").value(150.0))
+                .andExpect(jsonPath("$.debit.accountId").value(1))
+                .andExpect(jsonPath("$.debit.balance").value(850.0))
+                .andExpect(jsonPath("$.credit.accountId").value(2))
+                .andExpect(jsonPath("$.credit.balance").value(250.0));
+    }
+    
+    @Test
+    void testTransfer_InsufficientBalance_F3() throws Exception {
+        when(transferService.transfer(any(TransferRequestDTO.class)))
+            .thenThrow(new InsufficientBalanceException("Saldo no disponible"));
+        
+        mockMvc.perform(post("/transferencias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transferRequestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Saldo no disponible"));
+    }
+    
+    @Test
+    void testTransfer_ValidationError() throws Exception {
+        TransferRequestDTO invalidDTO = new TransferRequestDTO(1L, null, new BigDecimal("-5.00"), "ACTIVO");
+        
+        mockMvc.perform(post("/transferencias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalidDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors").isArray());
+    }
+}
@@ -0,0 +1,93 @@
+package com.devsu.infrastructure.executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.devsu.domain.exception.ResourceNotFoundException;
+
+/**
+ * Unit tests for ReportExecutor
+ * Tests the parallelism cap, caller-runs fallback and exception unwrapping
+ */
+@DisplayName("ReportExecutor Unit Tests")
+class ReportExecutorTest {
+
+    private ReportExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should run tasks off the calling thread while slots are free")
+    void testSupplyAsync_RunsConcurrently() throws Exception {
+        executor = new ReportExecutor(2, true);
+        Thread caller = Thread.currentThread();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Thread> first = executor.supplyAsync(() -> {
+            await(release);
+            return Thread.currentThread();
+        });
+        CompletableFuture<Thread> second = executor.supplyAsync(Thread::currentThread);
+
+        assertNotSame(caller, second.get(5, TimeUnit.SECONDS));
+        assertFalse(first.isDone());
+        release.countDown();
+        assertNotSame(caller, first.get(5, TimeUnit.SECONDS));
+        assertEquals(Runtime.version().feature() >= 21, executor.usesVirtualThreads());
+    }
+
+    @Test
+    @DisplayName("Should run on the calling thread once the cap is reached")
+    void testSupplyAsync_CallerRunsWhenSaturated() throws Exception {
+        executor = new ReportExecutor(1, false);
+        Thread caller = Thread.currentThread();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Thread> busy = executor.supplyAsync(() -> {
+            await(release);
+            return Thread.currentThread();
+        });
+        CompletableFuture<Thread> inline = executor.supplyAsync(Thread::currentThread);
+
+        assertTrue(inline.isDone());
+        assertSame(caller, inline.get());
+        release.countDown();
+        assertNotSame(caller, busy.get(5, TimeUnit.SECONDS));
+
+        // The slot is given back once the task completes
+        busy.join();
+        assertNotSame(caller, executor.supplyAsync(Thread::currentThread).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should rethrow the exception of the task unwrapped")
+    void testAwait_UnwrapsException() {
+        executor = new ReportExecutor(0, false);
+
+        CompletableFuture<String> failed = executor.supplyAsync(() -> {
+            throw new ResourceNotFoundException("Client not found with clientId: X");
+        });
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+            () -> Futures.await(failed));
+        assertEquals("Client not found with clientId: X", exception.getMessage());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
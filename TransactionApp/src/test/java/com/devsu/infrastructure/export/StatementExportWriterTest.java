@@ -0,0 +1,98 @@
+package com.devsu.infrastructure.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.domain.exception.BusinessException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Unit tests for the statement export writers (NDJSON and CSV)
+ */
+@DisplayName("StatementExportWriter Unit Tests")
+class StatementExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ByteArrayOutputStream output;
+    private ReportResponseDTO.AccountInfo account;
+    private ReportResponseDTO.MovementInfo movement;
+    private ReportResponseDTO.Summary summary;
+
+    @BeforeEach
+    void setUp() {
+        output = new ByteArrayOutputStream();
+        account = new ReportResponseDTO.AccountInfo(1L, "478758", "Ahorros", "JLEMA001",
+            new BigDecimal("2000.00"), new BigDecimal("2000.00"), new ArrayList<>(), null, null);
+        movement = new ReportResponseDTO.MovementInfo(10L, LocalDateTime.of(2026, 2, 4, 10, 0),
+            "Retiro, cajero", new BigDecimal("-575.00"), new BigDecimal("1425.00"), "true");
+        summary = new ReportResponseDTO.Summary(1, 1, new BigDecimal("0.00"), new BigDecimal("-575.00"),
+            new BigDecimal("-575.00"));
+    }
+
+    @Test
+    @DisplayName("Should write one tagged JSON object per line")
+    void testNdjsonWriter() throws IOException {
+        write(StatementExportFormat.NDJSON.writer(output, objectMapper));
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+
+        JsonNode accountRecord = objectMapper.readTree(lines[1]);
+        assertEquals("account", accountRecord.get("record").asText());
+        assertTrue(lines[1].contains("\"initialBalance\":2000.00"));
+        assertFalse(accountRecord.has("movements"));
+
+        JsonNode movementRecord = objectMapper.readTree(lines[2]);
+        assertEquals("movement", movementRecord.get("record").asText());
+        assertEquals("478758", movementRecord.get("accountNumber").asText());
+        assertEquals("2026-02-04T10:00:00", movementRecord.get("movementDate").asText());
+
+        assertEquals("summary", objectMapper.readTree(lines[3]).get("record").asText());
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header, quoted values and the summary rows last")
+    void testCsvWriter() throws IOException {
+        write(StatementExportFormat.CSV.writer(output, objectMapper));
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(CsvStatementExportWriter.HEADER, lines[0]);
+        assertEquals("account,JLEMA001,478758,Ahorros,,,,,2000.00,", lines[1]);
+        assertEquals("movement,JLEMA001,478758,Ahorros,10,2026-02-04T10:00,\"Retiro, cajero\",-575.00,1425.00,true", lines[2]);
+        assertEquals("summary,,,,,,totalAccounts,1,,", lines[3]);
+        assertEquals("summary,,,,,,netChange,-575.00,,", lines[lines.length - 1]);
+    }
+
+    @Test
+    @DisplayName("Should resolve formats case-insensitively and reject unknown ones")
+    void testFormatOf() {
+        assertEquals(StatementExportFormat.CSV, StatementExportFormat.of("CSV"));
+        assertEquals(StatementExportFormat.NDJSON, StatementExportFormat.of("ndjson"));
+        assertThrows(BusinessException.class, () -> StatementExportFormat.of("xml"));
+    }
+
+    private void write(StatementExportWriter writer) throws IOException {
+        writer.writeClient(new ReportResponseDTO.ClientInfo("JLEMA001", "José Lema"));
+        writer.writeAccount(account);
+        writer.writeMovement(account, movement);
+        writer.writeSummary(summary);
+        writer.flush();
+    }
+}
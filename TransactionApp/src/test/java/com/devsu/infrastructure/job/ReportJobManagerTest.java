@@ -0,0 +1,208 @@
+package com.devsu.infrastructure.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.devsu.application.dto.ReportJobRequestDTO;
+import com.devsu.application.dto.ReportJobResponseDTO;
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.application.service.ReportService;
+import com.devsu.domain.exception.BusinessException;
+import com.devsu.domain.exception.ReportJobRejectedException;
+import com.devsu.domain.exception.ResourceNotFoundException;
+import com.devsu.infrastructure.export.StatementExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ReportJobManager
+ * Tests the job lifecycle, the bounded queue, the retention of artifacts and the startup cleanup
+ */
+@DisplayName("ReportJobManager Unit Tests")
+class ReportJobManagerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 2, 28, 23, 59);
+
+    @TempDir
+    private Path directory;
+
+    private ReportService reportService;
+    private SimpleMeterRegistry meterRegistry;
+    private ReportJobManager manager;
+    private ReportResponseDTO.ClientInfo client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reportService = mock(ReportService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        client = new ReportResponseDTO.ClientInfo("JLEMA001", "José Lema");
+        when(reportService.getStatementClient("JLEMA001")).thenReturn(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.destroy();
+    }
+
+    @Test
+    @DisplayName("Should run a job to a downloadable file and keep it until it expires")
+    void testSubmit_Completes() throws Exception {
+        manager = newManager(1, 1, 60);
+        doAnswer(invocation -> {
+            StatementExportWriter writer = invocation.getArgument(3);
+            writer.writeClient(client);
+            writer.writeSummary(new ReportResponseDTO.Summary(0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+            writer.flush();
+            return null;
+        }).when(reportService).exportAccountStatement(eq(client), eq(START), eq(END), any());
+
+        ReportJobResponseDTO submitted = manager.submit(request("csv"));
+        assertEquals(ReportJobResponseDTO.Status.QUEUED, submitted.getStatus());
+
+        ReportJobResponseDTO job = awaitFinished(submitted.getJobId());
+        assertEquals(ReportJobResponseDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(job.getFinishedAt().plusMinutes(60), job.getExpiresAt());
+
+        ReportJobManager.Artifact artifact = manager.getArtifact(submitted.getJobId());
+        assertEquals("estado-cuenta-JLEMA001-" + submitted.getJobId() + ".csv", artifact.filename());
+        assertTrue(Files.readString(artifact.file()).startsWith("record,clientId"));
+        assertEquals(Files.size(artifact.file()), job.getSizeBytes());
+        assertEquals(1, meterRegistry.get("report.jobs.duration").tag("result", "completed").timer().count());
+
+        manager.purgeExpired();
+        assertTrue(Files.exists(artifact.file()));
+    }
+
+    @Test
+    @DisplayName("Should mark a failed job and not expose a file")
+    void testSubmit_Fails() throws Exception {
+        manager = newManager(1, 1, 60);
+        doThrow(new IOException("disk full")).when(reportService).exportAccountStatement(any(), any(), any(), any());
+
+        String jobId = manager.submit(request(null)).getJobId();
+        ReportJobResponseDTO job = awaitFinished(jobId);
+
+        assertEquals(ReportJobResponseDTO.Status.FAILED, job.getStatus());
+        assertEquals(ReportJobManager.FAILED_MESSAGE, job.getError());
+        assertThrows(BusinessException.class, () -> manager.getArtifact(jobId));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a job when every worker is busy and the queue is full")
+    void testSubmit_QueueFull() throws Exception {
+        manager = newManager(1, 1, 60);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(reportService)
+            .exportAccountStatement(any(), any(), any(), any());
+
+        String running = manager.submit(request(null)).getJobId();
+        String queued = manager.submit(request(null)).getJobId();
+
+        assertThrows(ReportJobRejectedException.class, () -> manager.submit(request(null)));
+        assertEquals(1.0, meterRegistry.get("report.jobs.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("report.jobs.queue.depth").gauge().value());
+        assertThrows(BusinessException.class, () -> manager.getArtifact(queued));
+
+        release.countDown();
+        assertEquals(ReportJobResponseDTO.Status.COMPLETED, awaitFinished(running).getStatus());
+        assertEquals(ReportJobResponseDTO.Status.COMPLETED, awaitFinished(queued).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should validate the request before queueing")
+    void testSubmit_InvalidRequest() throws IOException {
+        manager = newManager(1, 1, 60);
+        when(reportService.getStatementClient("NOCLIENT"))
+            .thenThrow(new ResourceNotFoundException("No accounts found for client NOCLIENT"));
+
+        assertThrows(BusinessException.class, () -> manager.submit(request("xml")));
+        assertThrows(BusinessException.class,
+            () -> manager.submit(new ReportJobRequestDTO("JLEMA001", END, START, null)));
+        assertThrows(ResourceNotFoundException.class,
+            () -> manager.submit(new ReportJobRequestDTO("NOCLIENT", START, END, null)));
+        assertThrows(ResourceNotFoundException.class, () -> manager.getJob("unknown"));
+    }
+
+    @Test
+    @DisplayName("Should drop expired jobs with their files")
+    void testPurgeExpired() throws Exception {
+        manager = newManager(1, 1, 0);
+
+        String jobId = manager.submit(request(null)).getJobId();
+        awaitFinished(jobId);
+        Path file = manager.getArtifact(jobId).file();
+
+        manager.purgeExpired();
+
+        assertThrows(ResourceNotFoundException.class, () -> manager.getJob(jobId));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should delete only its own job files past the retention on startup")
+    void testStartup_DeletesOwnLeftovers() throws Exception {
+        FileTime old = FileTime.from(Instant.now().minusSeconds(2 * 3600));
+        Path leftover = Files.createFile(directory.resolve(UUID.randomUUID() + ".csv"));
+        Path leftoverPart = Files.createFile(directory.resolve(UUID.randomUUID() + ".part"));
+        Path foreign = Files.createFile(directory.resolve("backup.csv"));
+        for (Path file : new Path[] {leftover, leftoverPart, foreign}) {
+            Files.setLastModifiedTime(file, old);
+        }
+        // Written by another instance sharing the directory
+        Path recent = Files.createFile(directory.resolve(UUID.randomUUID() + ".ndjson"));
+        Path recentPart = Files.createFile(directory.resolve(UUID.randomUUID() + ".part"));
+
+        manager = newManager(1, 1, 60);
+
+        assertFalse(Files.exists(leftover));
+        assertFalse(Files.exists(leftoverPart));
+        assertTrue(Files.exists(foreign));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(recentPart));
+    }
+
+    private ReportJobManager newManager(int workers, int queueCapacity, long retentionMinutes) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new ReportJobManager(reportService, objectMapper, meterRegistry, directory.toString(),
+            workers, queueCapacity, retentionMinutes);
+    }
+
+    private ReportJobRequestDTO request(String format) {
+        return new ReportJobRequestDTO("JLEMA001", START, END, format);
+    }
+
+    private ReportJobResponseDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ReportJobResponseDTO job = manager.getJob(jobId);
+        while (job.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = manager.getJob(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,137 @@
+package com.devsu.infrastructure.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.devsu.domain.exception.DailyLimitExceededException;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.repository.MovementRepository;
+
+/**
+ * Unit tests for DailyWithdrawalLimiter
+ * Tests the running daily counter and the limits per account type
+ */
+@DisplayName("DailyWithdrawalLimiter Unit Tests")
+class DailyWithdrawalLimiterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 4);
+
+    private MovementRepository movementRepository;
+    private DailyWithdrawalLimiter limiter;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        movementRepository = mock(MovementRepository.class);
+        limiter = new DailyWithdrawalLimiter(movementRepository, "1000.00", "Ahorros:1000.00, Corriente:2000.00");
+
+        account = new Account();
+        account.setId(1L);
+        account.setAccountNumber("478758");
+        account.setAccountType("Ahorros");
+        account.setBalance(Money.of("5000.00"));
+    }
+
+    @Test
+    @DisplayName("Should initialize the counter once and then accumulate without queries")
+    void testRegisterWithdrawal_AccumulatesSameDay() {
+        when(movementRepository.sumWithdrawals(eq(1L), any(), any())).thenReturn(new BigDecimal("300.00"));
+
+        limiter.registerWithdrawal(account, DAY, Money.of("-200.00"));
+        limiter.registerWithdrawal(account, DAY, Money.of("-500.00"));
+
+        assertEquals(DAY, account.getWithdrawalDay());
+        assertEquals(Money.of("1000.00"), account.getDailyWithdrawn());
+        verify(movementRepository, times(1)).sumWithdrawals(eq(1L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a withdrawal over the limit and keep the counter")
+    void testRegisterWithdrawal_LimitExceeded() {
+        account.setWithdrawalDay(DAY);
+        account.setDailyWithdrawn(Money.of("900.00"));
+
+        DailyLimitExceededException exception = assertThrows(DailyLimitExceededException.class,
+            () -> limiter.registerWithdrawal(account, DAY, Money.of("-100.01")));
+
+        assertEquals("Cupo diario Excedido", exception.getMessage());
+        assertEquals(Money.of("900.00"), account.getDailyWithdrawn());
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName("Should restart the counter on a new day and ignore deposits")
+    void testRegisterWithdrawal_NewDay() {
+        account.setWithdrawalDay(DAY);
+        account.setDailyWithdrawn(Money.of("1000.00"));
+
+        limiter.registerWithdrawal(account, DAY.plusDays(1), Money.of("500.00"));
+        assertEquals(DAY, account.getWithdrawalDay());
+
+        limiter.registerWithdrawal(account, DAY.plusDays(1), Money.of("-1000.00"));
+        assertEquals(DAY.plusDays(1), account.getWithdrawalDay());
+        assertEquals(Money.of("1000.00"), account.getDailyWithdrawn());
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply the limit of the account type")
+    void testRegisterWithdrawal_LimitByAccountType() {
+        account.setAccountType("CORRIENTE");
+        account.setWithdrawalDay(DAY);
+        account.setDailyWithdrawn(Money.ZERO);
+
+        limiter.registerWithdrawal(account, DAY, Money.of("-1500.00"));
+
+        assertEquals(Money.of("1500.00"), account.getDailyWithdrawn());
+        assertEquals(Money.of("2000.00"), limiter.limitFor("Corriente"));
+        assertEquals(Money.of("1000.00"), limiter.limitFor("Plazo fijo"));
+    }
+
+    @Test
+    @DisplayName("Should check backdated withdrawals against their own day without moving the counter")
+    void testRegisterWithdrawal_PastDay() {
+        account.setWithdrawalDay(DAY);
+        account.setDailyWithdrawn(Money.of("100.00"));
+        when(movementRepository.sumWithdrawals(eq(1L), eq(DAY.minusDays(1).atStartOfDay()), eq(DAY.atStartOfDay())))
+            .thenReturn(new BigDecimal("950.00"));
+
+        assertThrows(DailyLimitExceededException.class,
+            () -> limiter.registerWithdrawal(account, DAY.minusDays(1), Money.of("-60.00")));
+        limiter.registerWithdrawal(account, DAY.minusDays(1), Money.of("-50.00"));
+
+        assertEquals(DAY, account.getWithdrawalDay());
+        assertEquals(Money.of("100.00"), account.getDailyWithdrawn());
+    }
+
+    @Test
+    @DisplayName("Should accumulate backdated withdrawals written together in the caller's day totals")
+    void testRegisterWithdrawal_PastDayTotals() {
+        account.setWithdrawalDay(DAY);
+        account.setDailyWithdrawn(Money.of("100.00"));
+        when(movementRepository.sumWithdrawals(eq(1L), eq(DAY.minusDays(1).atStartOfDay()), eq(DAY.atStartOfDay())))
+            .thenReturn(new BigDecimal("600.00"));
+        Map<LocalDate, Money> pastDays = new HashMap<>();
+
+        limiter.registerWithdrawal(account, DAY.minusDays(1), Money.of("-300.00"), pastDays);
+        assertThrows(DailyLimitExceededException.class,
+            () -> limiter.registerWithdrawal(account, DAY.minusDays(1), Money.of("-300.00"), pastDays));
+        limiter.registerWithdrawal(account, DAY.minusDays(1), Money.of("-100.00"), pastDays);
+
+        assertEquals(Money.of("1000.00"), pastDays.get(DAY.minusDays(1)));
+        assertEquals(Money.of("100.00"), account.getDailyWithdrawn());
+        verify(movementRepository, times(1)).sumWithdrawals(eq(1L), any(), any());
+    }
+}
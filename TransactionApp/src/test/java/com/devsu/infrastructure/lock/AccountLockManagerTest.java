@@ -0,0 +1,130 @@
+package com.devsu.infrastructure.lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for AccountLockManager
+ * Tests per-account serialization, parallelism across accounts and bounded retry
+ */
+@DisplayName("AccountLockManager Unit Tests")
+class AccountLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountLockManager lockManager;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new AccountLockManager(meterRegistry, 64, 2000, 2, 1);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should serialize operations on the same account")
+    void testSameAccountIsSerialized() throws Exception {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            futures.add(executor.submit(() -> lockManager.executeWithLock(1L, () -> {
+                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                Thread.yield();
+                inside.decrementAndGet();
+                return null;
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, maxInside.get());
+        assertEquals(50, meterRegistry.get("account.lock.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should let different accounts proceed in parallel")
+    void testDifferentAccountsRunInParallel() throws Exception {
+        CountDownLatch bothInside = new CountDownLatch(2);
+
+        Future<Boolean> first = executor.submit(() -> lockManager.executeWithLock(1L, () -> await(bothInside)));
+        Future<Boolean> second = executor.submit(() -> lockManager.executeWithLock(2L, () -> await(bothInside)));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should retry concurrency failures and count retries")
+    void testRetryOnConcurrencyFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = lockManager.executeWithLock(1L, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new PessimisticLockingFailureException("row locked");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("account.lock.retries").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should rethrow when retries are exhausted")
+    void testRetriesExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> lockManager.executeWithLock(1L, () -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("deadlock");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.get("account.lock.retries.exhausted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should acquire several accounts sharing a stripe without deadlock")
+    void testMultipleAccountsSameStripe() {
+        // 1 and 65 share a stripe when there are 64 stripes
+        String result = lockManager.executeWithLocks(List.of(65L, 1L), () -> "ok");
+
+        assertEquals("ok", result);
+    }
+
+    private boolean await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.devsu.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.infrastructure.lock.AccountLockManager;
+
+/**
+ * Unit tests for AccountBackfillRunner
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountBackfillRunner Unit Tests")
+class AccountBackfillRunnerTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountLockManager accountLockManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AccountBackfillStore store;
+
+    @InjectMocks
+    private AccountBackfillRunner runner;
+
+    @Test
+    @DisplayName("Should page through the accounts after the last one rebuilt, each under its lock")
+    void testBackfill_Pages() {
+        when(accountLockManager.executeWithLock(anyLong(), any())).thenAnswer(invocation ->
+            invocation.<Supplier<?>>getArgument(1).get());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(store.findAccountsToBackfill(0L, 2)).thenReturn(List.of(3L, 7L));
+        when(store.findAccountsToBackfill(7L, 2)).thenReturn(List.of(9L));
+        when(store.findAccountsToBackfill(9L, 2)).thenReturn(List.of());
+        when(store.rebuild(anyLong())).thenReturn(2);
+
+        assertEquals(3, runner.backfill(store, "rows", 2));
+
+        for (Long accountId : List.of(3L, 7L, 9L)) {
+            verify(accountLockManager).executeWithLock(eq(accountId), any());
+            verify(accountRepository).findByIdForUpdate(accountId);
+            verify(store).rebuild(accountId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should do nothing once every account is covered")
+    void testBackfill_NothingToDo() {
+        when(store.findAccountsToBackfill(0L, 100)).thenReturn(List.of());
+
+        assertEquals(0, runner.backfill(store, "rows", 100));
+        verifyNoInteractions(accountLockManager, transactionTemplate, accountRepository);
+    }
+}
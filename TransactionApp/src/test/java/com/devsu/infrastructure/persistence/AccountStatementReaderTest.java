@@ -0,0 +1,248 @@
+package com.devsu.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.devsu.application.dto.ReportResponseDTO;
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+
+/**
+ * Persistence tests for AccountStatementReader
+ * Opening balance, movements in range and final balance of every client account
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({AccountStatementReader.class, BalanceSnapshotStore.class, MovementRollupStore.class})
+@DisplayName("AccountStatementReader Tests")
+class AccountStatementReaderTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 2, 28, 23, 59);
+
+    @Autowired
+    private AccountStatementReader accountStatementReader;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private BalanceSnapshotStore balanceSnapshotStore;
+
+    @Autowired
+    private MovementRollupStore movementRollupStore;
+
+    private Account savings;
+
+    @BeforeEach
+    void setUp() {
+        savings = accountRepository.save(new Account(null, "478758", "Ahorros", Money.of("535.00"), "true", null, "client-1"));
+        Account checking = accountRepository.save(new Account(null, "225487", "Corriente", Money.of("50.00"), "true", null, "client-1"));
+        Account future = accountRepository.save(new Account(null, "495878", "Ahorros", Money.of("200.00"), "true", null, "client-1"));
+        accountRepository.save(new Account(null, "496825", "Ahorros", Money.of("10.00"), "true", null, "client-2"));
+
+        movementRepository.saveAll(List.of(
+            new Movement(null, savings, 1L, LocalDateTime.of(2026, 1, 30, 9, 0), "Deposito", Money.of("1000.00"), Money.of("1000.00"), "true"),
+            new Movement(null, savings, 3L, LocalDateTime.of(2026, 2, 5, 11, 0), "Deposito", Money.of("100.00"), Money.of("525.00"), "true"),
+            new Movement(null, savings, 2L, LocalDateTime.of(2026, 2, 4, 10, 0), "Retiro", Money.of("-575.00"), Money.of("425.00"), "true"),
+            new Movement(null, savings, 4L, LocalDateTime.of(2026, 3, 1, 8, 0), "Deposito", Money.of("10.00"), Money.of("535.00"), "true"),
+            new Movement(null, future, 1L, LocalDateTime.of(2026, 3, 2, 8, 0), "Deposito", Money.of("200.00"), Money.of("200.00"), "true")));
+        movementRepository.flush();
+        balanceSnapshotStore.rebuild(savings.getId());
+        balanceSnapshotStore.rebuild(future.getId());
+        movementRollupStore.rebuild(savings.getId());
+        movementRollupStore.rebuild(future.getId());
+        assertNotNull(checking.getId());
+    }
+
+    @Test
+    @DisplayName("Should read every client account with its movements in range")
+    void testReadStatements() {
+        List<ReportResponseDTO.AccountInfo> statements = accountStatementReader.readStatements("client-1", START, END);
+
+        assertEquals(3, statements.size());
+
+        ReportResponseDTO.AccountInfo first = statements.get(0);
+        assertEquals(savings.getId(), first.getAccountId());
+        assertEquals("478758", first.getAccountNumber());
+        assertEquals(new BigDecimal("1000.00"), first.getInitialBalance());
+        assertEquals(new BigDecimal("525.00"), first.getFinalBalance());
+        assertEquals(2, first.getMovements().size());
+        assertEquals(new BigDecimal("-575.00"), first.getMovements().get(0).getAmount());
+        assertEquals(LocalDateTime.of(2026, 2, 4, 10, 0), first.getMovements().get(0).getMovementDate());
+        assertEquals(new BigDecimal("525.00"), first.getMovements().get(1).getBalance());
+    }
+
+    @Test
+    @DisplayName("Should take the opening balance of accounts without movements in range")
+    void testReadStatements_NoMovementsInRange() {
+        List<ReportResponseDTO.AccountInfo> statements = accountStatementReader.readStatements("client-1", START, END);
+
+        // No movements at all: current balance
+        assertEquals(new BigDecimal("50.00"), statements.get(1).getInitialBalance());
+        assertEquals(new BigDecimal("50.00"), statements.get(1).getFinalBalance());
+        assertTrue(statements.get(1).getMovements().isEmpty());
+
+        // Only later movements: balance before the first of them
+        assertEquals(new BigDecimal("0.00"), statements.get(2).getInitialBalance());
+        assertEquals(new BigDecimal("0.00"), statements.get(2).getFinalBalance());
+    }
+
+    @Test
+    @DisplayName("Should open a period starting mid-day after the earlier movements of that day")
+    void testReadStatements_StartWithinDay() {
+        List<ReportResponseDTO.AccountInfo> statements = accountStatementReader.readStatements("client-1",
+            LocalDateTime.of(2026, 2, 4, 12, 0), END);
+
+        assertEquals(new BigDecimal("425.00"), statements.get(0).getInitialBalance());
+        assertEquals(1, statements.get(0).getMovements().size());
+        assertEquals(new BigDecimal("525.00"), statements.get(0).getFinalBalance());
+    }
+
+    @Test
+    @DisplayName("Should stream accounts and movements in order without keeping the movements")
+    void testStreamStatements() {
+        List<String> rows = new ArrayList<>();
+        accountStatementReader.streamStatements("client-1", START, END, new AccountStatementReader.StatementHandler() {
+            @Override
+            public void onAccount(ReportResponseDTO.AccountInfo account) {
+                rows.add(account.getAccountNumber() + ":" + account.getInitialBalance());
+            }
+
+            @Override
+            public void onMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement) {
+                rows.add(movement.getAmount() + ":" + account.getFinalBalance());
+                assertTrue(account.getMovements().isEmpty());
+            }
+        });
+
+        assertEquals(List.of("478758:1000.00", "-575.00:425.00", "100.00:525.00", "225487:50.00", "495878:0.00"), rows);
+        assertTrue(accountStatementReader.hasAccounts("client-2"));
+        assertFalse(accountStatementReader.hasAccounts("client-9"));
+    }
+
+    @Test
+    @DisplayName("Should stream the statements of many clients in one pass, by client and account")
+    void testStreamStatements_ManyClients() {
+        List<String> rows = new ArrayList<>();
+        accountStatementReader.streamStatements(List.of("client-2", "client-9", "client-1"), START, END,
+            new AccountStatementReader.StatementHandler() {
+                @Override
+                public void onAccount(ReportResponseDTO.AccountInfo account) {
+                    rows.add(account.getClientId() + "/" + account.getAccountNumber() + ":" + account.getInitialBalance());
+                }
+
+                @Override
+                public void onMovement(ReportResponseDTO.AccountInfo account, ReportResponseDTO.MovementInfo movement) {
+                    rows.add(movement.getAmount() + ":" + account.getFinalBalance());
+                }
+            });
+
+        assertEquals(List.of("client-1/478758:1000.00", "-575.00:425.00", "100.00:525.00", "client-1/225487:50.00",
+            "client-1/495878:0.00", "client-2/496825:10.00"), rows);
+    }
+
+    @Test
+    @DisplayName("Should return no statements for a client without accounts")
+    void testReadStatements_UnknownClient() {
+        assertTrue(accountStatementReader.readStatements("client-9", START, END).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should aggregate the totals of every account without reading the movements")
+    void testReadSummaries() {
+        List<ReportResponseDTO.AccountInfo> summaries = accountStatementReader.readSummaries("client-1",
+            LocalDateTime.of(2026, 2, 4, 12, 0), END);
+
+        assertEquals(3, summaries.size());
+        ReportResponseDTO.AccountInfo first = summaries.get(0);
+        assertEquals(savings.getId(), first.getAccountId());
+        assertNull(first.getMovements());
+        assertEquals(new BigDecimal("425.00"), first.getInitialBalance());
+        assertEquals(new BigDecimal("525.00"), first.getFinalBalance());
+        assertEquals(1, first.getSummary().getTotalMovements());
+        assertEquals(new BigDecimal("100.00"), first.getSummary().getTotalDeposits());
+        assertEquals(new BigDecimal("0.00"), first.getSummary().getTotalWithdrawals());
+        assertEquals(new BigDecimal("100.00"), first.getSummary().getNetChange());
+
+        List<ReportResponseDTO.AccountInfo> fullPeriod = accountStatementReader.readSummaries("client-1", START, END);
+        assertEquals(2, fullPeriod.get(0).getSummary().getTotalMovements());
+        assertEquals(new BigDecimal("-575.00"), fullPeriod.get(0).getSummary().getTotalWithdrawals());
+        assertEquals(new BigDecimal("-475.00"), fullPeriod.get(0).getSummary().getNetChange());
+
+        // Accounts without movements in range keep their opening balance
+        assertEquals(0, fullPeriod.get(1).getSummary().getTotalMovements());
+        assertEquals(new BigDecimal("50.00"), fullPeriod.get(1).getFinalBalance());
+        assertEquals(new BigDecimal("0.00"), fullPeriod.get(2).getFinalBalance());
+        assertEquals(new BigDecimal("0.00"), fullPeriod.get(2).getSummary().getNetChange());
+
+        assertTrue(accountStatementReader.readSummaries("client-9", START, END).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should total whole months from the rollups and partial months from the movements")
+    void testReadSummaries_AcrossMonths() {
+        // January and March partial, February whole
+        List<ReportResponseDTO.AccountInfo> summaries = accountStatementReader.readSummaries("client-1",
+            LocalDateTime.of(2026, 1, 15, 10, 0), LocalDateTime.of(2026, 3, 1, 12, 0));
+
+        ReportResponseDTO.AccountInfo first = summaries.get(0);
+        assertEquals(new BigDecimal("0.00"), first.getInitialBalance());
+        assertEquals(new BigDecimal("535.00"), first.getFinalBalance());
+        assertEquals(4, first.getSummary().getTotalMovements());
+        assertEquals(new BigDecimal("1110.00"), first.getSummary().getTotalDeposits());
+        assertEquals(new BigDecimal("-575.00"), first.getSummary().getTotalWithdrawals());
+        assertEquals(0, summaries.get(2).getSummary().getTotalMovements());
+
+        // Whole months only
+        List<ReportResponseDTO.AccountInfo> months = accountStatementReader.readSummaries("client-1",
+            LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0));
+        assertEquals(4, months.get(0).getSummary().getTotalMovements());
+        assertEquals(1, months.get(2).getSummary().getTotalMovements());
+        assertEquals(new BigDecimal("200.00"), months.get(2).getSummary().getTotalDeposits());
+    }
+
+    @Test
+    @DisplayName("Should page the movements of an account after the cursor position")
+    void testReadMovementPages() {
+        // Same instant: the balance chain order (movement number) decides
+        movementRepository.saveAndFlush(new Movement(null, savings, 5L, LocalDateTime.of(2026, 3, 1, 8, 0),
+            "Deposito", Money.of("5.00"), Money.of("540.00"), "true"));
+        LocalDateTime end = LocalDateTime.of(2026, 3, 31, 23, 59);
+
+        AccountStatementReader.MovementPage first = accountStatementReader.readFirstMovements(savings.getId(), START, end, 2);
+        assertEquals(List.of(new BigDecimal("-575.00"), new BigDecimal("100.00")),
+            first.movements().stream().map(ReportResponseDTO.MovementInfo::getAmount).toList());
+        assertNotNull(first.next());
+
+        // The cursor survives its opaque encoding
+        StatementCursor cursor = StatementCursor.decode(first.next().encode());
+        assertEquals(first.next(), cursor);
+
+        AccountStatementReader.MovementPage second = accountStatementReader.readNextMovements(cursor, 1);
+        assertEquals(new BigDecimal("535.00"), second.movements().get(0).getBalance());
+        AccountStatementReader.MovementPage last = accountStatementReader.readNextMovements(second.next(), 5);
+        assertEquals(1, last.movements().size());
+        assertEquals(new BigDecimal("540.00"), last.movements().get(0).getBalance());
+        assertNull(last.next());
+
+        // A page ending exactly on the last movement has no next page
+        assertNull(accountStatementReader.readFirstMovements(savings.getId(), START, END, 2).next());
+    }
+}
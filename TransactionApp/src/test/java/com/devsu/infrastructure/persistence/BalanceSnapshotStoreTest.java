@@ -0,0 +1,119 @@
+package com.devsu.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+
+/**
+ * Persistence tests for BalanceSnapshotStore
+ * Daily closing balances, rebuilds and balance as of an instant
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(BalanceSnapshotStore.class)
+@DisplayName("BalanceSnapshotStore Tests")
+class BalanceSnapshotStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 4);
+
+    @Autowired
+    private BalanceSnapshotStore balanceSnapshotStore;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(new Account(null, "478758", "Ahorros", Money.of("450.00"), "true", null, "client-1"));
+        movementRepository.saveAll(List.of(
+            new Movement(null, account, 1L, DAY.atTime(9, 0), "Deposito", Money.of("1000.00"), Money.of("1000.00"), "true"),
+            new Movement(null, account, 2L, DAY.atTime(15, 0), "Retiro", Money.of("-575.00"), Money.of("425.00"), "true"),
+            new Movement(null, account, 3L, DAY.plusDays(2).atTime(10, 0), "Deposito", Money.of("25.00"), Money.of("450.00"), "true")));
+        movementRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Should rebuild one closing balance per day with movements")
+    void testRebuild() {
+        assertEquals(2, balanceSnapshotStore.rebuild(account.getId()));
+
+        assertEquals(Optional.of(Money.of("425.00")), snapshot(DAY));
+        assertEquals(Optional.empty(), snapshot(DAY.plusDays(1)));
+        assertEquals(Optional.of(Money.of("450.00")), snapshot(DAY.plusDays(2)));
+        assertTrue(balanceSnapshotStore.findAccountsToBackfill(0L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should overwrite the snapshot of the day on record")
+    void testRecord() {
+        balanceSnapshotStore.rebuild(account.getId());
+
+        balanceSnapshotStore.record(account.getId(), DAY.plusDays(2), Money.of("300.00"));
+        balanceSnapshotStore.record(account.getId(), DAY.plusDays(3), Money.of("200.00"));
+
+        assertEquals(Optional.of(Money.of("300.00")), snapshot(DAY.plusDays(2)));
+        assertEquals(Optional.of(Money.of("200.00")), snapshot(DAY.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Should answer the balance as of any instant")
+    void testBalanceAt() {
+        balanceSnapshotStore.rebuild(account.getId());
+        Long id = account.getId();
+
+        assertEquals(Optional.of(Money.of("0.00")), balanceSnapshotStore.balanceAt(id, DAY.minusDays(1).atStartOfDay()));
+        assertEquals(Optional.of(Money.of("1000.00")), balanceSnapshotStore.balanceAt(id, DAY.atTime(9, 0)));
+        assertEquals(Optional.of(Money.of("1000.00")), balanceSnapshotStore.balanceAt(id, DAY.atTime(14, 59)));
+        assertEquals(Optional.of(Money.of("425.00")), balanceSnapshotStore.balanceAt(id, DAY.plusDays(1).atTime(12, 0)));
+        assertEquals(Optional.of(Money.of("425.00")), balanceSnapshotStore.balanceAt(id, DAY.plusDays(2).atTime(9, 0)));
+        assertEquals(Optional.of(Money.of("450.00")), balanceSnapshotStore.balanceAt(id, LocalDateTime.of(2027, 1, 1, 0, 0)));
+        assertEquals(Optional.empty(), balanceSnapshotStore.balanceAt(-1L, DAY.atStartOfDay()));
+    }
+
+    @Test
+    @DisplayName("Should list accounts whose history is not covered by snapshots")
+    void testFindAccountsToBackfill() {
+        Account empty = accountRepository.save(new Account(null, "225487", "Corriente", Money.of("50.00"), "true", null, "client-1"));
+
+        assertEquals(List.of(account.getId()), balanceSnapshotStore.findAccountsToBackfill(0L, 10));
+        assertTrue(balanceSnapshotStore.findAccountsToBackfill(account.getId(), 10).isEmpty());
+        assertNotNull(empty.getId());
+
+        // Only later days recorded: the history before them is still missing
+        balanceSnapshotStore.record(account.getId(), DAY.plusDays(2), Money.of("450.00"));
+        assertEquals(List.of(account.getId()), balanceSnapshotStore.findAccountsToBackfill(0L, 10));
+    }
+
+    private Optional<Money> snapshot(LocalDate day) {
+        return jdbcTemplate.queryForList(
+                "SELECT balance FROM balance_snapshot WHERE account_id = ? AND snapshot_day = ?",
+                BigDecimal.class, account.getId(), Date.valueOf(day))
+            .stream().findFirst().map(Money::of);
+    }
+}
@@ -0,0 +1,129 @@
+package com.devsu.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsu.domain.model.Account;
+import com.devsu.domain.model.Money;
+import com.devsu.domain.model.Movement;
+import com.devsu.domain.repository.AccountRepository;
+import com.devsu.domain.repository.MovementRepository;
+
+/**
+ * Persistence tests for MovementRollupStore
+ * Monthly totals adjusted by writes, rebuilds and backfill detection
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(MovementRollupStore.class)
+@DisplayName("MovementRollupStore Tests")
+class MovementRollupStoreTest {
+
+    private static final LocalDate FEBRUARY = LocalDate.of(2026, 2, 1);
+
+    @Autowired
+    private MovementRollupStore movementRollupStore;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account;
+    private List<Movement> movements;
+
+    @BeforeEach
+    void setUp() {
+        // History written before the rollups existed
+        account = new Account(null, "478758", "Ahorros", Money.of("450.00"), "true", null, "client-1");
+        account.setRollupsComplete(false);
+        account = accountRepository.save(account);
+        movements = movementRepository.saveAll(List.of(
+            new Movement(null, account, 1L, FEBRUARY.plusDays(3).atTime(9, 0), "Deposito", Money.of("1000.00"), Money.of("1000.00"), "true"),
+            new Movement(null, account, 2L, FEBRUARY.plusDays(27).atTime(23, 59), "Retiro", Money.of("-575.00"), Money.of("425.00"), "true"),
+            new Movement(null, account, 3L, FEBRUARY.plusMonths(1).atTime(0, 0), "Deposito", Money.of("25.00"), Money.of("450.00"), "true")));
+        movementRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Should rebuild one row per month with movements")
+    void testRebuild() {
+        assertEquals(List.of(account.getId()), movementRollupStore.findAccountsToBackfill(0L, 10));
+
+        assertEquals(2, movementRollupStore.rebuild(account.getId()));
+
+        assertEquals(List.of(2L, Money.of("1000.00"), Money.of("-575.00")), rollup(FEBRUARY));
+        assertEquals(List.of(1L, Money.of("25.00"), Money.of("0.00")), rollup(FEBRUARY.plusMonths(1)));
+        assertTrue(movementRollupStore.findAccountsToBackfill(0L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should list accounts not marked complete, whatever rows writes added before the backfill")
+    void testFindAccountsToBackfill() {
+        // Writes served before the backfill, including one in the oldest month: the totals are still partial
+        movementRollupStore.add(account.getId(), FEBRUARY, Money.of("10.00"));
+        movementRollupStore.add(account.getId(), FEBRUARY.plusMonths(1), Money.of("25.00"));
+        assertEquals(List.of(account.getId()), movementRollupStore.findAccountsToBackfill(0L, 10));
+        assertTrue(movementRollupStore.findAccountsToBackfill(account.getId(), 10).isEmpty());
+
+        // Accounts created by the application are complete from their first movement
+        Account created = accountRepository.saveAndFlush(
+            new Account(null, "225487", "Corriente", Money.of("100.00"), "true", null, "client-2"));
+        assertTrue(created.getRollupsComplete());
+        assertEquals(List.of(account.getId()), movementRollupStore.findAccountsToBackfill(0L, 10));
+    }
+
+    @Test
+    @DisplayName("Should match a rebuild when totals are adjusted by each write")
+    void testAddAll() {
+        movementRollupStore.addAll(movements);
+        List<Object> february = rollup(FEBRUARY);
+        List<Object> march = rollup(FEBRUARY.plusMonths(1));
+
+        movementRollupStore.rebuild(account.getId());
+
+        assertEquals(rollup(FEBRUARY), february);
+        assertEquals(rollup(FEBRUARY.plusMonths(1)), march);
+    }
+
+    @Test
+    @DisplayName("Should move a corrected movement between months")
+    void testAddAndRemove() {
+        movementRollupStore.rebuild(account.getId());
+
+        // The withdrawal is moved to March and reduced
+        movementRollupStore.remove(account.getId(), FEBRUARY.plusDays(27), Money.of("-575.00"));
+        movementRollupStore.add(account.getId(), FEBRUARY.plusMonths(1).plusDays(2), Money.of("-75.00"));
+
+        assertEquals(List.of(1L, Money.of("1000.00"), Money.of("0.00")), rollup(FEBRUARY));
+        assertEquals(List.of(2L, Money.of("25.00"), Money.of("-75.00")), rollup(FEBRUARY.plusMonths(1)));
+
+        // A new month gets its row on the first write
+        movementRollupStore.add(account.getId(), LocalDate.of(2026, 5, 20), Money.of("5.00"));
+        assertEquals(List.of(1L, Money.of("5.00"), Money.of("0.00")), rollup(LocalDate.of(2026, 5, 1)));
+    }
+
+    private List<Object> rollup(LocalDate month) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT movements, deposits, withdrawals FROM movement_monthly_rollup WHERE account_id = ? AND rollup_month = ?",
+            account.getId(), Date.valueOf(month));
+        return List.of(((Number) row.get("MOVEMENTS")).longValue(),
+            Money.of((BigDecimal) row.get("DEPOSITS")), Money.of((BigDecimal) row.get("WITHDRAWALS")));
+    }
+}